@@ -72,6 +72,12 @@ public class SelectionScript extends Script<Boolean> {
     /** If true, script result is not cached */
     private boolean dynamic = true;
 
+    /**
+     * Time in milliseconds during which a node can reuse the result of this script, 0 to disable it.
+     * Only the bindings and variables whose name is written in the script are part of the cache key.
+     */
+    private long resultCacheTimeout = 0;
+
     /**
      * Hash digest of the script
      */
@@ -316,6 +322,31 @@ public class SelectionScript extends Script<Boolean> {
         return dynamic;
     }
 
+    /**
+     * Returns the time during which a node reuses the result of this script
+     * instead of executing it again with the same bindings.
+     *
+     * @return the timeout in milliseconds, 0 if the result is not reused
+     */
+    public long getResultCacheTimeout() {
+        return resultCacheTimeout;
+    }
+
+    /**
+     * Sets the time during which a node reuses the result of this script
+     * instead of executing it again with the same bindings.
+     * It allows to answer repeated dynamic checks without executing the script each time.
+     * <p>
+     * The bindings are compared by name only when the name is written literally in the script,
+     * for instance {@code variables.get("MEMORY")}: a script reading a variable through a computed
+     * name may reuse the result obtained with another value of that variable.
+     *
+     * @param resultCacheTimeout the timeout in milliseconds, 0 to always execute the script
+     */
+    public void setResultCacheTimeout(long resultCacheTimeout) {
+        this.resultCacheTimeout = resultCacheTimeout;
+    }
+
     /**
      * There is no parameter to give to the selection script.
      */
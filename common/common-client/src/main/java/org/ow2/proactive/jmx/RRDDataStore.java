@@ -27,7 +27,9 @@ package org.ow2.proactive.jmx;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 import javax.management.MBeanAttributeInfo;
 import javax.management.StandardMBean;
@@ -36,6 +38,8 @@ import org.apache.log4j.Logger;
 import org.ow2.proactive.utils.FileToBytesConverter;
 import org.rrd4j.ConsolFun;
 import org.rrd4j.DsType;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.FetchRequest;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDef;
 import org.rrd4j.core.Sample;
@@ -60,6 +64,12 @@ public class RRDDataStore extends Thread {
 
     protected Logger logger;
 
+    /**
+     * Data base opened once for the sampling thread and the fetch requests, guarded by dataSources.
+     * It is closed when the store is terminated and never opened again.
+     */
+    private RrdDb dataBase;
+
     protected RRDDataStore(String dataBaseFilePath, int step, Logger logger) {
         this.step = step;
         this.dataBaseFile = dataBaseFilePath;
@@ -154,10 +164,14 @@ public class RRDDataStore extends Thread {
      */
     public void run() {
         try {
-            RrdDb dataBase = new RrdDb(dataBaseFile);
-            Sample sample = dataBase.createSample();
-
-            logger.debug("RRD data base configuration:\n" + dataBase.getRrdDef().dump());
+            Sample sample;
+            synchronized (dataSources) {
+                if (terminate) {
+                    return;
+                }
+                sample = getDataBase().createSample();
+                logger.debug("RRD data base configuration:\n" + dataBase.getRrdDef().dump());
+            }
 
             while (!terminate) {
                 try {
@@ -184,9 +198,132 @@ public class RRDDataStore extends Thread {
                     logger.error(e.getMessage(), e);
                 }
             }
-            dataBase.close();
         } catch (Exception e) {
             logger.error(e.getMessage(), e);
+        } finally {
+            closeDataBase();
+        }
+    }
+
+    /**
+     * Opens the data base on first use, must be called while holding the dataSources lock.
+     *
+     * @throws IOException when the store is terminated or the data base cannot be opened
+     */
+    private RrdDb getDataBase() throws IOException {
+        if (terminate) {
+            throw new IOException("RRD data store " + dataBaseFile + " is terminated");
+        }
+        if (dataBase == null) {
+            dataBase = new RrdDb(dataBaseFile);
+        }
+        return dataBase;
+    }
+
+    private void closeDataBase() {
+        synchronized (dataSources) {
+            if (dataBase != null) {
+                try {
+                    dataBase.close();
+                } catch (IOException e) {
+                    logger.warn("Cannot close the RRD data base " + dataBaseFile, e);
+                }
+                dataBase = null;
+            }
+        }
+    }
+
+    /**
+     * Fetches the averaged values of some data sources, without copying the data base.
+     * <p>
+     * The result is a JSON object holding the timestamps in seconds of the first and last
+     * values, the step in seconds between two values and one array of values per data source,
+     * null standing for an unknown value:
+     * <pre>{"start":1000,"end":1008,"step":4,"values":{"source":[1,2.5,null]}}</pre>
+     * A client polling the history passes the last <code>end</code> it received as
+     * <code>since</code> to only get the new values.
+     *
+     * @param sources the names of the data sources to fetch, all the data sources when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned
+     * @param resolution the wanted step in seconds, the finest archive covering the range when not positive
+     * @return the values as a JSON object
+     * @throws IOException when the data base cannot be read or the store is terminated
+     */
+    public String fetch(String[] sources, long range, long since, long resolution) throws IOException {
+        List<String> fetchedSources = new ArrayList<>();
+        FetchData fetchData;
+        synchronized (dataSources) {
+            if (sources == null || sources.length == 0) {
+                fetchedSources.addAll(dataSources.keySet());
+            } else {
+                for (String source : sources) {
+                    if (dataSources.containsKey(source)) {
+                        fetchedSources.add(source);
+                    }
+                }
+            }
+            RrdDb db = getDataBase();
+            long timeEnd = db.getLastUpdateTime();
+            // rrd4j needs a non empty period, the values up to since are skipped anyway
+            long timeStart = Math.min(Math.max(timeEnd - range, since), timeEnd - 1);
+            FetchRequest request;
+            if (resolution > 0) {
+                request = db.createFetchRequest(ConsolFun.AVERAGE, timeStart, timeEnd, resolution);
+            } else {
+                request = db.createFetchRequest(ConsolFun.AVERAGE, timeStart, timeEnd);
+            }
+            request.setFilter(fetchedSources.toArray(new String[fetchedSources.size()]));
+            fetchData = request.fetchData();
+        }
+        return toJson(fetchData, fetchedSources, since);
+    }
+
+    private static String toJson(FetchData fetchData, List<String> sources, long since) {
+        long[] timestamps = fetchData.getTimestamps();
+        int first = 0;
+        while (first < timestamps.length && timestamps[first] <= since) {
+            first++;
+        }
+        long start = first < timestamps.length ? timestamps[first] : since;
+        long end = first < timestamps.length ? timestamps[timestamps.length - 1] : since;
+
+        StringBuilder json = new StringBuilder();
+        json.append("{\"start\":").append(start);
+        json.append(",\"end\":").append(end);
+        json.append(",\"step\":").append(fetchData.getStep());
+        json.append(",\"values\":{");
+        for (int i = 0; i < sources.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(sources.get(i)).append("\":[");
+            double[] values = fetchData.getValues(sources.get(i));
+            for (int j = first; j < values.length; j++) {
+                if (j > first) {
+                    json.append(',');
+                }
+                appendValue(json, values[j]);
+            }
+            json.append(']');
+        }
+        json.append("}}");
+        return json.toString();
+    }
+
+    /**
+     * Appends a value rounded to 3 decimals, which keeps the response small
+     */
+    private static void appendValue(StringBuilder json, double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            long thousandths = Math.round(value * 1000);
+            if (thousandths % 1000 == 0) {
+                json.append(thousandths / 1000);
+            } else {
+                json.append(thousandths / 1000d);
+            }
         }
     }
 
@@ -203,13 +340,14 @@ public class RRDDataStore extends Thread {
     }
 
     /**
-     * Terminates the thread activity.
+     * Terminates the thread activity and closes the data base, the following fetch requests fail.
      */
     public void terminate() {
         synchronized (dataSources) {
             terminate = true;
             dataSources.notifyAll();
         }
+        closeDataBase();
     }
 
 }
@@ -27,8 +27,10 @@ package org.ow2.proactive.scripting;
 
 import java.io.PrintStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.objectweb.proactive.annotation.PublicAPI;
@@ -45,6 +47,9 @@ import org.objectweb.proactive.extensions.annotation.ActiveObject;
 @PublicAPI
 public class ScriptHandler implements Serializable {
 
+    // results of the selection scripts executed by this handler, a single handler is used for each node
+    private transient SelectionScriptResultCache selectionScriptResults;
+
     Map<String, Object> additionalBindings = null;
 
     /**
@@ -94,6 +99,44 @@ public class ScriptHandler implements Serializable {
         return script.execute(additionalBindings, System.out, System.err);
     }
 
+    /**
+     * Execute several selection scripts in a single call, using standard error and output as the output sink.
+     * The given bindings are added to the bindings of this handler before the execution.
+     * The execution stops at the first script which fails or does not select the node,
+     * so the returned list only contains the results of the executed scripts.
+     * Scripts having a {@link SelectionScript#getResultCacheTimeout() result cache timeout} are not executed
+     * again by this handler until their previous result expires, unless a binding they read has changed.
+     *
+     * @param scripts the selection scripts to execute
+     * @param bindings the bindings to add, can be null
+     * @return the results of the executed scripts, in the order of the given scripts
+     */
+    public List<ScriptResult<Boolean>> handleSelectionScripts(List<SelectionScript> scripts,
+            Map<String, Serializable> bindings) {
+        if (bindings != null) {
+            if (additionalBindings == null) {
+                additionalBindings = new HashMap<>();
+            }
+            additionalBindings.putAll(bindings);
+        }
+        if (selectionScriptResults == null) {
+            selectionScriptResults = new SelectionScriptResultCache();
+        }
+        List<ScriptResult<Boolean>> results = new ArrayList<>(scripts.size());
+        for (SelectionScript script : scripts) {
+            ScriptResult<Boolean> result = selectionScriptResults.get(script, additionalBindings);
+            if (result == null) {
+                result = handle(script, System.out, System.err);
+                selectionScriptResults.put(script, additionalBindings, result);
+            }
+            results.add(result);
+            if (result.errorOccured() || !Boolean.TRUE.equals(result.getResult())) {
+                break;
+            }
+        }
+        return results;
+    }
+
     /**
      * Add a binding to the script that will be handle by this handler.
      *
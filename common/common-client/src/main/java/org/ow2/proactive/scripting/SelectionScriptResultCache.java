@@ -0,0 +1,184 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Results of the selection scripts executed on a node, reused until the
+ * {@link SelectionScript#getResultCacheTimeout() timeout} of their script expires.
+ *
+ * A result is identified by the content, engine and parameters of the script, and by the bindings
+ * whose name appears in the content of the script. The other bindings, such as the ids of the job
+ * and of the task, do not prevent a result from being reused by another task.
+ * Bindings holding a map, such as the variables, are compared entry by entry the same way.
+ * Keying on all the bindings would make every task miss the cache, so a binding read through a name
+ * computed by the script is not part of the key, as documented on {@link SelectionScript#setResultCacheTimeout(long)}.
+ * The least recently used results are removed when the maximum size is reached.
+ */
+class SelectionScriptResultCache {
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Map<Key, CachedResult> results;
+
+    SelectionScriptResultCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    SelectionScriptResultCache(final int maxSize) {
+        this.results = new LinkedHashMap<Key, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the result of a previous execution of the script with the same bindings,
+     * or null if there is none or if it has expired.
+     */
+    synchronized ScriptResult<Boolean> get(SelectionScript script, Map<String, Object> bindings) {
+        if (!isCacheable(script)) {
+            return null;
+        }
+        Key key = new Key(script, bindings);
+        CachedResult cached = results.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expirationTime <= System.currentTimeMillis()) {
+            results.remove(key);
+            return null;
+        }
+        return cached.result;
+    }
+
+    /**
+     * Keeps the result of the script if its timeout allows it. Failed executions are never kept.
+     */
+    synchronized void put(SelectionScript script, Map<String, Object> bindings, ScriptResult<Boolean> result) {
+        if (!isCacheable(script) || result.errorOccured()) {
+            return;
+        }
+        long expirationTime = System.currentTimeMillis() + script.getResultCacheTimeout();
+        results.put(new Key(script, bindings), new CachedResult(result, expirationTime));
+    }
+
+    synchronized int size() {
+        return results.size();
+    }
+
+    private static boolean isCacheable(SelectionScript script) {
+        return script.getResultCacheTimeout() > 0 && script.getScript() != null;
+    }
+
+    /**
+     * Returns the bindings read by the script: the bindings and the entries of the map bindings
+     * whose name appears in its content.
+     */
+    private static Map<String, Object> readBindings(String content, Map<String, Object> bindings) {
+        Map<String, Object> readBindings = new HashMap<>();
+        if (bindings == null) {
+            return readBindings;
+        }
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            if (binding.getValue() instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) binding.getValue()).entrySet()) {
+                    String name = String.valueOf(entry.getKey());
+                    if (content.contains(name)) {
+                        readBindings.put(binding.getKey() + "." + name, entry.getValue());
+                    }
+                }
+            } else if (content.contains(binding.getKey())) {
+                readBindings.put(binding.getKey(), binding.getValue());
+            }
+        }
+        return readBindings;
+    }
+
+    private static final class CachedResult {
+
+        private final ScriptResult<Boolean> result;
+
+        private final long expirationTime;
+
+        private CachedResult(ScriptResult<Boolean> result, long expirationTime) {
+            this.result = result;
+            this.expirationTime = expirationTime;
+        }
+    }
+
+    private static final class Key {
+
+        private final String content;
+
+        private final String engineName;
+
+        private final Serializable[] parameters;
+
+        private final boolean dynamic;
+
+        private final Map<String, Object> bindings;
+
+        private final int hashCode;
+
+        private Key(SelectionScript script, Map<String, Object> bindings) {
+            this.content = script.getScript();
+            this.engineName = script.getEngineName();
+            this.parameters = script.getParameters();
+            this.dynamic = script.isDynamic();
+            this.bindings = readBindings(content, bindings);
+            this.hashCode = Objects.hash(content, engineName, Arrays.hashCode(parameters), dynamic, this.bindings);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && dynamic == key.dynamic && Objects.equals(content, key.content) &&
+                   Objects.equals(engineName, key.engineName) && Arrays.equals(parameters, key.parameters) &&
+                   bindings.equals(key.bindings);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.jmx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.apache.log4j.BasicConfigurator;
+import org.apache.log4j.Logger;
+import org.apache.log4j.varia.NullAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+
+public class RRDDataStoreTest {
+
+    private static final long START = 1000000;
+
+    private static final int STEP = 4;
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private RRDDataStore store;
+
+    @BeforeClass
+    public static void configureLog4J() {
+        BasicConfigurator.configure(new NullAppender());
+    }
+
+    @Before
+    public void createStore() throws Exception {
+        File rrdFile = new File(temp.newFolder(), "test.rrd");
+
+        RrdDef rrdDef = new RrdDef(rrdFile.getPath(), START, STEP);
+        rrdDef.addDatasource("Value", DsType.GAUGE, 600, 0, Double.NaN);
+        rrdDef.addDatasource("Other", DsType.GAUGE, 600, 0, Double.NaN);
+        rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 150);
+        RrdDb dataBase = new RrdDb(rrdDef);
+        Sample sample = dataBase.createSample();
+        for (int i = 1; i <= 10; i++) {
+            sample.setTime(START + i * STEP);
+            sample.setValue("Value", i);
+            sample.setValue("Other", i + 0.25);
+            sample.update();
+        }
+        dataBase.close();
+
+        // the step of the store is long enough to not add samples during the test
+        store = new RRDDataStore(new Fake(), rrdFile.getPath(), 3600, Logger.getLogger("test"));
+    }
+
+    @After
+    public void terminateStore() {
+        store.terminate();
+    }
+
+    @Test
+    public void fetch_returns_the_values_of_the_requested_sources() throws Exception {
+        String json = store.fetch(new String[] { "Value" }, 8, 0, 0);
+
+        assertEquals("{\"start\":1000032,\"end\":1000040,\"step\":4,\"values\":{\"Value\":[8,9,10]}}", json);
+    }
+
+    @Test
+    public void fetch_returns_the_values_after_since() throws Exception {
+        String json = store.fetch(new String[] { "Value", "Other" }, 40, START + 32, 0);
+
+        assertEquals("{\"start\":1000036,\"end\":1000040,\"step\":4," +
+                     "\"values\":{\"Value\":[9,10],\"Other\":[9.25,10.25]}}", json);
+    }
+
+    @Test
+    public void fetch_returns_no_values_when_nothing_is_new() throws Exception {
+        String json = store.fetch(new String[] { "Value" }, 40, START + 40, 0);
+
+        assertEquals("{\"start\":1000040,\"end\":1000040,\"step\":4,\"values\":{\"Value\":[]}}", json);
+    }
+
+    @Test
+    public void fetch_ignores_unknown_sources() throws Exception {
+        String json = store.fetch(new String[] { "Unknown" }, 8, 0, 0);
+
+        assertEquals("{\"start\":1000032,\"end\":1000040,\"step\":4,\"values\":{}}", json);
+    }
+
+    @Test(expected = IOException.class)
+    public void fetch_fails_once_the_store_is_terminated() throws Exception {
+        store.fetch(new String[] { "Value" }, 8, 0, 0);
+        store.terminate();
+
+        store.fetch(new String[] { "Value" }, 8, 0, 0);
+    }
+
+    public interface FakeMBean {
+        double getValue();
+
+        double getOther();
+    }
+
+    public static class Fake extends StandardMBean implements FakeMBean {
+
+        public Fake() throws NotCompliantMBeanException {
+            super(FakeMBean.class);
+        }
+
+        @Chronological
+        public double getValue() {
+            return 42;
+        }
+
+        @Chronological
+        public double getOther() {
+            return 42;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+
+public class ScriptHandlerTest {
+
+    @Test
+    public void testHandleSelectionScriptsStopsAtFirstFailure() throws Exception {
+        SelectionScript selected = new SelectionScript("selected = true;", "javascript");
+        SelectionScript notSelected = new SelectionScript("selected = false;", "javascript");
+
+        List<SelectionScript> scripts = Arrays.asList(selected, notSelected, selected);
+
+        List<ScriptResult<Boolean>> results = new ScriptHandler().handleSelectionScripts(scripts, null);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getResult()).isTrue();
+        assertThat(results.get(1).getResult()).isFalse();
+    }
+
+    @Test
+    public void testHandleSelectionScriptsWithBindings() throws Exception {
+        SelectionScript script = new SelectionScript("selected = (value == 'expected');", "javascript");
+
+        Map<String, Serializable> bindings = Collections.singletonMap("value", (Serializable) "expected");
+
+        List<SelectionScript> scripts = Collections.singletonList(script);
+
+        List<ScriptResult<Boolean>> results = new ScriptHandler().handleSelectionScripts(scripts, bindings);
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).errorOccured()).isFalse();
+        assertThat(results.get(0).getResult()).isTrue();
+    }
+
+    @Test
+    public void testHandleSelectionScriptsReusesCachedResults() throws Exception {
+        SelectionScript cached = new SelectionScript("selected = true; // cached", "javascript");
+        cached.setResultCacheTimeout(60000);
+        SelectionScript notCached = new SelectionScript("selected = true; // not cached", "javascript");
+        List<SelectionScript> scripts = Arrays.asList(cached, notCached);
+
+        ScriptHandler handler = new ScriptHandler();
+        List<ScriptResult<Boolean>> firstResults = handler.handleSelectionScripts(scripts, null);
+        List<ScriptResult<Boolean>> secondResults = handler.handleSelectionScripts(scripts, null);
+        List<ScriptResult<Boolean>> otherNodeResults = new ScriptHandler().handleSelectionScripts(scripts, null);
+
+        assertThat(secondResults.get(0)).isSameAs(firstResults.get(0));
+        assertThat(secondResults.get(1)).isNotSameAs(firstResults.get(1));
+        assertThat(otherNodeResults.get(0)).isNotSameAs(firstResults.get(0));
+    }
+}
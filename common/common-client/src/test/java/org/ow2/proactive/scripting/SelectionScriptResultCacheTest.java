@@ -0,0 +1,131 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scripting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SelectionScriptResultCacheTest {
+
+    private SelectionScriptResultCache cache;
+
+    private SelectionScript script;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new SelectionScriptResultCache(2);
+        script = new SelectionScript("selected = value == 'a' || variables.get('MEMORY') > 2;", "javascript");
+        script.setResultCacheTimeout(60000);
+    }
+
+    @Test
+    public void testResultIsReusedWithSameBindings() {
+        ScriptResult<Boolean> result = new ScriptResult<>(true);
+        cache.put(script, bindings("a"), result);
+
+        assertThat(cache.get(script, bindings("a"))).isSameAs(result);
+        assertThat(cache.get(script, bindings("b"))).isNull();
+        assertThat(cache.get(script, null)).isNull();
+    }
+
+    @Test
+    public void testResultIsReusedWhenBindingsNotReadByTheScriptChange() {
+        ScriptResult<Boolean> result = new ScriptResult<>(true);
+        cache.put(script, variables("1", "MEMORY", 4), result);
+
+        assertThat(cache.get(script, variables("2", "MEMORY", 4))).isSameAs(result);
+        assertThat(cache.get(script, variables("2", "MEMORY", 1))).isNull();
+    }
+
+    @Test
+    public void testVariablesReadThroughComputedNamesAreNotPartOfTheKey() {
+        SelectionScript computedNameScript = new SelectionScript("selected = variables.get('MEM' + 'ORY') > 2;",
+                                                                 "javascript");
+        computedNameScript.setResultCacheTimeout(60000);
+        ScriptResult<Boolean> result = new ScriptResult<>(true);
+        cache.put(computedNameScript, variables("1", "MEMORY", 4), result);
+
+        assertThat(cache.get(computedNameScript, variables("2", "MEMORY", 1))).isSameAs(result);
+    }
+
+    @Test
+    public void testResultIsNotKeptWithoutTimeout() {
+        script.setResultCacheTimeout(0);
+        cache.put(script, bindings("a"), new ScriptResult<>(true));
+
+        assertThat(cache.get(script, bindings("a"))).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFailedResultIsNotKept() {
+        cache.put(script, bindings("a"), new ScriptResult<Boolean>(new IllegalStateException()));
+
+        assertThat(cache.get(script, bindings("a"))).isNull();
+    }
+
+    @Test
+    public void testResultExpires() throws Exception {
+        script.setResultCacheTimeout(50);
+        cache.put(script, bindings("a"), new ScriptResult<>(true));
+
+        Thread.sleep(100);
+
+        assertThat(cache.get(script, bindings("a"))).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsRemoved() {
+        cache.put(script, bindings("a"), new ScriptResult<>(true));
+        cache.put(script, bindings("b"), new ScriptResult<>(true));
+        cache.get(script, bindings("a"));
+        cache.put(script, bindings("c"), new ScriptResult<>(false));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(script, bindings("a"))).isNotNull();
+        assertThat(cache.get(script, bindings("b"))).isNull();
+    }
+
+    private static Map<String, Object> bindings(String value) {
+        return Collections.<String, Object> singletonMap("value", value);
+    }
+
+    private static Map<String, Object> variables(String taskId, String name, Object value) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("PA_JOB_ID", "1");
+        variables.put("PA_TASK_ID", taskId);
+        variables.put(name, value);
+        return Collections.<String, Object> singletonMap("variables", variables);
+    }
+}
@@ -1070,6 +1070,39 @@ public class RMRest implements RMRestInterface {
         return ret;
     }
 
+    /**
+     * Returns the values of some statistics of the RM, as stored in the RRD data base of the RM.
+     * Only the requested values are transferred, the data base is not copied.
+     *
+     * @param sessionId a valid session
+     * @param sources the names of the data sources to fetch, all of them when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned,
+     *      a client polling the statistics passes the <code>end</code> of the previous response
+     * @param resolution the wanted step in seconds between two values, the finest available when not positive
+     * @return a JSON object containing the <code>start</code>, <code>end</code> and <code>step</code>
+     *      in seconds of the values, and a key for each source in <code>values</code>
+     * @throws NotConnectedException
+     */
+    @Override
+    @GET
+    @GZIP
+    @Path("stathistory/fetch")
+    @Produces("application/json")
+    public String fetchStatHistory(@HeaderParam("sessionid") String sessionId,
+            @QueryParam("source") List<String> sources, @QueryParam("range") @DefaultValue("60") long range,
+            @QueryParam("since") @DefaultValue("0") long since,
+            @QueryParam("resolution") @DefaultValue("0") long resolution) throws InstanceNotFoundException,
+            MBeanException, ReflectionException, IOException, MalformedObjectNameException, NotConnectedException {
+        RMProxyUserInterface rm = checkAccess(sessionId);
+
+        return rm.fetchStatisticHistory(new ObjectName(RMJMXBeans.RUNTIMEDATA_MBEAN_NAME),
+                                        sources.toArray(new String[sources.size()]),
+                                        range,
+                                        since,
+                                        resolution);
+    }
+
     /**
      * Returns the version of the rest api
      * @return returns the version of the rest api
@@ -337,6 +337,15 @@ public interface RMRestInterface {
             throws InstanceNotFoundException, IntrospectionException, ReflectionException, IOException,
             MalformedObjectNameException, NullPointerException, InterruptedException, NotConnectedException;
 
+    @GET
+    @GZIP
+    @Path("stathistory/fetch")
+    @Produces("application/json")
+    String fetchStatHistory(@HeaderParam("sessionid") String sessionId, @QueryParam("source") List<String> sources,
+            @QueryParam("range") @DefaultValue("60") long range, @QueryParam("since") @DefaultValue("0") long since,
+            @QueryParam("resolution") @DefaultValue("0") long resolution) throws InstanceNotFoundException,
+            MBeanException, ReflectionException, IOException, MalformedObjectNameException, NotConnectedException;
+
     @GET
     @Path("version")
     String getVersion();
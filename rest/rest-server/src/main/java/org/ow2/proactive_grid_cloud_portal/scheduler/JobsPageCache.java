@@ -0,0 +1,108 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.ow2.proactive.db.SortParameter;
+import org.ow2.proactive.scheduler.common.JobFilterCriteria;
+import org.ow2.proactive.scheduler.common.JobSortParameter;
+import org.ow2.proactive.scheduler.common.Page;
+import org.ow2.proactive.scheduler.common.Scheduler;
+import org.ow2.proactive.scheduler.common.exception.NotConnectedException;
+import org.ow2.proactive.scheduler.common.exception.PermissionException;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * Short-lived cache of the job pages returned to the portals.
+ * <p>
+ * Pages are keyed by the revision of the scheduler state, the user and the
+ * request parameters. Any scheduler event increments the revision, so the
+ * portals polling the job list between two events get the same page without
+ * querying the scheduler database. The time to live only bounds the memory
+ * used by the cache and the staleness of the pages while the revision is
+ * unknown.
+ */
+class JobsPageCache {
+
+    private static final int MAXIMUM_SIZE = 1000;
+
+    private final Cache<List<Object>, Page<JobInfo>> pages;
+
+    private final boolean enabled;
+
+    JobsPageCache(long ttlInMs) {
+        this(ttlInMs, Ticker.systemTicker());
+    }
+
+    JobsPageCache(long ttlInMs, Ticker ticker) {
+        this.enabled = ttlInMs > 0;
+        this.pages = CacheBuilder.newBuilder()
+                                 .maximumSize(MAXIMUM_SIZE)
+                                 .expireAfterWrite(Math.max(ttlInMs, 0), TimeUnit.MILLISECONDS)
+                                 .ticker(ticker)
+                                 .build();
+    }
+
+    /**
+     * Returns the page of jobs for the given request, from the cache if the
+     * same user already requested it at the same revision.
+     *
+     * @param scheduler the scheduler used when the page is not cached
+     * @param revision the revision of the scheduler state, read before calling this method
+     * @param user the user requesting the page
+     */
+    Page<JobInfo> getJobs(Scheduler scheduler, long revision, String user, int index, int limit,
+            JobFilterCriteria filterCriteria, List<SortParameter<JobSortParameter>> sortParameters)
+            throws NotConnectedException, PermissionException {
+        if (!enabled || revision < 0) {
+            return scheduler.getJobs(index, limit, filterCriteria, sortParameters);
+        }
+        List<Object> key = Arrays.<Object> asList(revision,
+                                                  user,
+                                                  index,
+                                                  limit,
+                                                  filterCriteria.isMyJobsOnly(),
+                                                  filterCriteria.isPending(),
+                                                  filterCriteria.isRunning(),
+                                                  filterCriteria.isFinished(),
+                                                  sortParameters);
+        Page<JobInfo> page = pages.getIfPresent(key);
+        if (page == null) {
+            page = scheduler.getJobs(index, limit, filterCriteria, sortParameters);
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+}
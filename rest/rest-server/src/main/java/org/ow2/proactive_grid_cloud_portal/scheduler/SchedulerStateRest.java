@@ -31,11 +31,8 @@ import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.io.SequenceInputStream;
 import java.io.Serializable;
 import java.net.HttpURLConnection;
@@ -76,7 +73,6 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.PathSegment;
 import javax.ws.rs.core.Response;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.vfs2.FileObject;
@@ -218,6 +214,8 @@ public class SchedulerStateRest implements SchedulerRestInterface {
                                                                                                          new SortParameter<>(JobSortParameter.ID,
                                                                                                                              SortOrder.DESC));
 
+    private static final JobsPageCache jobsPageCache = new JobsPageCache(PortalConfiguration.SCHEDULER_CACHE_JOBS_TTL.getValueAsLong());
+
     private static final Mapper mapper = new DozerBeanMapper(Collections.singletonList("org/ow2/proactive_grid_cloud_portal/scheduler/dozer-mappings.xml"));
 
     @Context
@@ -249,11 +247,16 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             throws NotConnectedRestException, PermissionRestException {
         try {
             Scheduler s = checkAccess(sessionId, "/scheduler/jobs");
+            long revision = SchedulerStateListener.getInstance().getSchedulerStateRevision();
+            String user = sessionStore.get(sessionId).getUserName();
 
-            Page<JobInfo> page = s.getJobs(index,
-                                           limit,
-                                           new JobFilterCriteria(false, true, true, true),
-                                           DEFAULT_JOB_SORT_PARAMS);
+            Page<JobInfo> page = jobsPageCache.getJobs(s,
+                                                       revision,
+                                                       user,
+                                                       index,
+                                                       limit,
+                                                       new JobFilterCriteria(false, true, true, true),
+                                                       DEFAULT_JOB_SORT_PARAMS);
 
             List<String> ids = new ArrayList<String>(page.getList().size());
             for (JobInfo jobInfo : page.getList()) {
@@ -291,11 +294,16 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             throws PermissionRestException, NotConnectedRestException {
         try {
             Scheduler s = checkAccess(sessionId, "/scheduler/jobsinfo");
+            long revision = SchedulerStateListener.getInstance().getSchedulerStateRevision();
+            String user = sessionStore.get(sessionId).getUserName();
 
-            Page<JobInfo> page = s.getJobs(index,
-                                           limit,
-                                           new JobFilterCriteria(false, true, true, true),
-                                           DEFAULT_JOB_SORT_PARAMS);
+            Page<JobInfo> page = jobsPageCache.getJobs(s,
+                                                       revision,
+                                                       user,
+                                                       index,
+                                                       limit,
+                                                       new JobFilterCriteria(false, true, true, true),
+                                                       DEFAULT_JOB_SORT_PARAMS);
             List<UserJobData> userJobInfoList = new ArrayList<UserJobData>(page.getList().size());
             for (JobInfo jobInfo : page.getList()) {
                 userJobInfoList.add(new UserJobData(mapper.map(jobInfo, JobInfoData.class)));
@@ -351,10 +359,15 @@ public class SchedulerStateRest implements SchedulerRestInterface {
 
             boolean onlyUserJobs = (myJobs && user != null && user.trim().length() > 0);
 
-            Page<JobInfo> page = s.getJobs(index,
-                                           limit,
-                                           new JobFilterCriteria(onlyUserJobs, pending, running, finished),
-                                           DEFAULT_JOB_SORT_PARAMS);
+            // the revision is read before the jobs so that a page is never cached under a newer revision
+            long revision = SchedulerStateListener.getInstance().getSchedulerStateRevision();
+            Page<JobInfo> page = jobsPageCache.getJobs(s,
+                                                       revision,
+                                                       user,
+                                                       index,
+                                                       limit,
+                                                       new JobFilterCriteria(onlyUserJobs, pending, running, finished),
+                                                       DEFAULT_JOB_SORT_PARAMS);
             List<JobInfo> jobsInfo = page.getList();
             ArrayList<UserJobData> jobs = new ArrayList<>(jobsInfo.size());
             for (JobInfo jobInfo : jobsInfo) {
@@ -362,7 +375,7 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             }
 
             HashMap<Long, ArrayList<UserJobData>> map = new HashMap<Long, ArrayList<UserJobData>>(1);
-            map.put(SchedulerStateListener.getInstance().getSchedulerStateRevision(), jobs);
+            map.put(revision, jobs);
             RestMapPage<Long, ArrayList<UserJobData>> restMapPage = new RestMapPage<Long, ArrayList<UserJobData>>();
             restMapPage.setMap(map);
             restMapPage.setSize(page.getSize());
@@ -2182,39 +2195,19 @@ public class SchedulerStateRest implements SchedulerRestInterface {
         Scheduler s = checkAccess(sessionId, "submitflat");
 
         try {
-            File command = File.createTempFile("flatsubmit_commands_", ".txt");
-            command.deleteOnExit();
-
-            String selectionPath = null;
-            File selection = null;
-
+            String selectionScript = null;
             if (selectionScriptContent != null && selectionScriptContent.trim().length() > 0) {
-                selection = File.createTempFile("flatsubmit_selection_", "." + selectionScriptExtension);
-                selection.deleteOnExit();
-                try (PrintWriter pw = new PrintWriter(new FileOutputStream(selection))) {
-                    pw.print(selectionScriptContent);
-                }
-                selectionPath = selection.getAbsolutePath();
+                selectionScript = selectionScriptContent;
             }
 
-            try (PrintWriter pw = new PrintWriter(new FileOutputStream(command))) {
-                pw.print(commandFileContent);
-            }
-
-            Job j = FlatJobFactory.getFactory().createNativeJobFromCommandsFile(command.getAbsolutePath(),
-                                                                                jobName,
-                                                                                selectionPath,
-                                                                                null);
+            Job j = FlatJobFactory.getFactory().createNativeJobFromCommands(commandFileContent,
+                                                                            jobName,
+                                                                            selectionScript,
+                                                                            selectionScriptExtension,
+                                                                            null);
             JobId id = s.submit(j);
 
-            command.delete();
-            if (selection != null) {
-                selection.delete();
-            }
-
             return mapper.map(id, JobIdData.class);
-        } catch (IOException e) {
-            throw new IOException("I/O Error: " + e.getMessage(), e);
         } catch (JobCreationException e) {
             throw new JobCreationRestException(e);
         } catch (NotConnectedException e) {
@@ -2252,25 +2245,15 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             PermissionRestException, SubmissionClosedRestException, IOException {
         Scheduler s = checkAccess(sessionId, "jobs");
 
-        File tmpWorkflowFile = null;
-        try {
-            String jobXml = downloadWorkflowContent(sessionId, url);
-            tmpWorkflowFile = File.createTempFile("job", "d");
-            JobId jobId;
-            try (OutputStream outputStream = new FileOutputStream(tmpWorkflowFile)) {
-                IOUtils.write(jobXml, outputStream);
-
-                WorkflowSubmitter workflowSubmitter = new WorkflowSubmitter(s);
-                jobId = workflowSubmitter.submit(tmpWorkflowFile,
-                                                 workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment));
-            }
-
-            return mapper.map(jobId, JobIdData.class);
-        } catch (IOException e) {
-            throw new IOException("Cannot save temporary job file on submission: " + e.getMessage(), e);
-        } finally {
-            FileUtils.deleteQuietly(tmpWorkflowFile);
+        String jobXml = downloadWorkflowContent(sessionId, url);
+        JobId jobId;
+        try (InputStream workflowStream = IOUtils.toInputStream(jobXml)) {
+            WorkflowSubmitter workflowSubmitter = new WorkflowSubmitter(s);
+            jobId = workflowSubmitter.submit(workflowStream,
+                                             workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment));
         }
+
+        return mapper.map(jobId, JobIdData.class);
     }
 
     /**
@@ -2296,42 +2279,28 @@ public class SchedulerStateRest implements SchedulerRestInterface {
             Map<String, List<InputPart>> formDataMap = multipart.getFormDataMap();
 
             String name = formDataMap.keySet().iterator().next();
-            File tmpJobFile = null;
-            try {
-
-                InputPart part1 = multipart.getFormDataMap().get(name).get(0); // "file"
-
-                String fileType = part1.getMediaType().toString().toLowerCase();
-                if (!fileType.contains(MediaType.APPLICATION_XML.toLowerCase())) {
-                    throw new JobCreationRestException("Unknown job descriptor type: " + fileType);
-                }
-
-                // is the name of the browser's input field
-                InputStream is = part1.getBody(new GenericType<InputStream>() {
 
-                });
-                tmpJobFile = File.createTempFile("job", "d");
+            InputPart part1 = multipart.getFormDataMap().get(name).get(0); // "file"
 
-                JobId jobId;
-
-                try (OutputStream outputStream = new FileOutputStream(tmpJobFile)) {
-                    IOUtils.copy(is, outputStream);
-
-                    Map<String, String> jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
+            String fileType = part1.getMediaType().toString().toLowerCase();
+            if (!fileType.contains(MediaType.APPLICATION_XML.toLowerCase())) {
+                throw new JobCreationRestException("Unknown job descriptor type: " + fileType);
+            }
 
-                    WorkflowSubmitter workflowSubmitter = new WorkflowSubmitter(scheduler);
+            // is the name of the browser's input field
+            JobId jobId;
+            try (InputStream is = part1.getBody(new GenericType<InputStream>() {
 
-                    jobId = workflowSubmitter.submit(tmpJobFile, jobVariables);
-                }
+            })) {
+                Map<String, String> jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
 
-                return mapper.map(jobId, JobIdData.class);
+                WorkflowSubmitter workflowSubmitter = new WorkflowSubmitter(scheduler);
 
-            } finally {
-                if (tmpJobFile != null) {
-                    // clean the temporary file
-                    FileUtils.deleteQuietly(tmpJobFile);
-                }
+                // the workflow is read in memory, without temporary file
+                jobId = workflowSubmitter.submit(is, jobVariables);
             }
+
+            return mapper.map(jobId, JobIdData.class);
         } catch (IOException e) {
             throw new IOException("I/O Error: " + e.getMessage(), e);
         }
@@ -3278,33 +3247,22 @@ public class SchedulerStateRest implements SchedulerRestInterface {
 
     @Override
     public JobValidationData validate(PathSegment pathSegment, MultipartFormDataInput multipart) {
-        File tmpFile = null;
         try {
             Map<String, List<InputPart>> formDataMap = multipart.getFormDataMap();
             String name = formDataMap.keySet().iterator().next();
             InputPart part1 = formDataMap.get(name).get(0);
-            InputStream is = part1.getBody(new GenericType<InputStream>() {
-
-            });
+            try (InputStream is = part1.getBody(new GenericType<InputStream>() {
 
-            tmpFile = File.createTempFile("valid-job", "d");
-            Map<String, String> jobVariables;
-            try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
-                IOUtils.copy(is, outputStream);
+            })) {
+                Map<String, String> jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
 
-                jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
+                return jobValidator.validateJob(is, jobVariables);
             }
-
-            return jobValidator.validateJobDescriptor(tmpFile, jobVariables);
         } catch (IOException e) {
             JobValidationData validation = new JobValidationData();
             validation.setErrorMessage("Cannot read from the job validation request.");
             validation.setStackTrace(getStackTrace(e));
             return validation;
-        } finally {
-            if (tmpFile != null) {
-                FileUtils.deleteQuietly(tmpFile);
-            }
         }
     }
 
@@ -3312,27 +3270,20 @@ public class SchedulerStateRest implements SchedulerRestInterface {
     public JobValidationData validateFromUrl(String sessionId, String url, PathSegment pathSegment)
             throws NotConnectedRestException {
 
-        File tmpWorkflowFile = null;
         try {
             checkAccess(sessionId);
             String jobXml = downloadWorkflowContent(sessionId, url);
-            tmpWorkflowFile = File.createTempFile("job", "d");
-            Map<String, String> jobVariables;
-            try (OutputStream outputStream = new FileOutputStream(tmpWorkflowFile)) {
-                IOUtils.write(jobXml, outputStream);
+            Map<String, String> jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
 
-                jobVariables = workflowVariablesTransformer.getWorkflowVariablesFromPathSegment(pathSegment);
+            try (InputStream workflowStream = IOUtils.toInputStream(jobXml)) {
+                return jobValidator.validateJob(workflowStream, jobVariables);
             }
 
-            return jobValidator.validateJobDescriptor(tmpWorkflowFile, jobVariables);
-
         } catch (JobCreationRestException | IOException e) {
             JobValidationData validation = new JobValidationData();
             validation.setErrorMessage("Error while reading workflow at url: " + url);
             validation.setStackTrace(getStackTrace(e));
             return validation;
-        } finally {
-            FileUtils.deleteQuietly(tmpWorkflowFile);
         }
     }
 
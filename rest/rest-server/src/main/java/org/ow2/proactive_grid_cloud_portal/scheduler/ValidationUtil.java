@@ -65,6 +65,7 @@ package org.ow2.proactive_grid_cloud_portal.scheduler;
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -95,20 +96,39 @@ public class ValidationUtil {
         try {
             JobFactory factory = JobFactory.getFactory();
             Job job = factory.createJob(jobFilePath, jobVariables);
+            validateCreatedJob(job, data);
+        } catch (JobCreationException e) {
+            setError(data, e);
+        }
+        return data;
 
-            if (job instanceof TaskFlowJob) {
-                validateJob((TaskFlowJob) job, data);
-                fillUpdatedVariables((TaskFlowJob) job, data);
-            } else {
-                data.setValid(true);
-            }
+    }
+
+    public JobValidationData validateJob(InputStream jobInputStream, Map<String, String> jobVariables) {
+        JobValidationData data = new JobValidationData();
+        try {
+            JobFactory factory = JobFactory.getFactory();
+            Job job = factory.createJob(jobInputStream, jobVariables);
+            validateCreatedJob(job, data);
         } catch (JobCreationException e) {
-            data.setTaskName(e.getTaskName());
-            data.setErrorMessage(e.getMessage());
-            data.setStackTrace(getStackTrace(e));
+            setError(data, e);
         }
         return data;
+    }
+
+    private void validateCreatedJob(Job job, JobValidationData data) {
+        if (job instanceof TaskFlowJob) {
+            validateJob((TaskFlowJob) job, data);
+            fillUpdatedVariables((TaskFlowJob) job, data);
+        } else {
+            data.setValid(true);
+        }
+    }
 
+    private void setError(JobValidationData data, JobCreationException e) {
+        data.setTaskName(e.getTaskName());
+        data.setErrorMessage(e.getMessage());
+        data.setStackTrace(getStackTrace(e));
     }
 
     private void fillUpdatedVariables(TaskFlowJob job, JobValidationData data) {
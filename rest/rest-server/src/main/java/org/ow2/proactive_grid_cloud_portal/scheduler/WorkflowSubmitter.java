@@ -26,6 +26,7 @@
 package org.ow2.proactive_grid_cloud_portal.scheduler;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
@@ -69,7 +70,36 @@ public class WorkflowSubmitter {
     public JobId submit(File workflowFile, Map<String, String> variables) throws NotConnectedRestException,
             PermissionRestException, SubmissionClosedRestException, JobCreationRestException {
         try {
-            return scheduler.submit(createJobObject(workflowFile, variables));
+            return submit(createJobObject(workflowFile, variables));
+        } catch (JobCreationException e) {
+            throw new JobCreationRestException(e);
+        }
+    }
+
+    /**
+     * Submits a workflow to the scheduler, the workflow is read in memory.
+     *
+     * @param workflowStream a stream on the XML workflow
+     * @param variables    variables to be replaced on submission
+     * @return job ID of the job created for the specified workflow and associated variables.
+     * @throws JobCreationRestException
+     * @throws NotConnectedRestException
+     * @throws PermissionRestException
+     * @throws SubmissionClosedRestException
+     */
+    public JobId submit(InputStream workflowStream, Map<String, String> variables) throws NotConnectedRestException,
+            PermissionRestException, SubmissionClosedRestException, JobCreationRestException {
+        try {
+            return submit(JobFactory.getFactory().createJob(workflowStream, variables));
+        } catch (JobCreationException e) {
+            throw new JobCreationRestException(e);
+        }
+    }
+
+    private JobId submit(Job job) throws NotConnectedRestException, PermissionRestException,
+            SubmissionClosedRestException, JobCreationRestException {
+        try {
+            return scheduler.submit(job);
         } catch (NotConnectedException e) {
             throw new NotConnectedRestException(e);
         } catch (PermissionException e) {
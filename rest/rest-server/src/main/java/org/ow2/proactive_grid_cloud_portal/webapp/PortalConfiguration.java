@@ -47,6 +47,9 @@ public enum PortalConfiguration implements PACommonProperties {
 
     SCHEDULER_CACHE_CREDENTIALS("scheduler.cache.credential", PropertyType.STRING),
 
+    /** Time to live in milliseconds of the job pages cached for the portals, 0 disables the cache */
+    SCHEDULER_CACHE_JOBS_TTL("scheduler.cache.jobs.ttl", PropertyType.INTEGER, "5000"),
+
     SCHEDULER_LOGINFORWARDINGSERVICE_PROVIDER(
             "scheduler.logforwardingservice.provider",
             PropertyType.STRING,
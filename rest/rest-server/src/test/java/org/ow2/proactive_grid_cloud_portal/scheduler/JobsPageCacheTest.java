@@ -0,0 +1,137 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive_grid_cloud_portal.scheduler;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.db.SortParameter;
+import org.ow2.proactive.scheduler.common.JobFilterCriteria;
+import org.ow2.proactive.scheduler.common.JobSortParameter;
+import org.ow2.proactive.scheduler.common.Page;
+import org.ow2.proactive.scheduler.common.Scheduler;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+
+import com.google.common.base.Ticker;
+
+
+public class JobsPageCacheTest {
+
+    private static final List<SortParameter<JobSortParameter>> SORT_PARAMS = SchedulerStateRest.DEFAULT_JOB_SORT_PARAMS;
+
+    private Scheduler scheduler;
+
+    private ManualTicker ticker;
+
+    private JobsPageCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = mock(Scheduler.class);
+        when(scheduler.getJobs(anyInt(),
+                               anyInt(),
+                               any(JobFilterCriteria.class),
+                               any(List.class))).thenReturn(new Page<>(Collections.<JobInfo> emptyList(), 0));
+        ticker = new ManualTicker();
+        cache = new JobsPageCache(1000, ticker);
+    }
+
+    @Test
+    public void identical_requests_at_the_same_revision_should_query_the_scheduler_once() throws Exception {
+        Page<JobInfo> first = cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+        Page<JobInfo> second = cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+
+        assertThat(second).isSameAs(first);
+        verify(scheduler, times(1)).getJobs(anyInt(), anyInt(), any(JobFilterCriteria.class), any(List.class));
+    }
+
+    @Test
+    public void requests_should_be_cached_by_revision_user_filters_and_page() throws Exception {
+        cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, 4, "user", 0, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, 4, "admin", 0, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, 4, "admin", 50, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, 4, "admin", 50, 50, new JobFilterCriteria(true, true, true, true), SORT_PARAMS);
+
+        verify(scheduler, times(5)).getJobs(anyInt(), anyInt(), any(JobFilterCriteria.class), any(List.class));
+    }
+
+    @Test
+    public void pages_should_expire() throws Exception {
+        cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+        ticker.advance(1001, TimeUnit.MILLISECONDS);
+        cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+
+        verify(scheduler, times(2)).getJobs(anyInt(), anyInt(), any(JobFilterCriteria.class), any(List.class));
+    }
+
+    @Test
+    public void pages_should_not_be_cached_while_the_revision_is_unknown() throws Exception {
+        cache.getJobs(scheduler, -1, "user", 0, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, -1, "user", 0, 50, allJobs(), SORT_PARAMS);
+
+        verify(scheduler, times(2)).getJobs(anyInt(), anyInt(), any(JobFilterCriteria.class), any(List.class));
+    }
+
+    @Test
+    public void pages_should_not_be_cached_when_the_cache_is_disabled() throws Exception {
+        cache = new JobsPageCache(0, ticker);
+        cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+        cache.getJobs(scheduler, 3, "user", 0, 50, allJobs(), SORT_PARAMS);
+
+        verify(scheduler, times(2)).getJobs(anyInt(), anyInt(), any(JobFilterCriteria.class), any(List.class));
+    }
+
+    private static JobFilterCriteria allJobs() {
+        return new JobFilterCriteria(false, true, true, true);
+    }
+
+    private static class ManualTicker extends Ticker {
+
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+
+}
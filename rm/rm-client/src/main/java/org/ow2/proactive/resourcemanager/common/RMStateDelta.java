@@ -0,0 +1,129 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.common;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
+
+import org.objectweb.proactive.annotation.PublicAPI;
+
+
+/**
+ * RMStateDelta represents the changes of the node urls known by the resource manager
+ * since a given revision of its state.
+ * <p>
+ * A delta is either incremental, and then only contains the nodes whose state changed
+ * after the requested revision, or a full snapshot of all the nodes when the requested
+ * revision can no longer be served incrementally (first call, resource manager restart,
+ * nodes recovery, history compaction).
+ *
+ * @see RMStateMirror
+ */
+@PublicAPI
+public class RMStateDelta implements Serializable {
+
+    /**
+     * State of a node url from the point of view of the scheduling.
+     */
+    public enum NodeUrlState {
+        /** The node is free and not locked, i.e. eligible for scheduling */
+        ELIGIBLE,
+        /** The node is alive but not eligible (busy, locked, configuring, to be removed) */
+        ALIVE,
+        /** The node is known by the resource manager but down */
+        DOWN,
+        /** The node is no longer known by the resource manager */
+        REMOVED
+    }
+
+    private final long epoch;
+
+    private final long revision;
+
+    private final boolean snapshot;
+
+    private final Long maxNumberOfNodes;
+
+    private final Map<String, NodeUrlState> changes;
+
+    public RMStateDelta(long epoch, long revision, boolean snapshot, Long maxNumberOfNodes,
+            Map<String, NodeUrlState> changes) {
+        this.epoch = epoch;
+        this.revision = revision;
+        this.snapshot = snapshot;
+        this.maxNumberOfNodes = maxNumberOfNodes;
+        this.changes = changes;
+    }
+
+    /**
+     * Returns the identifier of the resource manager state history this delta belongs to.
+     * Revisions of two different epochs cannot be compared.
+     *
+     * @return the epoch of the state history
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the revision of the resource manager state once this delta is applied.
+     *
+     * @return the revision reached by this delta
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Returns true if this delta contains all the nodes known by the resource manager,
+     * in which case any previously mirrored state must be discarded.
+     *
+     * @return true if this delta is a full snapshot
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public Long getMaxNumberOfNodes() {
+        return maxNumberOfNodes;
+    }
+
+    /**
+     * Returns the last known state of every node url which changed since the requested revision.
+     *
+     * @return node urls changes
+     */
+    public Map<String, NodeUrlState> getChanges() {
+        return Collections.unmodifiableMap(changes);
+    }
+
+    @Override
+    public String toString() {
+        return "RMStateDelta{epoch=" + epoch + ", revision=" + revision + ", snapshot=" + snapshot + ", changes=" +
+               changes.size() + "}";
+    }
+}
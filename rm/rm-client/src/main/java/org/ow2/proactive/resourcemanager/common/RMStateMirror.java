@@ -0,0 +1,141 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.common;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
+
+
+/**
+ * Local copy of the node urls known by the resource manager, kept up to date
+ * by applying {@link RMStateDelta} instances.
+ * <p>
+ * The mirror remembers the epoch and revision of the last applied delta so that
+ * the next request only asks for what changed since then. Applying a delta
+ * costs a time proportional to the number of changed nodes, except for snapshots.
+ * <p>
+ * This class is not thread-safe, it is meant to be owned by a single thread
+ * (e.g. the scheduling thread).
+ */
+public class RMStateMirror {
+
+    /** Epoch value meaning that nothing was ever received */
+    public static final long NO_EPOCH = -1;
+
+    private final Set<String> eligibleNodes = new HashSet<>();
+
+    private final Set<String> aliveNodes = new HashSet<>();
+
+    private final Set<String> allNodes = new HashSet<>();
+
+    private long epoch = NO_EPOCH;
+
+    private long revision = 0;
+
+    private Long maxNumberOfNodes;
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Apply the given delta to this mirror. A snapshot replaces the whole mirrored state.
+     *
+     * @param delta the changes received from the resource manager
+     */
+    public void apply(RMStateDelta delta) {
+        if (delta.isSnapshot()) {
+            eligibleNodes.clear();
+            aliveNodes.clear();
+            allNodes.clear();
+        } else if (delta.getEpoch() != epoch) {
+            throw new IllegalArgumentException("Cannot apply an incremental delta of epoch " + delta.getEpoch() +
+                                               " on a mirror of epoch " + epoch);
+        }
+        for (Map.Entry<String, NodeUrlState> change : delta.getChanges().entrySet()) {
+            update(change.getKey(), change.getValue());
+        }
+        epoch = delta.getEpoch();
+        revision = delta.getRevision();
+        maxNumberOfNodes = delta.getMaxNumberOfNodes();
+    }
+
+    /**
+     * Forget the mirrored state so that the next delta request returns a snapshot.
+     */
+    public void invalidate() {
+        epoch = NO_EPOCH;
+        revision = 0;
+    }
+
+    private void update(String nodeUrl, NodeUrlState state) {
+        switch (state) {
+            case ELIGIBLE:
+                eligibleNodes.add(nodeUrl);
+                aliveNodes.add(nodeUrl);
+                allNodes.add(nodeUrl);
+                break;
+            case ALIVE:
+                eligibleNodes.remove(nodeUrl);
+                aliveNodes.add(nodeUrl);
+                allNodes.add(nodeUrl);
+                break;
+            case DOWN:
+                eligibleNodes.remove(nodeUrl);
+                aliveNodes.remove(nodeUrl);
+                allNodes.add(nodeUrl);
+                break;
+            case REMOVED:
+                eligibleNodes.remove(nodeUrl);
+                aliveNodes.remove(nodeUrl);
+                allNodes.remove(nodeUrl);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown node url state " + state);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the mirrored state. The free nodes set is a copy
+     * that can be freely modified by the caller, the other sets are live views.
+     *
+     * @return the mirrored resource manager state
+     */
+    public RMState toRMState() {
+        RMStateNodeUrls rmStateNodeUrls = new RMStateNodeUrls(new HashSet<>(eligibleNodes),
+                                                              Collections.unmodifiableSet(aliveNodes),
+                                                              Collections.unmodifiableSet(allNodes));
+        return new RMState(rmStateNodeUrls, maxNumberOfNodes);
+    }
+}
@@ -25,17 +25,18 @@
  */
 package org.ow2.proactive.resourcemanager.common.event;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -79,6 +80,16 @@ public class RMInitialState implements Serializable {
      */
     private Map<String, RMNodeSourceEvent> nodeSourceEvents = new ConcurrentHashMap<>();
 
+    /**
+     * Nodes events indexed by counter, several events can share the same counter
+     */
+    private transient NavigableMap<Long, Map<String, RMNodeEvent>> nodeEventsByCounter;
+
+    /**
+     * Node sources events indexed by counter, several events can share the same counter
+     */
+    private transient NavigableMap<Long, Map<String, RMNodeSourceEvent>> nodeSourceEventsByCounter;
+
     /**
      * keeps track of the latest (biggest) counter among the 'nodeEvents' and 'nodeSourceEvents'
      */
@@ -88,7 +99,7 @@ public class RMInitialState implements Serializable {
      * ProActive empty constructor
      */
     public RMInitialState() {
-
+        buildCounterIndexes();
     }
 
     /**
@@ -100,6 +111,23 @@ public class RMInitialState implements Serializable {
     public RMInitialState(Map<String, RMNodeEvent> nodesEventList, Map<String, RMNodeSourceEvent> nodeSourcesList) {
         this.nodeEvents = nodesEventList;
         this.nodeSourceEvents = nodeSourcesList;
+        buildCounterIndexes();
+    }
+
+    private void buildCounterIndexes() {
+        nodeEventsByCounter = new ConcurrentSkipListMap<>();
+        for (Map.Entry<String, RMNodeEvent> entry : nodeEvents.entrySet()) {
+            addToCounterIndex(nodeEventsByCounter, entry.getKey(), entry.getValue());
+        }
+        nodeSourceEventsByCounter = new ConcurrentSkipListMap<>();
+        for (Map.Entry<String, RMNodeSourceEvent> entry : nodeSourceEvents.entrySet()) {
+            addToCounterIndex(nodeSourceEventsByCounter, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        buildCounterIndexes();
     }
 
     /**
@@ -126,39 +154,59 @@ public class RMInitialState implements Serializable {
 
     public void nodeAdded(RMNodeEvent event) {
         updateCounter(event);
-        nodeEvents.put(event.getNodeUrl(), event);
+        putEvent(nodeEvents, nodeEventsByCounter, event.getNodeUrl(), event);
 
     }
 
     public void nodeStateChanged(RMNodeEvent event) {
         updateCounter(event);
-        nodeEvents.put(event.getNodeUrl(), event);
+        putEvent(nodeEvents, nodeEventsByCounter, event.getNodeUrl(), event);
     }
 
     public void nodeRemoved(RMNodeEvent event) {
         updateCounter(event);
-        nodeEvents.put(event.getNodeUrl(), event);
+        putEvent(nodeEvents, nodeEventsByCounter, event.getNodeUrl(), event);
     }
 
     public void nodeSourceAdded(RMNodeSourceEvent event) {
         updateCounter(event);
-        nodeSourceEvents.put(event.getSourceName(), event);
+        putEvent(nodeSourceEvents, nodeSourceEventsByCounter, event.getSourceName(), event);
     }
 
     public void nodeSourceRemoved(RMNodeSourceEvent event) {
         updateCounter(event);
-        nodeSourceEvents.put(event.getSourceName(), event);
+        putEvent(nodeSourceEvents, nodeSourceEventsByCounter, event.getSourceName(), event);
     }
 
     public void nodeSourceStateChanged(RMNodeSourceEvent event) {
         updateCounter(event);
-        nodeSourceEvents.put(event.getSourceName(), event);
+        putEvent(nodeSourceEvents, nodeSourceEventsByCounter, event.getSourceName(), event);
     }
 
     private void updateCounter(RMEvent event) {
         latestCounter.set(Math.max(latestCounter.get(), event.getCounter()));
     }
 
+    private <T extends RMEvent> void putEvent(Map<String, T> events, NavigableMap<Long, Map<String, T>> eventsByCounter,
+            String key, T event) {
+        T previous = events.put(key, event);
+        if (previous != null) {
+            Map<String, T> sameCounterEvents = eventsByCounter.get(previous.getCounter());
+            if (sameCounterEvents != null) {
+                sameCounterEvents.remove(key, previous);
+                if (sameCounterEvents.isEmpty()) {
+                    eventsByCounter.remove(previous.getCounter(), sameCounterEvents);
+                }
+            }
+        }
+        addToCounterIndex(eventsByCounter, key, event);
+    }
+
+    private <T extends RMEvent> void addToCounterIndex(NavigableMap<Long, Map<String, T>> eventsByCounter, String key,
+            T event) {
+        eventsByCounter.computeIfAbsent(event.getCounter(), counter -> new ConcurrentHashMap<>()).put(key, event);
+    }
+
     /**
      * Clones current state events, but keep only those events which has counter bigger than provided 'filter'
      * Event counter can take values [0, +).
@@ -177,30 +225,34 @@ public class RMInitialState implements Serializable {
                                       latestCounter.get()));
             actualFilter = EMPTY_STATE; // reset filter to default  value
         }
-        RMInitialState clone = new RMInitialState();
+        long to = actualFilter + PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.getValueAsInt();
 
-        clone.nodeEvents = newFilteredEvents(this.nodeEvents,
-                                             actualFilter,
-                                             actualFilter + PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.getValueAsInt());
-        clone.nodeSourceEvents = newFilteredEvents(this.nodeSourceEvents,
-                                                   actualFilter,
-                                                   actualFilter + PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.getValueAsInt());
+        // only the events with a counter in ]actualFilter, to] are read, without scanning the others
+        NavigableMap<Long, Map<String, RMNodeEvent>> nodesWindow = nodeEventsByCounter.subMap(actualFilter,
+                                                                                              false,
+                                                                                              to,
+                                                                                              true);
+        NavigableMap<Long, Map<String, RMNodeSourceEvent>> sourcesWindow = nodeSourceEventsByCounter.subMap(actualFilter,
+                                                                                                            false,
+                                                                                                            to,
+                                                                                                            true);
+        RMInitialState clone = new RMInitialState(newFilteredEvents(nodesWindow), newFilteredEvents(sourcesWindow));
 
         clone.latestCounter.set(Math.max(actualFilter,
-                                         Math.max(findLargestCounter(clone.nodeEvents.values()),
-                                                  findLargestCounter(clone.nodeSourceEvents.values()))));
+                                         Math.max(findLargestCounter(nodesWindow), findLargestCounter(sourcesWindow))));
         return clone;
     }
 
-    private <T extends RMEvent> Map<String, T> newFilteredEvents(Map<String, T> events, long from, long to) {
-        return events.entrySet()
-                     .stream()
-                     .filter(entry -> from < entry.getValue().getCounter() && entry.getValue().getCounter() <= to)
-                     .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private <T extends RMEvent> Map<String, T> newFilteredEvents(NavigableMap<Long, Map<String, T>> eventsWindow) {
+        Map<String, T> filteredEvents = new HashMap<>();
+        for (Map<String, T> sameCounterEvents : eventsWindow.values()) {
+            filteredEvents.putAll(sameCounterEvents);
+        }
+        return filteredEvents;
     }
 
-    private <T extends RMEvent> long findLargestCounter(Collection<T> events) {
-        final Optional<T> max = events.stream().max(Comparator.comparing(RMEvent::getCounter));
-        return max.map(RMEvent::getCounter).orElse(0l);
+    private <T extends RMEvent> long findLargestCounter(NavigableMap<Long, Map<String, T>> eventsWindow) {
+        Map.Entry<Long, Map<String, T>> lastEntry = eventsWindow.lastEntry();
+        return lastEntry == null ? 0l : lastEntry.getKey();
     }
 }
@@ -50,6 +50,7 @@ import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
 import org.ow2.proactive.resourcemanager.frontend.RMMonitoring;
 import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
@@ -199,6 +200,13 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return target.getState();
     }
 
+    /**
+     * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getStateDelta(long, long)
+     */
+    public RMStateDelta getStateDelta(long epoch, long sinceRevision) {
+        return target.getStateDelta(epoch, sinceRevision);
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getSupportedNodeSourceInfrastructures()
      */
@@ -250,6 +258,13 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return target.releaseNodes(arg0);
     }
 
+    /**
+     * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#setResidentActiveObject(String, String)
+     */
+    public BooleanWrapper setResidentActiveObject(String nodeUrl, String activeObjectUrl) {
+        return target.setResidentActiveObject(nodeUrl, activeObjectUrl);
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#removeNode(java.lang.String, boolean)
      */
@@ -339,6 +354,34 @@ public class RMProxyUserInterface extends RMListenerProxy implements ResourceMan
         return this.jmxClient.getConnector().getMBeanServerConnection().getAttributes(name, attributes);
     }
 
+    /**
+     * Fetches the values of some data sources of the statistics history held by the MBean
+     * with the name <code>name</code>, without transferring the whole RRD data base.
+     *
+     * @param name the object name of the mbean
+     * @param dataSources the names of the data sources, all of them when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned
+     * @param resolution the wanted step in seconds, the finest available when not positive
+     * @return the values as a JSON object
+     * @throws InstanceNotFoundException
+     * @throws MBeanException
+     * @throws ReflectionException
+     * @throws IOException
+     */
+    public String fetchStatisticHistory(ObjectName name, String[] dataSources, long range, long since,
+            long resolution) throws InstanceNotFoundException, MBeanException, ReflectionException, IOException {
+        return (String) this.jmxClient.getConnector()
+                                      .getMBeanServerConnection()
+                                      .invoke(name,
+                                              "fetchStatisticHistory",
+                                              new Object[] { dataSources, range, since, resolution },
+                                              new String[] { String[].class.getName(),
+                                                             long.class.getName(),
+                                                             long.class.getName(),
+                                                             long.class.getName() });
+    }
+
     /**
      * Set a single JMX attribute of the MBean <code>objectName</code>.
      * Only integer and string attributes are currently supported, see <code>type</code>.
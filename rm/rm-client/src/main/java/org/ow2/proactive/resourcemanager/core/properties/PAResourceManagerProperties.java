@@ -171,6 +171,20 @@ public enum PAResourceManagerProperties implements PACommonProperties {
     /** Max number of threads in node source for parallel task execution */
     RM_MONITORING_MAX_THREAD_NUMBER("pa.rm.monitoring.maxthreadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of events waiting to be sent to one client */
+    RM_MONITORING_QUEUE_SIZE("pa.rm.monitoring.queue.size", PropertyType.INTEGER, "10000"),
+
+    /**
+     * Behavior of the client event queues: COALESCE (state changes of a node
+     * replace each other, the client is removed when its queue is full), DROP
+     * (the client is removed when its queue is full) or BLOCK (the monitoring
+     * waits for space in the queue before removing the client)
+     */
+    RM_MONITORING_QUEUE_POLICY("pa.rm.monitoring.queue.policy", PropertyType.STRING, "COALESCE"),
+
+    /** Maximum time in milliseconds the monitoring waits for space in a client event queue, with the BLOCK policy */
+    RM_MONITORING_QUEUE_BLOCK_TIMEOUT("pa.rm.monitoring.queue.block.timeout", PropertyType.INTEGER, "10000"),
+
     /** Max number of threads in the core for cleaning nodes after computations */
     RM_CLEANING_MAX_THREAD_NUMBER("pa.rm.cleaning.maxthreadnumber", PropertyType.INTEGER, "5"),
 
@@ -209,6 +223,13 @@ public enum PAResourceManagerProperties implements PACommonProperties {
      */
     RM_ALIVE_EVENT_FREQUENCY("pa.rm.aliveevent.frequency", PropertyType.INTEGER, "300000"),
 
+    /**
+     * Number of removed nodes remembered by the history of node state changes.
+     * Clients asking for the changes since a revision older than the oldest forgotten
+     * removal receive a full snapshot of the nodes.
+     */
+    RM_STATE_JOURNAL_REMOVED_RETENTION("pa.rm.state.journal.removed.retention", PropertyType.INTEGER, "10000"),
+
     /** Accounting refresh rate from the database in seconds */
     RM_ACCOUNT_REFRESH_RATE("pa.rm.account.refreshrate", PropertyType.INTEGER, "180"),
 
@@ -293,6 +314,24 @@ public enum PAResourceManagerProperties implements PACommonProperties {
      */
     RM_NODES_DB_SYNCHRONOUS_UPDATES("pa.rm.nodes.db.operations.update.synchronous", PropertyType.BOOLEAN, "true"),
 
+    /**
+     * Delay in milliseconds before pending node history records are written
+     * to the database. Records received during this delay are grouped into
+     * JDBC batches. If this property is set to 0, node history records are
+     * written synchronously.
+     */
+    RM_NODE_HISTORY_DB_FLUSH_DELAY("pa.rm.node.history.db.flush.delay", PropertyType.INTEGER, "100"),
+
+    /** Maximum number of node history records written in a single database transaction */
+    RM_NODE_HISTORY_DB_FLUSH_SIZE("pa.rm.node.history.db.flush.size", PropertyType.INTEGER, "100"),
+
+    /**
+     * Maximum number of node history records waiting to be written to the
+     * database. When this limit is reached, the thread producing the records
+     * writes the pending ones itself.
+     */
+    RM_NODE_HISTORY_DB_QUEUE_SIZE("pa.rm.node.history.db.queue.size", PropertyType.INTEGER, "10000"),
+
     /**
      * Defines whether all the resources of the deployed cloud instances
      * should be destroyed along with the nodes termination when the scheduler 
@@ -36,6 +36,7 @@ import org.objectweb.proactive.core.util.wrapper.IntWrapper;
 import org.objectweb.proactive.core.util.wrapper.StringWrapper;
 import org.ow2.proactive.authentication.UserData;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
 import org.ow2.proactive.resourcemanager.common.event.RMEvent;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
 import org.ow2.proactive.resourcemanager.frontend.topology.Topology;
@@ -267,6 +268,18 @@ public interface ResourceManager {
      */
     RMState getState();
 
+    /**
+     * Returns the node urls whose state changed since the given revision.
+     * If the given epoch is not the current one or if the revision is too old
+     * to be served incrementally, a full snapshot is returned.
+     *
+     * @param epoch the epoch of the last delta received by the caller,
+     *              or {@link org.ow2.proactive.resourcemanager.common.RMStateMirror#NO_EPOCH}
+     * @param sinceRevision the revision of the last delta received by the caller
+     * @return the changes since the given revision
+     */
+    RMStateDelta getStateDelta(long epoch, long sinceRevision);
+
     /**
      * Returns the monitoring interface to manager listeners of the resource manager.
      *
@@ -412,6 +425,19 @@ public interface ResourceManager {
      */
     BooleanWrapper releaseNodes(NodeSet nodes);
 
+    /**
+     * Registers an active object which is kept on a node when the node is released and cleaned,
+     * so that the next computations of the same user on the node can reuse it.
+     * Only the current owner of the node can register such an active object. The registration is
+     * removed, and the active object killed, when the node is given to another user.
+     *
+     * @param nodeUrl the url of the node
+     * @param activeObjectUrl the url of the active object, null to remove the registration
+     * @return true if the registration has been updated, false if the node is unknown or not busy.
+     * {@link SecurityException} may be thrown if the user is not the owner of the node.
+     */
+    BooleanWrapper setResidentActiveObject(String nodeUrl, String activeObjectUrl);
+
     /**
      * Disconnects from resource manager and releases all the nodes taken by user for computations.
      *
@@ -0,0 +1,271 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.frontend.topology.clustering;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.ow2.proactive.topology.descriptor.DistanceFunction;
+
+
+/**
+ * Distances between clusters, stored in a primitive triangular matrix indexed by the ordinal of the clusters.
+ *
+ * Initially each cluster contains the elements of one host: elements on the same host are at a null
+ * distance from each other, so the matrix is indexed by the ordinal of the hosts and each element is
+ * mapped to the ordinal of its host. When two clusters are merged, the bigger one
+ * keeps its ordinal and its distances are recalculated in place, the smaller one is deactivated.
+ * The nearest neighbour of each cluster is cached once the closest pair of clusters is requested,
+ * so that finding the next clusters to merge does not require to scan the whole matrix.
+ *
+ * A negative distance means that the clusters are not connected.
+ */
+class DistanceMatrix<T> {
+
+    private static final long NOT_CONNECTED = -1;
+
+    private static final int NONE = -1;
+
+    private final DistanceFunction distanceFunction;
+
+    private final List<Cluster<T>> clusters = new ArrayList<>();
+
+    private final HashMap<String, Integer> ordinals = new HashMap<>();
+
+    private final boolean[] merged;
+
+    // lower half of the matrix, the distance between i and j (i > j) is at i * (i - 1) / 2 + j
+    private final long[] distances;
+
+    private int size;
+
+    // nearest neighbour of each cluster and the distance to it
+    private int[] nearest;
+
+    private long[] nearestDistances;
+
+    /**
+     * Creates a cluster for the elements of each host and computes the distances between the hosts.
+     *
+     * @param elements the elements to clusterize, duplicated identifiers are ignored
+     * @param identifier the identifier of an element
+     * @param host the host of an element, elements of the same host must be at a null distance
+     * @param distance the distance between two elements, null if it is unknown
+     * @param distanceFunction the way distances between clusters are calculated when they are merged
+     */
+    DistanceMatrix(List<T> elements, Function<T, String> identifier, Function<T, ?> host,
+            BiFunction<T, T, Long> distance, DistanceFunction distanceFunction) {
+        this.distanceFunction = distanceFunction;
+        HashMap<Object, Integer> hostOrdinals = new HashMap<>();
+        for (T element : elements) {
+            String id = identifier.apply(element);
+            if (!ordinals.containsKey(id)) {
+                Object elementHost = host.apply(element);
+                Integer ordinal = hostOrdinals.get(elementHost);
+                if (ordinal == null) {
+                    ordinal = clusters.size();
+                    hostOrdinals.put(elementHost, ordinal);
+                    clusters.add(new Cluster<>(id, element));
+                } else {
+                    clusters.get(ordinal).add(Collections.singletonList(element));
+                }
+                ordinals.put(id, ordinal);
+            }
+        }
+        this.size = clusters.size();
+        this.merged = new boolean[size];
+        this.distances = new long[offset(size, 0)];
+        for (int i = 1; i < size; i++) {
+            T element = clusters.get(i).getElements().get(0);
+            for (int j = 0; j < i; j++) {
+                Long d = distance.apply(element, clusters.get(j).getElements().get(0));
+                distances[offset(i, j)] = d == null ? NOT_CONNECTED : d;
+            }
+        }
+    }
+
+    /**
+     * @return the number of clusters which have not been merged into another one
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the ordinal of the cluster initially created for the host of the given element identifier,
+     *         -1 if unknown
+     */
+    int ordinal(String id) {
+        Integer ordinal = ordinals.get(id);
+        return ordinal == null ? NONE : ordinal;
+    }
+
+    Cluster<T> getCluster(int ordinal) {
+        return clusters.get(ordinal);
+    }
+
+    /**
+     * @return the clusters which have not been merged into another one
+     */
+    List<Cluster<T>> getClusters() {
+        List<Cluster<T>> result = new LinkedList<>();
+        for (int i = 0; i < clusters.size(); i++) {
+            if (!merged[i]) {
+                result.add(clusters.get(i));
+            }
+        }
+        return result;
+    }
+
+    long getDistance(int ordinal1, int ordinal2) {
+        return ordinal1 > ordinal2 ? distances[offset(ordinal1, ordinal2)] : distances[offset(ordinal2, ordinal1)];
+    }
+
+    /**
+     * Finds the closest cluster to the given one.
+     *
+     * @return the ordinal of the closest cluster at a distance lower or equal to the threshold, -1 if none
+     */
+    int findClosestTo(int ordinal, long threshold) {
+        int closest = NONE;
+        long proximity = threshold;
+        for (int i = 0; i < clusters.size(); i++) {
+            if (i == ordinal || merged[i]) {
+                continue;
+            }
+            long distance = getDistance(ordinal, i);
+            if (distance >= 0 && distance <= proximity && (closest == NONE || distance < proximity)) {
+                closest = i;
+                proximity = distance;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * Finds the two closest clusters.
+     *
+     * @return the ordinals of the closest clusters at a distance lower or equal to the threshold, null if none
+     */
+    int[] findClosestClusters(long threshold) {
+        if (nearest == null) {
+            cacheNearestNeighbours();
+        }
+        int closest = NONE;
+        long proximity = threshold;
+        for (int i = 0; i < clusters.size(); i++) {
+            if (merged[i] || nearest[i] == NONE) {
+                continue;
+            }
+            long distance = nearestDistances[i];
+            if (distance <= proximity && (closest == NONE || distance < proximity)) {
+                closest = i;
+                proximity = distance;
+            }
+        }
+        return closest == NONE ? null : new int[] { closest, nearest[closest] };
+    }
+
+    /**
+     * Merges two clusters and recalculates distances to others.
+     * The bigger cluster is used as a container for the elements of the smaller one.
+     *
+     * @return the ordinal of the merged cluster
+     */
+    int merge(int ordinal1, int ordinal2) {
+        Cluster<T> cluster1 = clusters.get(ordinal1);
+        Cluster<T> cluster2 = clusters.get(ordinal2);
+        int bigger = cluster1.size() > cluster2.size() ? ordinal1 : ordinal2;
+        int smaller = cluster1.size() > cluster2.size() ? ordinal2 : ordinal1;
+
+        for (int i = 0; i < clusters.size(); i++) {
+            if (i == bigger || i == smaller || merged[i]) {
+                continue;
+            }
+            long distance = distanceFunction.distance(getDistance(i, bigger), getDistance(i, smaller));
+            if (i > bigger) {
+                distances[offset(i, bigger)] = distance;
+            } else {
+                distances[offset(bigger, i)] = distance;
+            }
+        }
+
+        clusters.get(bigger).add(clusters.get(smaller).getElements());
+        merged[smaller] = true;
+        size--;
+
+        if (nearest != null) {
+            updateNearestNeighbours(bigger, smaller);
+        }
+        return bigger;
+    }
+
+    private void cacheNearestNeighbours() {
+        nearest = new int[clusters.size()];
+        nearestDistances = new long[clusters.size()];
+        for (int i = 0; i < clusters.size(); i++) {
+            if (!merged[i]) {
+                findNearestNeighbour(i);
+            }
+        }
+    }
+
+    private void updateNearestNeighbours(int bigger, int smaller) {
+        nearest[smaller] = NONE;
+        findNearestNeighbour(bigger);
+        for (int i = 0; i < clusters.size(); i++) {
+            if (i == bigger || merged[i]) {
+                continue;
+            }
+            if (nearest[i] == bigger || nearest[i] == smaller) {
+                // the distance to the nearest neighbour has changed
+                findNearestNeighbour(i);
+            } else {
+                // only the distance to the merged cluster has changed
+                long distance = getDistance(i, bigger);
+                if (distance >= 0 && (nearest[i] == NONE || distance < nearestDistances[i])) {
+                    nearest[i] = bigger;
+                    nearestDistances[i] = distance;
+                }
+            }
+        }
+    }
+
+    private void findNearestNeighbour(int ordinal) {
+        int closest = findClosestTo(ordinal, Long.MAX_VALUE);
+        nearest[ordinal] = closest;
+        nearestDistances[ordinal] = closest == NONE ? NOT_CONNECTED : getDistance(ordinal, closest);
+    }
+
+    private static int offset(int i, int j) {
+        return (int) ((long) i * (i - 1) / 2) + j;
+    }
+}
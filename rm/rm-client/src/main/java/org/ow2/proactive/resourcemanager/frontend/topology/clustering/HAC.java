@@ -25,13 +25,14 @@
  */
 package org.ow2.proactive.resourcemanager.frontend.topology.clustering;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.node.Node;
@@ -46,6 +47,8 @@ import org.ow2.proactive.topology.descriptor.DistanceFunction;
  * For details see
  * http://en.wikipedia.org/wiki/Cluster_analysis#Agglomerative_hierarchical_clustering
  *
+ * Distances between clusters are kept in a {@link DistanceMatrix} built once per clustering.
+ *
  */
 public class HAC {
 
@@ -98,10 +101,10 @@ public class HAC {
             return new LinkedList<>();
         }
 
-        // initializing cluster distances map
-        // cluster is a group of nodes, initially each cluster consist of one node
-        logger.debug("Initializing clusters map");
-        HashMap<Cluster<Node>, HashMap<Cluster<Node>, Long>> clusterDistances = initClusterDistances(from);
+        // initializing cluster distances matrix
+        // cluster is a group of nodes, initially each cluster consist of the nodes of one host
+        logger.debug("Initializing clusters distances");
+        DistanceMatrix<Node> clusterDistances = initClusterDistances(from);
 
         // no topology information for provided nodes
         if (from.size() > 0 && clusterDistances.size() == 0) {
@@ -112,47 +115,69 @@ public class HAC {
         if (pivot.size() > 0) {
             // fixed orientation clustering
             Iterator<Node> it = pivot.iterator();
-            Node pivotNode = it.next();
-            target = new Cluster<>(getNodeId(pivotNode), pivotNode);
+            int targetOrdinal = clusterDistances.ordinal(getNodeId(it.next()));
             // merging pivot nodes into one cluster and recalculating distances
             logger.debug("Merging pivot nodes into one cluster");
             while (it.hasNext()) {
                 // merging clusters and recalculating distances between others
-                pivotNode = it.next();
-                Cluster<Node> pivotCluster = new Cluster<>(getNodeId(pivotNode), pivotNode);
-                target = recalculateDistances(target, pivotCluster, clusterDistances);
+                int pivotOrdinal = clusterDistances.ordinal(getNodeId(it.next()));
+                if (pivotOrdinal != targetOrdinal) {
+                    targetOrdinal = merge(targetOrdinal, pivotOrdinal, clusterDistances);
+                }
             }
 
             // clustering centralized to the pivot
             logger.debug("Begin centralized hierarchical agglomerative clustering");
-            while (clusterDistances.size() > 1 && target.size() < (number + pivot.size())) {
-                Cluster<Node> closest = findClosestClustersTo(target, clusterDistances);
+            while (clusterDistances.size() > 1 &&
+                   clusterDistances.getCluster(targetOrdinal).size() < (number + pivot.size())) {
+                int closest = clusterDistances.findClosestTo(targetOrdinal, threshold);
 
-                if (closest == null) {
+                if (closest < 0) {
                     // no clusters found => cannot merge anything => stop where we are
                     break;
                 }
+                int missing = number + pivot.size() - clusterDistances.getCluster(targetOrdinal).size();
+                List<Node> closestNodes = clusterDistances.getCluster(closest).getElements();
+                if (closestNodes.size() > missing) {
+                    // the nodes of the closest host are at the same distance, taking only the missing ones
+                    clusterDistances.getCluster(targetOrdinal).add(new ArrayList<>(closestNodes.subList(0, missing)));
+                    break;
+                }
                 // merging clusters and recalculating distances between others
-                target = recalculateDistances(target, closest, clusterDistances);
+                targetOrdinal = merge(targetOrdinal, closest, clusterDistances);
             }
 
             // removing pivot nodes from the result
+            target = clusterDistances.getCluster(targetOrdinal);
             target.remove(pivot);
+            if (target.size() > number) {
+                // the hosts of the pivot nodes have more nodes than needed
+                target.removeLast(target.size() - number);
+            }
         } else {
             logger.debug("Begin hierarchical agglomerative clustering");
-            target = (Cluster<Node>) clusterDistances.keySet().iterator().next();
-            Cluster<Node> largest = target;
+            Cluster<Node> largest = null;
+            for (Cluster<Node> cluster : clusterDistances.getClusters()) {
+                if (cluster.size() > 1 && cluster.size() >= number) {
+                    // found enough nodes on a single host
+                    return new LinkedList<>(cluster.getElements().subList(0, number));
+                }
+                if (largest == null || cluster.size() > largest.size()) {
+                    largest = cluster;
+                }
+            }
             // floating clustering
             while (clusterDistances.size() > 1) {
                 // finding two clusters to merge according
-                Cluster<Node>[] clustersToMerge = findClosestClusters(clusterDistances);
+                int[] clustersToMerge = clusterDistances.findClosestClusters(threshold);
                 if (clustersToMerge == null) {
                     // there is no clusters close to each other
                     // stop the process
                     break;
                 }
                 // merging clusters and recalculating distances between others
-                target = recalculateDistances(clustersToMerge[0], clustersToMerge[1], clusterDistances);
+                int targetOrdinal = merge(clustersToMerge[0], clustersToMerge[1], clusterDistances);
+                target = clusterDistances.getCluster(targetOrdinal);
                 if (target.size() >= largest.size()) {
                     largest = target;
                 }
@@ -168,8 +193,9 @@ public class HAC {
                     logger.debug("Number of node in the cluster exceeded required node number " + target.size() +
                                  " vs " + number);
 
-                    Cluster<Node> anotherCluster = clustersToMerge[0] == target ? clustersToMerge[1]
-                                                                                : clustersToMerge[0];
+                    int anotherOrdinal = clustersToMerge[0] == targetOrdinal ? clustersToMerge[1]
+                                                                             : clustersToMerge[0];
+                    Cluster<Node> anotherCluster = clusterDistances.getCluster(anotherOrdinal);
                     target.removeLast(anotherCluster.size());
                     final Cluster<Node> finalTarget = target;
 
@@ -219,7 +245,7 @@ public class HAC {
         return topology.getDistance(node, node2);
     }
 
-    private HashMap<Cluster<Node>, HashMap<Cluster<Node>, Long>> initClusterDistances(List<Node> from) {
+    private DistanceMatrix<Node> initClusterDistances(List<Node> from) {
         if (pivot.size() > 0) {
             from = new LinkedList<>(from);
             for (Node piv : pivot) {
@@ -228,70 +254,19 @@ public class HAC {
             }
         }
 
-        HashMap<Cluster<Node>, HashMap<Cluster<Node>, Long>> clusterDistances = new HashMap<>();
-
-        for (Node node : from) {
-            Cluster<Node> newCluster = new Cluster<>(getNodeId(node), node);
-            HashMap<Cluster<Node>, Long> dist = new HashMap<>();
-            for (Cluster<Node> cluster : clusterDistances.keySet()) {
-                dist.put(cluster, getDistance(node, cluster.getElements().get(0)));
-            }
-            clusterDistances.put(newCluster, dist);
-        }
-        return clusterDistances;
-    }
-
-    @SuppressWarnings(value = "unchecked")
-    private <T> Cluster<T>[] findClosestClusters(HashMap<Cluster<T>, HashMap<Cluster<T>, Long>> curDistances) {
-
-        Cluster<T>[] res = null;
-        long proximity = threshold;
-
-        for (Cluster<?> a : curDistances.keySet()) {
-            for (Cluster<?> b : curDistances.get(a).keySet()) {
-                if (a.equals(b)) {
-                    continue;
-                }
-
-                Long distance = curDistances.get(a).get(b);
-                if (distance >= 0 && distance <= proximity) {
-                    res = (Cluster<T>[]) new Cluster[] { a, b };
-                    proximity = curDistances.get(a).get(b);
-                }
-            }
-        }
-
-        return res;
+        return new DistanceMatrix<>(from, this::getNodeId, this::getHost, this::getDistance, distanceFunction);
     }
 
-    @SuppressWarnings(value = "unchecked")
-    private <T> Cluster<T> findClosestClustersTo(Cluster<T> cluster,
-            HashMap<Cluster<T>, HashMap<Cluster<T>, Long>> curDistances) {
-
-        Cluster<T>[] res = null;
-        long proximity = threshold;
-
-        for (Cluster<T> a : curDistances.keySet()) {
-            for (Cluster<T> b : curDistances.get(a).keySet()) {
-                if (a.equals(b) || (!a.equals(cluster) && !b.equals(cluster))) {
-                    continue;
-                }
-
-                Long distance = curDistances.get(a).get(b);
-                if (distance >= 0 && distance <= proximity) {
-                    res = (Cluster<T>[]) new Cluster[] { a, b };
-                    proximity = distance;
-                }
-            }
+    /**
+     * Nodes of the same host are at a null distance from each other, they are clustered together from the start.
+     */
+    protected Object getHost(Node node) {
+        if (node.getNodeInformation() == null) {
+            // for test purpose when nodes are imitated
+            return getNodeId(node);
+        } else {
+            return node.getVMInformation().getInetAddress();
         }
-
-        // no closest found
-        if (res == null)
-            return null;
-
-        //return the one that is not 'cluster'
-        return (res[0].equals(cluster)) ? res[1] : res[0];
-
     }
 
     private String getNodeId(Node node) {
@@ -309,56 +284,20 @@ public class HAC {
      * Instead the bigger cluster is used as a container for nodes
      * from smaller one.
      */
-    private <T> Cluster<T> recalculateDistances(Cluster<T> cluster1, Cluster<T> cluster2,
-            HashMap<Cluster<T>, HashMap<Cluster<T>, Long>> curDistances) {
-
-        final Cluster<T> biggerCluster = cluster1.size() > cluster2.size() ? cluster1 : cluster2;
-        final Cluster<T> smallerCluster = cluster1.size() > cluster2.size() ? cluster2 : cluster1;
-
+    private <T> int merge(int ordinal1, int ordinal2, DistanceMatrix<T> clusterDistances) {
         if (logger.isDebugEnabled()) {
             logger.debug("Recalculating distances");
-            logger.debug("Clusters to merge:\n" + biggerCluster + "\n" + smallerCluster);
+            logger.debug("Clusters to merge:\n" + clusterDistances.getCluster(ordinal1) + "\n" +
+                         clusterDistances.getCluster(ordinal2));
         }
 
-        for (Cluster<T> cluster : curDistances.keySet()) {
-            if (cluster.equals(smallerCluster) || cluster.equals(biggerCluster)) {
-                continue;
-            }
-
-            //logger.debug(curDistances);
-            long d0, d1;
-            if (curDistances.get(cluster) != null && curDistances.get(cluster).containsKey(biggerCluster)) {
-                d0 = curDistances.get(cluster).get(biggerCluster);
-            } else {
-                d0 = curDistances.get(biggerCluster).get(cluster);
-            }
-            if (curDistances.get(cluster) != null && curDistances.get(cluster).containsKey(smallerCluster)) {
-                d1 = curDistances.get(cluster).get(smallerCluster);
-            } else {
-                d1 = curDistances.get(smallerCluster).get(cluster);
-            }
-
-            long newDistance = distanceFunction.distance(d0, d1);
-            curDistances.get(biggerCluster).put(cluster, newDistance);
-
-            if (curDistances.get(cluster) != null) {
-                curDistances.get(cluster).remove(smallerCluster);
-                curDistances.get(cluster).remove(biggerCluster);
-            }
-        }
-
-        biggerCluster.add(smallerCluster.getElements());
-        // we may actually add nodes to another instance of the cluster
-        // so override the key value in the hash
-        curDistances.put(biggerCluster, curDistances.remove(biggerCluster));
-
-        curDistances.remove(smallerCluster);
-        curDistances.get(biggerCluster).remove(smallerCluster);
+        int merged = clusterDistances.merge(ordinal1, ordinal2);
 
         if (logger.isDebugEnabled()) {
+            Cluster<T> biggerCluster = clusterDistances.getCluster(merged);
             logger.debug(biggerCluster + " size = " + biggerCluster.size());
         }
-        return biggerCluster;
+        return merged;
     }
 
     public List<Cluster<String>> clusterize(int numberOfClusters, Set<String> hosts) {
@@ -367,30 +306,26 @@ public class HAC {
             throw new IllegalArgumentException("numberOfClusters must be positive");
         }
 
-        logger.debug("Initializing clusters map");
-        HashMap<Cluster<String>, HashMap<Cluster<String>, Long>> clusterDistances = new HashMap<>();
-
-        for (String host : hosts) {
-            Cluster<String> newCluster = new Cluster<>(host, host);
-            HashMap<Cluster<String>, Long> dist = new HashMap<>();
-            for (Cluster<String> cluster : clusterDistances.keySet()) {
-                dist.put(cluster, topology.getDistance(host, cluster.getElements().get(0)));
-            }
-            clusterDistances.put(newCluster, dist);
-        }
+        logger.debug("Initializing clusters distances");
+        BiFunction<String, String, Long> hostDistance = topology::getDistance;
+        DistanceMatrix<String> clusterDistances = new DistanceMatrix<>(new ArrayList<>(hosts),
+                                                                       host -> host,
+                                                                       host -> host,
+                                                                       hostDistance,
+                                                                       distanceFunction);
 
         while (clusterDistances.size() > numberOfClusters) {
             // finding two clusters to merge according
-            Cluster<String>[] clustersToMerge = findClosestClusters(clusterDistances);
+            int[] clustersToMerge = clusterDistances.findClosestClusters(threshold);
             if (clustersToMerge == null) {
                 // there is no clusters close to each other
                 // stop the process
                 break;
             }
             // merging clusters and recalculating distances between others
-            recalculateDistances(clustersToMerge[0], clustersToMerge[1], clusterDistances);
+            merge(clustersToMerge[0], clustersToMerge[1], clusterDistances);
         }
 
-        return new LinkedList<>(clusterDistances.keySet());
+        return clusterDistances.getClusters();
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.common;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
+
+import com.google.common.collect.ImmutableMap;
+
+
+public class RMStateMirrorTest {
+
+    @Test
+    public void testApplySnapshotThenDelta() {
+        RMStateMirror mirror = new RMStateMirror();
+        assertThat(mirror.getEpoch()).isEqualTo(RMStateMirror.NO_EPOCH);
+
+        mirror.apply(new RMStateDelta(42,
+                                      3,
+                                      true,
+                                      10L,
+                                      ImmutableMap.of("free",
+                                                      NodeUrlState.ELIGIBLE,
+                                                      "busy",
+                                                      NodeUrlState.ALIVE,
+                                                      "down",
+                                                      NodeUrlState.DOWN)));
+        RMState state = mirror.toRMState();
+        assertThat(state.getFreeNodes()).containsExactly("free");
+        assertThat(state.getAliveNodes()).containsExactly("free", "busy");
+        assertThat(state.getAllNodes()).containsExactly("free", "busy", "down");
+        assertThat(mirror.getEpoch()).isEqualTo(42);
+        assertThat(mirror.getRevision()).isEqualTo(3);
+
+        mirror.apply(new RMStateDelta(42,
+                                      5,
+                                      false,
+                                      10L,
+                                      ImmutableMap.of("free", NodeUrlState.REMOVED, "busy", NodeUrlState.ELIGIBLE)));
+        state = mirror.toRMState();
+        assertThat(state.getFreeNodes()).containsExactly("busy");
+        assertThat(state.getAliveNodes()).containsExactly("busy");
+        assertThat(state.getAllNodes()).containsExactly("busy", "down");
+        assertThat(state.getMaxNumberOfNodes()).isEqualTo(10L);
+        assertThat(mirror.getRevision()).isEqualTo(5);
+    }
+
+    @Test
+    public void testFreeNodesCanBeModifiedWithoutAlteringMirror() {
+        RMStateMirror mirror = new RMStateMirror();
+        mirror.apply(new RMStateDelta(1, 1, true, null, ImmutableMap.of("free", NodeUrlState.ELIGIBLE)));
+
+        mirror.toRMState().getFreeNodes().clear();
+
+        assertThat(mirror.toRMState().getFreeNodes()).containsExactly("free");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncrementalDeltaOfAnotherEpochIsRejected() {
+        RMStateMirror mirror = new RMStateMirror();
+        mirror.apply(new RMStateDelta(1, 1, true, null, ImmutableMap.<String, NodeUrlState> of()));
+        mirror.apply(new RMStateDelta(2, 1, false, null, ImmutableMap.<String, NodeUrlState> of()));
+    }
+}
@@ -27,8 +27,13 @@ package org.ow2.proactive.resourcemanager.common.event;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 
 
 public class RMInitialStateTest {
@@ -90,6 +95,43 @@ public class RMInitialStateTest {
         assertEquals(5, rmInitialState.cloneAndFilter(RMInitialState.EMPTY_STATE).getNodesEvents().size());
     }
 
+    @Test
+    public void testChangedNodeEventIsOnlyReturnedWithItsNewCounter() {
+        rmInitialState.nodeStateChanged(new RMNodeEvent("http://localhost:0000", counter++));
+
+        RMInitialState delta = rmInitialState.cloneAndFilter(6);
+        assertEquals(1, delta.getNodesEvents().size());
+        assertEquals("http://localhost:0000", delta.getNodesEvents().get(0).getNodeUrl());
+        assertEquals(7, delta.getLatestCounter());
+
+        assertEquals(5, rmInitialState.cloneAndFilter(1).getNodesEvents().size());
+    }
+
+    @Test
+    public void testEventsWithSameCounter() {
+        Map<String, RMNodeEvent> nodeEvents = new HashMap<>();
+        nodeEvents.put("http://localhost:0000", new RMNodeEvent("http://localhost:0000", 0));
+        nodeEvents.put("http://localhost:0001", new RMNodeEvent("http://localhost:0001", 0));
+        RMInitialState initialState = new RMInitialState(nodeEvents, new HashMap<String, RMNodeSourceEvent>());
+
+        assertEquals(2, initialState.cloneAndFilter(RMInitialState.EMPTY_STATE).getNodesEvents().size());
+
+        initialState.nodeStateChanged(new RMNodeEvent("http://localhost:0000", 1));
+        assertEquals(2, initialState.cloneAndFilter(RMInitialState.EMPTY_STATE).getNodesEvents().size());
+        assertEquals(1, initialState.cloneAndFilter(0).getNodesEvents().size());
+
+        String chunkSize = PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.getValueAsString();
+        PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.updateProperty("1");
+        try {
+            // the previous event of the changed node is not kept with its old counter
+            List<RMNodeEvent> firstChunk = initialState.cloneAndFilter(RMInitialState.EMPTY_STATE).getNodesEvents();
+            assertEquals(1, firstChunk.size());
+            assertEquals("http://localhost:0001", firstChunk.get(0).getNodeUrl());
+        } finally {
+            PAResourceManagerProperties.RM_REST_MONITORING_MAXIMUM_CHUNK_SIZE.updateProperty(chunkSize);
+        }
+    }
+
     @Test
     public void testRemoveNodeSourceEvent() {
         rmInitialState.nodeSourceRemoved(new RMNodeSourceEvent("LocalNodes", counter++));
@@ -158,6 +158,7 @@ public class RMFactory {
                 appender.setMaxFileSize(PAResourceManagerProperties.RM_SELECTION_LOGS_MAX_SIZE.getValueAsString());
             }
             appender.setFilesLocation(logsLocation);
+            appender.setAsynchronous(true);
             selectionLogger.addAppender(appender);
         }
     }
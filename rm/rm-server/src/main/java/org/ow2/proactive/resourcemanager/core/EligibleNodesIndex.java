@@ -0,0 +1,192 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ow2.proactive.authentication.principals.TokenPrincipal;
+import org.ow2.proactive.permissions.PrincipalPermission;
+import org.ow2.proactive.resourcemanager.rmnode.RMNode;
+
+
+/**
+ * Nodes eligible for scheduling, i.e. nodes which are free and not locked.
+ * <p>
+ * Nodes are indexed by url, so that adding or removing a node on each state transition
+ * costs O(1), with a secondary index on the nodes protected by an access token. The selection
+ * retrieves its candidates from the urls it accepts or from that index, without going through
+ * all the free nodes of the resource manager.
+ * <p>
+ * Modifications are serialized, lookups are not blocking and see the index as it was at
+ * some point during the call.
+ */
+class EligibleNodesIndex {
+
+    private final Map<String, RMNode> nodesByUrl = new ConcurrentHashMap<>();
+
+    private final Set<String> tokenProtectedUrls = ConcurrentHashMap.newKeySet();
+
+    EligibleNodesIndex() {
+    }
+
+    EligibleNodesIndex(Collection<RMNode> nodes) {
+        for (RMNode node : nodes) {
+            add(node);
+        }
+    }
+
+    /**
+     * Adds a node to the index, replacing the node registered with the same url if any.
+     *
+     * @return true if no node was registered with this url
+     */
+    synchronized boolean add(RMNode node) {
+        RMNode previous = nodesByUrl.put(node.getNodeURL(), node);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(node);
+        return previous == null;
+    }
+
+    /**
+     * Removes a node from the index.
+     *
+     * @return true if the node was registered
+     */
+    synchronized boolean remove(RMNode node) {
+        RMNode removed = nodesByUrl.remove(node.getNodeURL());
+        if (removed != null) {
+            unindex(removed);
+        }
+        return removed != null;
+    }
+
+    synchronized void clear() {
+        nodesByUrl.clear();
+        tokenProtectedUrls.clear();
+    }
+
+    boolean contains(RMNode node) {
+        return nodesByUrl.containsKey(node.getNodeURL());
+    }
+
+    int size() {
+        return nodesByUrl.size();
+    }
+
+    RMNode getNode(String nodeUrl) {
+        return nodesByUrl.get(nodeUrl);
+    }
+
+    /**
+     * @return a copy of the eligible nodes
+     */
+    List<RMNode> getNodes() {
+        return new ArrayList<>(nodesByUrl.values());
+    }
+
+    /**
+     * @return a copy of the urls of the eligible nodes
+     */
+    Set<String> getNodeUrls() {
+        return new HashSet<>(nodesByUrl.keySet());
+    }
+
+    /**
+     * @return the eligible nodes which grant access to the given token
+     */
+    List<RMNode> getNodesWithToken(String nodeAccessToken) {
+        List<RMNode> nodes = new ArrayList<>();
+        TokenPrincipal tokenPrincipal = new TokenPrincipal(nodeAccessToken);
+        for (RMNode node : resolve(tokenProtectedUrls)) {
+            if (hasToken(node, tokenPrincipal)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Retrieves the eligible nodes which can match a selection request, using the
+     * most selective index available.
+     *
+     * @param acceptableNodesUrls the urls the nodes must belong to, or null for any node
+     * @param nodeAccessToken the token the nodes must be protected with, or null or empty
+     *                        for any node
+     * @return the candidate nodes, permissions are not checked here
+     */
+    List<RMNode> getCandidates(Set<String> acceptableNodesUrls, String nodeAccessToken) {
+        boolean nodeWithTokenRequested = nodeAccessToken != null && nodeAccessToken.length() > 0;
+        if (acceptableNodesUrls == null) {
+            return nodeWithTokenRequested ? getNodesWithToken(nodeAccessToken) : getNodes();
+        }
+        TokenPrincipal tokenPrincipal = nodeWithTokenRequested ? new TokenPrincipal(nodeAccessToken) : null;
+        List<RMNode> candidates = new ArrayList<>(Math.min(acceptableNodesUrls.size(), nodesByUrl.size()));
+        for (String nodeUrl : acceptableNodesUrls) {
+            RMNode node = nodesByUrl.get(nodeUrl);
+            if (node != null && (tokenPrincipal == null || hasToken(node, tokenPrincipal))) {
+                candidates.add(node);
+            }
+        }
+        return candidates;
+    }
+
+    private List<RMNode> resolve(Set<String> nodeUrls) {
+        List<RMNode> nodes = new ArrayList<>(nodeUrls.size());
+        for (String nodeUrl : nodeUrls) {
+            RMNode node = nodesByUrl.get(nodeUrl);
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private void index(RMNode node) {
+        if (node.isProtectedByToken()) {
+            tokenProtectedUrls.add(node.getNodeURL());
+        }
+    }
+
+    private void unindex(RMNode node) {
+        tokenProtectedUrls.remove(node.getNodeURL());
+    }
+
+    private static boolean hasToken(RMNode node, TokenPrincipal tokenPrincipal) {
+        Permission permission = node.getUserPermission();
+        return node.isProtectedByToken() && permission instanceof PrincipalPermission &&
+               ((PrincipalPermission) permission).hasPrincipal(tokenPrincipal);
+    }
+
+}
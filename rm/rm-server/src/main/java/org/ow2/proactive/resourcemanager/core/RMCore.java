@@ -78,6 +78,8 @@ import org.ow2.proactive.resourcemanager.cleaning.NodesCleaner;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.RMConstants;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
 import org.ow2.proactive.resourcemanager.common.RMStateNodeUrls;
 import org.ow2.proactive.resourcemanager.common.event.RMEvent;
 import org.ow2.proactive.resourcemanager.common.event.RMEventType;
@@ -236,11 +238,16 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     private Map<String, RMNode> allNodes;
 
     /**
-     * List of nodes that are eligible for Scheduling.
+     * Index of nodes that are eligible for Scheduling.
      * It corresponds to nodes that are in the `FREE` state and not locked.
-     * Nodes which are locked are not part of this list.
+     * Nodes which are locked are not part of this index.
      **/
-    private List<RMNode> eligibleNodes;
+    private EligibleNodesIndex eligibleNodes;
+
+    /**
+     * History of the node state changes, used to send incremental states to the clients
+     */
+    private final RMStateJournal stateJournal = new RMStateJournal(PAResourceManagerProperties.RM_STATE_JOURNAL_REMOVED_RETENTION.getValueAsInt());
 
     private SelectionManager selectionManager;
 
@@ -321,7 +328,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         this.deployedNodeSources = new HashMap<>();
         this.definedNodeSources = new HashMap<>();
         this.allNodes = new ConcurrentHashMap<>();
-        this.eligibleNodes = Collections.synchronizedList(new ArrayList<RMNode>());
+        this.eligibleNodes = new EligibleNodesIndex();
 
         this.accountsManager = new RMAccountsManager();
         this.jmxHelper = new RMJMXHelper(this.accountsManager);
@@ -336,7 +343,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         this.caller = caller;
         this.monitoring = monitoring;
         this.selectionManager = manager;
-        this.eligibleNodes = freeNodesList;
+        this.eligibleNodes = new EligibleNodesIndex(freeNodesList);
         this.dbManager = newDataBaseManager;
     }
 
@@ -585,7 +592,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              client.getName()));
 
@@ -629,7 +637,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              initiator.getName()));
     }
@@ -668,7 +677,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         dbManager.removeNode(rmnode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmnode.createNodeEvent(RMEventType.NODE_REMOVED,
+        this.registerAndEmitNodeEvent(rmnode,
+                                      rmnode.createNodeEvent(RMEventType.NODE_REMOVED,
                                                              rmnode.getState(),
                                                              initiator.getName()));
     }
@@ -783,7 +793,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         persistNewRMNodeIfRecoveryEnabled(rmnode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmnode.createNodeEvent(RMEventType.NODE_ADDED,
+        this.registerAndEmitNodeEvent(rmnode,
+                                      rmnode.createNodeEvent(RMEventType.NODE_ADDED,
                                                              null,
                                                              rmnode.getProvider().getName()));
 
@@ -938,7 +949,7 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         // temporary list to avoid concurrent modification
         List<RMNode> nodelList = new LinkedList<>();
-        nodelList.addAll(eligibleNodes);
+        nodelList.addAll(eligibleNodes.getNodes());
 
         logger.debug("Free nodes size " + nodelList.size());
         for (RMNode node : nodelList) {
@@ -1021,7 +1032,12 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     }
 
     protected void setEligibleNodesToRecover(List<RMNode> eligibleNodes) {
-        this.eligibleNodes = eligibleNodes;
+        // node sources are recovered one after the other, keep the nodes already recovered
+        for (RMNode rmNode : eligibleNodes) {
+            this.eligibleNodes.add(rmNode);
+        }
+        // recovered nodes are registered without events, clients must resynchronize
+        this.stateJournal.reset();
     }
 
     private final class RemoveAllNodes implements Function<NodeSource, Void> {
@@ -1623,6 +1639,27 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         return new BooleanWrapper(true);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public BooleanWrapper setResidentActiveObject(String nodeUrl, String activeObjectUrl) {
+        RMNode rmnode = this.allNodes.get(nodeUrl);
+        if (rmnode == null || rmnode.getOwner() == null) {
+            logger.warn("Cannot register a resident active object on node " + nodeUrl + " which is not busy");
+            return new BooleanWrapper(false);
+        }
+        Set<? extends IdentityPrincipal> userPrincipal = rmnode.getOwner()
+                                                               .getSubject()
+                                                               .getPrincipals(UserNamePrincipal.class);
+        Permission ownerPermission = new PrincipalPermission(rmnode.getOwner().getName(), userPrincipal);
+        caller.checkPermission(ownerPermission,
+                               caller + " is not authorized to register an active object on node " + nodeUrl);
+
+        logger.debug("Resident active object of node " + nodeUrl + " set to " + activeObjectUrl);
+        rmnode.setResidentActiveObject(activeObjectUrl, caller);
+        return new BooleanWrapper(true);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1880,16 +1917,30 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         final NodeState previousNodeState = rmNode.getState();
         rmNode.setBusy(owner);
         this.eligibleNodes.remove(rmNode);
+        removeResidentActiveObjectOfOtherClient(rmNode, owner);
 
         persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
         // create the event
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              previousNodeState,
                                                              owner.getName()));
 
     }
 
+    /**
+     * Removes the registration of the resident active object of a node given to a client which did not register it,
+     * this client must not be able to use an active object of another user. The selection manager already killed
+     * this active object before marking the node busy, otherwise it is killed by the next cleaning of the node.
+     */
+    private void removeResidentActiveObjectOfOtherClient(RMNode rmNode, Client owner) {
+        Client residentOwner = rmNode.getResidentActiveObjectOwner();
+        if (residentOwner != null && !residentOwner.equals(owner)) {
+            rmNode.setResidentActiveObject(null, null);
+        }
+    }
+
     /**
      * Sets a node state to down and updates all internal structures of rm core
      * accordingly. Sends an event indicating that the node is down.
@@ -1913,7 +1964,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
             persistUpdatedRMNodeIfRecoveryEnabled(rmNode);
 
             // create the event
-            this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+            this.registerAndEmitNodeEvent(rmNode,
+                                          rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                                  previousNodeState,
                                                                  rmNode.getProvider().getName()));
         } else {
@@ -1924,10 +1976,37 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
         }
     }
 
-    private void registerAndEmitNodeEvent(final RMNodeEvent event) {
+    private void registerAndEmitNodeEvent(final RMNode rmNode, final RMNodeEvent event) {
+        recordNodeStateChange(rmNode);
         this.monitoring.nodeEvent(event);
     }
 
+    /**
+     * Record the new state of the given node in the state journal used to serve {@link #getStateDelta(long, long)}.
+     * Deploying nodes are not part of the nodes known by the core and are thus ignored.
+     */
+    private void recordNodeStateChange(RMNode rmNode) {
+        if (rmNode.isDeploying()) {
+            return;
+        }
+        String nodeUrl = rmNode.getNodeURL();
+        if (!allNodes.containsKey(nodeUrl)) {
+            stateJournal.record(nodeUrl, NodeUrlState.REMOVED);
+        } else {
+            stateJournal.record(nodeUrl, getNodeUrlState(rmNode));
+        }
+    }
+
+    private static NodeUrlState getNodeUrlState(RMNode rmNode) {
+        if (rmNode.isDown()) {
+            return NodeUrlState.DOWN;
+        } else if (rmNode.isFree() && !rmNode.isLocked()) {
+            return NodeUrlState.ELIGIBLE;
+        } else {
+            return NodeUrlState.ALIVE;
+        }
+    }
+
     /**
      * Removed a node with given url from the internal structures of the core.
      *
@@ -1945,7 +2024,19 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
     }
 
     public List<RMNode> getFreeNodes() {
-        return eligibleNodes;
+        return eligibleNodes.getNodes();
+    }
+
+    /**
+     * Retrieves the free nodes which can match a selection request, using the indexes of the
+     * eligible nodes rather than going through all of them.
+     *
+     * @param acceptableNodesUrls the urls the nodes must belong to, or null for any node
+     * @param nodeAccessToken the token the nodes must be protected with, or null for any node
+     * @return the candidate nodes, the permissions of the client are not checked here
+     */
+    public List<RMNode> getFreeNodes(Set<String> acceptableNodesUrls, String nodeAccessToken) {
+        return eligibleNodes.getCandidates(acceptableNodesUrls, nodeAccessToken);
     }
 
     /**
@@ -2052,13 +2143,35 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
      * {@inheritDoc}
      */
     public RMState getState() {
-        RMStateNodeUrls rmStateNodeUrls = new RMStateNodeUrls(nodesListToUrlsSet(eligibleNodes),
+        RMStateNodeUrls rmStateNodeUrls = new RMStateNodeUrls(eligibleNodes.getNodeUrls(),
                                                               listAliveNodeUrls(),
                                                               nodesListToUrlsSet(allNodes.values()));
         RMState state = new RMState(rmStateNodeUrls, maximumNumberOfNodes);
         return state;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public RMStateDelta getStateDelta(long epoch, long sinceRevision) {
+        if (stateJournal.canServe(epoch, sinceRevision)) {
+            return stateJournal.changesSince(sinceRevision, maximumNumberOfNodes);
+        }
+        logger.debug("Building a full state snapshot for a client at revision " + sinceRevision);
+        Map<String, NodeUrlState> snapshot = new HashMap<>(allNodes.size());
+        for (RMNode node : allNodes.values()) {
+            snapshot.put(node.getNodeURL(), node.isDown() ? NodeUrlState.DOWN : NodeUrlState.ALIVE);
+        }
+        for (String nodeUrl : eligibleNodes.getNodeUrls()) {
+            snapshot.put(nodeUrl, NodeUrlState.ELIGIBLE);
+        }
+        return new RMStateDelta(stateJournal.getEpoch(),
+                                stateJournal.getRevision(),
+                                true,
+                                maximumNumberOfNodes,
+                                snapshot);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -2311,7 +2424,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         // sending the following event is required in order to have monitoring information
         // updated in the intermediate RM cache (see RMListenerProxy#nodeEvent)
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              rmNode.getState(),
                                                              lockInitiator.getName()));
 
@@ -2373,7 +2487,8 @@ public class RMCore implements ResourceManager, InitActive, RunActive {
 
         dbManager.createLockEntryOrUpdate(rmNode.getNodeSourceName(), RMDBManager.NodeLockUpdateAction.DECREMENT);
 
-        this.registerAndEmitNodeEvent(rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
+        this.registerAndEmitNodeEvent(rmNode,
+                                      rmNode.createNodeEvent(RMEventType.NODE_STATE_CHANGED,
                                                              rmNode.getState(),
                                                              caller.getName()));
 
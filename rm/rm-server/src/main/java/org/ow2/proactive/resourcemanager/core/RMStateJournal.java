@@ -0,0 +1,169 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
+
+
+/**
+ * Versioned history of the node url state changes of the {@link RMCore}.
+ * <p>
+ * Each recorded change increments the revision. Only the latest change of a node url
+ * is kept, indexed by revision, so that serving the changes since a given revision
+ * costs O(log n + changes). Removed node urls are retained up to a bounded number of
+ * entries; once an entry is evicted, older revisions can no longer be served
+ * incrementally and callers must fall back to a full snapshot.
+ * <p>
+ * The journal does not know the nodes which existed before its creation or its last
+ * {@link #reset()}: snapshots are built by the {@link RMCore} from its own structures.
+ */
+class RMStateJournal {
+
+    private final int removedRetention;
+
+    /** Identifies the current history, changes on each reset */
+    private long epoch;
+
+    private long revision;
+
+    /** Revisions lower than or equal to this one may have been dropped */
+    private long compactedRevision;
+
+    private final Map<String, Change> latestByUrl = new HashMap<>();
+
+    private final NavigableMap<Long, String> urlsByRevision = new TreeMap<>();
+
+    private final Deque<Change> removedChanges = new ArrayDeque<>();
+
+    RMStateJournal(int removedRetention) {
+        this.removedRetention = removedRetention;
+        reset();
+    }
+
+    /**
+     * Start a new history, all the clients will have to retrieve a snapshot.
+     */
+    synchronized void reset() {
+        epoch = System.currentTimeMillis() << 16 | (System.nanoTime() & 0xFFFF);
+        revision = 0;
+        compactedRevision = 0;
+        latestByUrl.clear();
+        urlsByRevision.clear();
+        removedChanges.clear();
+    }
+
+    synchronized long getEpoch() {
+        return epoch;
+    }
+
+    synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Record the new state of a node url.
+     *
+     * @param nodeUrl the url of the node whose state changed
+     * @param state the new state of the node url
+     */
+    synchronized void record(String nodeUrl, NodeUrlState state) {
+        Change previous = latestByUrl.get(nodeUrl);
+        if (previous != null) {
+            if (previous.state == state) {
+                return;
+            }
+            urlsByRevision.remove(previous.revision);
+        }
+        Change change = new Change(nodeUrl, state, ++revision);
+        latestByUrl.put(nodeUrl, change);
+        urlsByRevision.put(change.revision, nodeUrl);
+        if (state == NodeUrlState.REMOVED) {
+            removedChanges.addLast(change);
+            evictRemovedChanges();
+        }
+    }
+
+    private void evictRemovedChanges() {
+        while (removedChanges.size() > removedRetention) {
+            Change oldest = removedChanges.removeFirst();
+            // the url may have been added back since it was removed
+            if (latestByUrl.get(oldest.nodeUrl) == oldest) {
+                latestByUrl.remove(oldest.nodeUrl);
+                urlsByRevision.remove(oldest.revision);
+                compactedRevision = Math.max(compactedRevision, oldest.revision);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the changes since the given revision can be served by this journal.
+     *
+     * @param epoch the epoch known by the caller
+     * @param sinceRevision the revision known by the caller
+     * @return true if an incremental delta can be built
+     */
+    synchronized boolean canServe(long epoch, long sinceRevision) {
+        return epoch == this.epoch && sinceRevision >= compactedRevision && sinceRevision <= revision;
+    }
+
+    /**
+     * Build the incremental delta since the given revision, {@link #canServe(long, long)} must be checked first.
+     *
+     * @param sinceRevision the revision known by the caller
+     * @param maxNumberOfNodes the maximum number of nodes of the resource manager
+     * @return the changes since the given revision
+     */
+    synchronized RMStateDelta changesSince(long sinceRevision, Long maxNumberOfNodes) {
+        Map<String, NodeUrlState> changes = new HashMap<>();
+        for (String nodeUrl : urlsByRevision.tailMap(sinceRevision, false).values()) {
+            changes.put(nodeUrl, latestByUrl.get(nodeUrl).state);
+        }
+        return new RMStateDelta(epoch, revision, false, maxNumberOfNodes, changes);
+    }
+
+    private static final class Change {
+
+        private final String nodeUrl;
+
+        private final NodeUrlState state;
+
+        private final long revision;
+
+        private Change(String nodeUrl, NodeUrlState state, long revision) {
+            this.nodeUrl = nodeUrl;
+            this.state = state;
+            this.revision = revision;
+        }
+    }
+}
@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.objectweb.proactive.annotation.PublicAPI;
 import org.ow2.proactive.resourcemanager.common.NodeState;
@@ -47,6 +48,8 @@ import org.ow2.proactive.resourcemanager.common.NodeState;
  * <li>Maximum down nodes
  * <li>Average activity percentage
  * <li>Average inactivity percentage
+ * <li>Node history database queue size and flush duration
+ * <li>Client event queues sizes and lags
  * </ul>
  * <p>
  *
@@ -173,6 +176,41 @@ public interface RuntimeDataMBean {
      */
     double getAverageInactivity();
 
+    /**
+     * Returns the number of node history records waiting to be saved in database.
+     *
+     * @return the number of pending node history records
+     */
+    int getNodeHistoryQueueSize();
+
+    /**
+     * Returns the duration of the last batch of node history records saved in database.
+     *
+     * @return the duration in milliseconds of the last node history flush
+     */
+    long getNodeHistoryLastFlushDuration();
+
+    /**
+     * Returns the average duration of a batch of node history records saved in database.
+     *
+     * @return the average duration in milliseconds of a node history flush
+     */
+    double getNodeHistoryAverageFlushDuration();
+
+    /**
+     * Returns the number of events waiting to be delivered to each client.
+     *
+     * @return the number of pending events indexed by client
+     */
+    Map<String, Integer> getClientEventQueueSizes();
+
+    /**
+     * Returns the time the oldest pending event of each client has been waiting.
+     *
+     * @return the lag in milliseconds indexed by client
+     */
+    Map<String, Long> getClientEventQueueLags();
+
     /**
      * Sends the statistics accumulated in the RRD data base
      *
@@ -181,4 +219,16 @@ public interface RuntimeDataMBean {
      */
     byte[] getStatisticHistory() throws IOException;
 
+    /**
+     * Fetches the values of some data sources of the RRD data base, without copying the data base.
+     *
+     * @param dataSources the names of the data sources, all of them when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned
+     * @param resolution the wanted step in seconds, the finest available when not positive
+     * @return a JSON object with the start, end and step of the values and an array of values per data source
+     * @throws IOException when data base cannot be read
+     */
+    String fetchStatisticHistory(String[] dataSources, long range, long since, long resolution) throws IOException;
+
 }
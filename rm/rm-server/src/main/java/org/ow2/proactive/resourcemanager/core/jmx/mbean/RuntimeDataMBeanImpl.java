@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.Map;
 
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
@@ -33,6 +34,8 @@ import javax.management.StandardMBean;
 import org.objectweb.proactive.annotation.PublicAPI;
 import org.ow2.proactive.jmx.Chronological;
 import org.ow2.proactive.resourcemanager.core.jmx.RMJMXHelper;
+import org.ow2.proactive.resourcemanager.db.RMDBManager;
+import org.ow2.proactive.resourcemanager.frontend.RMMonitoringImpl;
 import org.ow2.proactive.resourcemanager.utils.AtomicRMStatisticsHolder;
 
 
@@ -202,10 +205,53 @@ public class RuntimeDataMBeanImpl extends StandardMBean implements RuntimeDataMB
         return this.rmStatisticsHolder.getStatistics().getInactivityTimePercentage();
     }
 
+    /**
+     * @see RuntimeDataMBean#getNodeHistoryQueueSize()
+     */
+    public int getNodeHistoryQueueSize() {
+        return RMDBManager.getInstance().getNodeHistoryBuffer().getQueueSize();
+    }
+
+    /**
+     * @see RuntimeDataMBean#getNodeHistoryLastFlushDuration()
+     */
+    public long getNodeHistoryLastFlushDuration() {
+        return RMDBManager.getInstance().getNodeHistoryBuffer().getLastFlushDuration();
+    }
+
+    /**
+     * @see RuntimeDataMBean#getNodeHistoryAverageFlushDuration()
+     */
+    public double getNodeHistoryAverageFlushDuration() {
+        return RMDBManager.getInstance().getNodeHistoryBuffer().getAverageFlushDuration();
+    }
+
+    /**
+     * @see RuntimeDataMBean#getClientEventQueueSizes()
+     */
+    public Map<String, Integer> getClientEventQueueSizes() {
+        return RMMonitoringImpl.getClientEventQueueSizes();
+    }
+
+    /**
+     * @see RuntimeDataMBean#getClientEventQueueLags()
+     */
+    public Map<String, Long> getClientEventQueueLags() {
+        return RMMonitoringImpl.getClientEventQueueLags();
+    }
+
     /**
      * @see org.ow2.proactive.resourcemanager.core.jmx.mbean.RuntimeDataMBean#getStatisticHistory()
      */
     public byte[] getStatisticHistory() throws IOException {
         return RMJMXHelper.getInstance().getDataStore().getBytes();
     }
+
+    /**
+     * @see RuntimeDataMBean#fetchStatisticHistory(String[], long, long, long)
+     */
+    public String fetchStatisticHistory(String[] dataSources, long range, long since, long resolution)
+            throws IOException {
+        return RMJMXHelper.getInstance().getDataStore().fetch(dataSources, range, since, resolution);
+    }
 }
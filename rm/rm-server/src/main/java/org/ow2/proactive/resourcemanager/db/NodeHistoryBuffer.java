@@ -0,0 +1,268 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.db;
+
+import static org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties.RM_NODE_HISTORY_DB_FLUSH_DELAY;
+import static org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties.RM_NODE_HISTORY_DB_FLUSH_SIZE;
+import static org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties.RM_NODE_HISTORY_DB_QUEUE_SIZE;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+import org.objectweb.proactive.core.util.log.ProActiveLogger;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.db.SessionWork;
+import org.ow2.proactive.resourcemanager.core.history.NodeHistory;
+
+
+/**
+ * Write-behind buffer for node history records. Records are queued by the
+ * caller and written by a single background thread, grouped into JDBC
+ * batches of at most {@code pa.rm.node.history.db.flush.size} records.
+ */
+public class NodeHistoryBuffer {
+
+    private static final Logger logger = ProActiveLogger.getLogger(NodeHistoryBuffer.class);
+
+    private static final String UPDATE_END_TIME_SQL = "update NodeHistory set endTime=? where nodeUrl=? and endTime=0";
+
+    private final RMDBManager rmdbManager;
+
+    private final int flushSize;
+
+    private final int flushDelay;
+
+    private final BlockingQueue<NodeHistory> pendingNodeHistory;
+
+    /**
+     * Flushes are serialized so that the records of a node are always
+     * written in the order they were received.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    /**
+     * Single thread executor, as records need ordering.
+     */
+    private final ScheduledExecutorService databaseTransactionExecutor;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final AtomicLong flushCount = new AtomicLong();
+
+    private final AtomicLong flushedRecordsCount = new AtomicLong();
+
+    private final AtomicLong totalFlushDuration = new AtomicLong();
+
+    private final AtomicLong lastFlushDuration = new AtomicLong();
+
+    private final AtomicLong maxFlushDuration = new AtomicLong();
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            flush();
+        }
+    };
+
+    NodeHistoryBuffer(RMDBManager rmdbManager) {
+        this.rmdbManager = rmdbManager;
+        flushSize = Math.max(1, RM_NODE_HISTORY_DB_FLUSH_SIZE.getValueAsInt());
+        flushDelay = RM_NODE_HISTORY_DB_FLUSH_DELAY.getValueAsInt();
+        int queueSize = Math.max(flushSize, RM_NODE_HISTORY_DB_QUEUE_SIZE.getValueAsInt());
+        pendingNodeHistory = new LinkedBlockingQueue<>(queueSize);
+        ThreadFactory threadFactory = new NamedThreadFactory("NodeHistoryWriter", true);
+        databaseTransactionExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    /**
+     * Queues the given record. It is written after the configured delay, or
+     * immediately if enough records are pending to fill a batch. When the
+     * queue is full, the pending records are written by the calling thread.
+     */
+    void add(NodeHistory nodeHistory) {
+        while (!pendingNodeHistory.offer(nodeHistory)) {
+            logger.debug("Node history queue is full, flushing it synchronously");
+            flush();
+        }
+        if (flushDelay == 0) {
+            flush();
+        } else if (pendingNodeHistory.size() >= flushSize) {
+            databaseTransactionExecutor.execute(flushTask);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            databaseTransactionExecutor.schedule(flushTask, flushDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all the pending records to the database.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<NodeHistory> batch = new ArrayList<>(flushSize);
+            while (pendingNodeHistory.drainTo(batch, flushSize) > 0) {
+                long start = System.currentTimeMillis();
+                try {
+                    saveBatch(batch);
+                } catch (Exception e) {
+                    logger.warn("Node history records could not be saved in database", e);
+                }
+                recordFlush(batch.size(), System.currentTimeMillis() - start);
+                batch.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void saveBatch(final List<NodeHistory> batch) {
+        rmdbManager.executeReadWriteTransaction(new SessionWork<Void>() {
+            @Override
+            public Void doInTransaction(Session session) {
+                // only the first record of a node closes the record already in
+                // database, the following ones close the previous record of the batch
+                final Map<String, Long> endTimeUpdates = new LinkedHashMap<>();
+                Map<String, NodeHistory> lastRecords = new HashMap<>();
+                for (NodeHistory nodeHistory : batch) {
+                    String nodeUrl = nodeHistory.getNodeUrl();
+                    if (!lastRecords.containsKey(nodeUrl)) {
+                        endTimeUpdates.put(nodeUrl, nodeHistory.getStartTime());
+                    } else if (lastRecords.get(nodeUrl) != null) {
+                        lastRecords.get(nodeUrl).setEndTime(nodeHistory.getStartTime());
+                    }
+                    lastRecords.put(nodeUrl, nodeHistory.isStoreInDataBase() ? nodeHistory : null);
+                }
+
+                session.doWork(new Work() {
+                    @Override
+                    public void execute(Connection connection) throws SQLException {
+                        try (PreparedStatement statement = connection.prepareStatement(UPDATE_END_TIME_SQL)) {
+                            for (Map.Entry<String, Long> endTimeUpdate : endTimeUpdates.entrySet()) {
+                                statement.setLong(1, endTimeUpdate.getValue());
+                                statement.setString(2, endTimeUpdate.getKey());
+                                statement.addBatch();
+                            }
+                            statement.executeBatch();
+                        }
+                    }
+                });
+
+                for (NodeHistory nodeHistory : batch) {
+                    if (nodeHistory.isStoreInDataBase()) {
+                        session.save(nodeHistory);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    private void recordFlush(int records, long duration) {
+        flushCount.incrementAndGet();
+        flushedRecordsCount.addAndGet(records);
+        totalFlushDuration.addAndGet(duration);
+        lastFlushDuration.set(duration);
+        long max;
+        do {
+            max = maxFlushDuration.get();
+        } while (duration > max && !maxFlushDuration.compareAndSet(max, duration));
+        if (logger.isTraceEnabled()) {
+            logger.trace("Saved " + records + " node history records in " + duration + " ms");
+        }
+    }
+
+    /**
+     * Writes the pending records and stops the background thread.
+     */
+    void close() {
+        flush();
+        databaseTransactionExecutor.shutdownNow();
+    }
+
+    /**
+     * @return the number of records waiting to be written to the database
+     */
+    public int getQueueSize() {
+        return pendingNodeHistory.size();
+    }
+
+    /**
+     * @return the number of records written to the database
+     */
+    public long getFlushedRecordsCount() {
+        return flushedRecordsCount.get();
+    }
+
+    /**
+     * @return the number of batches written to the database
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * @return the duration in milliseconds of the last batch written to the database
+     */
+    public long getLastFlushDuration() {
+        return lastFlushDuration.get();
+    }
+
+    /**
+     * @return the maximum duration in milliseconds of a batch written to the database
+     */
+    public long getMaxFlushDuration() {
+        return maxFlushDuration.get();
+    }
+
+    /**
+     * @return the average duration in milliseconds of a batch written to the database
+     */
+    public double getAverageFlushDuration() {
+        long count = flushCount.get();
+        return count == 0 ? 0 : (double) totalFlushDuration.get() / count;
+    }
+
+}
@@ -76,6 +76,8 @@ public class RMDBManager {
 
     private final RMDBManagerBuffer rmdbManagerBuffer;
 
+    private final NodeHistoryBuffer nodeHistoryBuffer;
+
     private Scheduler houseKeepingScheduler;
 
     private static final class LazyHolder {
@@ -169,10 +171,16 @@ public class RMDBManager {
 
             configuration.setProperty("hibernate.id.new_generator_mappings", "true");
             configuration.setProperty("hibernate.jdbc.use_streams_for_binary", "true");
+            if (configuration.getProperty("hibernate.jdbc.batch_size") == null) {
+                // node history records are inserted in batches
+                configuration.setProperty("hibernate.jdbc.batch_size",
+                                          PAResourceManagerProperties.RM_NODE_HISTORY_DB_FLUSH_SIZE.getValueAsString());
+            }
 
             sessionFactory = configuration.buildSessionFactory();
             transactionHelper = new TransactionHelper(sessionFactory);
             rmdbManagerBuffer = new RMDBManagerBuffer(this);
+            nodeHistoryBuffer = new NodeHistoryBuffer(this);
 
             Alive lastAliveTimeResult = findRmLastAliveEntry();
 
@@ -278,6 +286,11 @@ public class RMDBManager {
     }
 
     public void close() {
+        try {
+            nodeHistoryBuffer.close();
+        } catch (Exception e) {
+            logger.error("Error while saving pending node history", e);
+        }
         try {
             if (sessionFactory != null) {
                 logger.info("Closing session factory");
@@ -599,7 +612,17 @@ public class RMDBManager {
         });
     }
 
+    /**
+     * Queues the given node history record, it is saved in database by a
+     * background thread together with the other pending records.
+     */
+    public void saveNodeHistoryAsynchronously(NodeHistory nodeHistory) {
+        nodeHistoryBuffer.add(nodeHistory);
+    }
+
     public void saveNodeHistory(final NodeHistory nodeHistory) {
+        // preserve ordering with the records saved asynchronously
+        nodeHistoryBuffer.flush();
         executeReadWriteTransaction(new SessionWork<Void>() {
             @Override
             public Void doInTransaction(Session session) {
@@ -814,4 +837,8 @@ public class RMDBManager {
         return rmdbManagerBuffer;
     }
 
+    public NodeHistoryBuffer getNodeHistoryBuffer() {
+        return nodeHistoryBuffer;
+    }
+
 }
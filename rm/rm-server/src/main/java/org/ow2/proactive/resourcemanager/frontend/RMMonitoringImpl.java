@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.frontend;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -52,6 +53,7 @@ import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProper
 import org.ow2.proactive.resourcemanager.db.RMDBManager;
 import org.ow2.proactive.resourcemanager.exception.RMException;
 import org.ow2.proactive.resourcemanager.utils.AtomicRMStatisticsHolder;
+import org.ow2.proactive.utils.BoundedEventQueue;
 
 
 /**
@@ -81,6 +83,9 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
     /** Resource Manager's statistics */
     public static final AtomicRMStatisticsHolder rmStatistics = new AtomicRMStatisticsHolder();
 
+    /** Events waiting to be delivered, per client */
+    private static final Map<String, BoundedEventQueue<RMEvent>> clientEventQueues = new ConcurrentHashMap<>();
+
     // ----------------------------------------------------------------------//
     // CONSTRUTORS
 
@@ -138,14 +143,18 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
 
         protected RMEventListener listener;
 
-        protected LinkedList<RMEvent> events;
+        protected BoundedEventQueue<RMEvent> events;
 
         protected List<RMEventType> eventTypes = null;
 
         protected AtomicBoolean inProcess = new AtomicBoolean(false);
 
+        /** Counter of the last event taken from the queue, a gap tells the client that events were lost */
         protected long counter = 0;
 
+        /** Whether the client stopped listening, guarded by the events lock */
+        protected boolean removed = false;
+
         public EventDispatcher(Client client, RMEventListener listener, RMEventType[] eventTypes) {
             this.client = client;
             this.listener = listener;
@@ -153,7 +162,7 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                 this.eventTypes = Arrays.asList(eventTypes);
             }
 
-            this.events = new LinkedList<>();
+            this.events = createEventQueue();
         }
 
         public void run() {
@@ -171,8 +180,9 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                     if (logger.isDebugEnabled()) {
                         logger.debug(events.size() + " pending events for the client '" + client + "'");
                     }
-                    if (events.size() > 0) {
-                        event = events.removeFirst();
+                    event = events.poll();
+                    if (event != null) {
+                        event.setCounter(++counter);
                     }
                 }
 
@@ -221,20 +231,35 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                 // probably listener was removed or disconnected
                 logger.warn("Cannot send events to " + client, e);
                 synchronized (dispatchers) {
-                    dispatchers.remove(client.getId());
+                    removeDispatcher(client.getId());
                     logger.warn(client + " was removed from listeners");
                 }
             }
         }
 
+        /**
+         * Queues an event for the client. If the client does not consume its events and its queue is full,
+         * the pending events are dropped and the counter of the next event delivered skips a value:
+         * the client then knows that it has missed events and must get the state of the resource manager again.
+         */
         public void queueEvent(RMEvent event) {
             synchronized (events) {
-                if (eventTypes == null || eventTypes.contains(event.getEventType())) {
+                if (!removed && (eventTypes == null || eventTypes.contains(event.getEventType()))) {
                     try {
-                        // clone event object to set a different counter for each client
+                        // clone event object to set a different counter for each client, when it is delivered
                         RMEvent cloneEvent = (RMEvent) event.clone();
-                        cloneEvent.setCounter(++counter);
-                        events.add(cloneEvent);
+                        if (!events.offer(cloneEvent)) {
+                            logger.warn("Event queue of " + client + " is full (" + events.size() +
+                                        " events), the client has to resynchronize its state");
+                            events.clear();
+                            counter++;
+                            events.offer(cloneEvent);
+                        }
+                        if (removed) {
+                            // the client stopped listening while the offer was waiting for space
+                            events.clear();
+                            return;
+                        }
 
                         if (inProcess.get()) {
                             if (logger.isDebugEnabled()) {
@@ -274,10 +299,9 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                         logger.debug(events.size() + " pending events for the client '" + client + "'");
                     }
 
-                    if (events.size() > 0) {
-                        toDeliver.clear();
-                        toDeliver.addAll(events);
-                        events.clear();
+                    events.drainTo(toDeliver);
+                    for (RMEvent event : toDeliver) {
+                        event.setCounter(++counter);
                     }
                 }
 
@@ -318,7 +342,7 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                 // probably listener was removed or disconnected
                 logger.warn("Cannot send events to " + client, e);
                 synchronized (dispatchers) {
-                    dispatchers.remove(client.getId());
+                    removeDispatcher(client.getId());
                     logger.warn(client + " was removed from listeners");
                 }
                 return false;
@@ -348,11 +372,15 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
                 throw new IllegalArgumentException("Unknown client " + id.shortString());
             }
 
+            EventDispatcher dispatcher;
             if (stub instanceof RMGroupEventListener) {
-                this.dispatchers.put(id, new GroupEventDispatcher(client, stub, events));
+                dispatcher = new GroupEventDispatcher(client, stub, events);
             } else {
-                this.dispatchers.put(id, new EventDispatcher(client, stub, events));
+                dispatcher = new EventDispatcher(client, stub, events);
             }
+            removeDispatcher(id);
+            this.dispatchers.put(id, dispatcher);
+            clientEventQueues.put(clientEventQueueName(client, id), dispatcher.events);
         }
         return rmcore.getRMInitialState();
     }
@@ -377,10 +405,60 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
         }
 
         synchronized (dispatchers) {
-            return dispatchers.remove(id) != null;
+            return removeDispatcher(id);
         }
     }
 
+    /**
+     * Removes the dispatcher of the given client, must be called while holding the dispatchers lock.
+     */
+    private boolean removeDispatcher(UniqueID id) {
+        EventDispatcher dispatcher = dispatchers.remove(id);
+        if (dispatcher == null) {
+            return false;
+        }
+        clientEventQueues.remove(clientEventQueueName(dispatcher.client, id), dispatcher.events);
+        synchronized (dispatcher.events) {
+            dispatcher.removed = true;
+            dispatcher.events.clear();
+        }
+        return true;
+    }
+
+    private static String clientEventQueueName(Client client, UniqueID id) {
+        return client.getName() + " (" + id.shortString() + ")";
+    }
+
+    private static BoundedEventQueue<RMEvent> createEventQueue() {
+        String policy = PAResourceManagerProperties.RM_MONITORING_QUEUE_POLICY.getValueAsString();
+        return new BoundedEventQueue<>(PAResourceManagerProperties.RM_MONITORING_QUEUE_SIZE.getValueAsInt(),
+                                       BoundedEventQueue.Policy.valueOf(policy.toUpperCase()),
+                                       PAResourceManagerProperties.RM_MONITORING_QUEUE_BLOCK_TIMEOUT.getValueAsLong(),
+                                       RMMonitoringImpl::getCoalescingKey);
+    }
+
+    private static Object getCoalescingKey(RMEvent event) {
+        // only the latest state of a node needs to be delivered
+        if (event.getEventType() == RMEventType.NODE_STATE_CHANGED) {
+            return ((RMNodeEvent) event).getNodeUrl();
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of events waiting to be delivered, per client
+     */
+    public static Map<String, Integer> getClientEventQueueSizes() {
+        return BoundedEventQueue.sizes(clientEventQueues);
+    }
+
+    /**
+     * @return the time in milliseconds the oldest pending event of each client has been waiting
+     */
+    public static Map<String, Long> getClientEventQueueLags() {
+        return BoundedEventQueue.lags(clientEventQueues);
+    }
+
     @Deprecated
     public boolean isAlive() {
         return true;
@@ -392,10 +470,13 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
             logger.debug(event.toString() + " event");
         }
 
+        List<EventDispatcher> eventDispatchers;
         synchronized (dispatchers) {
-            for (EventDispatcher dispatcher : dispatchers.values()) {
-                dispatcher.queueEvent(event);
-            }
+            eventDispatchers = new ArrayList<>(dispatchers.values());
+        }
+        // queued outside the dispatchers lock, a client blocking the offer must not stall the other clients
+        for (EventDispatcher dispatcher : eventDispatchers) {
+            dispatcher.queueEvent(event);
         }
     }
 
@@ -404,7 +485,7 @@ public class RMMonitoringImpl implements RMMonitoring, RMEventListener, InitActi
      */
     public void nodeEvent(RMNodeEvent event) {
         RMMonitoringImpl.rmStatistics.nodeEvent(event);
-        RMDBManager.getInstance().saveNodeHistory(new NodeHistory(event));
+        RMDBManager.getInstance().saveNodeHistoryAsynchronously(new NodeHistory(event));
         queueEvent(event);
     }
 
@@ -28,6 +28,7 @@ package org.ow2.proactive.resourcemanager.rmnode;
 import java.io.Serializable;
 import java.security.Permission;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.objectweb.proactive.core.node.Node;
@@ -115,6 +116,32 @@ public final class RMDeployingNode extends AbstractRMNode {
         // implementation does nothing
     }
 
+    /**
+     * Unsupported operation.
+     *
+     * @throws UnsupportedOperationException under all conditions.
+     */
+    @Override
+    public void setResidentActiveObject(String activeObjectUrl, Client owner) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always return null (a deploying node cannot be owned)
+     */
+    @Override
+    public Client getResidentActiveObjectOwner() {
+        return null;
+    }
+
+    /**
+     * Always return false (a deploying node has no resident active object)
+     */
+    @Override
+    public boolean killResidentActiveObjectOfOtherClient(Client client) {
+        return false;
+    }
+
     /**
      * Unsupported operation.
      *
@@ -125,6 +152,17 @@ public final class RMDeployingNode extends AbstractRMNode {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Unsupported operation.
+     *
+     * @throws UnsupportedOperationException under all conditions.
+     */
+    @Override
+    public List<ScriptResult<Boolean>> executeSelectionScripts(List<SelectionScript> scripts,
+            Map<String, Serializable> bindings) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Unsupported operation.
      *
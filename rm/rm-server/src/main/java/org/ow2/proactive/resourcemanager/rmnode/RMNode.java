@@ -28,6 +28,7 @@ package org.ow2.proactive.resourcemanager.rmnode;
 import java.io.Serializable;
 import java.security.Permission;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.objectweb.proactive.core.node.Node;
@@ -75,6 +76,16 @@ public interface RMNode extends Comparable<RMNode> {
      */
     <T> ScriptResult<T> executeScript(Script<T> script, Map<String, Serializable> bindings);
 
+    /**
+     * Execute several selection scripts on this {@link RMNode} in a single remote call.
+     * The execution stops at the first script which does not select the node.
+     * @param scripts the selection scripts to execute.
+     * @param bindings bindings used to execute the selection scripts
+     * @return the results of the executed scripts, in the order of the given scripts.
+     */
+    List<ScriptResult<Boolean>> executeSelectionScripts(List<SelectionScript> scripts,
+            Map<String, Serializable> bindings);
+
     /**
      * Get a map of all selection scripts already tested on this node,
      * and the responses given.
@@ -83,10 +94,32 @@ public interface RMNode extends Comparable<RMNode> {
     HashMap<SelectionScript, Integer> getScriptStatus();
 
     /**
-     * Cleaning method : remove all active objects on this node.
+     * Cleaning method : remove all active objects on this node,
+     * except the resident active object registered by the owner of the node.
      */
     void clean() throws NodeException;
 
+    /**
+     * Registers the active object which is kept on this node when it is cleaned.
+     * @param activeObjectUrl the url of the active object, null to remove the registration
+     * @param owner the client which registered the active object
+     */
+    void setResidentActiveObject(String activeObjectUrl, Client owner);
+
+    /**
+     * Gets the client which registered the active object kept on this node when it is cleaned.
+     * @return the client which registered the resident active object, null if there is none
+     */
+    Client getResidentActiveObjectOwner();
+
+    /**
+     * Kills the resident active object of this node if it was registered by another client than the given one,
+     * and removes its registration. Only this active object is terminated, its termination is not awaited.
+     * @param client the client the node is given to
+     * @return true if a resident active object was killed
+     */
+    boolean killResidentActiveObjectOfOtherClient(Client client) throws NodeException;
+
     /**
      * @return a string describing the RMNode (status, vnode, host, pad, ...)
      */
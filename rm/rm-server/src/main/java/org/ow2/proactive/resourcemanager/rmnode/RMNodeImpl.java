@@ -28,10 +28,15 @@ package org.ow2.proactive.resourcemanager.rmnode;
 import java.io.IOException;
 import java.io.Serializable;
 import java.security.Permission;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.log4j.Logger;
+import org.objectweb.proactive.ActiveObjectCreationException;
+import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.descriptor.data.VirtualNode;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
@@ -94,6 +99,12 @@ public class RMNodeImpl extends AbstractRMNode {
     /** client taken the node for computations */
     private Client owner;
 
+    /** Url of the active object kept on the node when it is cleaned, registered by a previous owner */
+    private String residentActiveObjectUrl;
+
+    /** Client which registered the resident active object */
+    private Client residentActiveObjectOwner;
+
     /** Node access permission*/
     private Permission nodeAccessPermission;
 
@@ -324,33 +335,109 @@ public class RMNodeImpl extends AbstractRMNode {
         return this.handler.handle(script);
     }
 
+    /**
+     * Execute selection scripts in order to test the Node, with a single call to the script handler.
+     * If no script handler is defined, create one, and execute the scripts.
+     * @param scripts Selection scripts to execute
+     * @param bindings bindings to use to execute the selection scripts
+     * @return Results of the executed scripts.
+     */
+    @Override
+    public List<ScriptResult<Boolean>> executeSelectionScripts(List<SelectionScript> scripts,
+            Map<String, Serializable> bindings) {
+        try {
+            this.initHandler();
+        } catch (NodeException e) {
+            return Collections.singletonList(new ScriptResult<Boolean>(e));
+        }
+        HashMap<String, Serializable> handlerBindings = bindings != null ? new HashMap<>(bindings) : null;
+        return this.handler.handleSelectionScripts(new ArrayList<>(scripts), handlerBindings);
+    }
+
     /**
      * Clean the node.
-     * kill all active objects on the node.
+     * kill all active objects on the node, except the resident active object registered by its owner.
      * @throws NodeException
      */
     @Override
     public synchronized void clean() throws NodeException {
         handler = null;
+        String residentUrl = residentActiveObjectUrl;
         try {
             logger.debug(getNodeURL() + " : cleaning");
-            node.killAllActiveObjects();
+            if (residentUrl == null) {
+                node.killAllActiveObjects();
+            } else {
+                killActiveObjectsExcept(residentUrl);
+            }
         } catch (IOException e) {
             throw new NodeException("Node is down");
         }
 
         // Wait until all active objects are terminated
-        waitUntilNodeIsCleaned();
+        waitUntilNodeIsCleaned(residentUrl == null ? 0 : 1);
+    }
+
+    /**
+     * Registers the active object which is kept on the node when it is cleaned, a task launcher reused
+     * between the tasks of its owner for instance.
+     * @param activeObjectUrl the url of the active object, null to remove the registration
+     * @param owner the client which registered the active object
+     */
+    @Override
+    public synchronized void setResidentActiveObject(String activeObjectUrl, Client owner) {
+        this.residentActiveObjectUrl = activeObjectUrl;
+        this.residentActiveObjectOwner = activeObjectUrl == null ? null : owner;
+    }
+
+    @Override
+    public synchronized Client getResidentActiveObjectOwner() {
+        return residentActiveObjectOwner;
+    }
+
+    @Override
+    public boolean killResidentActiveObjectOfOtherClient(Client client) throws NodeException {
+        String activeObjectUrl;
+        synchronized (this) {
+            if (residentActiveObjectOwner == null || residentActiveObjectOwner.equals(client)) {
+                return false;
+            }
+            activeObjectUrl = residentActiveObjectUrl;
+            setResidentActiveObject(null, null);
+        }
+        try {
+            for (Object activeObject : node.getActiveObjects()) {
+                if (activeObjectUrl.equals(PAActiveObject.getUrl(activeObject))) {
+                    PAActiveObject.terminateActiveObject(activeObject, true);
+                    return true;
+                }
+            }
+        } catch (ActiveObjectCreationException e) {
+            throw new NodeException("Cannot get the active objects of node " + nodeName, e);
+        }
+        return false;
+    }
+
+    private void killActiveObjectsExcept(String activeObjectUrl) throws NodeException {
+        try {
+            for (Object activeObject : node.getActiveObjects()) {
+                if (!activeObjectUrl.equals(PAActiveObject.getUrl(activeObject))) {
+                    PAActiveObject.terminateActiveObject(activeObject, true);
+                }
+            }
+        } catch (ActiveObjectCreationException e) {
+            throw new NodeException("Cannot get the active objects of node " + nodeName, e);
+        }
     }
 
-    private void waitUntilNodeIsCleaned() throws NodeException {
+    private void waitUntilNodeIsCleaned(int remainingActiveObjects) throws NodeException {
         long timeout = PAResourceManagerProperties.RM_SELECT_SCRIPT_TIMEOUT.getValueAsLong();
         int sleepTime = 100;
         int maximumNumberOfWait = Math.round(((float) timeout) / sleepTime);
         try {
             int numberOfActiveObjects = node.getNumberOfActiveObjects();
             int numberOfWait = 0;
-            while (numberOfActiveObjects > 0 && numberOfWait < maximumNumberOfWait) {
+            while (numberOfActiveObjects > remainingActiveObjects && numberOfWait < maximumNumberOfWait) {
                 Thread.sleep(sleepTime);
                 numberOfWait++;
                 numberOfActiveObjects = node.getNumberOfActiveObjects();
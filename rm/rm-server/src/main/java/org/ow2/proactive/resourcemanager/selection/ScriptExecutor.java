@@ -25,6 +25,7 @@
  */
 package org.ow2.proactive.resourcemanager.selection;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -79,73 +80,83 @@ public class ScriptExecutor implements Callable<Node> {
         ScriptException exception = null;
 
         if (selectionScriptSpecified) {
-            // initializing parallel script execution
+            List<SelectionScript> scriptsToExecute = new ArrayList<>(selectionScriptList.size());
             for (SelectionScript script : selectionScriptList) {
                 if (manager.isPassed(script, criteria.getBindings(), rmnode)) {
                     // already executed static script
                     logger.debug(rmnode.getNodeURL() + " : " + script.hashCode() + " skipping script execution");
                     continue;
                 }
-
                 logger.info(rmnode.getNodeURL() + " : " + script.hashCode() + " executing");
+                scriptsToExecute.add(script);
+            }
+
+            if (!scriptsToExecute.isEmpty()) {
                 try {
-                    ScriptResult<Boolean> scriptResult = rmnode.executeScript(script, criteria.getBindings());
+                    // all the scripts are sent in one call, the node stops at the first failing script
+                    List<ScriptResult<Boolean>> scriptResults = rmnode.executeSelectionScripts(scriptsToExecute,
+                                                                                               criteria.getBindings());
 
                     // processing the results
-                    if (!MOP.isReifiedObject(scriptResult) && scriptResult.getException() != null) {
+                    if (!MOP.isReifiedObject(scriptResults) && !scriptResults.isEmpty() &&
+                        scriptResults.get(0).getException() != null) {
                         // could not create script execution handler
                         // probably the node id down
-                        logger.warn(rmnode.getNodeURL() + " : " + script.hashCode() + " exception",
-                                    scriptResult.getException());
+                        logger.warn(rmnode.getNodeURL() + " : exception", scriptResults.get(0).getException());
                         logger.warn(rmnode.getNodeURL() + " : pinging the node");
                         rmnode.getNodeSource().pingNode(rmnode.getNode());
 
                         nodeMatch = false;
-                        break;
                     } else {
 
                         try {
-                            PAFuture.waitFor(scriptResult,
+                            PAFuture.waitFor(scriptResults,
                                              PAResourceManagerProperties.RM_SELECT_SCRIPT_TIMEOUT.getValueAsLong());
                         } catch (ProActiveTimeoutException e) {
                             logger.warn("Timeout on " + rmnode.getNodeURL());
                             // do not produce an exception here
                             nodeMatch = false;
-                            break;
                         }
 
-                        // display the script result and output in the scheduler logs
-                        if (scriptResult != null && logger.isInfoEnabled()) {
-                            logger.info(rmnode.getNodeURL() + " : " + script.hashCode() + " result " +
-                                        scriptResult.getResult());
+                        for (int i = 0; nodeMatch && i < scriptResults.size(); i++) {
+                            SelectionScript script = scriptsToExecute.get(i);
+                            ScriptResult<Boolean> scriptResult = scriptResults.get(i);
 
-                            if (scriptResult.getOutput() != null && scriptResult.getOutput().length() > 0) {
-                                logger.info(rmnode.getNodeURL() + " : " + script.hashCode() + " output\n" +
-                                            scriptResult.getOutput());
+                            // display the script result and output in the scheduler logs
+                            if (scriptResult != null && logger.isInfoEnabled()) {
+                                logger.info(rmnode.getNodeURL() + " : " + script.hashCode() + " result " +
+                                            scriptResult.getResult());
+
+                                if (scriptResult.getOutput() != null && scriptResult.getOutput().length() > 0) {
+                                    logger.info(rmnode.getNodeURL() + " : " + script.hashCode() + " output\n" +
+                                                scriptResult.getOutput());
+                                }
                             }
-                        }
 
-                        if (scriptResult != null && scriptResult.errorOccured()) {
-                            nodeMatch = false;
-                            exception = new ScriptException(scriptResult.getException());
-                            logger.warn(rmnode.getNodeURL() + " : exception during the script execution",
-                                        scriptResult.getException());
+                            if (scriptResult != null && scriptResult.errorOccured()) {
+                                nodeMatch = false;
+                                exception = new ScriptException(scriptResult.getException());
+                                logger.warn(rmnode.getNodeURL() + " : exception during the script execution",
+                                            scriptResult.getException());
+                            }
+
+                            // processing script result and updating knowledge base of
+                            // selection manager at the same time. Returns whether node is selected.
+                            if (!manager.processScriptResult(script, criteria.getBindings(), scriptResult, rmnode)) {
+                                nodeMatch = false;
+                            }
                         }
 
-                        // processing script result and updating knowledge base of
-                        // selection manager at the same time. Returns whether node is selected.
-                        if (!manager.processScriptResult(script, criteria.getBindings(), scriptResult, rmnode)) {
+                        // the remaining scripts were not executed because a previous one failed
+                        if (nodeMatch && scriptResults.size() < scriptsToExecute.size()) {
                             nodeMatch = false;
-                            break;
                         }
-
                     }
                 } catch (Exception ex) {
-                    // proactive or network exception occurred when script was executed
-                    logger.warn(rmnode.getNodeURL() + " : " + script.hashCode() + " exception", ex);
+                    // proactive or network exception occurred when scripts were executed
+                    logger.warn(rmnode.getNodeURL() + " : exception", ex);
                     nodeMatch = false;
                     exception = new ScriptException(ex);
-                    break;
                 }
             }
         }
@@ -254,7 +254,8 @@ public abstract class SelectionManager {
 
         int totalNumberOfAliveNodesRightNow = rmcore.getTotalAliveNodesNumber();
 
-        List<RMNode> freeNodes = rmcore.getFreeNodes();
+        // the acceptable urls and the token are resolved on the indexes of the core
+        List<RMNode> freeNodes = rmcore.getFreeNodes(criteria.getAcceptableNodesUrls(), criteria.getNodeAccessToken());
         // filtering out the "free node list"
         // removing exclusion and checking permissions
         List<RMNode> filteredNodes = filterOut(freeNodes, criteria, client);
@@ -351,6 +352,9 @@ public abstract class SelectionManager {
             }
         }
 
+        // the resident active objects of other clients must not be used by this client
+        killResidentActiveObjectsOfOtherClient(freeNodes, selectedNodes, client);
+
         // the nodes are selected, now mark them as busy.
         for (Node node : selectedNodes) {
             try {
@@ -401,6 +405,52 @@ public abstract class SelectionManager {
         return selectedNodes;
     }
 
+    /**
+     * Kills, in the script executor thread pool, the resident active objects registered by other clients
+     * on the selected nodes and on the extra nodes.
+     */
+    private void killResidentActiveObjectsOfOtherClient(List<RMNode> freeNodes, NodeSet selectedNodes,
+            final Client client) {
+        Set<String> selectedUrls = new HashSet<>();
+        for (Node node : selectedNodes) {
+            selectedUrls.add(node.getNodeInformation().getURL());
+        }
+        if (selectedNodes.getExtraNodes() != null) {
+            for (Node node : selectedNodes.getExtraNodes()) {
+                selectedUrls.add(node.getNodeInformation().getURL());
+            }
+        }
+
+        List<Callable<Boolean>> killers = new LinkedList<>();
+        for (final RMNode node : freeNodes) {
+            if (selectedUrls.contains(node.getNodeURL()) && node.getResidentActiveObjectOwner() != null &&
+                !node.getResidentActiveObjectOwner().equals(client)) {
+                killers.add(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        try {
+                            return node.killResidentActiveObjectOfOtherClient(client);
+                        } catch (Throwable ex) {
+                            logger.warn("Cannot kill the resident active object of node " + node.getNodeURL(), ex);
+                            return false;
+                        }
+                    }
+                });
+            }
+        }
+        if (killers.isEmpty()) {
+            return;
+        }
+
+        long timeout = PAResourceManagerProperties.RM_EXECUTE_SCRIPT_TIMEOUT.getValueAsLong();
+        try {
+            this.scriptExecutorThreadPool.invokeAll(killers, timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.warn("Interrupted while killing the resident active objects of other clients", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static boolean electedToRunOnAllNodes(Criteria criteria) {
         return criteria.getTopology().isTopologyBased() &&
                !criteria.getTopology().toString().equals(TopologyDescriptor.SINGLE_HOST.toString()) &&
@@ -496,7 +546,7 @@ public abstract class SelectionManager {
      */
     private List<RMNode> filterOut(List<RMNode> freeNodes, Criteria criteria, Client client) {
 
-        NodeSet exclusion = criteria.getBlackList();
+        Set<String> exclusion = nodesUrls(criteria.getBlackList());
 
         Set<String> inclusion = criteria.getAcceptableNodesUrls();
 
@@ -549,7 +599,8 @@ public abstract class SelectionManager {
                 }
             }
 
-            if (!contains(exclusion, node) && ((inclusion != null) ? inclusion.contains(node.getNodeURL()) : true)) {
+            if (!exclusion.contains(node.getNodeURL()) &&
+                ((inclusion != null) ? inclusion.contains(node.getNodeURL()) : true)) {
                 filteredList.add(node);
             }
         }
@@ -650,28 +701,25 @@ public abstract class SelectionManager {
     }
 
     /**
-     * Return true if node contains the node set.
+     * Collects the urls of a node set.
      *
      * @param nodeset
-     *            - a list of nodes to inspect
-     * @param node
-     *            - a node to find
-     * @return true if node contains the node set.
+     *            - a list of nodes to inspect, may be null
+     * @return the urls of the nodes which could be retrieved
      */
-    private boolean contains(NodeSet nodeset, RMNode node) {
+    private Set<String> nodesUrls(NodeSet nodeset) {
         if (nodeset == null)
-            return false;
+            return Collections.emptySet();
 
+        Set<String> urls = new HashSet<>(nodeset.size());
         for (Node n : nodeset) {
             try {
-                if (n.getNodeInformation().getURL().equals(node.getNodeURL())) {
-                    return true;
-                }
+                urls.add(n.getNodeInformation().getURL());
             } catch (Exception e) {
                 continue;
             }
         }
-        return false;
+        return urls;
     }
 
 }
@@ -25,8 +25,7 @@
  */
 package org.ow2.proactive.resourcemanager.selection.statistics;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 
@@ -42,6 +41,9 @@ import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProper
  * 3. By calling "decrease" method it goes to 0 but never reach it. <BR>
  * 4. By calling "increase" method N times and then "decrease" method N times
  * it goes to the initial value.<BR>
+ *
+ * The whole state is kept in a single long updated with compare-and-set, so
+ * the probability can be read and updated concurrently without locking.
  */
 public class Probability {
 
@@ -49,81 +51,101 @@ public class Probability {
 
     public static final Probability ONE = new Probability(1);
 
-    private static Timer timer = new Timer("resourcemanager.selection.statistics.Probability timer", true);
+    // the state contains the step in the lowest bits, a flag telling whether the step
+    // was ever changed and the time until which the probability is paused in the highest bits
+    private static final int STEP_BITS = 16;
 
-    private int step = 0;
+    private static final long STEP_MASK = (1L << STEP_BITS) - 1;
 
-    private double probability = calcProbability(step);
+    private static final long STEP_CHANGED = 1L << STEP_BITS;
 
-    private class RestoreProbabilityTask extends TimerTask {
+    private static final int RESTORE_TIME_SHIFT = STEP_BITS + 1;
 
-        private final double probability;
+    private static final double DEFAULT_VALUE = calcProbability(0);
 
-        private RestoreProbabilityTask(double probability) {
-            this.probability = probability;
-        }
+    private final double initialValue;
 
-        @Override
-        public void run() {
-            synchronized (Probability.this) {
-                Probability.this.probability = probability;
-            }
-        }
-    }
+    private final AtomicLong state = new AtomicLong();
 
     /**
      * Creates an object with given probability
      */
     public Probability(double probability) {
-        this.probability = probability;
+        this.initialValue = probability;
     }
 
     /**
      * Returns the probability value
      */
-    public synchronized double value() {
-        return probability;
+    public double value() {
+        return value(state.get());
     }
 
     /**
      * Calculates default probability value
      */
     public static double defaultValue() {
-        return calcProbability(0);
+        return DEFAULT_VALUE;
     }
 
     /**
-     * Sets the probability to zero until the timer restores it.
+     * Sets the probability to zero until the dynamicity period expires.
      * It's done to pause the permanent execution of dynamic selection scripts
      */
-    public synchronized void decrease() {
-        if (probability > 0) {
-            probability = calcProbability(--step);
-            // setting the probability to 0 to timeout the script execution on this node
-            // and scheduling the timer
-            long dynamicity = PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.getValueAsLong();
-
-            if (dynamicity > 0) {
-                timer.schedule(new RestoreProbabilityTask(probability),
-                               PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.getValueAsLong());
-                probability = 0;
+    public void decrease() {
+        long dynamicity = PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.getValueAsLong();
+        long current;
+        long updated;
+        do {
+            current = state.get();
+            if (value(current) == 0) {
+                return;
             }
-        }
+            // setting the probability to 0 to timeout the script execution on this node,
+            // it is restored lazily when the value is read after the restore time
+            long restoreTime = dynamicity > 0 ? System.currentTimeMillis() + dynamicity : 0;
+            updated = pack(step(current) - 1, restoreTime);
+        } while (!state.compareAndSet(current, updated));
     }
 
     /**
      * Increases the probability
      */
-    public synchronized void increase() {
-        probability = calcProbability(++step);
+    public void increase() {
+        long current;
+        long updated;
+        do {
+            current = state.get();
+            updated = pack(step(current) + 1, 0);
+        } while (!state.compareAndSet(current, updated));
     }
 
     /**
      * Returns string probability representation
      */
     @Override
-    public synchronized String toString() {
-        return String.valueOf(probability);
+    public String toString() {
+        return String.valueOf(value());
+    }
+
+    private double value(long packedState) {
+        long restoreTime = packedState >>> RESTORE_TIME_SHIFT;
+        if (restoreTime != 0 && restoreTime > System.currentTimeMillis()) {
+            return 0;
+        }
+        if ((packedState & STEP_CHANGED) == 0) {
+            return initialValue;
+        }
+        return calcProbability(step(packedState));
+    }
+
+    private static int step(long packedState) {
+        return (short) (packedState & STEP_MASK);
+    }
+
+    private static long pack(int step, long restoreTime) {
+        int boundedStep = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, step));
+        return (restoreTime << RESTORE_TIME_SHIFT) | STEP_CHANGED | (boundedStep & STEP_MASK);
     }
 
     private static double calcProbability(int step) {
@@ -31,10 +31,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
@@ -42,10 +43,15 @@ import org.ow2.proactive.resourcemanager.core.RMCore;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
 import org.ow2.proactive.resourcemanager.rmnode.RMNode;
 import org.ow2.proactive.resourcemanager.selection.SelectionManager;
-import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.scripting.ScriptResult;
 import org.ow2.proactive.scripting.SelectionScript;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 
 /**
  * An implementation of {@link SelectionManager} interface, based on
@@ -69,23 +75,33 @@ public class ProbablisticSelectionManager extends SelectionManager {
 
     // contains an information about already executed scripts
     // script digest => node => probability
-    private HashMap<String, HashMap<String, Probability>> probabilities;
-
     // in order to avoid OOM when the number of scripts exceeds the limit
-    // we could :
-    // 1. Reset all the probabilities for all scripts (simple but long to recover performance)
-    // 2. Remove the oldest script execution results (too expensive and complicated)
-    //	  need to store the time, update it each time, then sort when removing
-    //    the system will be too CPU consuming working on the limit
-    // 3. Removed the oldest added script. For this we have this queue. 
-    private LinkedList<String> digestQueue = new LinkedList<>();
+    // the least recently used scripts are removed
+    private Cache<String, ConcurrentMap<String, Probability>> probabilities;
+
+    // digests are shared between the scripts cache and the probabilities
+    private final Interner<String> digestInterner = Interners.newWeakInterner();
+
+    // scripts with replaced bindings and their digests
+    private SelectionScriptCache selectionScriptCache;
 
     public ProbablisticSelectionManager() {
     }
 
     public ProbablisticSelectionManager(RMCore rmcore) {
         super(rmcore);
-        this.probabilities = new HashMap<>();
+        int cacheSize = PAResourceManagerProperties.RM_SELECT_SCRIPT_CACHE_SIZE.getValueAsInt();
+        this.probabilities = CacheBuilder.newBuilder()
+                                         .maximumSize(cacheSize)
+                                         .<String, ConcurrentMap<String, Probability>> removalListener(notification -> {
+                                             if (notification.getCause() == RemovalCause.SIZE &&
+                                                 logger.isDebugEnabled()) {
+                                                 logger.debug("Removing the script: " + notification.getKey() +
+                                                              " from the data base because the limit is reached");
+                                             }
+                                         })
+                                         .build();
+        this.selectionScriptCache = new SelectionScriptCache(cacheSize);
     }
 
     /**
@@ -109,17 +125,27 @@ public class ProbablisticSelectionManager extends SelectionManager {
         }
 
         try {
+            // the digests do not depend on the node
+            List<String> digests = new ArrayList<>(scripts.size());
+            for (SelectionScript script : scripts) {
+                digests.add(selectionScriptCache.resolve(script, bindings).getDigest());
+            }
+            List<Map<String, Probability>> scriptsProbabilities = new ArrayList<>(digests.size());
+            for (String digest : digests) {
+                Map<String, Probability> nodesProbabilities = probabilities.getIfPresent(digest);
+                scriptsProbabilities.add(nodesProbabilities != null ? nodesProbabilities
+                                                                    : Collections.<String, Probability> emptyMap());
+            }
+
             // finding intersection
             HashMap<RMNode, Probability> intersectionMap = new LinkedHashMap<>();
             for (RMNode rmnode : nodes) {
                 boolean intersection = true;
                 double intersectionProbability = 1;
-                for (SelectionScript script : scripts) {
-                    SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
-                    String digest = new String(scriptWithReplacedBindings.digest());
-                    if (probabilities.containsKey(digest) &&
-                        probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                        double probability = probabilities.get(digest).get(rmnode.getNodeURL()).value();
+                for (Map<String, Probability> nodesProbabilities : scriptsProbabilities) {
+                    Probability nodeProbability = nodesProbabilities.get(rmnode.getNodeURL());
+                    if (nodeProbability != null) {
+                        double probability = nodeProbability.value();
                         if (probability == 0) {
                             intersection = false;
                             break;
@@ -169,13 +195,15 @@ public class ProbablisticSelectionManager extends SelectionManager {
      * @return true if script will pass on the node
      */
     @Override
-    public synchronized boolean isPassed(SelectionScript script, Map<String, Serializable> bindings, RMNode rmnode) {
-        String digest;
-        SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
+    public boolean isPassed(SelectionScript script, Map<String, Serializable> bindings, RMNode rmnode) {
+        SelectionScript scriptWithReplacedBindings = script;
         try {
-            digest = new String(scriptWithReplacedBindings.digest());
-            if (probabilities.containsKey(digest) && probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                Probability p = probabilities.get(digest).get(rmnode.getNodeURL());
+            SelectionScriptCache.ResolvedScript resolvedScript = selectionScriptCache.resolve(script, bindings);
+            scriptWithReplacedBindings = resolvedScript.getScript();
+            String digest = resolvedScript.getDigest();
+            Map<String, Probability> nodesProbabilities = probabilities.getIfPresent(digest);
+            Probability p = nodesProbabilities != null ? nodesProbabilities.get(rmnode.getNodeURL()) : null;
+            if (p != null) {
                 String scriptType = scriptWithReplacedBindings.isDynamic() ? "dynamic" : "static";
                 if (logger.isDebugEnabled())
                     logger.debug(rmnode.getNodeURL() + " : " + scriptWithReplacedBindings.hashCode() + " known " +
@@ -201,61 +229,45 @@ public class ProbablisticSelectionManager extends SelectionManager {
      * @return whether node is selected
      */
     @Override
-    public synchronized boolean processScriptResult(SelectionScript script, Map<String, Serializable> bindings,
+    public boolean processScriptResult(SelectionScript script, Map<String, Serializable> bindings,
             ScriptResult<Boolean> scriptResult, RMNode rmnode) {
 
         boolean result = false;
 
-        SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
-
         try {
-            String digest = new String(scriptWithReplacedBindings.digest());
-            Probability probability = new Probability(Probability.defaultValue());
-            if (probabilities.containsKey(digest) && probabilities.get(digest).containsKey(rmnode.getNodeURL())) {
-                probability = probabilities.get(digest).get(rmnode.getNodeURL());
-                assert (probability.value() >= 0 && probability.value() <= 1);
-            }
+            SelectionScriptCache.ResolvedScript resolvedScript = selectionScriptCache.resolve(script, bindings);
+            SelectionScript scriptWithReplacedBindings = resolvedScript.getScript();
+            String digest = digestInterner.intern(resolvedScript.getDigest());
+            ConcurrentMap<String, Probability> nodesProbabilities = getNodesProbabilities(digest);
+            String nodeUrl = rmnode.getNodeURL().intern();
 
+            Probability probability;
             if (scriptResult == null || scriptResult.errorOccured() || !scriptResult.getResult()) {
                 // error during script execution or script returned false
                 if (scriptWithReplacedBindings.isDynamic()) {
+                    probability = getNodeProbability(nodesProbabilities, nodeUrl);
                     probability.decrease();
                 } else {
                     probability = Probability.ZERO;
+                    nodesProbabilities.put(nodeUrl, probability);
                 }
             } else {
                 // script passed
                 result = true;
                 if (scriptWithReplacedBindings.isDynamic()) {
+                    probability = getNodeProbability(nodesProbabilities, nodeUrl);
                     probability.increase();
                 } else {
                     probability = Probability.ONE;
+                    nodesProbabilities.put(nodeUrl, probability);
                 }
             }
 
-            if (!probabilities.containsKey(digest)) {
-                // checking if the number of selection script does not exceeded the maximum
-                if (probabilities.size() >= PAResourceManagerProperties.RM_SELECT_SCRIPT_CACHE_SIZE.getValueAsInt()) {
-                    String oldest = digestQueue.poll();
-                    probabilities.remove(oldest);
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("Removing the script: " + scriptWithReplacedBindings.hashCode() +
-                                     " from the data base because the limit is reached");
-                    }
-                }
-                // adding a new script record
-                probabilities.put(digest, new HashMap<String, Probability>());
-                logger.debug("Scripts cache size " + probabilities.size());
-                digestQueue.offer(digest);
-            }
-
             if (logger.isDebugEnabled()) {
                 logger.debug(rmnode.getNodeURL() + " : script " + scriptWithReplacedBindings.hashCode() +
                              ", probability " + probability);
             }
 
-            probabilities.get(digest).put(rmnode.getNodeURL().intern(), probability);
-
         } catch (NoSuchAlgorithmException e) {
             logger.error(e.getMessage(), e);
         }
@@ -263,6 +275,15 @@ public class ProbablisticSelectionManager extends SelectionManager {
         return result;
     }
 
+    private ConcurrentMap<String, Probability> getNodesProbabilities(String digest) {
+        // adding a new script record if needed
+        return probabilities.asMap().computeIfAbsent(digest, key -> new ConcurrentHashMap<>());
+    }
+
+    private Probability getNodeProbability(ConcurrentMap<String, Probability> nodesProbabilities, String nodeUrl) {
+        return nodesProbabilities.computeIfAbsent(nodeUrl, url -> new Probability(Probability.defaultValue()));
+    }
+
     /**
      * @see org.ow2.proactive.authentication.Loggable#getLogger()
      */
@@ -270,23 +291,4 @@ public class ProbablisticSelectionManager extends SelectionManager {
         return logger;
     }
 
-    private SelectionScript replaceBindings(SelectionScript script, Map<String, Serializable> bindings) {
-        String scriptContent = script.getScript();
-        if (bindings != null) {
-            for (Map.Entry<String, Serializable> entry : bindings.entrySet()) {
-                scriptContent = scriptContent.replace(entry.getKey(), entry.getValue().toString());
-            }
-        }
-        try {
-            return new SelectionScript(scriptContent,
-                                       script.getEngineName(),
-                                       script.getParameters(),
-                                       script.isDynamic());
-        } catch (InvalidScriptException e) {
-            logger.warn("Error when replacing bindings of script (revert to use original script):" +
-                        System.lineSeparator() + script.toString(), e);
-            return script;
-        }
-    }
-
 }
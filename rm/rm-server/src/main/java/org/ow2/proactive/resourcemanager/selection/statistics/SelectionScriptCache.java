@@ -0,0 +1,188 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.selection.statistics;
+
+import java.io.Serializable;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.log4j.Logger;
+import org.ow2.proactive.scripting.InvalidScriptException;
+import org.ow2.proactive.scripting.SelectionScript;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * Cache of the selection scripts whose bindings have been replaced by their
+ * values, together with the digest of the resulting script.
+ * <p>
+ * The digest of a selection script identifies it in the knowledge base of
+ * the selection manager. Replacing the bindings and computing the digest
+ * is done once per script content and bindings, instead of once per node
+ * and per selection request.
+ */
+public class SelectionScriptCache {
+
+    private static final Logger logger = Logger.getLogger(SelectionScriptCache.class);
+
+    private final Cache<Key, ResolvedScript> resolvedScripts;
+
+    /**
+     * @param maximumSize the maximum number of resolved scripts kept in the cache
+     */
+    public SelectionScriptCache(int maximumSize) {
+        resolvedScripts = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Returns the given script with its bindings replaced by their values,
+     * and its digest.
+     *
+     * @param script the selection script
+     * @param bindings the bindings to replace inside the script, can be null
+     * @return the resolved script
+     * @throws NoSuchAlgorithmException if the digest cannot be computed
+     */
+    public ResolvedScript resolve(SelectionScript script, Map<String, Serializable> bindings)
+            throws NoSuchAlgorithmException {
+        if (script.getScript() == null) {
+            // the content of the script is fetched from its url each time
+            return resolveWithoutCache(script, bindings);
+        }
+        Key key = new Key(script, bindings);
+        ResolvedScript resolvedScript = resolvedScripts.getIfPresent(key);
+        if (resolvedScript == null) {
+            resolvedScript = resolveWithoutCache(script, bindings);
+            resolvedScripts.put(key, resolvedScript);
+        }
+        return resolvedScript;
+    }
+
+    private ResolvedScript resolveWithoutCache(SelectionScript script, Map<String, Serializable> bindings)
+            throws NoSuchAlgorithmException {
+        SelectionScript scriptWithReplacedBindings = replaceBindings(script, bindings);
+        return new ResolvedScript(scriptWithReplacedBindings, new String(scriptWithReplacedBindings.digest()));
+    }
+
+    public long size() {
+        return resolvedScripts.size();
+    }
+
+    public static SelectionScript replaceBindings(SelectionScript script, Map<String, Serializable> bindings) {
+        String scriptContent = script.fetchScript();
+        if (bindings != null) {
+            for (Map.Entry<String, Serializable> entry : bindings.entrySet()) {
+                scriptContent = scriptContent.replace(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        try {
+            return new SelectionScript(scriptContent,
+                                       script.getEngineName(),
+                                       script.getParameters(),
+                                       script.isDynamic());
+        } catch (InvalidScriptException e) {
+            logger.warn("Error when replacing bindings of script (revert to use original script):" +
+                        System.lineSeparator() + script.toString(), e);
+            return script;
+        }
+    }
+
+    /**
+     * A selection script whose bindings have been replaced, and its digest.
+     */
+    public static final class ResolvedScript {
+
+        private final SelectionScript script;
+
+        private final String digest;
+
+        private ResolvedScript(SelectionScript script, String digest) {
+            this.script = script;
+            this.digest = digest;
+        }
+
+        public SelectionScript getScript() {
+            return script;
+        }
+
+        public String getDigest() {
+            return digest;
+        }
+    }
+
+    /**
+     * Identifies a script by its content rather than by its id, as the
+     * content of a script can be updated after its creation.
+     */
+    private static final class Key {
+
+        private final String content;
+
+        private final String engineName;
+
+        private final Serializable[] parameters;
+
+        private final boolean dynamic;
+
+        private final Map<String, Serializable> bindings;
+
+        private final int hashCode;
+
+        private Key(SelectionScript script, Map<String, Serializable> bindings) {
+            this.content = script.getScript();
+            this.engineName = script.getEngineName();
+            this.parameters = script.getParameters() == null ? null : script.getParameters().clone();
+            this.dynamic = script.isDynamic();
+            this.bindings = bindings == null ? null : new HashMap<>(bindings);
+            this.hashCode = Objects.hash(content, engineName, Arrays.hashCode(parameters), dynamic, this.bindings);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hashCode == key.hashCode && dynamic == key.dynamic && Objects.equals(content, key.content) &&
+                   Objects.equals(engineName, key.engineName) && Arrays.equals(parameters, key.parameters) &&
+                   Objects.equals(bindings, key.bindings);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+}
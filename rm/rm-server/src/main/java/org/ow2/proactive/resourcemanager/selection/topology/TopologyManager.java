@@ -26,12 +26,16 @@
 package org.ow2.proactive.resourcemanager.selection.topology;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -318,6 +322,27 @@ public class TopologyManager {
         return result;
     }
 
+    /**
+     * Maps the given nodes to their hosts in a single pass, keeping the order of the hosts and of their nodes.
+     * The hosts without any of the given nodes are not part of the result.
+     */
+    private Map<InetAddress, List<Node>> getMatchedNodesOnHost(List<Node> matchedNodes) {
+        Set<Node> matched = new HashSet<>(matchedNodes);
+        Map<InetAddress, List<Node>> matchedNodesOnHost = new LinkedHashMap<>();
+        for (Map.Entry<InetAddress, Set<Node>> host : nodesOnHost.entrySet()) {
+            List<Node> nodes = new ArrayList<>();
+            for (Node nodeOnHost : host.getValue()) {
+                if (matched.contains(nodeOnHost)) {
+                    nodes.add(nodeOnHost);
+                }
+            }
+            if (!nodes.isEmpty()) {
+                matchedNodesOnHost.put(host.getKey(), nodes);
+            }
+        }
+        return matchedNodesOnHost;
+    }
+
     // Handlers implementations
 
     /**
@@ -389,31 +414,22 @@ public class TopologyManager {
                 if (number <= 0 || matchedNodes.size() == 0) {
                     return new NodeSet();
                 }
-                if (number > matchedNodes.size()) {
-                    // cannot select more than matchedNodes.size()
-                    number = matchedNodes.size();
+
+                Map<InetAddress, List<Node>> matchedNodesOnHost = getMatchedNodesOnHost(matchedNodes);
+                int maxMatchedNodes = 0;
+                for (List<Node> nodes : matchedNodesOnHost.values()) {
+                    maxMatchedNodes = Math.max(maxMatchedNodes, nodes.size());
                 }
+                // when no host has enough matched nodes, the host with the most of them is selected
+                number = Math.min(number, maxMatchedNodes);
 
-                NodeSet result = new NodeSet();
-                for (InetAddress host : nodesOnHost.keySet()) {
-                    if (nodesOnHost.get(host).size() >= number) {
-                        // found the host with required capacity
-                        // checking that all nodes are free
-                        for (Node nodeOnHost : nodesOnHost.get(host)) {
-                            if (matchedNodes.contains(nodeOnHost)) {
-                                result.add(nodeOnHost);
-                                if (result.size() == number) {
-                                    // found enough nodes on the same host
-                                    return result;
-                                }
-                            } else {
-                                continue;
-                            }
-                        }
-                        result.clear();
+                for (List<Node> nodes : matchedNodesOnHost.values()) {
+                    if (nodes.size() >= number) {
+                        // found enough nodes on the same host
+                        return new NodeSet(nodes.subList(0, number));
                     }
                 }
-                return select(number - 1, matchedNodes);
+                return new NodeSet();
             } finally {
                 rwLock.readLock().unlock();
             }
@@ -439,50 +455,33 @@ public class TopologyManager {
                     return new NodeSet();
                 }
 
-                List<InetAddress> sortedByNodesNumber = new LinkedList<>(nodesOnHost.keySet());
+                // only the hosts whose nodes are all free can be selected
+                Map<InetAddress, List<Node>> matchedNodesOnHost = getMatchedNodesOnHost(matchedNodes);
+                List<InetAddress> freeHostsSortedByNodesNumber = new LinkedList<>();
+                for (Map.Entry<InetAddress, List<Node>> host : matchedNodesOnHost.entrySet()) {
+                    if (host.getValue().size() == nodesOnHost.get(host.getKey()).size()) {
+                        freeHostsSortedByNodesNumber.add(host.getKey());
+                    }
+                }
+                if (freeHostsSortedByNodesNumber.isEmpty()) {
+                    return new NodeSet();
+                }
 
-                Collections.sort(sortedByNodesNumber, new Comparator<InetAddress>() {
+                Collections.sort(freeHostsSortedByNodesNumber, new Comparator<InetAddress>() {
                     public int compare(InetAddress host, InetAddress host2) {
                         return nodesOnHost.get(host).size() - nodesOnHost.get(host2).size();
                     }
                 });
-                return selectRecursively(number, sortedByNodesNumber, matchedNodes);
 
-            } finally {
-                rwLock.readLock().unlock();
-            }
-        }
-
-        private NodeSet selectRecursively(int number, List<InetAddress> hostsSortedByNodesNumber,
-                List<Node> matchedNodes) {
-
-            if (number <= 0 || matchedNodes.size() == 0) {
-                return new NodeSet();
-            }
-            if (number > matchedNodes.size()) {
-                // cannot select more than matchedNodes.size()
-                number = matchedNodes.size();
-            }
+                InetAddress biggestHost = freeHostsSortedByNodesNumber.get(freeHostsSortedByNodesNumber.size() - 1);
+                // when no host has the required capacity, the biggest one is selected
+                number = Math.min(number, nodesOnHost.get(biggestHost).size());
 
-            List<InetAddress> busyHosts = new LinkedList<>();
-            for (InetAddress host : hostsSortedByNodesNumber) {
-                Set<Node> nodes = nodesOnHost.get(host);
-                int nbNodes;
-                if (nodes != null && (nbNodes = nodes.size()) >= number) {
-                    // found the host with required capacity
-                    // checking that all nodes are free
-                    boolean busyNode = false;
-                    for (Node nodeOnHost : nodes) {
-                        if (!matchedNodes.contains(nodeOnHost)) {
-                            busyNode = true;
-                            busyHosts.add(host);
-                            break;
-                        }
-                    }
-                    // all nodes are free on host
-                    if (!busyNode) {
+                for (InetAddress host : freeHostsSortedByNodesNumber) {
+                    Set<Node> nodes = nodesOnHost.get(host);
+                    if (nodes.size() >= number) {
                         // found enough nodes on the same host
-                        if (nbNodes > number) {
+                        if (nodes.size() > number) {
                             // some extra nodes will be provided
                             return getNodeSetWithExtraNodes(nodes, number);
                         } else {
@@ -491,10 +490,10 @@ public class TopologyManager {
                         }
                     }
                 }
+                return new NodeSet();
+            } finally {
+                rwLock.readLock().unlock();
             }
-
-            hostsSortedByNodesNumber.removeAll(busyHosts);
-            return selectRecursively(number - 1, hostsSortedByNodesNumber, matchedNodes);
         }
     }
 
@@ -0,0 +1,247 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.utils;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * A bounded FIFO queue of events waiting to be delivered to one client.
+ * <p>
+ * What happens when the queue is full depends on its {@link Policy}.
+ * With {@link Policy#COALESCE}, an event having the same coalescing key as a
+ * pending event replaces it, the new event being moved to the end of the queue.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E> the type of the events
+ */
+public class BoundedEventQueue<E> {
+
+    /**
+     * Behavior of the queue regarding new events.
+     */
+    public enum Policy {
+        /**
+         * Superseded events are replaced by the new ones. When the queue is
+         * full and the new event does not supersede a pending one, it is rejected.
+         */
+        COALESCE,
+        /**
+         * When the queue is full, new events are rejected.
+         */
+        DROP,
+        /**
+         * When the queue is full, the producer waits for events to be
+         * delivered, new events are rejected after the block timeout.
+         */
+        BLOCK
+    }
+
+    private final int capacity;
+
+    private final Policy policy;
+
+    private final long blockTimeout;
+
+    private final Function<E, Object> coalescingKey;
+
+    /**
+     * Pending events, indexed by their coalescing key or by a unique key
+     * when they cannot be coalesced.
+     */
+    private final LinkedHashMap<Object, PendingEvent<E>> events = new LinkedHashMap<>();
+
+    private long coalescedEvents = 0;
+
+    private long droppedEvents = 0;
+
+    /**
+     * @param capacity the maximum number of pending events
+     * @param policy the behavior of the queue regarding new events
+     * @param blockTimeout the maximum time in milliseconds a producer waits for
+     *                     space in the queue, used by {@link Policy#BLOCK}
+     * @param coalescingKey returns the key identifying the events which supersede
+     *                      each other, or null if an event cannot be coalesced
+     */
+    public BoundedEventQueue(int capacity, Policy policy, long blockTimeout, Function<E, Object> coalescingKey) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.policy = policy;
+        this.blockTimeout = blockTimeout;
+        this.coalescingKey = coalescingKey;
+    }
+
+    /**
+     * Adds an event at the end of the queue.
+     *
+     * @param event the event to add
+     * @return false if the event was rejected because the queue is full
+     */
+    public synchronized boolean offer(E event) {
+        Object key = policy == Policy.COALESCE ? coalescingKey.apply(event) : null;
+        if (key != null && events.remove(key) != null) {
+            coalescedEvents++;
+        } else if (events.size() >= capacity && !waitForSpace()) {
+            droppedEvents++;
+            return false;
+        }
+        events.put(key != null ? key : new Object(), new PendingEvent<>(event));
+        return true;
+    }
+
+    private boolean waitForSpace() {
+        if (policy != Policy.BLOCK) {
+            return false;
+        }
+        long deadline = System.currentTimeMillis() + blockTimeout;
+        long remaining = blockTimeout;
+        try {
+            while (events.size() >= capacity && remaining > 0) {
+                wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return events.size() < capacity;
+    }
+
+    /**
+     * Removes the first event of the queue.
+     *
+     * @return the first event, or null if the queue is empty
+     */
+    public synchronized E poll() {
+        Iterator<PendingEvent<E>> iterator = events.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        E event = iterator.next().event;
+        iterator.remove();
+        notifyAll();
+        return event;
+    }
+
+    /**
+     * Removes all the events of the queue and adds them to the given collection, in order.
+     *
+     * @param collection the collection to fill
+     * @return the number of events transferred
+     */
+    public synchronized int drainTo(Collection<? super E> collection) {
+        int size = events.size();
+        for (PendingEvent<E> pendingEvent : events.values()) {
+            collection.add(pendingEvent.event);
+        }
+        events.clear();
+        notifyAll();
+        return size;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+        notifyAll();
+    }
+
+    public synchronized boolean isEmpty() {
+        return events.isEmpty();
+    }
+
+    /**
+     * @return the number of pending events
+     */
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /**
+     * @return the time in milliseconds the oldest pending event has been waiting, 0 if the queue is empty
+     */
+    public synchronized long getLag() {
+        Iterator<PendingEvent<E>> iterator = events.values().iterator();
+        return iterator.hasNext() ? System.currentTimeMillis() - iterator.next().timestamp : 0;
+    }
+
+    /**
+     * @return the number of events replaced by a newer event
+     */
+    public synchronized long getCoalescedEvents() {
+        return coalescedEvents;
+    }
+
+    /**
+     * @return the number of events rejected because the queue was full
+     */
+    public synchronized long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Builds a map of the sizes of the given queues.
+     */
+    public static <K> Map<String, Integer> sizes(Map<K, ? extends BoundedEventQueue<?>> queues) {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<K, ? extends BoundedEventQueue<?>> queue : queues.entrySet()) {
+            sizes.put(String.valueOf(queue.getKey()), queue.getValue().size());
+        }
+        return sizes;
+    }
+
+    /**
+     * Builds a map of the lags of the given queues.
+     */
+    public static <K> Map<String, Long> lags(Map<K, ? extends BoundedEventQueue<?>> queues) {
+        Map<String, Long> lags = new LinkedHashMap<>();
+        for (Map.Entry<K, ? extends BoundedEventQueue<?>> queue : queues.entrySet()) {
+            lags.put(String.valueOf(queue.getKey()), queue.getValue().getLag());
+        }
+        return lags;
+    }
+
+    private static final class PendingEvent<E> {
+
+        private final E event;
+
+        private final long timestamp;
+
+        private PendingEvent(E event) {
+            this.event = event;
+            this.timestamp = System.currentTimeMillis();
+        }
+    }
+
+}
@@ -27,10 +27,23 @@ package org.ow2.proactive.utils.appenders;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Appender;
+import org.apache.log4j.Layout;
 import org.apache.log4j.Logger;
 import org.apache.log4j.MDC;
 import org.apache.log4j.PatternLayout;
@@ -47,15 +60,76 @@ import org.apache.log4j.spi.LoggingEvent;
  * Is used to put server logs for tasks and jobs into files with 
  * different names.
  *
+ * Files are kept open in a pool of at most {@link #getMaxOpenFiles()} writers,
+ * the least recently used one being closed when the pool is full. The pool is shared by
+ * all the appenders of the JVM, so that a file written by several appenders, the job logs
+ * written by the scheduler and by the selection of the resource manager for instance,
+ * has a single writer. The writer of a file is created with the layout and the maximum
+ * size of the appender which opens it first. A file is opened, written, flushed and closed
+ * with the lock of its stripe, the lock of the pool is only held to look up and update the pool,
+ * so that writing a file does not wait for the others.
+ *
+ * When the appender is asynchronous, events are queued and written in batches by a
+ * dedicated thread, which flushes the buffered writers every {@link #getFlushInterval()} milliseconds
+ * and closes the ones which did not receive events during {@link #getIdleTimeout()} milliseconds.
+ * If the queue is full, the logging thread writes the queued events and its event itself, which slows it
+ * down to the speed of the files without losing nor reordering events. Dropping the event instead, counted
+ * in {@link #getDroppedEvents()}, must be enabled with {@link #setDropEventsWhenQueueFull(boolean)}.
+ *
  */
 public class FileAppender extends WriterAppender {
 
     public static final String FILE_NAME = "filename";
 
+    private static final int WRITE_BATCH_SIZE = 1000;
+
     private String maxFileSize;
 
     protected String filesLocation;
 
+    private long idleTimeout = 60000;
+
+    private long flushInterval = 1000;
+
+    private int queueSize = 100000;
+
+    private boolean asynchronous = false;
+
+    private boolean dropEventsWhenQueueFull = false;
+
+    private static final int FILE_LOCK_STRIPES = 64;
+
+    /** Open writers of all the appenders, by file name, in access order */
+    private static final OpenFiles openFiles = new OpenFiles();
+
+    /** Locks of the files, a writer is only added to or removed from the pool with the lock of its file */
+    private static final Object[] fileLocks = new Object[FILE_LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < fileLocks.length; i++) {
+            fileLocks[i] = new Object();
+        }
+    }
+
+    /** Asynchronous appenders, their pending events are written before the files are flushed or closed */
+    private static final Set<FileAppender> asynchronousAppenders = new CopyOnWriteArraySet<>();
+
+    private BlockingQueue<PendingEvent> pendingEvents;
+
+    /** Signals the writer thread that events were queued */
+    private final Semaphore queuedEvents = new Semaphore(0);
+
+    /** Events are only dequeued with this lock, so that the events of a file are written in order */
+    private final Object dequeueLock = new Object();
+
+    private Thread writerThread;
+
+    private volatile boolean closing = false;
+
+    private final AtomicLong droppedEvents = new AtomicLong();
+
+    private long reportedDroppedEvents = 0;
+
     public FileAppender() {
 
         setLayout(new PatternLayout("[%d{ISO8601} %-5p] %m%n"));
@@ -83,6 +157,189 @@ public class FileAppender extends WriterAppender {
         if (filesLocation != null) {
             fileName = filesLocation + File.separator + fileName;
         }
+
+        if (asynchronous && !closing) {
+            // the event is written later by another thread, copy the thread dependent data now
+            event.getNDC();
+            event.getThreadName();
+            event.getRenderedMessage();
+            event.getMDCCopy();
+            if (getPendingEvents().offer(new PendingEvent(fileName, event))) {
+                queuedEvents.release();
+            } else if (dropEventsWhenQueueFull) {
+                droppedEvents.incrementAndGet();
+            } else {
+                // the events queued before this one are written first
+                synchronized (dequeueLock) {
+                    writePendingEvents();
+                    write(fileName, event, false);
+                }
+            }
+            return;
+        }
+
+        write(fileName, event, true);
+    }
+
+    /**
+     * Writes all the pending events, of all the appenders, and flushes the open files. Must be called
+     * before reading the files when the appender is asynchronous.
+     */
+    public void flush() {
+        writeAllPendingEvents();
+        for (Map.Entry<String, PooledFileAppender> entry : openFiles.entries()) {
+            synchronized (getFileLock(entry.getKey())) {
+                entry.getValue().flush();
+            }
+        }
+    }
+
+    /**
+     * Writes the pending events and closes the open files located in the given folder, which can then be removed.
+     * The files are closed whichever appender opened them.
+     *
+     * @param folder a folder, relative to the files location
+     */
+    public void closeFiles(String folder) {
+        closeFilesStartingWith((filesLocation != null ? filesLocation + File.separator + folder : folder) +
+                               File.separator);
+    }
+
+    /**
+     * Writes the pending events and closes all the open files.
+     */
+    public void closeFiles() {
+        closeFilesStartingWith("");
+    }
+
+    private void closeFilesStartingWith(String prefix) {
+        writeAllPendingEvents();
+        for (Map.Entry<String, PooledFileAppender> entry : openFiles.entries()) {
+            if (entry.getKey().startsWith(prefix)) {
+                closeFile(entry.getKey());
+            }
+        }
+    }
+
+    private synchronized BlockingQueue<PendingEvent> getPendingEvents() {
+        if (pendingEvents == null) {
+            pendingEvents = new LinkedBlockingQueue<>(queueSize);
+            writerThread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    writeEvents();
+                }
+            }, "FileAppender writer");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            asynchronousAppenders.add(this);
+        }
+        return pendingEvents;
+    }
+
+    private void writeEvents() {
+        long lastFlush = System.currentTimeMillis();
+        while (!closing) {
+            try {
+                if (queuedEvents.tryAcquire(flushInterval, TimeUnit.MILLISECONDS)) {
+                    queuedEvents.drainPermits();
+                }
+                writePendingEvents();
+                long now = System.currentTimeMillis();
+                if (now - lastFlush >= flushInterval) {
+                    flushAndCloseIdleFiles(now);
+                    lastFlush = now;
+                }
+                reportDroppedEvents();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                Logger.getRootLogger().error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private void reportDroppedEvents() {
+        long dropped = droppedEvents.get();
+        if (dropped > reportedDroppedEvents) {
+            Logger.getRootLogger().warn((dropped - reportedDroppedEvents) + " logging events dropped by " +
+                                        getClass().getSimpleName() + ", its queue of " + queueSize + " events is full");
+            reportedDroppedEvents = dropped;
+        }
+    }
+
+    private static void writeAllPendingEvents() {
+        for (FileAppender appender : asynchronousAppenders) {
+            appender.writePendingEvents();
+        }
+    }
+
+    private void writePendingEvents() {
+        if (pendingEvents == null) {
+            return;
+        }
+        synchronized (dequeueLock) {
+            List<PendingEvent> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+            while (pendingEvents.drainTo(batch, WRITE_BATCH_SIZE) > 0) {
+                for (PendingEvent pendingEvent : batch) {
+                    write(pendingEvent.fileName, pendingEvent.event, false);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static void flushAndCloseIdleFiles(long now) {
+        for (Map.Entry<String, PooledFileAppender> entry : openFiles.entries()) {
+            PooledFileAppender appender = entry.getValue();
+            synchronized (getFileLock(entry.getKey())) {
+                if (now - appender.lastAccess < appender.idleTimeout) {
+                    appender.flush();
+                } else if (openFiles.remove(entry.getKey(), appender)) {
+                    appender.close();
+                }
+            }
+        }
+    }
+
+    private void write(String fileName, LoggingEvent event, boolean flush) {
+        synchronized (getFileLock(fileName)) {
+            PooledFileAppender appender = openFiles.get(fileName);
+            if (appender == null) {
+                appender = createAppender(fileName);
+                if (appender == null) {
+                    return;
+                }
+                openFiles.put(fileName, appender);
+            }
+            appender.lastAccess = System.currentTimeMillis();
+            appender.append(event);
+            if (flush) {
+                appender.flush();
+            }
+        }
+        // the least recently used files are closed once the lock of this file is released
+        String eldest;
+        while ((eldest = openFiles.getEldestOverLimit()) != null) {
+            closeFile(eldest);
+        }
+    }
+
+    private static void closeFile(String fileName) {
+        synchronized (getFileLock(fileName)) {
+            PooledFileAppender appender = openFiles.remove(fileName);
+            if (appender != null) {
+                appender.close();
+            }
+        }
+    }
+
+    private static Object getFileLock(String fileName) {
+        return fileLocks[(fileName.hashCode() & Integer.MAX_VALUE) % fileLocks.length];
+    }
+
+    private PooledFileAppender createAppender(String fileName) {
         File file = new File(fileName);
         if (!file.exists()) {
             try {
@@ -94,20 +351,35 @@ public class FileAppender extends WriterAppender {
         }
 
         try {
-            RollingFileAppender appender = new RollingFileAppender(getLayout(), fileName, true);
+            PooledFileAppender appender = new PooledFileAppender(getLayout(), fileName, idleTimeout);
             appender.setMaxBackupIndex(1);
             if (maxFileSize != null) {
                 appender.setMaxFileSize(maxFileSize);
             }
-            appender.append(event);
-            appender.close();
+            return appender;
         } catch (IOException e) {
             Logger.getRootLogger().error(e.getMessage(), e);
+            return null;
         }
     }
 
     @Override
     public void close() {
+        closing = true;
+        if (writerThread != null) {
+            writerThread.interrupt();
+            try {
+                writerThread.join(flushInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        writePendingEvents();
+        asynchronousAppenders.remove(this);
+        // the files used by the other appenders are opened again on their next event
+        for (Map.Entry<String, PooledFileAppender> entry : openFiles.entries()) {
+            closeFile(entry.getKey());
+        }
     }
 
     @Override
@@ -120,7 +392,12 @@ public class FileAppender extends WriterAppender {
     }
 
     public void setFilesLocation(String filesLocation) {
-        this.filesLocation = filesLocation;
+        // the open files are shared by file name with the other appenders
+        this.filesLocation = filesLocation != null ? new File(filesLocation).getAbsoluteFile()
+                                                                            .toPath()
+                                                                            .normalize()
+                                                                            .toString()
+                                                   : null;
     }
 
     public String getMaxFileSize() {
@@ -130,4 +407,146 @@ public class FileAppender extends WriterAppender {
     public void setMaxFileSize(String maxFileSize) {
         this.maxFileSize = maxFileSize;
     }
+
+    /**
+     * @return the maximum number of files kept open by all the appenders
+     */
+    public int getMaxOpenFiles() {
+        synchronized (openFiles) {
+            return openFiles.maxOpenFiles;
+        }
+    }
+
+    /**
+     * Sets the maximum number of files kept open by all the appenders.
+     */
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        synchronized (openFiles) {
+            openFiles.maxOpenFiles = maxOpenFiles;
+        }
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * @return the number of events dropped because the queue of the appender was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    public boolean isDropEventsWhenQueueFull() {
+        return dropEventsWhenQueueFull;
+    }
+
+    /**
+     * Drops the events logged while the queue of the asynchronous appender is full, instead of writing
+     * them in the logging thread.
+     */
+    public void setDropEventsWhenQueueFull(boolean dropEventsWhenQueueFull) {
+        this.dropEventsWhenQueueFull = dropEventsWhenQueueFull;
+    }
+
+    public boolean isAsynchronous() {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    /**
+     * Pool of the open writers, its methods hold its lock only to update it, the writers are closed by the callers.
+     */
+    private static class OpenFiles {
+
+        private final LinkedHashMap<String, PooledFileAppender> writers = new LinkedHashMap<>(16, 0.75f, true);
+
+        private int maxOpenFiles = 100;
+
+        private synchronized PooledFileAppender get(String fileName) {
+            return writers.get(fileName);
+        }
+
+        private synchronized void put(String fileName, PooledFileAppender appender) {
+            writers.put(fileName, appender);
+        }
+
+        private synchronized PooledFileAppender remove(String fileName) {
+            return writers.remove(fileName);
+        }
+
+        private synchronized boolean remove(String fileName, PooledFileAppender appender) {
+            return writers.remove(fileName, appender);
+        }
+
+        private synchronized List<Map.Entry<String, PooledFileAppender>> entries() {
+            List<Map.Entry<String, PooledFileAppender>> entries = new ArrayList<>(writers.size());
+            for (Map.Entry<String, PooledFileAppender> entry : writers.entrySet()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+            }
+            return entries;
+        }
+
+        /**
+         * @return the least recently used file if there are too many open files, null otherwise
+         */
+        private synchronized String getEldestOverLimit() {
+            return writers.size() > maxOpenFiles ? writers.keySet().iterator().next() : null;
+        }
+    }
+
+    private static class PendingEvent {
+
+        private final String fileName;
+
+        private final LoggingEvent event;
+
+        private PendingEvent(String fileName, LoggingEvent event) {
+            this.fileName = fileName;
+            this.event = event;
+        }
+    }
+
+    private static class PooledFileAppender extends RollingFileAppender {
+
+        private volatile long lastAccess;
+
+        private final long idleTimeout;
+
+        // buffered, synchronous appenders flush it after each event
+        private PooledFileAppender(Layout layout, String fileName, long idleTimeout) throws IOException {
+            super(layout, fileName, true);
+            this.idleTimeout = idleTimeout;
+            setImmediateFlush(false);
+        }
+
+        private void flush() {
+            if (qw != null) {
+                qw.flush();
+            }
+        }
+    }
 }
@@ -95,6 +95,53 @@ public class NodeHistoryTest {
         dbManager.close();
     }
 
+    @Test
+    public void testSaveHistoryAsynchronously() throws Exception {
+        Configuration config = new Configuration().configure("/functionaltests/config/hibernate-unit.cfg.xml");
+        dbManager = new RMDBManager(config, true, true);
+
+        NodeHistory first = createNodeHistory(1);
+        NodeHistory other = createNodeHistory(2);
+        other.setNodeUrl("otherUrl");
+        NodeHistory second = createNodeHistory(3);
+        NodeHistory removed = createNodeHistory(4);
+        removed.setStoreInDataBase(false);
+
+        dbManager.saveNodeHistoryAsynchronously(first);
+        dbManager.saveNodeHistoryAsynchronously(other);
+        dbManager.saveNodeHistoryAsynchronously(second);
+        dbManager.saveNodeHistoryAsynchronously(removed);
+        dbManager.getNodeHistoryBuffer().flush();
+
+        Assert.assertEquals(0, dbManager.getNodeHistoryBuffer().getQueueSize());
+        Assert.assertEquals(4, dbManager.getNodeHistoryBuffer().getFlushedRecordsCount());
+
+        List<?> rows = dbManager.executeSqlQuery("from NodeHistory order by startTime");
+        Assert.assertEquals(3, rows.size());
+
+        NodeHistory expected1 = createNodeHistory(1);
+        expected1.setEndTime(3);
+        NodeHistory expected2 = createNodeHistory(2);
+        expected2.setNodeUrl("otherUrl");
+        NodeHistory expected3 = createNodeHistory(3);
+        expected3.setEndTime(4);
+
+        assertEquals(expected1, (NodeHistory) rows.get(0));
+        assertEquals(expected2, (NodeHistory) rows.get(1));
+        assertEquals(expected3, (NodeHistory) rows.get(2));
+
+        // records saved synchronously are written after the pending ones
+        dbManager.saveNodeHistoryAsynchronously(createNodeHistory(5));
+        dbManager.saveNodeHistory(createNodeHistory(6));
+
+        rows = dbManager.executeSqlQuery("from NodeHistory where nodeUrl='url' order by startTime");
+        Assert.assertEquals(4, rows.size());
+        Assert.assertEquals(6, ((NodeHistory) rows.get(2)).getEndTime());
+        Assert.assertEquals(0, ((NodeHistory) rows.get(3)).getEndTime());
+
+        dbManager.close();
+    }
+
     private void assertEquals(NodeHistory expected, NodeHistory actual) {
         Assert.assertEquals(expected.getHost(), actual.getHost());
         Assert.assertEquals(expected.getNodeSource(), actual.getNodeSource());
@@ -0,0 +1,127 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.authentication.principals.TokenPrincipal;
+import org.ow2.proactive.authentication.principals.UserNamePrincipal;
+import org.ow2.proactive.permissions.PrincipalPermission;
+import org.ow2.proactive.resourcemanager.rmnode.RMNode;
+
+import com.google.common.collect.ImmutableSet;
+
+
+public class EligibleNodesIndexTest {
+
+    private EligibleNodesIndex index;
+
+    @Before
+    public void setUp() {
+        index = new EligibleNodesIndex();
+    }
+
+    @Test
+    public void testAddAndRemoveByUrl() {
+        RMNode node = createNode("node1", null);
+
+        assertThat(index.add(node)).isTrue();
+        assertThat(index.add(node)).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.contains(node)).isTrue();
+        assertThat(index.getNode("node1")).isSameAs(node);
+
+        assertThat(index.remove(node)).isTrue();
+        assertThat(index.remove(node)).isFalse();
+        assertThat(index.size()).isEqualTo(0);
+        assertThat(index.getNodes()).isEmpty();
+    }
+
+    @Test
+    public void testReplacedNodeIsIndexedAgain() {
+        index.add(createNode("node1", "token"));
+        RMNode replacement = createNode("node1", null);
+
+        assertThat(index.add(replacement)).isFalse();
+        assertThat(index.getNodes()).containsExactly(replacement);
+        assertThat(index.getNodesWithToken("token")).isEmpty();
+    }
+
+    @Test
+    public void testNodesWithToken() {
+        RMNode unprotected = createNode("node1", null);
+        RMNode protectedByToken1 = createNode("node2", "token1");
+        RMNode protectedByToken2 = createNode("node3", "token2");
+        index.add(unprotected);
+        index.add(protectedByToken1);
+        index.add(protectedByToken2);
+
+        assertThat(index.getNodesWithToken("token1")).containsExactly(protectedByToken1);
+        assertThat(index.getNodesWithToken("unknown")).isEmpty();
+
+        index.remove(protectedByToken1);
+        assertThat(index.getNodesWithToken("token1")).isEmpty();
+    }
+
+    @Test
+    public void testCandidates() {
+        RMNode node1 = createNode("node1", null);
+        RMNode node2 = createNode("node2", "token");
+        RMNode node3 = createNode("node3", "token");
+        index.add(node1);
+        index.add(node2);
+        index.add(node3);
+
+        assertThat(index.getCandidates(null, null)).containsExactly(node1, node2, node3);
+        assertThat(index.getCandidates(null, "")).containsExactly(node1, node2, node3);
+        assertThat(index.getCandidates(null, "token")).containsExactly(node2, node3);
+        assertThat(index.getCandidates(ImmutableSet.of("node1", "node2", "unknown"), null)).containsExactly(node1,
+                                                                                                              node2);
+        assertThat(index.getCandidates(ImmutableSet.of("node1", "node2"), "token")).containsExactly(node2);
+        assertThat(index.getCandidates(Collections.<String> emptySet(), null)).isEmpty();
+    }
+
+    private RMNode createNode(String url, String token) {
+        RMNode rmNode = mock(RMNode.class);
+        when(rmNode.getNodeURL()).thenReturn(url);
+
+        if (token != null) {
+            when(rmNode.isProtectedByToken()).thenReturn(true);
+            PrincipalPermission permission = new PrincipalPermission(url, ImmutableSet.of(new TokenPrincipal(token)));
+            when(rmNode.getUserPermission()).thenReturn(permission);
+        } else {
+            when(rmNode.getUserPermission()).thenReturn(new PrincipalPermission(new UserNamePrincipal("user")));
+        }
+        return rmNode;
+    }
+
+}
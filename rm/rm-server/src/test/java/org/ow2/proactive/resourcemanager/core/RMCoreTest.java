@@ -59,6 +59,8 @@ import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.ow2.proactive.resourcemanager.authentication.Client;
 import org.ow2.proactive.resourcemanager.common.NodeState;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateMirror;
 import org.ow2.proactive.resourcemanager.common.event.RMEventType;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeDescriptor;
 import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
@@ -567,6 +569,26 @@ public class RMCoreTest {
         assertEquals(3, rmState.getTotalAliveNodesNumber());
     }
 
+    @Test
+    public void testGetStateDelta() {
+        RMStateDelta snapshot = rmCore.getStateDelta(RMStateMirror.NO_EPOCH, 0);
+        assertThat(snapshot.isSnapshot()).isTrue();
+        assertThat(snapshot.getChanges()).hasSize(6);
+
+        rmCore.removeNodeFromCore(mockedRemovableNode.getNodeURL());
+
+        RMStateDelta delta = rmCore.getStateDelta(snapshot.getEpoch(), snapshot.getRevision());
+        assertThat(delta.isSnapshot()).isFalse();
+        assertThat(delta.getChanges()).isEqualTo(ImmutableMap.of(mockedRemovableNode.getNodeURL(),
+                                                                 RMStateDelta.NodeUrlState.REMOVED));
+
+        RMStateMirror mirror = new RMStateMirror();
+        mirror.apply(snapshot);
+        mirror.apply(delta);
+        assertThat(mirror.toRMState().getFreeNodes()).isEqualTo(rmCore.getState().getFreeNodes());
+        assertThat(mirror.toRMState().getAllNodes()).isEqualTo(rmCore.getState().getAllNodes());
+    }
+
     @Test
     public void testFreeNodeWithNodeThatIsAlreadyFree() {
         int numberOfNodeEligibleForSchedulingBeforeFreeing = getNumberOfFreeNodes();
@@ -595,6 +617,48 @@ public class RMCoreTest {
         verify(mockedBusyNode).setFree();
     }
 
+    @Test
+    public void testSetResidentActiveObjectOfBusyNode() {
+        assertThat(rmCore.setResidentActiveObject(mockedBusyNode.getNodeURL(), "activeObjectUrl")
+                         .getBooleanValue()).isTrue();
+        verify(mockedBusyNode).setResidentActiveObject("activeObjectUrl", mockedCaller);
+    }
+
+    @Test
+    public void testSetResidentActiveObjectOfUnknownNode() {
+        assertThat(rmCore.setResidentActiveObject("unknownNode", "activeObjectUrl").getBooleanValue()).isFalse();
+    }
+
+    @Test(expected = SecurityException.class)
+    public void testSetResidentActiveObjectOfForeignNode() {
+        when(mockedCaller.checkPermission(any(Permission.class), any(String.class))).thenThrow(new SecurityException());
+        rmCore.setResidentActiveObject(mockedBusyNode.getNodeURL(), "activeObjectUrl");
+    }
+
+    @Test
+    public void testSetBusyNodeRemovesResidentActiveObjectOfAnotherClient() throws Exception {
+        Client owner = new Client(null, false);
+        RMCore.clients.put(owner.getId(), owner);
+        when(mockedRemovableNode.getResidentActiveObjectOwner()).thenReturn(Mockito.mock(Client.class));
+
+        rmCore.setBusyNode(mockedRemovableNode.getNodeURL(), owner);
+
+        verify(mockedRemovableNode).setResidentActiveObject(null, null);
+        verify(mockedRemovableNode, never()).clean();
+    }
+
+    @Test
+    public void testSetBusyNodeKeepsResidentActiveObjectOfSameClient() throws Exception {
+        Client owner = new Client(null, false);
+        RMCore.clients.put(owner.getId(), owner);
+        when(mockedRemovableNode.getResidentActiveObjectOwner()).thenReturn(owner);
+
+        rmCore.setBusyNode(mockedRemovableNode.getNodeURL(), owner);
+
+        verify(mockedRemovableNode, never()).setResidentActiveObject(anyString(), any(Client.class));
+        verify(mockedRemovableNode, never()).clean();
+    }
+
     @Test
     public void testLockWhateverNodeStateIs() {
         for (NodeState nodeState : NodeState.values()) {
@@ -626,7 +690,7 @@ public class RMCoreTest {
         assertThat(lockResult.getBooleanValue()).isTrue();
         assertThat(rmNode.getState()).isEqualTo(nodeState);
         assertThat(rmNode.isLocked()).isTrue();
-        assertThat(freeNodes).isEmpty();
+        assertThat(rmCore.getFreeNodes()).isEmpty();
     }
 
     @Test
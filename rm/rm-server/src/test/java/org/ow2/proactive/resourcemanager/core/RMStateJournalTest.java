@@ -0,0 +1,102 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.core;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
+
+
+public class RMStateJournalTest {
+
+    private RMStateJournal journal;
+
+    @Before
+    public void setUp() {
+        journal = new RMStateJournal(2);
+    }
+
+    @Test
+    public void testChangesSinceReturnsOnlyLatestStateOfChangedNodes() {
+        journal.record("node1", NodeUrlState.ALIVE);
+        journal.record("node2", NodeUrlState.ALIVE);
+        long revision = journal.getRevision();
+
+        journal.record("node1", NodeUrlState.ELIGIBLE);
+        journal.record("node1", NodeUrlState.ALIVE);
+        journal.record("node3", NodeUrlState.DOWN);
+
+        assertThat(journal.canServe(journal.getEpoch(), revision)).isTrue();
+        RMStateDelta delta = journal.changesSince(revision, null);
+        assertThat(delta.isSnapshot()).isFalse();
+        assertThat(delta.getRevision()).isEqualTo(journal.getRevision());
+        assertThat(delta.getChanges()).hasSize(2);
+        assertThat(delta.getChanges().get("node1")).isEqualTo(NodeUrlState.ALIVE);
+        assertThat(delta.getChanges().get("node3")).isEqualTo(NodeUrlState.DOWN);
+    }
+
+    @Test
+    public void testRecordingSameStateDoesNotCreateRevision() {
+        journal.record("node1", NodeUrlState.ELIGIBLE);
+        long revision = journal.getRevision();
+        journal.record("node1", NodeUrlState.ELIGIBLE);
+        assertThat(journal.getRevision()).isEqualTo(revision);
+        assertThat(journal.changesSince(revision, null).getChanges()).isEmpty();
+    }
+
+    @Test
+    public void testCannotServeAnotherEpoch() {
+        assertThat(journal.canServe(journal.getEpoch() + 1, 0)).isFalse();
+        assertThat(journal.canServe(journal.getEpoch(), 0)).isTrue();
+        assertThat(journal.canServe(journal.getEpoch(), 1)).isFalse();
+    }
+
+    @Test
+    public void testEvictedRemovalsForceSnapshot() {
+        journal.record("node1", NodeUrlState.REMOVED);
+        journal.record("node2", NodeUrlState.REMOVED);
+        assertThat(journal.canServe(journal.getEpoch(), 0)).isTrue();
+
+        journal.record("node3", NodeUrlState.REMOVED);
+        assertThat(journal.canServe(journal.getEpoch(), 0)).isFalse();
+        assertThat(journal.canServe(journal.getEpoch(), 1)).isTrue();
+        assertThat(journal.changesSince(1, null).getChanges()).containsKey("node3");
+    }
+
+    @Test
+    public void testNodeAddedBackAfterRemovalIsNotEvicted() {
+        journal.record("node1", NodeUrlState.REMOVED);
+        journal.record("node1", NodeUrlState.ELIGIBLE);
+        journal.record("node2", NodeUrlState.REMOVED);
+        journal.record("node3", NodeUrlState.REMOVED);
+
+        RMStateDelta delta = journal.changesSince(0, null);
+        assertThat(delta.getChanges().get("node1")).isEqualTo(NodeUrlState.ELIGIBLE);
+    }
+}
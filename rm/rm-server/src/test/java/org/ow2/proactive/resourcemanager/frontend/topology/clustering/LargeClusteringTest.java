@@ -0,0 +1,268 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.frontend.topology.clustering;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.node.NodeImpl;
+import org.objectweb.proactive.core.runtime.ProActiveRuntimeImpl;
+import org.objectweb.proactive.core.runtime.VMInformation;
+import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
+import org.ow2.proactive.resourcemanager.frontend.topology.Topology;
+import org.ow2.proactive.resourcemanager.frontend.topology.pinging.HostsPinger;
+import org.ow2.proactive.resourcemanager.selection.topology.TopologyManager;
+import org.ow2.proactive.topology.descriptor.BestProximityDescriptor;
+import org.ow2.proactive.topology.descriptor.DistanceFunction;
+import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
+import org.ow2.proactive.utils.NodeSet;
+
+
+/**
+ * Checks that clustering and single host selections remain fast when a parallel task asks for
+ * hundreds of nodes out of thousands.
+ */
+public class LargeClusteringTest {
+
+    private static final int NODES_PER_HOST = 8;
+
+    private static final int NODES_NUMBER = 4000;
+
+    private static final int REQUESTED_NODES_NUMBER = 256;
+
+    private TopologyManager topologyManager;
+
+    private List<Node> nodesOnHosts;
+
+    /**
+     * Nodes are named by their index, hosts are aligned and separated by 100.
+     */
+    private static class LinearTopology implements Topology {
+
+        private static final long serialVersionUID = 32L;
+
+        public Long getDistance(Node node, Node node2) {
+            long host = Integer.parseInt(node.toString()) / NODES_PER_HOST;
+            long host2 = Integer.parseInt(node2.toString()) / NODES_PER_HOST;
+            return Math.abs(host - host2) * 100;
+        }
+
+        public Long getDistance(InetAddress hostAddress, InetAddress hostAddress2) {
+            return null;
+        }
+
+        public Long getDistance(String hostName, String hostName2) {
+            return null;
+        }
+
+        public HashMap<InetAddress, Long> getHostTopology(InetAddress hostAddress) {
+            return null;
+        }
+
+        public Set<InetAddress> getHosts() {
+            return null;
+        }
+
+        public boolean knownHost(InetAddress hostAddress) {
+            return false;
+        }
+
+        public boolean onSameHost(Node node, Node node2) {
+            return false;
+        }
+
+        public List<Cluster<String>> clusterize(int numberOfClusters, DistanceFunction distanceFunction) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps the nodes to their host the same way as the topology.
+     */
+    private static class LinearHAC extends HAC {
+
+        LinearHAC(DistanceFunction distanceFunction, long threshold) {
+            super(new LinearTopology(), null, distanceFunction, threshold);
+        }
+
+        @Override
+        protected Object getHost(Node node) {
+            return Integer.parseInt(node.toString()) / NODES_PER_HOST;
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testBestProximity() {
+        HAC hac = new HAC(new LinearTopology(), null, BestProximityDescriptor.AVG, Long.MAX_VALUE);
+
+        List<Node> result = hac.select(REQUESTED_NODES_NUMBER, createNodes());
+
+        assertEquals(REQUESTED_NODES_NUMBER, result.size());
+    }
+
+    @Test(timeout = 60000)
+    public void testThresholdProximity() {
+        HAC hac = new HAC(new LinearTopology(), null, BestProximityDescriptor.MAX, 100);
+
+        List<Node> result = hac.select(REQUESTED_NODES_NUMBER, createNodes());
+
+        // only two neighbour hosts are close enough
+        assertEquals(2 * NODES_PER_HOST, result.size());
+    }
+
+    @Test(timeout = 60000)
+    public void testBestProximityOnHosts() {
+        List<Node> result = new LinearHAC(BestProximityDescriptor.AVG, Long.MAX_VALUE).select(REQUESTED_NODES_NUMBER,
+                                                                                              createNodes());
+
+        assertEquals(REQUESTED_NODES_NUMBER, result.size());
+    }
+
+    @Test(timeout = 60000)
+    public void testThresholdProximityOnHosts() {
+        List<Node> result = new LinearHAC(BestProximityDescriptor.MAX, 100).select(REQUESTED_NODES_NUMBER,
+                                                                                   createNodes());
+
+        // only two neighbour hosts are close enough
+        assertEquals(2 * NODES_PER_HOST, result.size());
+    }
+
+    @Test(timeout = 60000)
+    public void testSingleHostNodesOnHosts() {
+        List<Node> result = new LinearHAC(BestProximityDescriptor.AVG, Long.MAX_VALUE).select(NODES_PER_HOST / 2,
+                                                                                              createNodes());
+
+        assertEquals(NODES_PER_HOST / 2, result.size());
+        for (Node node : result) {
+            assertEquals(0, Integer.parseInt(node.toString()) / NODES_PER_HOST);
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void testSingleHost() throws Exception {
+        List<Node> matchedNodes = createMatchedNodes();
+
+        NodeSet result = topologyManager.getHandler(TopologyDescriptor.SINGLE_HOST).select(NODES_PER_HOST,
+                                                                                           matchedNodes);
+
+        assertEquals(NODES_PER_HOST, result.size());
+        assertEquals(1, hostsOf(result).size());
+        assertTrue(matchedNodes.containsAll(result));
+
+        result = topologyManager.getHandler(TopologyDescriptor.SINGLE_HOST).select(REQUESTED_NODES_NUMBER,
+                                                                                   matchedNodes);
+
+        // no host has enough nodes, one of the biggest is selected
+        assertEquals(NODES_PER_HOST, result.size());
+        assertEquals(1, hostsOf(result).size());
+    }
+
+    @Test(timeout = 60000)
+    public void testSingleHostExclusive() throws Exception {
+        List<Node> matchedNodes = createMatchedNodes();
+
+        NodeSet result = topologyManager.getHandler(TopologyDescriptor.SINGLE_HOST_EXCLUSIVE)
+                                        .select(NODES_PER_HOST / 2, matchedNodes);
+
+        // the other nodes of the host are given as extra nodes
+        assertEquals(NODES_PER_HOST / 2, result.size());
+        assertEquals(NODES_PER_HOST / 2, result.getExtraNodes().size());
+        assertEquals(1, hostsOf(result).size());
+        assertTrue(matchedNodes.containsAll(result));
+        assertTrue(matchedNodes.containsAll(result.getExtraNodes()));
+
+        result = topologyManager.getHandler(TopologyDescriptor.SINGLE_HOST_EXCLUSIVE).select(REQUESTED_NODES_NUMBER,
+                                                                                             matchedNodes);
+
+        assertEquals(NODES_PER_HOST, result.size());
+        assertEquals(1, hostsOf(result).size());
+        assertTrue(matchedNodes.containsAll(result));
+    }
+
+    /**
+     * Creates a topology manager knowing all the nodes, on hosts without distances between them.
+     */
+    private void createTopologyManager() throws Exception {
+        PAResourceManagerProperties.RM_TOPOLOGY_ENABLED.updateProperty("true");
+        PAResourceManagerProperties.RM_TOPOLOGY_DISTANCE_ENABLED.updateProperty("false");
+        topologyManager = new TopologyManager(HostsPinger.class);
+        nodesOnHosts = new ArrayList<>(NODES_NUMBER);
+        for (int i = 0; i < NODES_NUMBER / NODES_PER_HOST; i++) {
+            VMInformation vmInformation = mock(VMInformation.class);
+            byte[] address = new byte[] { 10, 0, (byte) (i / 256), (byte) (i % 256) };
+            when(vmInformation.getInetAddress()).thenReturn(InetAddress.getByAddress(address));
+            when(vmInformation.getHostName()).thenReturn("host" + i);
+            ProActiveRuntimeImpl runtime = mock(ProActiveRuntimeImpl.class);
+            when(runtime.getVMInformation()).thenReturn(vmInformation);
+            for (int j = 0; j < NODES_PER_HOST; j++) {
+                Node node = new NodeImpl(runtime, "pnp://host" + i + ":1234/node" + j);
+                topologyManager.addNode(node);
+                nodesOnHosts.add(node);
+            }
+        }
+    }
+
+    /**
+     * @return the nodes of the topology manager, except the first node of each host in the first half of the hosts
+     */
+    private List<Node> createMatchedNodes() throws Exception {
+        createTopologyManager();
+        List<Node> matchedNodes = new ArrayList<>(NODES_NUMBER);
+        for (int i = 0; i < NODES_NUMBER; i++) {
+            if (i >= NODES_NUMBER / 2 || i % NODES_PER_HOST != 0) {
+                matchedNodes.add(nodesOnHosts.get(i));
+            }
+        }
+        return matchedNodes;
+    }
+
+    private static Set<InetAddress> hostsOf(NodeSet nodes) {
+        Set<InetAddress> hosts = new HashSet<>();
+        for (Node node : nodes) {
+            hosts.add(node.getVMInformation().getInetAddress());
+        }
+        return hosts;
+    }
+
+    private List<Node> createNodes() {
+        List<Node> nodes = new ArrayList<>(NODES_NUMBER);
+        for (int i = 0; i < NODES_NUMBER; i++) {
+            nodes.add(new DummyNode(String.valueOf(i)));
+        }
+        return nodes;
+    }
+}
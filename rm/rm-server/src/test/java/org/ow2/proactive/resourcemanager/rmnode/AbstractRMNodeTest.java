@@ -33,6 +33,7 @@ import java.security.Permission;
 import java.security.Principal;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -208,6 +209,12 @@ public class AbstractRMNodeTest {
             return null;
         }
 
+        @Override
+        public List<ScriptResult<Boolean>> executeSelectionScripts(List<SelectionScript> scripts,
+                Map<String, Serializable> bindings) {
+            return null;
+        }
+
         @Override
         public HashMap<SelectionScript, Integer> getScriptStatus() {
             return null;
@@ -218,6 +225,20 @@ public class AbstractRMNodeTest {
 
         }
 
+        @Override
+        public void setResidentActiveObject(String activeObjectUrl, Client owner) {
+        }
+
+        @Override
+        public Client getResidentActiveObjectOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean killResidentActiveObjectOfOtherClient(Client client) {
+            return false;
+        }
+
         @Override
         public String getNodeInfo() {
             return null;
@@ -26,6 +26,7 @@
 package org.ow2.proactive.resourcemanager.rmnode;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -70,6 +71,60 @@ public class RMNodeImplTest {
         Mockito.verify(node).killAllActiveObjects();
     }
 
+    @Test
+    public void testCleanKeepsResidentActiveObject() throws Exception {
+        when(node.getActiveObjects()).thenReturn(new Object[0]);
+        rmNode.setResidentActiveObject("launcherUrl", client);
+
+        rmNode.clean();
+
+        Mockito.verify(node).getActiveObjects();
+        Mockito.verify(node, Mockito.never()).killAllActiveObjects();
+        assertThat(rmNode.getResidentActiveObjectOwner()).isSameAs(client);
+    }
+
+    @Test
+    public void testCleanIgnoresNodeProperties() throws Exception {
+        when(node.getProperty(anyString())).thenReturn("launcherUrl");
+
+        rmNode.clean();
+
+        Mockito.verify(node).killAllActiveObjects();
+    }
+
+    @Test
+    public void testCleanKillsUnregisteredResidentActiveObject() throws Exception {
+        rmNode.setResidentActiveObject("launcherUrl", client);
+        rmNode.setResidentActiveObject(null, client);
+
+        rmNode.clean();
+
+        Mockito.verify(node).killAllActiveObjects();
+        assertThat(rmNode.getResidentActiveObjectOwner()).isNull();
+    }
+
+    @Test
+    public void testKillResidentActiveObjectOfSameClient() throws Exception {
+        rmNode.setResidentActiveObject("launcherUrl", client);
+
+        assertThat(rmNode.killResidentActiveObjectOfOtherClient(client)).isFalse();
+
+        Mockito.verify(node, Mockito.never()).getActiveObjects();
+        assertThat(rmNode.getResidentActiveObjectOwner()).isSameAs(client);
+    }
+
+    @Test
+    public void testKillResidentActiveObjectOfOtherClient() throws Exception {
+        when(node.getActiveObjects()).thenReturn(new Object[0]);
+        rmNode.setResidentActiveObject("launcherUrl", client);
+
+        rmNode.killResidentActiveObjectOfOtherClient(Mockito.mock(Client.class));
+
+        Mockito.verify(node).getActiveObjects();
+        Mockito.verify(node, Mockito.never()).killAllActiveObjects();
+        assertThat(rmNode.getResidentActiveObjectOwner()).isNull();
+    }
+
     @Test
     public void testCompareToEquals() throws Exception {
         RMNodeImpl rmNode2 = RMNodeHelper.basicWithMockedInternals().getLeft();
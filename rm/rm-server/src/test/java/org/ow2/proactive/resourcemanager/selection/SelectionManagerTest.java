@@ -28,6 +28,7 @@ package org.ow2.proactive.resourcemanager.selection;
 import static java.util.Collections.singleton;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -91,7 +92,7 @@ public class SelectionManagerTest {
         ArrayList<RMNode> freeNodes = new ArrayList<>();
         freeNodes.add(createMockedNode("admin"));
         freeNodes.add(createMockedNode("user"));
-        when(rmCore.getFreeNodes()).thenReturn(freeNodes);
+        when(rmCore.getFreeNodes(anySetOf(String.class), anyString())).thenReturn(freeNodes);
 
         Criteria criteria = new Criteria(2);
         criteria.setTopology(TopologyDescriptor.ARBITRARY);
@@ -224,7 +225,7 @@ public class SelectionManagerTest {
             for (int i = 0; i < nbNodes; i++) {
                 freeNodes.add(createMockeNode("user", "mocked-node-" + (i + 1), "mocked-node-" + (i + 1)));
             }
-            when(mockedRMCore.getFreeNodes()).thenReturn(freeNodes);
+            when(mockedRMCore.getFreeNodes(anySetOf(String.class), anyString())).thenReturn(freeNodes);
         }
 
         return mockedRMCore;
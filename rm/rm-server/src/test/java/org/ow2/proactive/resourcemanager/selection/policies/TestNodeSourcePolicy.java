@@ -90,6 +90,20 @@ public class TestNodeSourcePolicy {
         public void clean() throws NodeException {
         }
 
+        @Override
+        public void setResidentActiveObject(String activeObjectUrl, Client owner) {
+        }
+
+        @Override
+        public Client getResidentActiveObjectOwner() {
+            return null;
+        }
+
+        @Override
+        public boolean killResidentActiveObjectOfOtherClient(Client client) {
+            return false;
+        }
+
         @Override
         public String getNodeInfo() {
             return null;
@@ -275,6 +289,12 @@ public class TestNodeSourcePolicy {
             return null;
         }
 
+        @Override
+        public List<ScriptResult<Boolean>> executeSelectionScripts(List<SelectionScript> scripts,
+                Map<String, Serializable> bindings) {
+            return null;
+        }
+
         @Override
         public boolean isProtectedByToken() {
             return false;
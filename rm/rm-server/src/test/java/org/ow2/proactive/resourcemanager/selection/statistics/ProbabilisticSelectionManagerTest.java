@@ -26,6 +26,8 @@
 package org.ow2.proactive.resourcemanager.selection.statistics;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.when;
 
 import java.io.Serializable;
@@ -308,7 +310,7 @@ public class ProbabilisticSelectionManagerTest {
                                                                    "mocked-node-" + (i + 1),
                                                                    "mocked-node-" + (i + 1)));
             }
-            when(rmCore.getFreeNodes()).thenReturn(freeNodes);
+            when(rmCore.getFreeNodes(anySetOf(String.class), anyString())).thenReturn(freeNodes);
 
             selectionManager = new ProbablisticSelectionManager(rmCore);
 
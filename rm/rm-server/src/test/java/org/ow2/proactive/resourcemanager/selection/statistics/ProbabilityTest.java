@@ -25,6 +25,9 @@
  */
 package org.ow2.proactive.resourcemanager.selection.statistics;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.ow2.proactive.resourcemanager.core.properties.PAResourceManagerProperties;
@@ -80,4 +83,30 @@ public class ProbabilityTest {
             PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.updateProperty("300000");
         }
     }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.updateProperty("0");
+        try {
+            final Probability probability = new Probability(Probability.defaultValue());
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                threads.add(new Thread(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        probability.increase();
+                        probability.decrease();
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            Assert.assertTrue(probability.value() == Probability.defaultValue());
+        } finally {
+            PAResourceManagerProperties.RM_SELECT_SCRIPT_NODE_DYNAMICITY.updateProperty("300000");
+        }
+    }
 }
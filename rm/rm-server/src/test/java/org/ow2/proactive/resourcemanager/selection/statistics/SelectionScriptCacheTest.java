@@ -0,0 +1,83 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.resourcemanager.selection.statistics;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.ow2.proactive.scripting.SelectionScript;
+
+
+public class SelectionScriptCacheTest {
+
+    private static final String SCRIPT = "selected = variables.containsKey('KEY')";
+
+    @Test
+    public void testDigestIsComputedOncePerScriptAndBindings() throws Exception {
+        SelectionScriptCache cache = new SelectionScriptCache(10);
+        SelectionScript script = new SelectionScript(SCRIPT, "groovy", true);
+
+        SelectionScriptCache.ResolvedScript resolved = cache.resolve(script, bindings("a"));
+
+        SelectionScript expected = SelectionScriptCache.replaceBindings(script, bindings("a"));
+        assertThat(resolved.getDigest()).isEqualTo(new String(expected.digest()));
+        assertThat(resolved.getScript().getScript()).isEqualTo(expected.getScript());
+
+        // another instance of the same script with equal bindings
+        SelectionScript sameScript = new SelectionScript(SCRIPT, "groovy", true);
+        assertThat(cache.resolve(sameScript, bindings("a"))).isSameAs(resolved);
+        assertThat(cache.size()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testDigestDependsOnBindingsAndContent() throws Exception {
+        SelectionScriptCache cache = new SelectionScriptCache(10);
+        SelectionScript script = new SelectionScript(SCRIPT, "groovy", true);
+
+        String digest = cache.resolve(script, bindings("a")).getDigest();
+        assertThat(cache.resolve(script, bindings("b")).getDigest()).isNotEqualTo(digest);
+        SelectionScript staticScript = new SelectionScript(SCRIPT, "groovy", false);
+        assertThat(cache.resolve(staticScript, bindings("a")).getDigest()).isNotEqualTo(digest);
+
+        // the content of a script can be updated after its creation
+        script.setScript(SCRIPT + " && true");
+        assertThat(cache.resolve(script, bindings("a")).getDigest()).isNotEqualTo(digest);
+        assertThat(cache.size()).isEqualTo(4L);
+    }
+
+    private static Map<String, Serializable> bindings(String value) {
+        HashMap<String, Serializable> variables = new HashMap<>();
+        variables.put("KEY", value);
+        Map<String, Serializable> bindings = new HashMap<>();
+        bindings.put("variables", variables);
+        return bindings;
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.utils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+
+public class BoundedEventQueueTest {
+
+    // events starting with the same letter supersede each other
+    private static final Function<String, Object> FIRST_LETTER = event -> event.length() > 1 ? event.charAt(0) : null;
+
+    @Test
+    public void testEventsAreDeliveredInOrder() {
+        BoundedEventQueue<String> queue = new BoundedEventQueue<>(10, BoundedEventQueue.Policy.DROP, 0, FIRST_LETTER);
+
+        assertThat(queue.offer("a")).isTrue();
+        assertThat(queue.offer("b")).isTrue();
+        assertThat(queue.offer("c")).isTrue();
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.poll()).isEqualTo("a");
+
+        List<String> events = new ArrayList<>();
+        assertThat(queue.drainTo(events)).isEqualTo(2);
+        assertThat(events).containsExactly("b", "c").inOrder();
+        assertThat(queue.isEmpty()).isTrue();
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.getLag()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testSupersededEventsAreCoalesced() {
+        BoundedEventQueue<String> queue = new BoundedEventQueue<>(3,
+                                                                  BoundedEventQueue.Policy.COALESCE,
+                                                                  0,
+                                                                  FIRST_LETTER);
+
+        assertThat(queue.offer("x1")).isTrue();
+        assertThat(queue.offer("a")).isTrue();
+        assertThat(queue.offer("x2")).isTrue();
+        assertThat(queue.offer("y1")).isTrue();
+        // queue is full but the event supersedes a pending one
+        assertThat(queue.offer("x3")).isTrue();
+        assertThat(queue.offer("b")).isFalse();
+
+        List<String> events = new ArrayList<>();
+        queue.drainTo(events);
+        assertThat(events).containsExactly("a", "y1", "x3").inOrder();
+        assertThat(queue.getCoalescedEvents()).isEqualTo(2L);
+        assertThat(queue.getDroppedEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testDropPolicyDoesNotCoalesce() {
+        BoundedEventQueue<String> queue = new BoundedEventQueue<>(2, BoundedEventQueue.Policy.DROP, 0, FIRST_LETTER);
+
+        assertThat(queue.offer("x1")).isTrue();
+        assertThat(queue.offer("x2")).isTrue();
+        assertThat(queue.offer("x3")).isFalse();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.getDroppedEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testBlockPolicyWaitsForSpace() throws Exception {
+        final BoundedEventQueue<String> queue = new BoundedEventQueue<>(1,
+                                                                        BoundedEventQueue.Policy.BLOCK,
+                                                                        10000,
+                                                                        FIRST_LETTER);
+        queue.offer("a");
+
+        Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                queue.poll();
+            }
+        };
+        consumer.start();
+
+        assertThat(queue.offer("b")).isTrue();
+        consumer.join();
+        assertThat(queue.poll()).isEqualTo("b");
+    }
+
+    @Test
+    public void testBlockPolicyTimeout() {
+        BoundedEventQueue<String> queue = new BoundedEventQueue<>(1, BoundedEventQueue.Policy.BLOCK, 50, FIRST_LETTER);
+        queue.offer("a");
+
+        assertThat(queue.offer("b")).isFalse();
+        assertThat(queue.getDroppedEvents()).isEqualTo(1L);
+    }
+
+}
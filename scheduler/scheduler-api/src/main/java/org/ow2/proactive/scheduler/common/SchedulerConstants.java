@@ -112,6 +112,12 @@ public class SchedulerConstants {
     /** Attribute name in task the generic information indicating that the task requires a node protedcted by token */
     public static final String NODE_ACCESS_TOKEN = "NODE_ACCESS_TOKEN";
 
+    /**
+     * Generic information giving the time in milliseconds during which nodes reuse selection script results.
+     * Only the variables whose name is written literally in a script invalidate its cached results.
+     */
+    public static final String SELECTION_SCRIPTS_CACHE_TIMEOUT = "SELECTION_SCRIPTS_CACHE_TIMEOUT";
+
     /**
      * The variable name to access results from dependent tasks (an array).
      */
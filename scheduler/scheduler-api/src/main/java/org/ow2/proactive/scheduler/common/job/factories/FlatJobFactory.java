@@ -28,6 +28,8 @@ package org.ow2.proactive.scheduler.common.job.factories;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 
@@ -119,56 +121,101 @@ public class FlatJobFactory {
      */
     public Job createNativeJobFromCommandsFile(String commandFilePath, String jobName, String selectionScriptPath,
             String userName) throws JobCreationException {
-
-        if (jobName == null) {
-            jobName = JOB_DEFAULT_NAME_PREFIX + userName;
-        }
-        Job nativeJob = new TaskFlowJob();
-        nativeJob.setName(jobName);
-
-        logger.debug("Job : " + nativeJob.getName());
-
         try {
             File commandFile = new File(commandFilePath);
             if (!commandFile.isFile()) {
                 throw new JobCreationException("Error occured during Job creation, " + "check that file " +
                                                commandFilePath + " exists and is a readable file");
             }
-            String commandLine;
-            int task_number = 0;
-
-            ArrayList<String> commandList = new ArrayList<>();
+            ArrayList<String> commandList;
             try (BufferedReader reader = new BufferedReader(new FileReader(commandFile))) {
-                while ((commandLine = reader.readLine()) != null) {
-                    commandLine = commandLine.trim();
-                    if (!commandLine.startsWith(CMD_FILE_COMMENT_CHAR, 0) && !"".equals(commandLine)) {
-                        commandList.add(commandLine);
-                    }
-                }
+                commandList = readCommands(reader);
             }
-            if (commandList.size() == 0) {
-                throw new JobCreationException("Error occured during Job creation, " +
-                                               "No any valid command line has been built from" + commandFilePath + "");
+            SelectionScript selectionScript = null;
+            if (selectionScriptPath != null) {
+                selectionScript = new SelectionScript(new SimpleScript(new File(selectionScriptPath), null), true);
             }
+            return createNativeJob(commandList, commandFilePath, jobName, selectionScript, userName);
+        } catch (Exception e) {
+            throw new JobCreationException(e);
+        }
+    }
 
-            //compute padding for task number
-            int numberOfDigit = Integer.toString(commandList.size()).length();
-            NumberFormat nf = NumberFormat.getInstance();
-            nf.setMaximumIntegerDigits(numberOfDigit);
-            nf.setMinimumIntegerDigits(numberOfDigit);
-
-            for (String command : commandList) {
-                NativeTask t = createNativeTaskFromCommandString(command,
-                                                                 "task_" + (nf.format(++task_number)),
-                                                                 selectionScriptPath);
-                t.setPreciousResult(true);
-                ((TaskFlowJob) nativeJob).addTask(t);
-                logger.debug("-> Task Name = " + t.getName());
-                logger.debug("-> command = " + t.getCommandLine() + "\n");
+    /**
+     * Create a job from a String containing native commands to launch, one per line, as in the file read by
+     * {@link #createNativeJobFromCommandsFile(String, String, String, String)}.
+     *
+     * @param commands native commands, one per line.
+     * @param jobName A String representing a name to give to the job. If null, default job name is made of
+     * {@link FlatJobFactory#JOB_DEFAULT_NAME_PREFIX} + userName parameter.
+     * @param selectionScriptContent the code of a selection script, or null if no script is needed.
+     * @param selectionScriptLanguage the name or the file extension of the selection script language.
+     * @param userName name of connected user that asked job creation, null otherwise. This parameter
+     * is only used for default job's name creation.
+     * @return a job object representing created job and ready-to-schedule job.
+     * @throws JobCreationException with a relevant error message if an error occurs.
+     */
+    public Job createNativeJobFromCommands(String commands, String jobName, String selectionScriptContent,
+            String selectionScriptLanguage, String userName) throws JobCreationException {
+        try {
+            ArrayList<String> commandList;
+            try (BufferedReader reader = new BufferedReader(new StringReader(commands))) {
+                commandList = readCommands(reader);
+            }
+            SelectionScript selectionScript = null;
+            if (selectionScriptContent != null) {
+                selectionScript = new SelectionScript(selectionScriptContent, selectionScriptLanguage, true);
             }
+            return createNativeJob(commandList, "the given commands", jobName, selectionScript, userName);
         } catch (Exception e) {
             throw new JobCreationException(e);
         }
+    }
+
+    private ArrayList<String> readCommands(BufferedReader reader) throws IOException {
+        String commandLine;
+        ArrayList<String> commandList = new ArrayList<>();
+        while ((commandLine = reader.readLine()) != null) {
+            commandLine = commandLine.trim();
+            if (!commandLine.startsWith(CMD_FILE_COMMENT_CHAR, 0) && !"".equals(commandLine)) {
+                commandList.add(commandLine);
+            }
+        }
+        return commandList;
+    }
+
+    private Job createNativeJob(ArrayList<String> commandList, String commandsSource, String jobName,
+            SelectionScript selectionScript, String userName) throws JobCreationException, InvalidScriptException {
+
+        if (jobName == null) {
+            jobName = JOB_DEFAULT_NAME_PREFIX + userName;
+        }
+        Job nativeJob = new TaskFlowJob();
+        nativeJob.setName(jobName);
+
+        logger.debug("Job : " + nativeJob.getName());
+
+        if (commandList.size() == 0) {
+            throw new JobCreationException("Error occured during Job creation, " +
+                                           "No any valid command line has been built from" + commandsSource + "");
+        }
+
+        //compute padding for task number
+        int task_number = 0;
+        int numberOfDigit = Integer.toString(commandList.size()).length();
+        NumberFormat nf = NumberFormat.getInstance();
+        nf.setMaximumIntegerDigits(numberOfDigit);
+        nf.setMinimumIntegerDigits(numberOfDigit);
+
+        for (String command : commandList) {
+            NativeTask t = createNativeTaskFromCommandString(command,
+                                                             "task_" + (nf.format(++task_number)),
+                                                             selectionScript);
+            t.setPreciousResult(true);
+            ((TaskFlowJob) nativeJob).addTask(t);
+            logger.debug("-> Task Name = " + t.getName());
+            logger.debug("-> command = " + t.getCommandLine() + "\n");
+        }
         return nativeJob;
     }
 
@@ -199,7 +246,11 @@ public class FlatJobFactory {
         nativeJob.setName(jobName);
         logger.debug("Job : " + nativeJob.getName());
         try {
-            NativeTask t = createNativeTaskFromCommandString(command, "task1", selectionScriptPath);
+            SelectionScript selectionScript = null;
+            if (selectionScriptPath != null) {
+                selectionScript = new SelectionScript(new SimpleScript(new File(selectionScriptPath), null), true);
+            }
+            NativeTask t = createNativeTaskFromCommandString(command, "task1", selectionScript);
             t.setPreciousResult(true);
             ((TaskFlowJob) nativeJob).addTask(t);
             logger.debug("-> Task Name = " + t.getName());
@@ -214,20 +265,18 @@ public class FlatJobFactory {
      * Creates a native task from a string representing a native command to execute.
      * @param command a String representing a native command.
      * @param taskName an eventual name for the task.
-     * @param selectionScriptPath path to an existing file containing a selection script code.
+     * @param selectionScript a selection script, or null if no script is needed. A copy of it is given to the task.
      * @return a NativeTask object that can be put in a Job Object.
-     * @throws InvalidScriptException if an error occurs in definition of selection script
-     * from file path specified.
+     * @throws InvalidScriptException if an error occurs in the copy of the selection script.
      */
-    private NativeTask createNativeTaskFromCommandString(String command, String taskName, String selectionScriptPath)
-            throws InvalidScriptException {
+    private NativeTask createNativeTaskFromCommandString(String command, String taskName,
+            SelectionScript selectionScript) throws InvalidScriptException {
         NativeTask desc = new NativeTask();
         desc.setCommandLine(Tools.parseCommandLine(command));
         desc.setName(taskName);
 
-        if (selectionScriptPath != null) {
-            SelectionScript script = new SelectionScript(new SimpleScript(new File(selectionScriptPath), null), true);
-            desc.addSelectionScript(script);
+        if (selectionScript != null) {
+            desc.addSelectionScript(new SelectionScript(selectionScript, true));
         }
         return desc;
     }
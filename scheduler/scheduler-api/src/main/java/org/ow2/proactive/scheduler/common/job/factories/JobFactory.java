@@ -25,6 +25,7 @@
  */
 package org.ow2.proactive.scheduler.common.job.factories;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.util.Map;
 
@@ -133,4 +134,19 @@ public abstract class JobFactory {
 
     public abstract Job createJob(URI filePath, Map<String, String> variables) throws JobCreationException;
 
+    /**
+     * Creates a job using the given job descriptor content, which is read in memory
+     * instead of being stored in a file.
+     *
+     * Relative paths used in the job descriptor are resolved against the working directory.
+     *
+     * @param workflowStream a stream on an XML job descriptor, not closed by this method.
+     * @return a Job instance created with the given XML content.
+     * @throws JobCreationException if an exception occurred during job creation.
+     */
+    public abstract Job createJob(InputStream workflowStream) throws JobCreationException;
+
+    public abstract Job createJob(InputStream workflowStream, Map<String, String> variables)
+            throws JobCreationException;
+
 }
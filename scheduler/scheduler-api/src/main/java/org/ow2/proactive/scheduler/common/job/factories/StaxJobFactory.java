@@ -27,6 +27,7 @@ package org.ow2.proactive.scheduler.common.job.factories;
 
 import static org.ow2.proactive.scheduler.common.util.VariableSubstitutor.filterAndUpdate;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -47,6 +48,7 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.XMLEvent;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.log4j.Logger;
 import org.iso_relax.verifier.VerifierConfigurationException;
 import org.objectweb.proactive.extensions.dataspaces.vfs.selector.FileSelector;
@@ -111,10 +113,15 @@ public class StaxJobFactory extends JobFactory {
      */
     private XMLInputFactory xmlInputFactory = null;
 
+    /**
+     * root of the relative paths of a job created from a content, which has no file
+     */
+    private static final String WORKING_DIRECTORY = "./";
+
     /**
      * file relative path (relative file path (js) given in XML will be relative to this path)
      */
-    private String relativePathRoot = "./";
+    private String relativePathRoot = WORKING_DIRECTORY;
 
     /**
      * Create a new instance of StaxJobFactory.
@@ -164,6 +171,29 @@ public class StaxJobFactory extends JobFactory {
         }
     }
 
+    @Override
+    public Job createJob(InputStream workflowStream) throws JobCreationException {
+        return createJob(workflowStream, null);
+    }
+
+    @Override
+    public Job createJob(InputStream workflowStream, Map<String, String> replacementVariables)
+            throws JobCreationException {
+        try {
+            byte[] workflowContent = IOUtils.toByteArray(workflowStream);
+            //validate content using the proper XML schema
+            byte[] updatedContent = validate(workflowContent);
+            //a previous job created from a file must not change the relative path
+            relativePathRoot = WORKING_DIRECTORY;
+            return parseJob(new ByteArrayInputStream(updatedContent), replacementVariables);
+        } catch (JobCreationException jce) {
+            jce.pushTag(XMLTags.JOB.getXMLName());
+            throw jce;
+        } catch (Exception e) {
+            throw new JobCreationException(e);
+        }
+    }
+
     private Job createJob(File file, Map<String, String> replacementVariables) throws JobCreationException {
         try {
             //Check if the file exist
@@ -174,33 +204,9 @@ public class StaxJobFactory extends JobFactory {
             File updatedFile = validate(file);
             //set relative path
             relativePathRoot = updatedFile.getParentFile().getAbsolutePath();
-            //create and get XML STAX reader
-            XMLStreamReader xmlsr;
-            Map<String, ArrayList<String>> dependencies = new HashMap<>();
-            Job job;
             try (InputStream inputStream = new FileInputStream(updatedFile)) {
-                // use the server side property to accept encoding
-                if (PASchedulerProperties.FILE_ENCODING.isSet()) {
-                    xmlsr = xmlInputFactory.createXMLStreamReader(inputStream,
-                                                                  PASchedulerProperties.FILE_ENCODING.getValueAsString());
-                } else {
-                    xmlsr = xmlInputFactory.createXMLStreamReader(inputStream);
-                }
-
-                //Create the job starting at the first cursor position of the XML Stream reader
-                job = createJob(xmlsr, replacementVariables, dependencies);
-                //Close the stream
-                xmlsr.close();
+                return parseJob(inputStream, replacementVariables);
             }
-            //make dependencies
-            makeDependences(job, dependencies);
-
-            validate((TaskFlowJob) job);
-
-            logger.debug("Job successfully created!");
-            //debug mode only
-            displayJobInfo(job);
-            return job;
         } catch (JobCreationException jce) {
             jce.pushTag(XMLTags.JOB.getXMLName());
             throw jce;
@@ -209,6 +215,37 @@ public class StaxJobFactory extends JobFactory {
         }
     }
 
+    /*
+     * Create the job from a validated job descriptor
+     */
+    private Job parseJob(InputStream inputStream, Map<String, String> replacementVariables) throws Exception {
+        //create and get XML STAX reader
+        XMLStreamReader xmlsr;
+        Map<String, ArrayList<String>> dependencies = new HashMap<>();
+        Job job;
+        // use the server side property to accept encoding
+        if (PASchedulerProperties.FILE_ENCODING.isSet()) {
+            xmlsr = xmlInputFactory.createXMLStreamReader(inputStream,
+                                                          PASchedulerProperties.FILE_ENCODING.getValueAsString());
+        } else {
+            xmlsr = xmlInputFactory.createXMLStreamReader(inputStream);
+        }
+
+        //Create the job starting at the first cursor position of the XML Stream reader
+        job = createJob(xmlsr, replacementVariables, dependencies);
+        //Close the stream
+        xmlsr.close();
+        //make dependencies
+        makeDependences(job, dependencies);
+
+        validate((TaskFlowJob) job);
+
+        logger.debug("Job successfully created!");
+        //debug mode only
+        displayJobInfo(job);
+        return job;
+    }
+
     /*
      * Validate the given job descriptor
      */
@@ -237,6 +274,34 @@ public class StaxJobFactory extends JobFactory {
         return updatedFile;
     }
 
+    /*
+     * Validate the given job descriptor content
+     */
+    private byte[] validate(byte[] content) throws VerifierConfigurationException, JobCreationException {
+        Map<String, JobValidatorService> factories;
+        try {
+            factories = JobValidatorRegistry.getInstance().getRegisteredFactories();
+        } catch (Exception e) {
+            logger.error(MSG_UNABLE_TO_INSTANCIATE_JOB_VALIDATION_FACTORIES, e);
+            throw new VerifierConfigurationException(MSG_UNABLE_TO_INSTANCIATE_JOB_VALIDATION_FACTORIES, e);
+        }
+
+        byte[] updatedContent = content;
+
+        try {
+
+            for (JobValidatorService factory : factories.values()) {
+                updatedContent = factory.validateJob(updatedContent);
+            }
+        } catch (JobValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JobValidationException(true, e);
+        }
+
+        return updatedContent;
+    }
+
     /*
      * Validate the given job descriptor
      */
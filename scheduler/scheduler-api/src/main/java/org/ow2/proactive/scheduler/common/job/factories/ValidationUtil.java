@@ -33,6 +33,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Stack;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.iso_relax.verifier.Schema;
 import org.iso_relax.verifier.Verifier;
@@ -43,6 +47,7 @@ import org.ow2.proactive.scheduler.common.exception.JobCreationException;
 import org.xml.sax.Attributes;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
@@ -55,9 +60,17 @@ import com.sun.msv.verifier.ValidityViolation;
 
 /**
  * Utility class for validate job descriptor (job.xml) files.
+ *
+ * Schemas given by {@link Schemas} are compiled once, and the readers and verifiers
+ * used to validate job descriptors against them are pooled.
  */
 public class ValidationUtil {
 
+    private static final int MAX_POOLED_VALIDATORS = Runtime.getRuntime().availableProcessors() * 2;
+
+    /** Compiled schemas and their validators, by schema location */
+    private static final ConcurrentMap<String, SchemaValidators> SCHEMA_VALIDATORS = new ConcurrentHashMap<>();
+
     /**
      * Validates the job descriptor file against the specified schema.
      * 
@@ -71,20 +84,64 @@ public class ValidationUtil {
      */
     public static void validate(File jobFile, InputStream schemaIs)
             throws SAXException, IOException, JobCreationException {
+        Schema schema;
         try {
+            schema = compileSchema(schemaIs);
+        } catch (VerifierConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+        validate(new InputSource(jobFile.getAbsolutePath()), new Validator(schema));
+    }
 
-            XMLReader reader = XMLReaderFactory.createXMLReader("org.apache.xerces.parsers.SAXParser");
-            VerifierFactory vfactory = new com.sun.msv.verifier.jarv.TheFactoryImpl();
-            Schema schema = vfactory.compileSchema(schemaIs);
+    /**
+     * Validates the job descriptor file against the specified schema, compiled
+     * at its first use.
+     *
+     * @param jobFile
+     *            the job descriptor file
+     * @param schema
+     *            the job schema
+     *
+     * @throws JobCreationException
+     *             if the job descriptor is invalid
+     */
+    public static void validate(File jobFile, Schemas schema) throws SAXException, IOException, JobCreationException {
+        validate(new InputSource(jobFile.getAbsolutePath()), schema);
+    }
 
-            Verifier verifier = schema.newVerifier();
-            VerifierHandler handler = verifier.getVerifierHandler();
-            ContentHandlerDecorator contentHandlerDecorator = new ContentHandlerDecorator(handler);
-            reader.setContentHandler(contentHandlerDecorator);
-            ValidationErrorHandler errHandler = new ValidationErrorHandler(contentHandlerDecorator);
-            verifier.setErrorHandler(errHandler);
+    /**
+     * Validates the job descriptor content against the specified schema, compiled
+     * at its first use.
+     *
+     * @param jobInputStream
+     *            the job descriptor content
+     * @param schema
+     *            the job schema
+     *
+     * @throws JobCreationException
+     *             if the job descriptor is invalid
+     */
+    public static void validate(InputStream jobInputStream, Schemas schema)
+            throws SAXException, IOException, JobCreationException {
+        validate(new InputSource(jobInputStream), schema);
+    }
+
+    private static void validate(InputSource jobSource, Schemas schema)
+            throws SAXException, IOException, JobCreationException {
+        SchemaValidators validators = getSchemaValidators(schema);
+        Validator validator = validators.pool.poll();
+        if (validator == null) {
+            validator = new Validator(validators.schema);
+        }
+        validate(jobSource, validator);
+        // a validator is only reused after a successful validation, to never reuse an inconsistent state
+        validators.pool.offer(validator);
+    }
 
-            reader.parse(jobFile.getAbsolutePath());
+    private static void validate(InputSource jobSource, Validator validator)
+            throws SAXException, IOException, JobCreationException {
+        try {
+            validator.parse(jobSource);
         } catch (SAXException se) {
             Throwable cause = se.getCause();
             if (cause != null && cause instanceof JobCreationException) {
@@ -93,8 +150,72 @@ public class ValidationUtil {
             } else {
                 throw se;
             }
-        } catch (VerifierConfigurationException e) {
-            throw new IllegalStateException(e);
+        }
+    }
+
+    private static SchemaValidators getSchemaValidators(Schemas schema) throws IOException, SAXException {
+        SchemaValidators validators = SCHEMA_VALIDATORS.get(schema.getLocation());
+        if (validators == null) {
+            try (InputStream schemaIs = ValidationUtil.class.getResourceAsStream(schema.getLocation())) {
+                if (schemaIs == null) {
+                    throw new IOException("Schema not found: " + schema.getLocation());
+                }
+                validators = new SchemaValidators(compileSchema(schemaIs));
+            } catch (VerifierConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+            SchemaValidators previous = SCHEMA_VALIDATORS.putIfAbsent(schema.getLocation(), validators);
+            if (previous != null) {
+                validators = previous;
+            }
+        }
+        return validators;
+    }
+
+    private static Schema compileSchema(InputStream schemaIs)
+            throws VerifierConfigurationException, SAXException, IOException {
+        VerifierFactory vfactory = new com.sun.msv.verifier.jarv.TheFactoryImpl();
+        return vfactory.compileSchema(schemaIs);
+    }
+
+    /**
+     * A compiled schema, which is thread safe, and a pool of validators using it
+     */
+    private static class SchemaValidators {
+        private final Schema schema;
+
+        private final BlockingQueue<Validator> pool = new ArrayBlockingQueue<>(MAX_POOLED_VALIDATORS);
+
+        SchemaValidators(Schema schema) {
+            this.schema = schema;
+        }
+    }
+
+    /**
+     * A reader and a verifier, which can validate one job descriptor at a time
+     */
+    private static class Validator {
+        private final XMLReader reader;
+
+        private final Verifier verifier;
+
+        Validator(Schema schema) throws SAXException {
+            reader = XMLReaderFactory.createXMLReader("org.apache.xerces.parsers.SAXParser");
+            try {
+                verifier = schema.newVerifier();
+            } catch (VerifierConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void parse(InputSource jobSource) throws SAXException, IOException {
+            VerifierHandler handler = verifier.getVerifierHandler();
+            ContentHandlerDecorator contentHandlerDecorator = new ContentHandlerDecorator(handler);
+            reader.setContentHandler(contentHandlerDecorator);
+            ValidationErrorHandler errHandler = new ValidationErrorHandler(contentHandlerDecorator);
+            verifier.setErrorHandler(errHandler);
+
+            reader.parse(jobSource);
         }
     }
 
@@ -26,7 +26,9 @@
 package org.ow2.proactive.scheduler.common.job.factories.spi;
 
 import java.io.File;
+import java.io.IOException;
 
+import org.apache.commons.io.FileUtils;
 import org.ow2.proactive.scheduler.common.exception.JobValidationException;
 import org.ow2.proactive.scheduler.common.job.TaskFlowJob;
 
@@ -50,6 +52,30 @@ public interface JobValidatorService {
      */
     File validateJob(File jobFile) throws JobValidationException;
 
+    /**
+     * Validate the provided xml job content, before the job is parsed by the scheduler
+     *
+     * The default implementation stores the content in a temporary file given to {@link #validateJob(File)},
+     * validators should override it to validate the content in memory.
+     *
+     * @param jobContent xml job content to validate
+     * @return if the validator eventually made some modifications to the job, return a new version
+     * @throws JobValidationException if the job is not valid
+     */
+    default byte[] validateJob(byte[] jobContent) throws JobValidationException {
+        File jobFile = null;
+        try {
+            jobFile = File.createTempFile("job", ".xml");
+            FileUtils.writeByteArrayToFile(jobFile, jobContent);
+            File updatedFile = validateJob(jobFile);
+            return updatedFile.equals(jobFile) ? jobContent : FileUtils.readFileToByteArray(updatedFile);
+        } catch (IOException e) {
+            throw new JobValidationException(true, e);
+        } finally {
+            FileUtils.deleteQuietly(jobFile);
+        }
+    }
+
     /**
      * Validate a job object after the job has been parsed by the scheduler.
      *
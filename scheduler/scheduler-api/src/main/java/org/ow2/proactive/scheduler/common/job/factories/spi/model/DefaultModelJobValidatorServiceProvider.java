@@ -51,6 +51,12 @@ public class DefaultModelJobValidatorServiceProvider implements JobValidatorServ
         return jobFile;
     }
 
+    @Override
+    public byte[] validateJob(byte[] jobContent) throws JobValidationException {
+        // validate any job
+        return jobContent;
+    }
+
     @Override
     public TaskFlowJob validateJob(TaskFlowJob job) throws JobValidationException {
 
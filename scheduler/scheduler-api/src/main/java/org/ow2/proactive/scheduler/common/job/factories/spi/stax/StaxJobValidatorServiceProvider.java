@@ -25,6 +25,7 @@
  */
 package org.ow2.proactive.scheduler.common.job.factories.spi.stax;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -62,11 +63,9 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
 
     @Override
     public File validateJob(File jobFile) throws JobValidationException {
-        String findSchemaByNamespaceUsed;
         try {
-            findSchemaByNamespaceUsed = findSchemaByNamespaceUsed(jobFile);
-            InputStream schemaStream = this.getClass().getResourceAsStream(findSchemaByNamespaceUsed);
-            ValidationUtil.validate(jobFile, schemaStream);
+            Schemas schema = findSchemaByNamespaceUsed(jobFile);
+            ValidationUtil.validate(jobFile, schema);
         } catch (Exception e) {
             // wrap all occurring exceptions as a schema exception
             throw new JobValidationException(true, e);
@@ -75,36 +74,55 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
         return jobFile;
     }
 
+    @Override
+    public byte[] validateJob(byte[] jobContent) throws JobValidationException {
+        try {
+            Schemas schema = findSchemaByNamespaceUsed(new ByteArrayInputStream(jobContent));
+            ValidationUtil.validate(new ByteArrayInputStream(jobContent), schema);
+        } catch (Exception e) {
+            // wrap all occurring exceptions as a schema exception
+            throw new JobValidationException(true, e);
+        }
+
+        return jobContent;
+    }
+
     @Override
     public TaskFlowJob validateJob(TaskFlowJob job) throws JobValidationException {
         // validate any job
         return job;
     }
 
-    private String findSchemaByNamespaceUsed(File file)
+    private Schemas findSchemaByNamespaceUsed(File file)
             throws FileNotFoundException, XMLStreamException, JobValidationException {
         try (InputStream inputStream = new FileInputStream(file)) {
-            XMLStreamReader cursorRoot = xmlInputFactory.createXMLStreamReader(inputStream);
-            try {
-                while (cursorRoot.hasNext()) {
-                    String namespace = advanceCursorAndFindSchema(cursorRoot);
-                    if (namespace != null)
-                        return namespace;
-                }
-                return Schemas.SCHEMA_LATEST.getLocation();
-            } catch (Exception e) {
-                throw new JobValidationException(e.getMessage(), e);
-            } finally {
-                if (cursorRoot != null) {
-                    cursorRoot.close();
-                }
-            }
+            return findSchemaByNamespaceUsed(inputStream);
         } catch (IOException e) {
             throw new JobValidationException(e.getMessage(), e);
         }
     }
 
-    private String advanceCursorAndFindSchema(XMLStreamReader cursorRoot) throws XMLStreamException {
+    private Schemas findSchemaByNamespaceUsed(InputStream inputStream)
+            throws XMLStreamException, JobValidationException {
+        XMLStreamReader cursorRoot = xmlInputFactory.createXMLStreamReader(inputStream);
+        try {
+            while (cursorRoot.hasNext()) {
+                Schemas schema = advanceCursorAndFindSchema(cursorRoot);
+                if (schema != null)
+                    return schema;
+            }
+            return Schemas.SCHEMA_LATEST;
+        } catch (Exception e) {
+            throw new JobValidationException(e.getMessage(), e);
+        } finally {
+            if (cursorRoot != null) {
+                cursorRoot.close();
+            }
+        }
+    }
+
+    private Schemas advanceCursorAndFindSchema(XMLStreamReader cursorRoot)
+            throws XMLStreamException, JobValidationException {
         int eventType;
         String current;
         eventType = cursorRoot.next();
@@ -112,7 +130,11 @@ public class StaxJobValidatorServiceProvider implements JobValidatorService {
             current = cursorRoot.getLocalName();
             if (XMLTags.JOB.matches(current)) {
                 String namespace = cursorRoot.getName().getNamespaceURI();
-                return Schemas.getSchemaByNamespace(namespace).getLocation();
+                Schemas schema = Schemas.getSchemaByNamespace(namespace);
+                if (schema == null) {
+                    throw new JobValidationException("Unknown job descriptor namespace: " + namespace);
+                }
+                return schema;
             }
         }
         return null;
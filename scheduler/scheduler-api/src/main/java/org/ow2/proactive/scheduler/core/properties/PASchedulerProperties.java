@@ -63,9 +63,18 @@ public enum PASchedulerProperties implements PACommonProperties {
     /** Path of the license properties file. */
     SCHEDULER_LICENSE_POLICY_CONFIGURATION("pa.scheduler.license.policy.configuration", PropertyType.STRING),
 
+    /** Time in milliseconds during which the free RAM of a node, probed by the RAM scheduling policy, is reused. */
+    SCHEDULER_RAM_POLICY_TELEMETRY_MAX_AGE("pa.scheduler.ram.policy.telemetry.maxage", PropertyType.INTEGER, "10000"),
+
     /** Scheduler main loop time out */
     SCHEDULER_TIME_OUT("pa.scheduler.core.timeout", PropertyType.INTEGER, "100"),
 
+    /** Delay during which the wakeups of the scheduling loop are gathered into a single scheduling pass (in milliseconds) */
+    SCHEDULER_WAKEUP_COALESCING_WINDOW("pa.scheduler.core.wakeup.coalescing", PropertyType.INTEGER, "10"),
+
+    /** Period at which a sleeping scheduling loop checks if nodes were freed in the resource manager (in milliseconds, 0 to disable) */
+    SCHEDULER_WAKEUP_FREE_NODES_CHECK_PERIOD("pa.scheduler.core.wakeup.freenodes.period", PropertyType.INTEGER, "1000"),
+
     /** Scheduler auto reconnection to the RM when the connection is down */
     SCHEDULER_RMCONNECTION_AUTO_CONNECT("pa.scheduler.core.rmconnection.autoconnect", PropertyType.BOOLEAN, "true"),
 
@@ -123,11 +132,48 @@ public enum PASchedulerProperties implements PACommonProperties {
      * until the scheduling loop will block as well.*/
     SCHEDULER_STARTTASK_THREADNUMBER("pa.scheduler.core.starttask.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of threads used to create the task launchers of the tasks selected by a scheduling loop */
+    SCHEDULER_TASK_DEPLOYMENT_THREADNUMBER("pa.scheduler.core.taskdeployment.threadnumber", PropertyType.INTEGER, "20"),
+
+    /** Maximum number of task launchers created at the same time in a node source (0 = no limit), below the
+     * number of deployment threads so that other node sources still get threads */
+    SCHEDULER_TASK_DEPLOYMENT_PER_NODE_SOURCE("pa.scheduler.core.taskdeployment.pernodesource", PropertyType.INTEGER, "10"),
+
+    /** Maximum time the creation of a task launcher may take, from the moment it is started (in millis) */
+    SCHEDULER_TASK_DEPLOYMENT_TIMEOUT("pa.scheduler.core.taskdeployment.timeout", PropertyType.INTEGER, "30000"),
+
+    /** Number of tasks run by a task launcher before it is terminated. If greater than 1, the task launcher
+     * is kept on its node and reused for the next tasks scheduled on this node. */
+    SCHEDULER_TASK_LAUNCHER_REUSE_MAX_TASKS("pa.scheduler.core.launcher.reuse.maxtasks", PropertyType.INTEGER, "1"),
+
+    /** Time in milliseconds after which a reused task launcher is terminated instead of running a new task */
+    SCHEDULER_TASK_LAUNCHER_REUSE_LIFETIME("pa.scheduler.core.launcher.reuse.lifetime", PropertyType.INTEGER, "3600000"),
+
+    /** Maximum number of jobs, and of users, whose decrypted credentials are kept to start their tasks */
+    SCHEDULER_CREDENTIALS_CACHE_SIZE("pa.scheduler.core.credentials.cache.size", PropertyType.INTEGER, "1000"),
+
+    /** Time in milliseconds after which cached decrypted credentials are decrypted again */
+    SCHEDULER_CREDENTIALS_CACHE_EXPIRATION("pa.scheduler.core.credentials.cache.expiration", PropertyType.INTEGER, "300000"),
+
+    /** Maximum number of selection scripts whose bindings are replaced and digest computed kept in cache */
+    SCHEDULER_SELECTION_SCRIPTS_CACHE_SIZE("pa.scheduler.core.selection.scripts.cache.size", PropertyType.INTEGER, "1000"),
+
     /** Maximum number of threads used to send events to clients. This property defines the number of clients
      * than can block at the same time. If this number is reached, every clients won't receive events until
      * a thread unlock. */
     SCHEDULER_LISTENERS_THREADNUMBER("pa.scheduler.core.listener.threadnumber", PropertyType.INTEGER, "5"),
 
+    /** Maximum number of events waiting to be sent to one client */
+    SCHEDULER_LISTENERS_QUEUE_SIZE("pa.scheduler.core.listener.queue.size", PropertyType.INTEGER, "10000"),
+
+    /** Behavior of the client event queues: COALESCE (task progress events of a task replace each other,
+     * the client is disconnected when its queue is full), DROP (the client is disconnected when its queue
+     * is full) or BLOCK (the scheduler waits for space in the queue before disconnecting the client). */
+    SCHEDULER_LISTENERS_QUEUE_POLICY("pa.scheduler.core.listener.queue.policy", PropertyType.STRING, "COALESCE"),
+
+    /** Maximum time in milliseconds the scheduler waits for space in a client event queue, with the BLOCK policy */
+    SCHEDULER_LISTENERS_QUEUE_BLOCK_TIMEOUT("pa.scheduler.core.listener.queue.block.timeout", PropertyType.INTEGER, "10000"),
+
     /** List of the scripts paths to execute at scheduler start. Paths are separated by a ';'. */
     SCHEDULER_STARTSCRIPTS_PATHS("pa.scheduler.startscripts.paths", PropertyType.LIST),
 
@@ -184,6 +230,15 @@ public enum PASchedulerProperties implements PACommonProperties {
     /** Remove job in dataBase when removing it from scheduler. */
     JOB_REMOVE_FROM_DB("pa.scheduler.job.removeFromDataBase", PropertyType.BOOLEAN, "true"),
 
+    /** Maximum number of jobs removed by the housekeeping in one database transaction */
+    SCHEDULER_HOUSEKEEPING_BATCH_SIZE("pa.scheduler.core.housekeeping.batchsize", PropertyType.INTEGER, "100"),
+
+    /** Maximum number of tasks removed by the housekeeping in one database transaction, a job is never split */
+    SCHEDULER_HOUSEKEEPING_BATCH_MAX_TASKS("pa.scheduler.core.housekeeping.batchmaxtasks", PropertyType.INTEGER, "5000"),
+
+    /** Pause (in milliseconds) between two database transactions of the housekeeping */
+    SCHEDULER_HOUSEKEEPING_BATCH_PAUSE("pa.scheduler.core.housekeeping.batchpause", PropertyType.INTEGER, "200"),
+
     /** File encoding used by the scheduler */
     FILE_ENCODING(PAProperties.KEY_PA_FILE_ENCODING, PropertyType.STRING, "UTF-8"),
 
@@ -274,6 +329,12 @@ public enum PASchedulerProperties implements PACommonProperties {
 
     SCHEDULER_JOB_LOGS_MAX_SIZE("pa.scheduler.job.logs.max.size", PropertyType.STRING, "10000"),
 
+    // Maximum number of job and task log files kept open
+    SCHEDULER_JOB_LOGS_MAX_OPEN_FILES("pa.scheduler.job.logs.max.open.files", PropertyType.INTEGER, "100"),
+
+    // Interval in milliseconds between two flushes of the job and task log files
+    SCHEDULER_JOB_LOGS_FLUSH_INTERVAL("pa.scheduler.job.logs.flush.interval", PropertyType.INTEGER, "1000"),
+
     //    /** Log max size (in lines per tasks) */
     //    LOGS_MAX_SIZE("pa.scheduler.logs.maxsize", PropertyType.INTEGER),
 
@@ -362,6 +423,12 @@ public enum PASchedulerProperties implements PACommonProperties {
 
     SCHEDULER_DB_FETCH_TASK_RESULTS_BATCH_SIZE("pa.scheduler.db.fetch.batch_size", PropertyType.INTEGER, "50"),
 
+    /** Maximum number of finished tasks whose propagated variables are kept in memory */
+    SCHEDULER_DB_PROPAGATED_VARIABLES_CACHE_SIZE(
+            "pa.scheduler.db.propagatedvariables.cache.size",
+            PropertyType.INTEGER,
+            "10000"),
+
     /* ***************************************************************** */
     /* ***************** EMAIL NOTIFICATION PROPERTIES ***************** */
     /* ***************************************************************** */
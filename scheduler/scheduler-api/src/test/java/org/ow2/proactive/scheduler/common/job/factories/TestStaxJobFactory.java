@@ -30,10 +30,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -128,6 +131,24 @@ public class TestStaxJobFactory {
                      testJob.getVariables().get("from_create_job_parameter").getValue());
     }
 
+    @Test
+    public void testCreateJobFromInputStreamShouldUseVariableMapToReplaceJobNameVariable() throws Exception {
+        Map<String, String> variablesMap = Maps.newHashMap();
+        variablesMap.put("job_name", "updated_job_name2");
+        Job testScriptJob;
+        try (InputStream workflowStream = jobDescriptorUri.toURL().openStream()) {
+            testScriptJob = factory.createJob(workflowStream, variablesMap);
+        }
+        assertEquals("updated_job_name2", testScriptJob.getName());
+    }
+
+    @Test(expected = JobCreationException.class)
+    public void testCreateJobFromInputStreamShouldValidateTheContent() throws Exception {
+        String invalidWorkflow = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                 "<job xmlns=\"urn:proactive:jobdescriptor:dev\" name=\"invalid\"><taskFlow/></job>";
+        factory.createJob(new ByteArrayInputStream(invalidWorkflow.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @Test
     public void testCreateJobShouldUseSyspropsToReplaceVariables() throws Exception {
         System.setProperty("system_property", "system_property_value");
@@ -0,0 +1,98 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.common.job.factories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ow2.proactive.scheduler.common.exception.JobCreationException;
+
+
+public class ValidationUtilTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testPooledValidatorsAreReusedAfterInvalidJob() throws Exception {
+        File validJob = getResource("task_variables.xml");
+        File invalidJob = folder.newFile("invalid_job.xml");
+        FileUtils.writeStringToFile(invalidJob,
+                                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                                "<job xmlns=\"urn:proactive:jobdescriptor:dev\" name=\"invalid\">" +
+                                                "<taskFlow/></job>");
+
+        ValidationUtil.validate(validJob, Schemas.SCHEMA_DEV);
+        try {
+            ValidationUtil.validate(invalidJob, Schemas.SCHEMA_DEV);
+            throw new AssertionError("The job should be invalid");
+        } catch (JobCreationException e) {
+            assertNotNull(e.getMessage());
+        }
+        ValidationUtil.validate(validJob, Schemas.SCHEMA_DEV);
+    }
+
+    @Test
+    public void testConcurrentValidations() throws Exception {
+        final File validJob = getResource("task_variables.xml");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> validations = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                validations.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        ValidationUtil.validate(validJob, Schemas.SCHEMA_DEV);
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> validation : validations) {
+                assertEquals(true, validation.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private File getResource(String filename) throws Exception {
+        return new File(ValidationUtilTest.class.getResource("/org/ow2/proactive/scheduler/common/job/factories/" +
+                                                            filename)
+                                                .toURI());
+    }
+}
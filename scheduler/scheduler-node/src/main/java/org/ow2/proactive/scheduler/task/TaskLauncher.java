@@ -41,6 +41,7 @@ import org.objectweb.proactive.InitActive;
 import org.objectweb.proactive.annotation.ImmediateService;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.util.ProActiveInet;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.objectweb.proactive.extensions.dataspaces.exceptions.FileSystemException;
 import org.objectweb.proactive.extensions.dataspaces.vfs.selector.FileSelector;
@@ -78,6 +79,10 @@ import com.google.common.base.Stopwatch;
  * - deals with data transfers
  * - deals with task killing and walltime
  * - sends result back to the Scheduler
+ *
+ * When the initializer allows more than one task per launcher, the launcher is kept on the node
+ * after its task and can be {@link #reset(TaskLauncherInitializer, TaskLauncherFactory) reset}
+ * to run another task, sparing the creation of an active object and the generation of a key pair.
  */
 @ActiveObject
 public class TaskLauncher implements InitActive {
@@ -106,6 +111,12 @@ public class TaskLauncher implements InitActive {
 
     private AtomicBoolean taskStarted = new AtomicBoolean(false);
 
+    private KeyPair keyPair;
+
+    private long creationTime;
+
+    private int executedTasks;
+
     /**
      * Needed for ProActive but should never be used manually to create an instance of the object.
      */
@@ -124,10 +135,8 @@ public class TaskLauncher implements InitActive {
 
     @Override
     public void initActivity(Body body) {
-        this.taskId = initializer.getTaskId();
-        this.taskLogger = new TaskLogger(taskId, getHostname());
-        this.progressFileReader = new ProgressFileReader();
-        this.taskKiller = new TaskKiller(Thread.currentThread(), new CleanupTimeoutGetter());
+        this.creationTime = System.currentTimeMillis();
+        initializeTask();
         nodeShutdownHook = new Thread(new Runnable() {
             @Override
             public void run() {
@@ -136,6 +145,41 @@ public class TaskLauncher implements InitActive {
         });
     }
 
+    private void initializeTask() {
+        this.taskId = initializer.getTaskId();
+        this.taskLogger = new TaskLogger(taskId, getHostname());
+        this.progressFileReader = new ProgressFileReader();
+        this.taskKiller = new TaskKiller(Thread.currentThread(), new CleanupTimeoutGetter());
+        this.taskStarted.set(false);
+    }
+
+    /**
+     * Prepares the task launcher, which already ran a task, to run the task described by the given initializer.
+     * The request is served after the end of the previous task.
+     * A task of another user is refused, it must not run in the launcher, nor with the key pair, of a previous user.
+     *
+     * @param initializer the initializer of the next task
+     * @param factory the factory of the next task
+     * @return true if the task launcher is ready for the next task, false if it cannot be reused and is terminating
+     */
+    public BooleanWrapper reset(TaskLauncherInitializer initializer, TaskLauncherFactory factory) {
+        if (!canRunAnotherTask() || !this.initializer.getJobOwner().equals(initializer.getJobOwner())) {
+            terminate();
+            return new BooleanWrapper(false);
+        }
+        this.initializer = initializer;
+        this.factory = factory;
+        initializeTask();
+        logger.info("Task launcher reset for task " + taskId.getReadableName());
+        return new BooleanWrapper(true);
+    }
+
+    private boolean canRunAnotherTask() {
+        return executedTasks < initializer.getLauncherMaxTasks() &&
+               System.currentTimeMillis() - creationTime < initializer.getLauncherLifetime() &&
+               taskKiller.getStatus() == TaskKiller.Status.NOT_YET_KILLED && !isNodeShuttingDown();
+    }
+
     /**
      * Method used to wait until the TaskLauncher is activated (i.e. the initActivity method has been run).
      *
@@ -291,7 +335,12 @@ public class TaskLauncher implements InitActive {
                 DataSpaceNodeConfigurationAgent.unlockCacheSpaceCleaning();
                 removeShutdownHook();
             } finally {
-                terminate();
+                executedTasks++;
+                if (canRunAnotherTask()) {
+                    logger.info("Task terminated, task launcher kept for the next task");
+                } else {
+                    terminate();
+                }
             }
         }
     }
@@ -463,8 +512,11 @@ public class TaskLauncher implements InitActive {
     }
 
     public PublicKey generatePublicKey() throws NoSuchAlgorithmException {
-        final KeyPair keyPair = getKeyPair();
-        decrypter = new Decrypter(keyPair.getPrivate());
+        // a reused launcher keeps its key pair, the scheduler can then reuse the public key
+        if (keyPair == null) {
+            keyPair = getKeyPair();
+            decrypter = new Decrypter(keyPair.getPrivate());
+        }
         return keyPair.getPublic();
     }
 
@@ -104,6 +104,12 @@ public class TaskLauncherInitializer implements Serializable {
 
     private int pingAttempts = 1;
 
+    /** Number of tasks a task launcher runs before being terminated, it is reused for the next tasks if &gt; 1 */
+    private int launcherMaxTasks = 1;
+
+    /** Time in milliseconds after which a reused task launcher does not accept new tasks */
+    private long launcherLifetime;
+
     private ForkEnvironment forkEnvironment;
 
     /**
@@ -365,6 +371,22 @@ public class TaskLauncherInitializer implements Serializable {
         return pingAttempts;
     }
 
+    public void setLauncherMaxTasks(int launcherMaxTasks) {
+        this.launcherMaxTasks = launcherMaxTasks;
+    }
+
+    public int getLauncherMaxTasks() {
+        return launcherMaxTasks;
+    }
+
+    public void setLauncherLifetime(long launcherLifetime) {
+        this.launcherLifetime = launcherLifetime;
+    }
+
+    public long getLauncherLifetime() {
+        return launcherLifetime;
+    }
+
     public List<InputSelector> getFilteredInputFiles(Map<String, Serializable> variables) {
         List<InputSelector> filteredTaskInputFiles = new ArrayList<>();
         if (taskInputFiles != null) {
@@ -100,6 +100,51 @@ public class TaskLauncherTest extends TaskLauncherTestAbstract {
         assertThat(taskResult.getOutput().getAllLogs(false).contains(String.format("prehellopost%n")), is(true));
     }
 
+    @Test
+    public void reusedTaskLauncher() throws Throwable {
+        TaskLauncherInitializer initializer = createReusableLauncherInitializer(1000L);
+        TaskLauncher launcher = createLauncherWithInjectedMocks(initializer, new TestTaskLauncherFactory());
+
+        TaskScript firstScript = new TaskScript(new SimpleScript("result='first'", "groovy"));
+        TaskResult firstResult = runTaskLauncher(launcher, new ScriptExecutableContainer(firstScript));
+        assertThat((String) firstResult.value(), is("first"));
+
+        assertThat(launcher.reset(createReusableLauncherInitializer(1001L), new TestTaskLauncherFactory())
+                           .getBooleanValue(), is(true));
+        assertThat(launcher.isTaskStarted(), is(false));
+
+        TaskScript secondScript = new TaskScript(new SimpleScript("result='second'", "groovy"));
+        TaskResult secondResult = runTaskLauncher(launcher, new ScriptExecutableContainer(secondScript));
+        assertThat((String) secondResult.value(), is("second"));
+        assertThat(secondResult.getTaskId().longValue(), is(1001L));
+
+        // the launcher reached its maximum number of tasks
+        assertThat(launcher.reset(createReusableLauncherInitializer(1002L), new TestTaskLauncherFactory())
+                           .getBooleanValue(), is(false));
+    }
+
+    @Test
+    public void reusedTaskLauncherRefusesTaskOfAnotherUser() throws Throwable {
+        TaskLauncherInitializer initializer = createReusableLauncherInitializer(1000L);
+        TaskLauncher launcher = createLauncherWithInjectedMocks(initializer, new TestTaskLauncherFactory());
+
+        TaskScript script = new TaskScript(new SimpleScript("result='first'", "groovy"));
+        runTaskLauncher(launcher, new ScriptExecutableContainer(script));
+
+        TaskLauncherInitializer otherUserInitializer = createReusableLauncherInitializer(1001L);
+        otherUserInitializer.setJobOwner("otherUser");
+        assertThat(launcher.reset(otherUserInitializer, new TestTaskLauncherFactory()).getBooleanValue(), is(false));
+    }
+
+    private TaskLauncherInitializer createReusableLauncherInitializer(long taskId) {
+        TaskLauncherInitializer initializer = new TaskLauncherInitializer();
+        initializer.setJobOwner("user");
+        initializer.setTaskId(TaskIdImpl.createTaskId(JobIdImpl.makeJobId("1000"), "job", taskId));
+        initializer.setLauncherMaxTasks(2);
+        initializer.setLauncherLifetime(60000);
+        return initializer;
+    }
+
     @Test
     public void javaTask() throws Throwable {
         HashMap<String, byte[]> args = new HashMap<>();
@@ -27,6 +27,8 @@ package org.ow2.proactive.scheduler.core;
 
 import java.lang.reflect.Method;
 import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -36,9 +38,13 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.UniqueID;
 import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.SchedulerEventListener;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.threading.ReifiedMethodCall;
+import org.ow2.proactive.utils.BoundedEventQueue;
 
 
 /**
@@ -61,6 +67,23 @@ public class ClientRequestHandler {
 
     private static final AtomicInteger requestLeft = new AtomicInteger();
 
+    /** Events queues of the connected clients, used for monitoring */
+    private static final Map<String, BoundedEventQueue<ReifiedMethodCall>> eventQueues = new ConcurrentHashMap<>();
+
+    /**
+     * @return the number of events waiting to be sent, per client
+     */
+    public static Map<String, Integer> getEventQueueSizes() {
+        return BoundedEventQueue.sizes(eventQueues);
+    }
+
+    /**
+     * @return the time in milliseconds the oldest event waiting to be sent to each client has been waiting
+     */
+    public static Map<String, Long> getEventQueueLags() {
+        return BoundedEventQueue.lags(eventQueues);
+    }
+
     public static void terminate() {
         // Precondition: no new event is emitted
         try {
@@ -86,7 +109,7 @@ public class ClientRequestHandler {
     private final SchedulerEventListener client;
 
     /** Events queue to be stored */
-    private final LinkedList<ReifiedMethodCall> eventCallsToStore;
+    private final BoundedEventQueue<ReifiedMethodCall> eventCallsToStore;
 
     /** Cross reference to the front-end : used to mark client as dirty */
     private final SchedulerFrontendState frontend;
@@ -102,7 +125,34 @@ public class ClientRequestHandler {
         this.client = client;
         this.frontend = frontend;
         this.clientId = clientId;
-        this.eventCallsToStore = new LinkedList<>();
+        this.eventCallsToStore = createEventQueue();
+        eventQueues.put(clientId.shortString(), eventCallsToStore);
+    }
+
+    private static BoundedEventQueue<ReifiedMethodCall> createEventQueue() {
+        int size = PASchedulerProperties.SCHEDULER_LISTENERS_QUEUE_SIZE.getValueAsInt();
+        String policy = PASchedulerProperties.SCHEDULER_LISTENERS_QUEUE_POLICY.getValueAsString();
+        int blockTimeout = PASchedulerProperties.SCHEDULER_LISTENERS_QUEUE_BLOCK_TIMEOUT.getValueAsInt();
+        return new BoundedEventQueue<>(size,
+                                       BoundedEventQueue.Policy.valueOf(policy.toUpperCase()),
+                                       blockTimeout,
+                                       ClientRequestHandler::getCoalescingKey);
+    }
+
+    /**
+     * Returns the key identifying the events which supersede each other: only
+     * the latest progress of a task needs to be sent.
+     */
+    private static Object getCoalescingKey(ReifiedMethodCall methodCall) {
+        Object[] arguments = methodCall.getArguments();
+        if (arguments.length == 1 && arguments[0] instanceof NotificationData) {
+            NotificationData<?> notification = (NotificationData<?>) arguments[0];
+            if (notification.getEventType() == SchedulerEvent.TASK_PROGRESS &&
+                notification.getData() instanceof TaskInfo) {
+                return ((TaskInfo) notification.getData()).getTaskId();
+            }
+        }
+        return null;
     }
 
     /**
@@ -113,24 +163,55 @@ public class ClientRequestHandler {
      */
     public void addEvent(Method method, Object... args) {
         synchronized (eventCallsToStore) {
-            eventCallsToStore.add(new ReifiedMethodCall(method, args));
-            requestLeft.incrementAndGet();
+            long coalescedEvents = eventCallsToStore.getCoalescedEvents();
+            if (!eventCallsToStore.offer(new ReifiedMethodCall(method, args))) {
+                logger.warn("Events queue of the client " + clientId + " is full (" + eventCallsToStore.size() +
+                            " events)");
+                //remove this client from Frontend (client does not consume its events)
+                frontend.markAsDirty(clientId);
+                return;
+            }
+            // a superseded event was replaced, no new request
+            if (eventCallsToStore.getCoalescedEvents() == coalescedEvents) {
+                requestLeft.incrementAndGet();
+            }
         }
         tryStartTask();
     }
 
+    /**
+     * Discards the pending events of this client, which is no longer listening.
+     */
+    public void close() {
+        eventQueues.remove(clientId.shortString(), eventCallsToStore);
+        synchronized (eventCallsToStore) {
+            int size = eventCallsToStore.size();
+            eventCallsToStore.clear();
+            releaseRequests(size);
+        }
+    }
+
+    private static void releaseRequests(int count) {
+        //unlock shutdown request if needed
+        if (count > 0 && requestLeft.addAndGet(-count) == 0) {
+            synchronized (requestLeft) {
+                //inner synchronized OK since only used during termination (= no new event)
+                requestLeft.notify();
+            }
+        }
+    }
+
     /**
      * Try to create a task with new events to send, and start it in the thread pool.
      * Can do nothing if some previous events are currently being sent.
      *
      * Can be called from two different thread, even if it is private!
      */
-    @SuppressWarnings("unchecked")
     private void tryStartTask() {
         synchronized (eventCallsToStore) {
-            if (eventCallsToStore.size() > 0 && !busy.get()) {
-                LinkedList<ReifiedMethodCall> tasks = (LinkedList<ReifiedMethodCall>) eventCallsToStore.clone();
-                eventCallsToStore.clear();
+            if (!eventCallsToStore.isEmpty() && !busy.get()) {
+                LinkedList<ReifiedMethodCall> tasks = new LinkedList<>();
+                eventCallsToStore.drainTo(tasks);
                 busy.set(true);
                 threadPoolForNetworkCalls.execute(new TaskRunnable(tasks));
             }
@@ -165,13 +246,7 @@ public class ClientRequestHandler {
          */
         public void run() {
             try {
-                //unlock shutdown request if needed
-                if (requestLeft.addAndGet(-eventCallsToSend.size()) == 0) {
-                    synchronized (requestLeft) {
-                        //inner synchronized OK since only used during termination (= no new event)
-                        requestLeft.notify();
-                    }
-                }
+                releaseRequests(eventCallsToSend.size());
                 //loop on the list and send events
                 while (!eventCallsToSend.isEmpty()) {
                     ReifiedMethodCall methodCall = eventCallsToSend.removeFirst();
@@ -0,0 +1,121 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Progress of the housekeeping, which removes the jobs whose scheduled time for removal is reached
+ * in batches of bounded size.
+ */
+public final class HousekeepingStatistics {
+
+    private final AtomicLong runs = new AtomicLong();
+
+    private final AtomicLong pendingJobs = new AtomicLong();
+
+    private final AtomicLong removedJobs = new AtomicLong();
+
+    private final AtomicLong transactions = new AtomicLong();
+
+    private final AtomicLong totalTransactionTime = new AtomicLong();
+
+    private final AtomicLong maxTransactionTime = new AtomicLong();
+
+    private final AtomicLong lastRunTime = new AtomicLong();
+
+    /**
+     * Records the start of a housekeeping run.
+     *
+     * @param jobs the number of jobs to remove during this run
+     */
+    void runStarted(int jobs) {
+        runs.incrementAndGet();
+        pendingJobs.set(jobs);
+    }
+
+    /**
+     * Records a committed housekeeping transaction.
+     *
+     * @param jobs the number of jobs removed by the transaction
+     * @param timeMillis the duration of the transaction in milliseconds
+     */
+    void transactionCommitted(int jobs, long timeMillis) {
+        removedJobs.addAndGet(jobs);
+        transactions.incrementAndGet();
+        totalTransactionTime.addAndGet(timeMillis);
+        maxTransactionTime.accumulateAndGet(timeMillis, Math::max);
+    }
+
+    /**
+     * Records that a batch of jobs was handled, whether or not all of them were still to remove.
+     *
+     * @param jobs the number of jobs of the batch
+     */
+    void batchHandled(int jobs) {
+        pendingJobs.addAndGet(-jobs);
+    }
+
+    /**
+     * Records the end of a housekeeping run.
+     *
+     * @param timeMillis the duration of the run in milliseconds
+     */
+    void runFinished(long timeMillis) {
+        pendingJobs.set(0);
+        lastRunTime.set(timeMillis);
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getPendingJobs() {
+        return pendingJobs.get();
+    }
+
+    public long getRemovedJobs() {
+        return removedJobs.get();
+    }
+
+    public long getTransactions() {
+        return transactions.get();
+    }
+
+    public long getTotalTransactionTimeMillis() {
+        return totalTransactionTime.get();
+    }
+
+    public long getMaxTransactionTimeMillis() {
+        return maxTransactionTime.get();
+    }
+
+    public long getLastRunTimeMillis() {
+        return lastRunTime.get();
+    }
+
+}
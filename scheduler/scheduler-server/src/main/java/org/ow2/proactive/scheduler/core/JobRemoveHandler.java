@@ -109,7 +109,7 @@ public class JobRemoveHandler implements Callable<Boolean> {
                                 new NotificationData<JobInfo>(SchedulerEvent.JOB_REMOVE_FINISHED,
                                                               new JobInfoImpl((JobInfoImpl) jobs.get(0).getJobInfo())));
 
-        service.wakeUpSchedulingThread();
+        service.wakeUpSchedulingThread(SchedulingWakeReason.JOB_REMOVED);
 
         return true;
     }
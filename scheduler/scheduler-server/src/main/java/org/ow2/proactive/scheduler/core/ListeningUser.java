@@ -31,7 +31,7 @@ import org.ow2.proactive.scheduler.job.UserIdentificationImpl;
 public class ListeningUser {
 
     /** Associated listener to client */
-    private ClientRequestHandler listener;
+    private volatile ClientRequestHandler listener;
 
     private UserIdentificationImpl user;
 
@@ -62,17 +62,21 @@ public class ListeningUser {
      *
      * Listener must not be null !
      */
-    public void setListener(ClientRequestHandler listener) {
+    public synchronized void setListener(ClientRequestHandler listener) {
         if (listener == null) {
             throw new IllegalArgumentException("Listener must not be null !");
         }
+        clearListener();
         this.listener = listener;
     }
 
     /**
-     * clear the listener associated to this user
+     * clear the listener associated to this user, its pending events are discarded
      */
-    public void clearListener() {
+    public synchronized void clearListener() {
+        if (this.listener != null) {
+            this.listener.close();
+        }
         this.listener = null;
     }
 
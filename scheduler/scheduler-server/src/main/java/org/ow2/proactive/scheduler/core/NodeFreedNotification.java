@@ -0,0 +1,105 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.extensions.annotation.ActiveObject;
+import org.ow2.proactive.resourcemanager.common.NodeState;
+import org.ow2.proactive.resourcemanager.common.event.RMEvent;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeSourceEvent;
+import org.ow2.proactive.resourcemanager.frontend.RMEventListener;
+
+
+/**
+ * Listener of the resource manager node events, waking up the scheduling loop as soon as a node becomes free
+ * instead of letting the loop poll the resource manager, and maintaining the node source of the nodes.
+ */
+@ActiveObject
+public class NodeFreedNotification implements RMEventListener {
+
+    private static final Logger logger = Logger.getLogger(NodeFreedNotification.class);
+
+    private SchedulingService schedulingService;
+
+    private NodeSourcesIndex nodeSources;
+
+    /** Counter of the last node event received, the resource manager skips a value when it drops events */
+    private long counter = 0;
+
+    public NodeFreedNotification() {
+    }
+
+    NodeFreedNotification(SchedulingService schedulingService, NodeSourcesIndex nodeSources) {
+        this.schedulingService = schedulingService;
+        this.nodeSources = nodeSources;
+    }
+
+    @Override
+    public void rmEvent(RMEvent event) {
+    }
+
+    @Override
+    public void nodeSourceEvent(RMNodeSourceEvent event) {
+    }
+
+    @Override
+    public void nodeEvent(RMNodeEvent event) {
+        if (counter > 0 && event.getCounter() != counter + 1) {
+            logger.warn("Missing node events detected (local counter is " + counter + " vs. rm event counter " +
+                        event.getCounter() + "), getting the state of the resource manager again");
+            counter = 0;
+            reregisterNodeEventListener();
+            return;
+        }
+        counter = event.getCounter();
+        nodeSources.update(event);
+        if (event.getNodeState() == NodeState.FREE && !event.isLocked()) {
+            schedulingService.wakeUpSchedulingThread(SchedulingWakeReason.NODE_FREED);
+        }
+    }
+
+    /**
+     * Registers again in a thread of the scheduling service, so that this active object keeps serving the events
+     * while the resource manager sends its state.
+     */
+    private void reregisterNodeEventListener() {
+        final SchedulingService service = schedulingService;
+        service.getInfrastructure().getInternalOperationsThreadPool().submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    service.getInfrastructure().getRMProxiesManager().getRmProxy().reregisterNodeEventListener();
+                } catch (RuntimeException e) {
+                    logger.warn("Cannot register again to the node events of the resource manager", e);
+                } finally {
+                    service.wakeUpSchedulingThread(SchedulingWakeReason.NODE_FREED);
+                }
+            }
+        });
+    }
+
+}
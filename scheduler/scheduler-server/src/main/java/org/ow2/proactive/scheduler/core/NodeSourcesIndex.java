@@ -0,0 +1,69 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ow2.proactive.resourcemanager.common.event.RMEventType;
+import org.ow2.proactive.resourcemanager.common.event.RMInitialState;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
+
+
+/**
+ * Node source of the resource manager nodes, indexed by node url and maintained from the node events
+ * received by {@link NodeFreedNotification}.
+ */
+final class NodeSourcesIndex {
+
+    private final Map<String, String> nodeSourceByUrl = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the content of the index by the nodes of the given state.
+     */
+    void reset(RMInitialState state) {
+        nodeSourceByUrl.clear();
+        for (RMNodeEvent event : state.getNodesEvents()) {
+            update(event);
+        }
+    }
+
+    void update(RMNodeEvent event) {
+        if (event.getEventType() == RMEventType.NODE_REMOVED) {
+            nodeSourceByUrl.remove(event.getNodeUrl());
+        } else if (event.getNodeSource() != null) {
+            nodeSourceByUrl.put(event.getNodeUrl(), event.getNodeSource());
+        }
+    }
+
+    /**
+     * @return the node source of the node, or null if the node is unknown
+     */
+    String getNodeSource(String nodeUrl) {
+        return nodeSourceByUrl.get(nodeUrl);
+    }
+
+}
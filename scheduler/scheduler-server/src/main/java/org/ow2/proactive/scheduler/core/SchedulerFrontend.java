@@ -318,6 +318,9 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
             RecoveredSchedulerState recoveredState = new SchedulerStateRecoverHelper(dbManager).recover(loadJobPeriod,
                                                                                                         rmProxy);
 
+            this.jmxHelper.getSchedulerRuntimeMBean().recover(recoveredState.getPendingJobs(),
+                                                              recoveredState.getRunningJobs());
+
             this.frontendState = new SchedulerFrontendState(recoveredState.getSchedulerState(), jmxHelper);
 
             SchedulingInfrastructure infrastructure = new SchedulingInfrastructureImpl(dbManager,
@@ -336,6 +339,11 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
                                                            recoveredState,
                                                            policyFullName,
                                                            null);
+            this.jmxHelper.setSchedulingLoopStatistics(schedulingService.getWakeupStatistics(),
+                                                       schedulingService.getTaskDeploymentStatistics(),
+                                                       schedulingService.getTaskCredentialsCache(),
+                                                       schedulingService.getHousekeepingStatistics());
+            this.jmxHelper.getSchedulerRuntimeMBean().setLicenseManager(schedulingService.getLicenseManager());
 
             recoveredState.enableLiveLogsForRunningTasks(schedulingService);
             releaseBusyNodesWithNoRunningTask(rmProxy, recoveredState);
@@ -1311,6 +1319,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         HybridEncryptionUtil.HybridEncryptedData encryptedData = HybridEncryptionUtil.encryptString(value,
                                                                                                     corePublicKey);
         dbManager.putThirdPartyCredential(ident.getUsername(), key, encryptedData);
+        schedulingService.getTaskCredentialsCache().invalidateThirdPartyCredentials(ident.getUsername());
     }
 
     @Override
@@ -1325,6 +1334,7 @@ public class SchedulerFrontend implements InitActive, Scheduler, RunActive {
         UserIdentificationImpl ident = frontendState.checkPermission("removeThirdPartyCredential",
                                                                      YOU_DO_NOT_HAVE_PERMISSION_TO_REMOVE_THIRD_PARTY_CREDENTIALS_FROM_THE_SCHEDULER);
         dbManager.removeThirdPartyCredential(ident.getUsername(), key);
+        schedulingService.getTaskCredentialsCache().invalidateThirdPartyCredentials(ident.getUsername());
     }
 
     @Override
@@ -37,6 +37,7 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.api.PAActiveObject;
@@ -188,6 +189,15 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
+    /*
+     * This state is read by every client request and updated by the events of the scheduling core,
+     * so it is not guarded by a single monitor:
+     * - the connected users and the jobs are kept in concurrent maps,
+     * - the state of a job is updated, and its events are dispatched, while holding the monitor of
+     *   its ClientJobState, so the events of a job are sent in order without blocking other jobs,
+     * - the lists of jobs and users of sState are updated and copied while holding the monitor of sState.
+     */
+
     /**
      * Mapping on the UniqueId of the sender and the user/admin identifications
      */
@@ -217,12 +227,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     private final Map<JobId, ClientJobState> jobsMap;
 
     SchedulerFrontendState(SchedulerStateImpl sState, SchedulerJMXHelper jmxHelper) {
-        this.identifications = new HashMap<>();
-        this.credentials = new HashMap<>();
+        this.identifications = new ConcurrentHashMap<>();
+        this.credentials = new ConcurrentHashMap<>();
         this.dirtyList = new HashSet<>();
         this.jmxHelper = jmxHelper;
-        this.jobsMap = new HashMap<>();
-        this.jobs = new HashMap<>();
+        this.jobsMap = new ConcurrentHashMap<>();
+        this.jobs = new ConcurrentHashMap<>();
         this.sessionTimer = new Timer("SessionTimer");
         this.sState = sState;
         recover(sState);
@@ -286,18 +296,17 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws SchedulerException
      *             If an error occurred during connection with the front-end.
      */
-    synchronized void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
+    void connect(UniqueID sourceBodyID, UserIdentificationImpl identification, Credentials cred)
             throws AlreadyConnectedException {
-        if (identifications.containsKey(sourceBodyID)) {
+        if (identifications.putIfAbsent(sourceBodyID, new ListeningUser(identification)) != null) {
             logger.warn("Active object already connected for this user :" + identification.getUsername());
             throw new AlreadyConnectedException("This active object is already connected to the scheduler !");
         }
         logger.info(identification.getUsername() + " successfully connected !");
-        identifications.put(sourceBodyID, new ListeningUser(identification));
         credentials.put(sourceBodyID, cred);
         renewUserSession(sourceBodyID, identification);
         // add this new user in the list of connected user
-        sState.getUsers().update(identification);
+        updateUser(identification);
         // send events
         usersUpdated(new NotificationData<UserIdentification>(SchedulerEvent.USERS_UPDATE, identification));
     }
@@ -313,47 +322,66 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      *            the user on which to renew the session
      */
     private void renewUserSession(final UniqueID id, UserIdentificationImpl identification) {
-        if (identifications.get(id).isListening()) {
-            // if this id has a listener, do not renew user session
+        ListeningUser listeningUser = identifications.get(id);
+        if (listeningUser == null || listeningUser.isListening()) {
+            // if this id is disconnected or has a listener, do not renew user session
             return;
         }
         final String userName = identification.getUsername();
-        TimerTask session = identification.getSession();
-        if (session != null) {
-            session.cancel();
-        }
-        identification.setSession(new TimerTask() {
-            @Override
-            public void run() {
-                logger.info("End of session for user " + userName + ", id=" + id);
-                disconnect(id);
+        synchronized (identification) {
+            TimerTask session = identification.getSession();
+            if (session != null) {
+                session.cancel();
             }
-        });
-        sessionTimer.purge();
-        sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+            identification.setSession(new TimerTask() {
+                @Override
+                public void run() {
+                    logger.info("End of session for user " + userName + ", id=" + id);
+                    disconnect(id);
+                }
+            });
+            sessionTimer.purge();
+            sessionTimer.schedule(identification.getSession(), USER_SESSION_DURATION);
+        }
+    }
+
+    /**
+     * Add, update or remove a user in the list of connected users of the state
+     */
+    private void updateUser(UserIdentificationImpl identification) {
+        synchronized (sState) {
+            sState.getUsers().update(identification);
+        }
     }
 
-    synchronized SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
+    SchedulerStatus getStatus() throws NotConnectedException, PermissionException {
         // checking permissions
         checkPermission("getStatus", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATUS);
-        return sState.getStatus();
+        synchronized (sState) {
+            return sState.getStatus();
+        }
     }
 
-    synchronized SchedulerState getState() throws NotConnectedException, PermissionException {
+    SchedulerState getState() throws NotConnectedException, PermissionException {
         return getState(false);
     }
 
-    synchronized SchedulerState getStateInternally() {
+    SchedulerState getStateInternally() {
         return sState;
     }
 
-    synchronized SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
+    SchedulerState getState(boolean myJobsOnly) throws NotConnectedException, PermissionException {
         // checking permissions
         checkPermission("getState", YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE);
 
         ListeningUser ui = identifications.get(PAActiveObject.getContext().getCurrentRequest().getSourceBodyID());
 
-        return myJobsOnly ? sState.filterOnUser(ui.getUser().getUsername()) : sState;
+        if (!myJobsOnly) {
+            return sState;
+        }
+        synchronized (sState) {
+            return sState.filterOnUser(ui.getUser().getUsername());
+        }
 
     }
 
@@ -369,7 +397,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
+    void handleOnlyMyJobsPermission(boolean myOnly, UserIdentificationImpl ui, String errorMessage)
             throws PermissionException {
         ui.checkPermission(new HandleOnlyMyJobsPermission(myOnly),
                            ui.getUsername() + " does not have permissions to handle other users jobs (" + errorMessage +
@@ -390,19 +418,19 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @throws PermissionException
      *             if permission is denied
      */
-    synchronized void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
+    void handleJobsWithGenericInformationPermission(Map<String, String> genericInformation,
             UserIdentificationImpl ui, String errorMessage) throws PermissionException {
         ui.checkPermission(new HandleJobsWithGenericInformationPermission(genericInformation),
                            ui.getUsername() + " does not have permissions to handle this job (" + errorMessage + ")");
     }
 
-    synchronized void addEventListener(SchedulerEventListener sel, boolean myEventsOnly, SchedulerEvent... events)
+    void addEventListener(SchedulerEventListener sel, boolean myEventsOnly, SchedulerEvent... events)
             throws NotConnectedException, PermissionException {
         addEventListener(sel, myEventsOnly, false, events);
     }
 
-    synchronized SchedulerState addEventListener(SchedulerEventListener sel, boolean myEventsOnly,
-            boolean getCurrentState, SchedulerEvent... events) throws NotConnectedException, PermissionException {
+    SchedulerState addEventListener(SchedulerEventListener sel, boolean myEventsOnly, boolean getCurrentState,
+            SchedulerEvent... events) throws NotConnectedException, PermissionException {
         // checking permissions
         ListeningUser uIdent = checkPermissionReturningListeningUser("addEventListener",
                                                                      YOU_DO_NOT_HAVE_PERMISSION_TO_ADD_A_LISTENER);
@@ -442,7 +470,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return currentState;
     }
 
-    synchronized void removeEventListener() throws NotConnectedException, PermissionException {
+    void removeEventListener() throws NotConnectedException, PermissionException {
         // Remove the listener on that user designated by its given UniqueID,
         // then renew its user session as it is no more managed by the listener.
         UniqueID id = checkAccess();
@@ -462,7 +490,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return id;
     }
 
-    synchronized InternalJob createJob(Job userJob, UserIdentificationImpl ident)
+    InternalJob createJob(Job userJob, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
         UniqueID id = checkAccess();
 
@@ -493,7 +521,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return job;
     }
 
-    synchronized void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
+    void jobSubmitted(InternalJob job, UserIdentificationImpl ident)
             throws NotConnectedException, PermissionException, SubmissionClosedException, JobCreationException {
         // put the job inside the frontend management list
         jobs.put(job.getId(), new IdentifiedJob(job.getId(), ident, job.getGenericInformation()));
@@ -511,7 +539,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
+    ListeningUser checkPermissionReturningListeningUser(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
 
@@ -531,12 +559,12 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return ident;
     }
 
-    synchronized UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
+    UserIdentificationImpl checkPermission(String methodName, String permissionMsg)
             throws NotConnectedException, PermissionException {
         return checkPermissionReturningListeningUser(methodName, permissionMsg).getUser();
     }
 
-    synchronized void disconnect() throws NotConnectedException, PermissionException {
+    void disconnect() throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
         disconnect(id);
     }
@@ -547,7 +575,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
      * @param id
      *            the uniqueID of the user
      */
-    private synchronized void disconnect(UniqueID id) {
+    private void disconnect(UniqueID id) {
         credentials.remove(id);
         ListeningUser ident = identifications.remove(id);
         if (ident != null) {
@@ -556,7 +584,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             // remove this user to the list of connected user if it has not
             // already been removed
             ident.getUser().setToRemove();
-            sState.getUsers().update(ident.getUser());
+            updateUser(ident.getUser());
             // cancel the timer
             ident.getUser().getSession().cancel();
             // log and send events
@@ -567,7 +595,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized boolean isConnected() {
+    boolean isConnected() {
         try {
             checkAccess();
             return true;
@@ -576,14 +604,14 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void renewSession() throws NotConnectedException {
+    void renewSession() throws NotConnectedException {
         UniqueID id = checkAccess();
         UserIdentificationImpl ident = identifications.get(id).getUser();
         // renew session for this user
         renewUserSession(id, ident);
     }
 
-    synchronized IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
+    IdentifiedJob getIdentifiedJob(JobId jobId) throws UnknownJobException {
         IdentifiedJob ij = jobs.get(jobId);
 
         if (ij == null) {
@@ -596,7 +624,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
 
     }
 
-    synchronized void checkChangeJobPriority(JobId jobId, JobPriority priority)
+    void checkChangeJobPriority(JobId jobId, JobPriority priority)
             throws NotConnectedException, UnknownJobException, PermissionException, JobAlreadyFinishedException {
 
         checkPermissions("changeJobPriority",
@@ -623,7 +651,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
+    void checkPermissions(String methodName, IdentifiedJob identifiedJob, String errorMessage)
             throws NotConnectedException, UnknownJobException, PermissionException {
         try {
             checkJobOwner(methodName, identifiedJob, errorMessage);
@@ -641,7 +669,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
+    void checkJobOwner(String methodName, IdentifiedJob IdentifiedJob, String permissionMsg)
             throws NotConnectedException, UnknownJobException, PermissionException {
         ListeningUser ident = checkPermissionReturningListeningUser(methodName, permissionMsg);
 
@@ -650,27 +678,28 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized Set<TaskId> getJobTasks(JobId jobId) {
+    Set<TaskId> getJobTasks(JobId jobId) {
         JobState jobState = jobsMap.get(jobId);
+        if (jobState == null) {
+            return Collections.emptySet();
+        }
         synchronized (jobState) {
-            if (jobState == null) {
-                return Collections.emptySet();
-            } else {
-                Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
-                for (TaskState task : jobState.getTasks()) {
-                    tasks.add(task.getId());
-                }
-                return tasks;
+            Set<TaskId> tasks = new HashSet<>(jobState.getTasks().size());
+            for (TaskState task : jobState.getTasks()) {
+                tasks.add(task.getId());
             }
+            return tasks;
         }
     }
 
-    synchronized JobState getJobState(JobId jobId)
-            throws NotConnectedException, UnknownJobException, PermissionException {
+    JobState getJobState(JobId jobId) throws NotConnectedException, UnknownJobException, PermissionException {
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_JOB);
         ClientJobState jobState = jobsMap.get(jobId);
+        if (jobState == null) {
+            throw new UnknownJobException(jobId);
+        }
         ClientJobState jobStateCopy;
         synchronized (jobState) {
             try {
@@ -683,15 +712,15 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return jobStateCopy;
     }
 
-    synchronized TaskState getTaskState(JobId jobId, TaskId taskId)
+    TaskState getTaskState(JobId jobId, TaskId taskId)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
         checkPermissions("getJobState",
                          getIdentifiedJob(jobId),
                          YOU_DO_NOT_HAVE_PERMISSION_TO_GET_THE_STATE_OF_THIS_TASK);
-        if (jobsMap.get(jobId) == null) {
+        JobState jobState = jobsMap.get(jobId);
+        if (jobState == null) {
             throw new UnknownJobException(jobId);
         }
-        JobState jobState = jobsMap.get(jobId);
         synchronized (jobState) {
             TaskState ts = jobState.getHMTasks().get(taskId);
             if (ts == null) {
@@ -701,7 +730,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized TaskState getTaskState(JobId jobId, String taskName)
+    TaskState getTaskState(JobId jobId, String taskName)
             throws NotConnectedException, UnknownJobException, UnknownTaskException, PermissionException {
 
         checkPermissions("getJobState",
@@ -721,6 +750,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
             throw new UnknownTaskException(taskName, jobId);
         }
         JobState jobState = jobsMap.get(jobId);
+        if (jobState == null) {
+            throw new UnknownJobException(jobId);
+        }
         synchronized (jobState) {
             TaskState ts = jobState.getHMTasks().get(taskId);
             if (ts == null) {
@@ -730,7 +762,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
+    TaskId getTaskId(JobId jobId, String taskName) throws UnknownTaskException, UnknownJobException {
         if (jobsMap.get(jobId) == null) {
             throw new UnknownJobException(jobId);
         }
@@ -746,7 +778,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return taskId;
     }
 
-    synchronized void checkChangePolicy() throws NotConnectedException, PermissionException {
+    void checkChangePolicy() throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
 
         UserIdentificationImpl ident = identifications.get(id).getUser();
@@ -762,7 +794,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         }
     }
 
-    synchronized void checkLinkResourceManager() throws NotConnectedException, PermissionException {
+    void checkLinkResourceManager() throws NotConnectedException, PermissionException {
         UniqueID id = checkAccess();
 
         UserIdentificationImpl ident = identifications.get(id).getUser();
@@ -833,14 +865,14 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 logger.debug("event [" + eventType.toString() + "]");
             }
             for (ListeningUser userId : identifications.values()) {
+                ClientRequestHandler listener = userId.getListener();
                 // if this user has a listener
-                if (userId.isListening()) {
+                if (listener != null) {
                     // if there is no specified event OR if the specified event
                     // is allowed
                     if ((userId.getUser().getUserEvents() == null) ||
                         userId.getUser().getUserEvents().contains(eventType)) {
-                        userId.getListener().addEvent(eventMethods.get(SCHEDULER_STATE_UPDATED_EVENT_METHOD),
-                                                      eventType);
+                        listener.addEvent(eventMethods.get(SCHEDULER_STATE_UPDATED_EVENT_METHOD), eventType);
                     }
                 }
             }
@@ -862,8 +894,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 jlogger.debug(job.getJobInfo().getJobId(), " event [" + SchedulerEvent.JOB_SUBMITTED + "]");
             }
             for (ListeningUser listeningUserId : identifications.values()) {
+                ClientRequestHandler listener = listeningUserId.getListener();
                 // if this user has a listener
-                if (listeningUserId.isListening()) {
+                if (listener != null) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
                     // if there is no specified event OR if the specified
                     // event is allowed
@@ -873,7 +906,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_SUBMITTED_EVENT_METHOD), job);
+                            listener.addEvent(eventMethods.get(JOB_SUBMITTED_EVENT_METHOD), job);
                         }
                     }
 
@@ -907,8 +940,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 }
             }
             for (ListeningUser listeningUserId : identifications.values()) {
+                ClientRequestHandler listener = listeningUserId.getListener();
                 // if this user has a listener
-                if (listeningUserId.isListening()) {
+                if (listener != null) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
                     // if there is no specified event OR if the specified event
                     // is allowed
@@ -918,8 +952,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listener.addEvent(eventMethods.get(JOB_STATE_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -942,8 +975,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 jlogger.debug(job.getJobInfo().getJobId(), " event [" + SchedulerEvent.JOB_UPDATED + "]");
             }
             for (ListeningUser listeningUserId : identifications.values()) {
+                ClientRequestHandler listener = listeningUserId.getListener();
                 // if this user has a listener
-                if (listeningUserId.isListening()) {
+                if (listener != null) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
                     // if there is no specified event OR if the specified
                     // event is allowed
@@ -953,8 +987,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(job.getOwner()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(JOB_UPDATED_FULL_DATA_EVENT_METHOD),
-                                                                   job);
+                            listener.addEvent(eventMethods.get(JOB_UPDATED_FULL_DATA_EVENT_METHOD), job);
                         }
                     }
 
@@ -980,8 +1013,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 tlogger.debug(notification.getData().getTaskId(), "event [" + notification.getEventType() + "]");
             }
             for (ListeningUser listeningUserId : identifications.values()) {
+                ClientRequestHandler listener = listeningUserId.getListener();
                 // if this user has a listener
-                if (listeningUserId.isListening()) {
+                if (listener != null) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
                     // if there is no specified event OR if the specified event
                     // is allowed
@@ -991,8 +1025,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         // (myEventOnly=true and it is its event)
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() && userId.getUsername().equals(owner))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(TASK_STATE_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listener.addEvent(eventMethods.get(TASK_STATE_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -1015,8 +1048,9 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 logger.debug("event [" + notification.getEventType() + "]");
             }
             for (ListeningUser listeningUserId : identifications.values()) {
+                ClientRequestHandler listener = listeningUserId.getListener();
                 // if this user has a listener
-                if (listeningUserId.isListening()) {
+                if (listener != null) {
                     UserIdentificationImpl userId = listeningUserId.getUser();
                     // if there is no specified event OR if the specified event
                     // is allowed
@@ -1027,8 +1061,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                         if (!userId.isMyEventsOnly() ||
                             (userId.isMyEventsOnly() &&
                              userId.getUsername().equals(notification.getData().getUsername()))) {
-                            listeningUserId.getListener().addEvent(eventMethods.get(USERS_UPDATED_EVENT_METHOD),
-                                                                   notification);
+                            listener.addEvent(eventMethods.get(USERS_UPDATED_EVENT_METHOD), notification);
                         }
                     }
                 }
@@ -1044,7 +1077,21 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
     }
 
     @Override
-    public synchronized void schedulerStateUpdated(SchedulerEvent eventType) {
+    public void schedulerStateUpdated(SchedulerEvent eventType) {
+        synchronized (sState) {
+            if (!updateStatus(eventType)) {
+                return;
+            }
+        }
+        // send the event for all case, except default
+        dispatchSchedulerStateUpdated(eventType);
+        this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
+    }
+
+    /**
+     * @return false if the event is not a scheduler state event
+     */
+    private boolean updateStatus(SchedulerEvent eventType) {
         switch (eventType) {
             case STARTED:
                 sState.setState(SchedulerStatus.STARTED);
@@ -1079,24 +1126,26 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 break;
             default:
                 logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " + eventType);
-                return;
+                return false;
         }
-        // send the event for all case, except default
-        dispatchSchedulerStateUpdated(eventType);
-        this.jmxHelper.getSchedulerRuntimeMBean().schedulerStateUpdatedEvent(eventType);
+        return true;
     }
 
     @Override
-    public synchronized void jobSubmitted(JobState job) {
+    public void jobSubmitted(JobState job) {
         ClientJobState storedJobState = new ClientJobState(job);
-        jobsMap.put(job.getId(), storedJobState);
-        sState.update(storedJobState);
-        dispatchJobSubmitted(job);
+        synchronized (storedJobState) {
+            jobsMap.put(job.getId(), storedJobState);
+            sState.update(storedJobState);
+            dispatchJobSubmitted(job);
+        }
+        this.jmxHelper.getSchedulerRuntimeMBean().jobSubmittedEvent(job);
     }
 
     @Override
-    public synchronized void jobStateUpdated(String owner, NotificationData<JobInfo> notification) {
+    public void jobStateUpdated(String owner, NotificationData<JobInfo> notification) {
         ClientJobState js = jobsMap.get(notification.getData().getJobId());
+        JobEmailNotification emailNotification;
         synchronized (js) {
             js.update(notification.getData());
             switch (notification.getEventType()) {
@@ -1134,20 +1183,24 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                                 notification.getEventType());
                     return;
             }
-            dispatchJobStateUpdated(owner, notification);
-            new JobEmailNotification(js, notification).checkAndSend();
+            emailNotification = new JobEmailNotification(js, notification);
         }
+        // events and mails are sent without blocking the readers of the job
+        dispatchJobStateUpdated(owner, notification);
+        this.jmxHelper.getSchedulerRuntimeMBean().jobStateUpdatedEvent(notification);
+        emailNotification.checkAndSend();
     }
 
     @Override
-    public synchronized void jobUpdatedFullData(JobState jobstate) {
+    public void jobUpdatedFullData(JobState jobstate) {
         ClientJobState storedJobState = new ClientJobState(jobstate);
         dispatchJobUpdatedFullData(storedJobState);
     }
 
     @Override
-    public synchronized void taskStateUpdated(String owner, NotificationData<TaskInfo> notification) {
+    public void taskStateUpdated(String owner, NotificationData<TaskInfo> notification) {
         JobState jobState = jobsMap.get(notification.getData().getJobId());
+        boolean dispatch = false;
         synchronized (jobState) {
             jobState.update(notification.getData());
             switch (notification.getEventType()) {
@@ -1158,26 +1211,29 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
                 case TASK_SKIPPED:
                 case TASK_REPLICATED:
                 case TASK_IN_ERROR_TO_FINISHED:
-                    dispatchTaskStateUpdated(owner, notification);
+                    dispatch = true;
                     break;
                 case TASK_PROGRESS:
                     // this event can be sent while task is already finished,
                     // as it is not a correct behavior, event is dropped if task is
                     // already finished.
                     // so if task is not finished, send event
-                    if (notification.getData().getFinishedTime() <= 0) {
-                        dispatchTaskStateUpdated(owner, notification);
-                    }
+                    dispatch = notification.getData().getFinishedTime() <= 0;
                     break;
                 default:
                     logger.warn("**WARNING** - Unconsistent update type received from Scheduler Core : " +
                                 notification.getEventType());
             }
         }
+        // the event is sent without blocking the readers of the job
+        if (dispatch) {
+            dispatchTaskStateUpdated(owner, notification);
+        }
+        this.jmxHelper.getSchedulerRuntimeMBean().taskStateUpdatedEvent(notification);
     }
 
     @Override
-    public synchronized void usersUpdated(NotificationData<UserIdentification> notification) {
+    public void usersUpdated(NotificationData<UserIdentification> notification) {
         switch (notification.getEventType()) {
             case USERS_UPDATE:
                 dispatchUsersUpdated(notification, true);
@@ -1209,7 +1265,7 @@ class SchedulerFrontendState implements SchedulerStateUpdate {
         return userData;
     }
 
-    synchronized List<SchedulerUserInfo> getUsers() {
+    List<SchedulerUserInfo> getUsers() {
         List<SchedulerUserInfo> users = new ArrayList<>(identifications.size());
         for (ListeningUser listeningUser : identifications.values()) {
             UserIdentificationImpl user = listeningUser.getUser();
@@ -38,4 +38,11 @@ public interface SchedulingMethod {
      */
     int schedule();
 
+    /**
+     * Checks if resources were freed since the last scheduling pass or check.
+     *
+     * @return true if a scheduling pass could use new free resources
+     */
+    boolean hasNewFreeResources();
+
 }
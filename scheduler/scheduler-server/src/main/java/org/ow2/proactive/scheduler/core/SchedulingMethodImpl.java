@@ -36,6 +36,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
@@ -47,6 +50,10 @@ import org.objectweb.proactive.core.node.NodeFactory;
 import org.objectweb.proactive.utils.NamedThreadFactory;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta.NodeUrlState;
+import org.ow2.proactive.resourcemanager.common.RMStateMirror;
+import org.ow2.proactive.resourcemanager.frontend.RMEventListener;
 import org.ow2.proactive.resourcemanager.frontend.topology.TopologyDisabledException;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
@@ -54,8 +61,10 @@ import org.ow2.proactive.scheduler.common.TaskDescriptor;
 import org.ow2.proactive.scheduler.common.TaskTerminateNotification;
 import org.ow2.proactive.scheduler.common.job.JobId;
 import org.ow2.proactive.scheduler.common.job.JobType;
+import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.common.util.VariableSubstitutor;
+import org.ow2.proactive.scheduler.core.TaskDeploymentStatistics.Stage;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.helpers.VariableBatchSizeIterator;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
@@ -73,7 +82,6 @@ import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.scheduler.task.internal.TaskRecoveryData;
 import org.ow2.proactive.scheduler.util.JobLogger;
 import org.ow2.proactive.scheduler.util.TaskLogger;
-import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.scripting.SelectionScript;
 import org.ow2.proactive.threading.TimeoutThreadPoolExecutor;
 import org.ow2.proactive.topology.descriptor.TopologyDescriptor;
@@ -114,8 +122,25 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
 
     private TaskTerminateNotification terminateNotification;
 
+    private final String terminateNotificationNodeURL;
+
+    private final TaskDeploymentPipeline deploymentPipeline;
+
+    private final TaskDeploymentStatistics deploymentStatistics;
+
     private CheckEligibleTaskDescriptorScript checkEligibleTaskDescriptorScript;
 
+    /** Node sources of the resource manager nodes, used to bound the deployments per node source */
+    private final NodeSourcesIndex nodeSources = new NodeSourcesIndex();
+
+    private final RMEventListener nodeFreedNotification;
+
+    /** Whether the registration of the node freed listener was attempted, only accessed by the scheduling thread */
+    private boolean nodeFreedNotificationAdded;
+
+    /** Local copy of the resource manager nodes, only accessed by the scheduling thread */
+    private final RMStateMirror rmStateMirror = new RMStateMirror();
+
     public SchedulingMethodImpl(SchedulingService schedulingService) throws Exception {
         this.schedulingService = schedulingService;
         this.checkEligibleTaskDescriptorScript = new CheckEligibleTaskDescriptorScript();
@@ -127,11 +152,43 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                                                           TaskTerminateNotification.class.getName(),
                                                           terminateNotificationNode);
 
+        this.terminateNotificationNodeURL = terminateNotificationNode.getNodeInformation().getURL();
+        this.nodeFreedNotification = PAActiveObject.turnActive(new NodeFreedNotification(schedulingService,
+                                                                                         nodeSources),
+                                                               RMEventListener.class.getName(),
+                                                               terminateNotificationNode);
+
         this.threadPool = TimeoutThreadPoolExecutor.newFixedThreadPool(PASchedulerProperties.SCHEDULER_STARTTASK_THREADNUMBER.getValueAsInt(),
                                                                        new NamedThreadFactory("DoTask_Action"));
+        this.deploymentStatistics = schedulingService.getTaskDeploymentStatistics();
+        this.deploymentPipeline = new TaskDeploymentPipeline(schedulingService,
+                                                             PASchedulerProperties.SCHEDULER_TASK_DEPLOYMENT_THREADNUMBER.getValueAsInt(),
+                                                             PASchedulerProperties.SCHEDULER_TASK_DEPLOYMENT_PER_NODE_SOURCE.getValueAsInt(),
+                                                             PASchedulerProperties.SCHEDULER_TASK_DEPLOYMENT_TIMEOUT.getValueAsInt(),
+                                                             nodeSources,
+                                                             deploymentStatistics,
+                                                             new TaskLauncherPool(PASchedulerProperties.SCHEDULER_TASK_LAUNCHER_REUSE_MAX_TASKS.getValueAsInt() > 1,
+                                                                                  PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt(),
+                                                                                  this::registerResidentLauncher));
         this.corePrivateKey = Credentials.getPrivateKey(PASchedulerProperties.getAbsolutePath(PASchedulerProperties.SCHEDULER_AUTH_PRIVKEY_PATH.getValueAsString()));
     }
 
+    /**
+     * Lets the resource manager push the freed nodes to the scheduling loop, which then only polls the
+     * resource manager if the listener cannot be registered. Called from the scheduling thread, once the
+     * thread woken up by the listener exists.
+     */
+    private void listenToFreedNodes() {
+        if (!nodeFreedNotificationAdded) {
+            nodeFreedNotificationAdded = true;
+            try {
+                getRMProxiesManager().getRmProxy().addNodeEventListener(nodeFreedNotification, nodeSources::reset);
+            } catch (Exception e) {
+                logger.warn("Cannot listen to the node events of the RM, the free nodes will be polled", e);
+            }
+        }
+    }
+
     RMProxiesManager getRMProxiesManager() {
         return schedulingService.getInfrastructure().getRMProxiesManager();
     }
@@ -140,6 +197,17 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         getRMProxiesManager().getUserRMProxy(job.getOwner(), job.getCredentials()).releaseNodes(nodeSet);
     }
 
+    /**
+     * Lets the resource manager keep a reusable task launcher on its node when the node is released.
+     * The registration goes through the proxy of the job owner, which holds the node.
+     */
+    private boolean registerResidentLauncher(InternalJob job, Node node, TaskLauncher launcher)
+            throws RMProxyCreationException {
+        return getRMProxiesManager().getUserRMProxy(job.getOwner(), job.getCredentials())
+                                    .setResidentActiveObject(node.getNodeInformation().getURL(),
+                                                             PAActiveObject.getUrl(launcher));
+    }
+
     /**
      * Scheduling process. For this implementation, steps are :<br>
      * <ul>
@@ -159,6 +227,7 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
      * @return the number of tasks that have been started
      */
     public int schedule() {
+        listenToFreedNodes();
         Policy currentPolicy = schedulingService.getPolicy();
 
         //Number of time to retry an active object creation before leaving scheduling loop
@@ -222,7 +291,7 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     private Set<String> getFreeResources(Policy currentPolicy) {
-        RMState rmState = getRMProxiesManager().getRmProxy().getState();
+        RMState rmState = getRMState();
         currentPolicy.setRMState(rmState);
         Set<String> freeResources = rmState.getFreeNodes();
         if (logger.isDebugEnabled()) {
@@ -231,6 +300,46 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         return freeResources;
     }
 
+    /**
+     * Update the local mirror of the resource manager state with the changes since the
+     * previous scheduling loop and return it.
+     */
+    private RMState getRMState() {
+        updateRMStateMirror();
+        return rmStateMirror.toRMState();
+    }
+
+    private RMStateDelta updateRMStateMirror() {
+        RMStateDelta delta = getRMProxiesManager().getRmProxy().getStateDelta(rmStateMirror.getEpoch(),
+                                                                               rmStateMirror.getRevision());
+        rmStateMirror.apply(delta);
+        if (logger.isTraceEnabled()) {
+            logger.trace("applied resource manager state " + delta);
+        }
+        return delta;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean hasNewFreeResources() {
+        try {
+            if (getRMProxiesManager().getRmProxy().isNodeEventListenerRegistered()) {
+                // the freed nodes wake up the scheduling loop through NodeFreedNotification
+                return false;
+            }
+            RMStateDelta delta = updateRMStateMirror();
+            if (delta.isSnapshot()) {
+                return !rmStateMirror.toRMState().getFreeNodes().isEmpty();
+            }
+            return delta.getChanges().containsValue(NodeUrlState.ELIGIBLE);
+        } catch (Exception e) {
+            // the next scheduling pass will report the problem with the resource manager
+            logger.debug("Cannot check the free resources of the resource manager", e);
+            return false;
+        }
+    }
+
     private void logSelectedJobs(Map<JobId, JobDescriptor> jobMap) {
         if (logger.isTraceEnabled() && jobMap == null || jobMap.isEmpty()) {
             logger.trace("No jobs selected to be scheduled");
@@ -293,9 +402,12 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                     freeResources.removeAll(nodeSet.getAllNodesUrls());
                 }
 
-                //start selected tasks
+                //reserve the nodes of the selected tasks
                 Node node = null;
                 InternalJob currentJob = null;
+                // task accepted by the policy whose execution is being prepared
+                TaskId acceptedTask = null;
+                List<TaskDeployment> deployments = new ArrayList<>();
                 try {
                     while (nodeSet != null && !nodeSet.isEmpty()) {
                         EligibleTaskDescriptor taskDescriptor = tasksToSchedule.removeFirst();
@@ -303,13 +415,21 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                         InternalTask internalTask = ((EligibleTaskDescriptorImpl) taskDescriptor).getInternal();
 
                         if (currentPolicy.isTaskExecutable(nodeSet, taskDescriptor)) {
-                            //create launcher and try to start the task
+                            acceptedTask = internalTask.getId();
+                            //the launcher of the task is created later by the deployment pipeline
                             node = nodeSet.get(0);
 
-                            if (createExecution(nodeSet, node, currentJob, internalTask, taskDescriptor)) {
-                                numberOfTaskStarted++;
+                            TaskDeployment deployment = prepareExecution(nodeSet,
+                                                                         node,
+                                                                         currentJob,
+                                                                         internalTask,
+                                                                         taskDescriptor);
+                            if (deployment != null) {
+                                deployments.add(deployment);
+                            } else {
+                                schedulingService.taskReleased(internalTask.getId());
                             }
-
+                            acceptedTask = null;
                         }
 
                         //if every task that should be launched have been removed
@@ -323,22 +443,13 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                             break;
                         }
                     }
-                } catch (ActiveObjectCreationException e1) {
-                    //Something goes wrong with the active object creation (createLauncher)
-                    logger.warn("An exception occured while creating the task launcher.", e1);
-                    //so try to get back every remaining nodes to the resource manager
-                    try {
-                        releaseNodes(currentJob, nodeSet);
-                        freeResources.addAll(nodeSet.getAllNodesUrls());
-                    } catch (Exception e2) {
-                        logger.info("Unable to get back the nodeSet to the RM", e2);
-                    }
-                    if (--activeObjectCreationRetryTimeNumber == 0) {
-                        break;
-                    }
                 } catch (Exception e1) {
                     //if we are here, it is that something append while launching the current task.
                     logger.warn("An exception occured while starting task.", e1);
+                    //the current task will not run, what the policy reserved for it is released
+                    if (acceptedTask != null) {
+                        schedulingService.taskReleased(acceptedTask);
+                    }
                     //so try to get back every remaining nodes to the resource manager
                     try {
                         releaseNodes(currentJob, nodeSet);
@@ -347,6 +458,12 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                         logger.info("Unable to get back the nodeSet to the RM", e2);
                     }
                 }
+
+                //create the launchers of the reserved tasks concurrently and start them
+                numberOfTaskStarted += startExecutions(deployments, freeResources);
+                if (activeObjectCreationRetryTimeNumber == 0) {
+                    break;
+                }
             }
             if (freeResources.isEmpty()) {
                 break;
@@ -490,6 +607,7 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                 // scripts and then set it as the selection criteria.
                 criteria.setScripts(resolveScriptVariables(internalTask0.getSelectionScripts(),
                                                            internalTask0.getRuntimeVariables()));
+                setResultCacheTimeout(criteria.getScripts(), internalTask0.getRuntimeGenericInformation());
                 criteria.setBlackList(internalTask0.getNodeExclusion());
                 criteria.setBestEffort(bestEffort);
                 criteria.setAcceptableNodesUrls(freeResources);
@@ -569,26 +687,6 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         return bindings;
     }
 
-    public static SelectionScript replaceBindingsInsideScript(SelectionScript script,
-            Map<String, Serializable> bindings) {
-        String scriptContent = script.fetchScript();
-        if (bindings != null) {
-            for (Map.Entry<String, Serializable> entry : bindings.entrySet()) {
-                scriptContent = scriptContent.replace(entry.getKey(), entry.getValue().toString());
-            }
-        }
-        try {
-            return new SelectionScript(scriptContent,
-                                       script.getEngineName(),
-                                       script.getParameters(),
-                                       script.isDynamic());
-        } catch (InvalidScriptException e) {
-            logger.warn("Error when replacing bindings of script (revert to use original script):" +
-                        System.lineSeparator() + script.toString(), e);
-            return script;
-        }
-    }
-
     /**
      * Load and initialize the task to be started
      *
@@ -604,18 +702,18 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
     }
 
     /**
-     * Create launcher and try to start the task.
+     * Reserve the nodes of a task for its deployment.
      *
      * @param nodeSet the node set containing every available nodes that can be used for execution
      * @param node the node on which to start the task
      * @param job the job that owns the task to be started
      * @param task the task to be started
      * @param taskDescriptor the descriptor of the task to be started
-     *
+     * @return the deployment of the task, or null if the task cannot be started
      */
-    protected boolean createExecution(NodeSet nodeSet, Node node, InternalJob job, InternalTask task,
-            TaskDescriptor taskDescriptor) throws Exception {
-        TaskLauncher launcher = null;
+    protected TaskDeployment prepareExecution(NodeSet nodeSet, Node node, InternalJob job, InternalTask task,
+            TaskDescriptor taskDescriptor) {
+        long start = System.nanoTime();
         LiveJobs.JobData jobData = null;
         try {
             jobData = schedulingService.lockJob(job.getId());
@@ -627,93 +725,191 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
                 DataSpaceServiceStarter dsStarter = schedulingService.getInfrastructure().getDataSpaceServiceStarter();
                 job.startDataSpaceApplication(dsStarter.getNamingService(), ImmutableList.of(task));
 
-                NodeSet nodes = new NodeSet();
-                try {
-
-                    // create launcher
-                    launcher = task.createLauncher(node);
+                nodeSet.remove(0);
 
-                    activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
+                //if topology is enabled and it is a multi task, give every nodes to the multi-nodes task
+                // we will need to update this code once topology will be allowed for single-node task
+                NodeSet nodes = new NodeSet();
+                if (task.isParallel()) {
+                    nodes = new NodeSet(nodeSet);
+                    nodeSet.clear();
+                }
 
-                    nodeSet.remove(0);
+                return new TaskDeployment(job, task, taskDescriptor, node, nodes);
+            } else {
+                return null;
+            }
+        } finally {
+            if (jobData != null) {
+                jobData.unlock();
+            }
+            deploymentStatistics.record(Stage.RESERVATION, start);
+        }
+    }
 
-                    //if topology is enabled and it is a multi task, give every nodes to the multi-nodes task
-                    // we will need to update this code once topology will be allowed for single-node task
-                    if (task.isParallel()) {
-                        nodes = new NodeSet(nodeSet);
-                        task.getExecuterInformation().addNodes(nodes);
-                        nodeSet.clear();
+    /**
+     * Create the launchers of the reserved tasks in the deployment pipeline and start the tasks
+     * whose launcher could be created. The nodes of the other tasks are given back to the
+     * resource manager.
+     *
+     * @param deployments the tasks whose nodes are reserved
+     * @param freeResources the free nodes of the current scheduling loop
+     * @return the number of tasks that have been started
+     */
+    private int startExecutions(List<TaskDeployment> deployments, Set<String> freeResources) {
+        if (deployments.isEmpty()) {
+            return 0;
+        }
+        int numberOfTaskStarted = 0;
+        // a hung launcher creation must not block the scheduling thread: the pipeline cancels the deployments
+        // which run for longer than the deployment timeout
+        List<Future<TaskDeployment>> futures = deploymentPipeline.deploy(deployments);
+        for (int i = 0; i < deployments.size(); i++) {
+            TaskDeployment deployment = deployments.get(i);
+            boolean started = false;
+            try {
+                futures.get(i).get();
+                activeObjectCreationRetryTimeNumber = ACTIVEOBJECT_CREATION_RETRY_TIME_NUMBER;
+                started = startExecution(deployment);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ActiveObjectCreationException) {
+                    //Something goes wrong with the active object creation (createLauncher)
+                    logger.warn("An exception occured while creating the task launcher.", e.getCause());
+                    if (activeObjectCreationRetryTimeNumber > 0) {
+                        activeObjectCreationRetryTimeNumber--;
                     }
+                } else {
+                    logger.warn("An exception occured while starting task.", e.getCause());
+                }
+            } catch (CancellationException e) {
+                logger.warn("The task launcher of task " + deployment.getTask().getId() + " was not created in " +
+                            PASchedulerProperties.SCHEDULER_TASK_DEPLOYMENT_TIMEOUT.getValueAsInt() + " ms");
+            } catch (InterruptedException e) {
+                logger.warn("Interrupted while starting task " + deployment.getTask().getId());
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("An exception occured while starting task.", e);
+            }
+            if (started) {
+                numberOfTaskStarted++;
+            } else {
+                abortExecution(deployment, freeResources);
+            }
+        }
+        return numberOfTaskStarted;
+    }
 
-                    //set nodes in the executable container
-                    task.getExecutableContainer().setNodes(nodes);
+    /**
+     * Start a task whose launcher has been created.
+     *
+     * @param deployment the deployment of the task
+     * @return false if the task cannot be started anymore, i.e. it was paused or its job was killed
+     *         while its launcher was created
+     */
+    protected boolean startExecution(TaskDeployment deployment) {
+        long start = System.nanoTime();
+        InternalJob job = deployment.getJob();
+        InternalTask task = deployment.getTask();
+        TaskDescriptor taskDescriptor = deployment.getTaskDescriptor();
+        LiveJobs.JobData jobData = null;
+        try {
+            jobData = schedulingService.lockJob(job.getId());
+            if (jobData == null || !isStartable(task.getStatus())) {
+                return false;
+            }
 
-                    tlogger.debug(task.getId(), "deploying");
+            NodeSet nodes = deployment.getNodes();
+            if (task.isParallel()) {
+                task.getExecuterInformation().addNodes(nodes);
+            }
 
-                    // Dynamically adjust the start-task-timeout according to the number dependency tasks in a merge.
-                    // above 500 parent tasks, it is worth adjusting.
-                    if (taskDescriptor.getParents().size() > 500) {
-                        dotaskActionTimeout = (int) (taskDescriptor.getParents().size() / 500.0 *
-                                                     PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt());
-                    } else {
-                        // reset the dotaskActionTimeout to its default value otherwise.
-                        dotaskActionTimeout = PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt();
-                    }
+            //set nodes in the executable container
+            task.getExecutableContainer().setNodes(nodes);
 
-                    boolean taskRecoverable = getRMProxiesManager().getRmProxy().areNodesRecoverable(nodes);
-                    String terminateNotificationNodeURL = PAActiveObject.getActiveObjectNode(terminateNotification)
-                                                                        .getNodeInformation()
-                                                                        .getURL();
-                    TaskRecoveryData taskRecoveryData = new TaskRecoveryData(terminateNotificationNodeURL,
-                                                                             taskRecoverable);
-
-                    threadPool.submitWithTimeout(new TimedDoTaskAction(job,
-                                                                       taskDescriptor,
-                                                                       launcher,
-                                                                       schedulingService,
-                                                                       terminateNotification,
-                                                                       corePrivateKey,
-                                                                       taskRecoveryData),
-
-                                                 dotaskActionTimeout,
-                                                 TimeUnit.MILLISECONDS);
-
-                    // we advertise here that the task is started, however
-                    // this is not entirely true: the only thing we are sure
-                    // about at this point is that we submitted to the thread
-                    // pool the action that will call the "doTask" of the task
-                    // launcher. There is thus a small gap here where the task
-                    // is seen as started whereas it is not yet started. We
-                    // cannot easily move the task started notification because
-                    // 1) it makes the job lock acquisition less predictable
-                    // (because the TimeDoTaskAction will have to compete with
-                    // the SchedulingMethodImpl)
-                    // and more importantly 2) the
-                    // SchedulingMethodImpl#createExecution may happen to be
-                    // called a second time for the task that is currently being
-                    // started by the TimedDoTaskAction.
-                    finalizeStarting(job, task, node, launcher);
-                    return true;
-                } catch (Exception t) {
-                    try {
-                        //if there was a problem, free nodeSet for multi-nodes task
-                        nodes.add(node);
-                        releaseNodes(job, nodes);
-                    } catch (Throwable ni) {
-                        //miam miam
-                    }
-                    throw t;
-                }
+            tlogger.debug(task.getId(), "deploying");
 
+            // Dynamically adjust the start-task-timeout according to the number dependency tasks in a merge.
+            // above 500 parent tasks, it is worth adjusting.
+            if (taskDescriptor.getParents().size() > 500) {
+                dotaskActionTimeout = (int) (taskDescriptor.getParents().size() / 500.0 *
+                                             PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt());
             } else {
-                return false;
+                // reset the dotaskActionTimeout to its default value otherwise.
+                dotaskActionTimeout = PASchedulerProperties.SCHEDULER_STARTTASK_TIMEOUT.getValueAsInt();
             }
+
+            TaskRecoveryData taskRecoveryData = new TaskRecoveryData(terminateNotificationNodeURL,
+                                                                     deployment.isTaskRecoverable());
+
+            threadPool.submitWithTimeout(new TimedDoTaskAction(job,
+                                                               taskDescriptor,
+                                                               deployment.getLauncher(),
+                                                               deployment.getLauncherPublicKey(),
+                                                               schedulingService,
+                                                               terminateNotification,
+                                                               corePrivateKey,
+                                                               taskRecoveryData,
+                                                               deploymentStatistics),
+
+                                         dotaskActionTimeout,
+                                         TimeUnit.MILLISECONDS);
+
+            // we advertise here that the task is started, however
+            // this is not entirely true: the only thing we are sure
+            // about at this point is that we submitted to the thread
+            // pool the action that will call the "doTask" of the task
+            // launcher. There is thus a small gap here where the task
+            // is seen as started whereas it is not yet started. We
+            // cannot easily move the task started notification because
+            // 1) it makes the job lock acquisition less predictable
+            // (because the TimeDoTaskAction will have to compete with
+            // the SchedulingMethodImpl)
+            // and more importantly 2) the
+            // SchedulingMethodImpl#prepareExecution may happen to be
+            // called a second time for the task that is currently being
+            // started by the TimedDoTaskAction.
+            finalizeStarting(job, task, deployment.getNode(), deployment.getLauncher());
+            return true;
         } finally {
             if (jobData != null) {
                 jobData.unlock();
             }
+            deploymentStatistics.record(Stage.START, start);
         }
+    }
 
+    /**
+     * The job lock is released while the launcher of a task is created, the task may have been
+     * paused, killed or restarted meanwhile.
+     */
+    private boolean isStartable(TaskStatus status) {
+        return status.isTaskAlive() && status != TaskStatus.PAUSED && status != TaskStatus.RUNNING &&
+               status != TaskStatus.IN_ERROR;
+    }
+
+    /**
+     * Give back the nodes of a task which could not be started and terminate its launcher.
+     */
+    private void abortExecution(TaskDeployment deployment, Set<String> freeResources) {
+        if (deployment.getTask().getStatus() != TaskStatus.RUNNING) {
+            // a running task was started by another call, it still needs what the policy reserved for it
+            schedulingService.taskReleased(deployment.getTask().getId());
+        }
+        TaskLauncher launcher = deployment.getLauncher();
+        if (launcher != null) {
+            try {
+                PAActiveObject.terminateActiveObject(launcher, true);
+            } catch (Throwable t) {
+                tlogger.debug(deployment.getTask().getId(), "cannot terminate the task launcher", t);
+            }
+        }
+        NodeSet nodes = deployment.getAllNodes();
+        try {
+            releaseNodes(deployment.getJob(), nodes);
+            freeResources.addAll(nodes.getAllNodesUrls());
+        } catch (Exception e) {
+            logger.info("Unable to get back the nodeSet to the RM", e);
+        }
     }
 
     /**
@@ -736,6 +932,26 @@ public final class SchedulingMethodImpl implements SchedulingMethod {
         return schedulingService.getInfrastructure().getDBManager();
     }
 
+    /**
+     * Sets the time during which nodes reuse the results of the selection scripts,
+     * when it is given in the generic information of the task.
+     */
+    private void setResultCacheTimeout(List<SelectionScript> selectionScripts, Map<String, String> genericInformation) {
+        String timeout = genericInformation.get(SchedulerConstants.SELECTION_SCRIPTS_CACHE_TIMEOUT);
+        if (selectionScripts == null || timeout == null) {
+            return;
+        }
+        try {
+            long resultCacheTimeout = Long.parseLong(timeout.trim());
+            for (SelectionScript script : selectionScripts) {
+                script.setResultCacheTimeout(resultCacheTimeout);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid " + SchedulerConstants.SELECTION_SCRIPTS_CACHE_TIMEOUT + " generic information : " +
+                        timeout);
+        }
+    }
+
     /*
      * Replace selection script variables with values specified in the map.
      */
@@ -39,13 +39,12 @@ import java.util.Set;
 import java.util.Vector;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.log4j.Logger;
 import org.objectweb.proactive.core.node.Node;
 import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.authentication.crypto.Credentials;
-import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil;
-import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
 import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.NotificationData;
 import org.ow2.proactive.scheduler.common.SchedulerEvent;
@@ -62,12 +61,12 @@ import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.util.logforwarder.AppenderProvider;
 import org.ow2.proactive.scheduler.core.db.RecoveredSchedulerState;
-import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.JobInfoImpl;
 import org.ow2.proactive.scheduler.policy.Policy;
+import org.ow2.proactive.scheduler.policy.license.LicenseManager;
 import org.ow2.proactive.scheduler.rest.data.JobStateImpl;
 import org.ow2.proactive.scheduler.task.TaskInfoImpl;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
@@ -111,6 +110,15 @@ public class SchedulingService {
 
     private final SchedulingThread schedulingThread;
 
+    private final TaskDeploymentStatistics taskDeploymentStatistics = new TaskDeploymentStatistics();
+
+    private final TaskCredentialsCache taskCredentialsCache;
+
+    private final HousekeepingStatistics housekeepingStatistics = new HousekeepingStatistics();
+
+    /** Licenses used by the running tasks, kept when the policy changes */
+    private final LicenseManager licenseManager = LicenseManager.fromConfiguration();
+
     private Thread pinger;
 
     private Scheduler houseKeepingScheduler;
@@ -125,6 +133,9 @@ public class SchedulingService {
             throws Exception {
         this.infrastructure = infrastructure;
         this.listener = listener;
+        this.taskCredentialsCache = new TaskCredentialsCache(infrastructure.getDBManager(),
+                                                             PASchedulerProperties.SCHEDULER_CREDENTIALS_CACHE_SIZE.getValueAsInt(),
+                                                             PASchedulerProperties.SCHEDULER_CREDENTIALS_CACHE_EXPIRATION.getValueAsInt());
         this.jobs = new LiveJobs(infrastructure.getDBManager(), listener);
         if (recoveredState != null) {
             recover(recoveredState);
@@ -135,6 +146,8 @@ public class SchedulingService {
         if (!this.policy.reloadConfig()) {
             throw new RuntimeException("Scheduling policy cannot be started, see log file for details.");
         }
+        this.policy.setLicenseManager(licenseManager);
+        restoreLicensesOfRunningTasks();
         logger.debug("Instantiated policy : " + policyClassName);
 
         lastRmUrl = infrastructure.getRMProxiesManager().getRmUrl();
@@ -238,7 +251,7 @@ public class SchedulingService {
         logger.info("Scheduler has just been resumed !");
         listener.schedulerStateUpdated(SchedulerEvent.RESUMED);
 
-        wakeUpSchedulingThread();
+        wakeUpSchedulingThread(SchedulingWakeReason.SCHEDULER_RESUMED);
 
         return true;
     }
@@ -288,19 +301,17 @@ public class SchedulingService {
         CredData credData = creds.decrypt(privateKey);
 
         //retrive database to get third party credentials from
-        SchedulerDBManager dbManager = getInfrastructure().getDBManager();
-        if (dbManager != null) {
-            Map<String, HybridEncryptedData> thirdPartyCredentials = dbManager.thirdPartyCredentialsMap(credData.getLogin());
-            if (thirdPartyCredentials == null) {
+        if (getInfrastructure().getDBManager() != null) {
+            Map<String, String> thirdPartyCredentials;
+            try {
+                thirdPartyCredentials = taskCredentialsCache.getThirdPartyCredentials(credData.getLogin(), privateKey);
+            } catch (KeyException e) {
                 logger.error("Failed to retrieve Third Party Credentials!");
-                throw new KeyException("Failed to retrieve thirdPartyCredentials!");
-            } else {
-                //cycle third party credentials, add one-by-one to the decrypter
-                for (Map.Entry<String, HybridEncryptedData> thirdPartyCredential : thirdPartyCredentials.entrySet()) {
-                    String decryptedValue = HybridEncryptionUtil.decryptString(thirdPartyCredential.getValue(),
-                                                                               privateKey);
-                    credData.addThirdPartyCredential(thirdPartyCredential.getKey(), decryptedValue);
-                }
+                throw e;
+            }
+            //cycle third party credentials, add one-by-one to the decrypter
+            for (Map.Entry<String, String> thirdPartyCredential : thirdPartyCredentials.entrySet()) {
+                credData.addThirdPartyCredential(thirdPartyCredential.getKey(), thirdPartyCredential.getValue());
             }
         }
         return Credentials.createCredentials(credData, publicKey);
@@ -368,6 +379,7 @@ public class SchedulingService {
                 return false;
             }
             //if success, change current policy
+            newPolicy.setLicenseManager(licenseManager);
             policy = newPolicy;
             listener.schedulerStateUpdated(SchedulerEvent.POLICY_CHANGED);
             logger.info("Policy changed ! new policy name : " + newPolicyClassName);
@@ -434,6 +446,37 @@ public class SchedulingService {
         jobs.taskStarted(job, task, launcher);
     }
 
+    /*
+     * Should be called when a task accepted by the policy does not run anymore
+     */
+    void taskReleased(TaskId taskId) {
+        if (licenseManager.release(taskId)) {
+            logger.debug("Licenses of task " + taskId + " released");
+        }
+    }
+
+    /*
+     * The recovered running tasks keep their licenses, even beyond the configured number
+     */
+    private void restoreLicensesOfRunningTasks() {
+        for (RunningTaskData taskData : jobs.getRunningTasks()) {
+            List<String> requiredLicenses = LicenseManager.getRequiredLicenses(taskData.getTask()
+                                                                                       .getRuntimeGenericInformation());
+            if (requiredLicenses != null) {
+                logger.debug("Restoring licenses " + requiredLicenses + " of running task " +
+                             taskData.getTask().getId());
+                licenseManager.restore(taskData.getTask().getId(), requiredLicenses);
+            }
+        }
+    }
+
+    /**
+     * @return the licenses of the software used by the running tasks
+     */
+    public LicenseManager getLicenseManager() {
+        return licenseManager;
+    }
+
     /*
      * Should be called only by scheduling method impl while it holds job lock
      */
@@ -498,7 +541,7 @@ public class SchedulingService {
                 @Override
                 public Boolean call() throws Exception {
                     Boolean result = jobs.restartAllInErrorTasks(jobId);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_RESTARTED);
                     return result;
                 }
             }).get();
@@ -513,7 +556,7 @@ public class SchedulingService {
                 @Override
                 public Boolean call() throws Exception {
                     Boolean result = jobs.resumeJob(jobId);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.JOB_STATE_CHANGED);
                     return result;
                 }
             }).get();
@@ -532,7 +575,7 @@ public class SchedulingService {
                 public void run() {
                     jlogger.info(jobId, "request to change the priority to " + priority);
                     jobs.changeJobPriority(jobId, priority);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.PRIORITY_CHANGED);
                 }
             }).get();
         } catch (Exception e) {
@@ -572,7 +615,7 @@ public class SchedulingService {
                 } catch (Exception e) {
                     logger.error("Exception occurred, fail to get variables into the cleaning script: ", e);
                 }
-                wakeUpSchedulingThread();
+                wakeUpSchedulingThread(SchedulingWakeReason.TASK_RESTARTED);
             }
         });
     }
@@ -606,7 +649,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.killJob(jobId);
                     boolean jobKilled = terminationData.jobTerminated(jobId);
                     submitTerminationDataHandler(terminationData);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.JOB_STATE_CHANGED);
                     return jobKilled;
                 }
             }).get();
@@ -635,7 +678,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.killTask(jobId, taskName);
                     boolean taskKilled = terminationData.taskTerminated(jobId, taskName);
                     submitTerminationDataHandler(terminationData);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_TERMINATED);
                     return taskKilled;
                 }
             }).get();
@@ -667,7 +710,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.restartTask(jobId, taskName, restartDelay);
                     boolean taskRestarted = terminationData.taskTerminated(jobId, taskName);
                     submitTerminationDataHandler(terminationData);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_RESTARTED);
                     return taskRestarted;
                 }
             }).get();
@@ -699,7 +742,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.finishInErrorTask(jobId, taskName);
                     boolean taskfinished = terminationData.taskTerminated(jobId, taskName);
                     submitTerminationDataHandler(terminationData);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_TERMINATED);
                     return taskfinished;
                 }
             }).get();
@@ -727,7 +770,7 @@ public class SchedulingService {
                 @Override
                 public Boolean call() throws Exception {
                     jobs.restartInErrorTask(jobId, taskName);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_RESTARTED);
                     return Boolean.TRUE;
                 }
             }).get();
@@ -753,7 +796,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.preemptTask(jobId, taskName, restartDelay);
                     boolean taskRestarted = terminationData.taskTerminated(jobId, taskName);
                     submitTerminationDataHandler(terminationData);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_RESTARTED);
                     return taskRestarted;
                 }
             }).get();
@@ -800,7 +843,7 @@ public class SchedulingService {
                     TerminationData terminationData = jobs.taskTerminatedWithResult(taskId,
                                                                                     (TaskResultImpl) taskResult);
                     terminationData.handleTermination(SchedulingService.this);
-                    wakeUpSchedulingThread();
+                    wakeUpSchedulingThread(SchedulingWakeReason.TASK_TERMINATED);
                 } catch (Throwable e) {
                     logger.error("Failed to terminate task " + taskId, e);
                 }
@@ -1098,17 +1141,72 @@ public class SchedulingService {
         schedulingThread.sleepSchedulingThread();
     }
 
-    protected void wakeUpSchedulingThread() {
-        schedulingThread.wakeUpSchedulingThread();
+    protected void wakeUpSchedulingThread(SchedulingWakeReason reason) {
+        schedulingThread.wakeUpSchedulingThread(reason);
+    }
+
+    public SchedulingWakeupStatistics getWakeupStatistics() {
+        return schedulingThread.getWakeupStatistics();
+    }
+
+    public TaskDeploymentStatistics getTaskDeploymentStatistics() {
+        return taskDeploymentStatistics;
+    }
+
+    public TaskCredentialsCache getTaskCredentialsCache() {
+        return taskCredentialsCache;
+    }
+
+    public HousekeepingStatistics getHousekeepingStatistics() {
+        return housekeepingStatistics;
+    }
+
+    /**
+     * Splits the jobs removed by the housekeeping into the groups removed in one database transaction.
+     * A group holds at most {@code maxJobs} jobs and, unless it holds a single job, at most
+     * {@code maxTasks} tasks. The identifiers of a group are sorted.
+     *
+     * @param jobs the jobs to remove
+     * @param maxJobs the maximum number of jobs in a group
+     * @param maxTasks the maximum number of tasks in a group
+     * @return the identifiers of the jobs of each group
+     */
+    static List<List<Long>> splitHousekeepingBatch(List<InternalJob> jobs, int maxJobs, int maxTasks) {
+        List<List<Long>> groups = new ArrayList<>();
+        List<Long> group = new ArrayList<>();
+        long groupTasks = 0;
+        for (InternalJob job : jobs) {
+            int tasks = job.getTotalNumberOfTasks();
+            if (!group.isEmpty() && (group.size() >= maxJobs || groupTasks + tasks > maxTasks)) {
+                Collections.sort(group);
+                groups.add(group);
+                group = new ArrayList<>();
+                groupTasks = 0;
+            }
+            group.add(job.getId().longValue());
+            groupTasks += tasks;
+        }
+        if (!group.isEmpty()) {
+            Collections.sort(group);
+            groups.add(group);
+        }
+        return groups;
     }
 
     /**
      * This Runnable handles the Housekeeping
+     * <p>
+     * The jobs are removed in batches: each batch is removed from the memory context, then from the database
+     * in transactions bounded by a number of jobs and of tasks, with a pause between two transactions, so that
+     * the housekeeping of a large backlog does not hold the database locks of the other writes for long.
      */
     public class HousekeepingRunner implements Runnable {
 
-        private List<Long> removeFromContext(List<JobId> jobIdList) {
-            List<Long> longList = new ArrayList<>(jobIdList.size());
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private boolean firstTransaction;
+
+        private List<InternalJob> removeFromContext(List<JobId> jobIdList) {
             for (JobId jobId : jobIdList) {
                 TerminationData terminationData = jobs.removeJob(jobId);
                 ServerJobAndTaskLogs.remove(jobId);
@@ -1122,6 +1220,7 @@ public class SchedulingService {
                 jobsFromDB = Collections.emptyList();
             }
 
+            List<InternalJob> removedJobs = new ArrayList<>(jobsFromDB.size());
             for (InternalJob job : jobsFromDB) {
                 if (job != null) {
                     job.setRemovedTime(System.currentTimeMillis());
@@ -1129,44 +1228,82 @@ public class SchedulingService {
                                                   new NotificationData<JobInfo>(SchedulerEvent.JOB_REMOVE_FINISHED,
                                                                                 new JobInfoImpl((JobInfoImpl) job.getJobInfo())));
                     getListener().jobUpdatedFullData(job);
-                    longList.add(job.getId().longValue());
+                    removedJobs.add(job);
                     logger.info("HOUSEKEEPING sent JOB_REMOVE_FINISHED notification for job " + job.getId());
                 }
             }
 
-            wakeUpSchedulingThread();
-            return longList;
+            wakeUpSchedulingThread(SchedulingWakeReason.JOB_REMOVED);
+            return removedJobs;
         }
 
-        private void removeFromDB(List<Long> longJobIdList) {
-            if (!longJobIdList.isEmpty()) {
+        private void removeFromDB(List<InternalJob> removedJobs) throws InterruptedException {
+            int maxTasks = PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_MAX_TASKS.getValueAsInt();
+            List<List<Long>> transactions = splitHousekeepingBatch(removedJobs, getHousekeepingBatchSize(), maxTasks);
+            for (List<Long> longJobIdList : transactions) {
+                pauseBetweenTransactions();
+                long dbTimeStart = System.currentTimeMillis();
                 getInfrastructure().getDBManager()
                                    .executeHousekeepingInDB(longJobIdList,
                                                             PASchedulerProperties.JOB_REMOVE_FROM_DB.getValueAsBoolean());
+                long dbTime = System.currentTimeMillis() - dbTimeStart;
+                housekeepingStatistics.transactionCommitted(longJobIdList.size(), dbTime);
+                logger.info("HOUSEKEEPING of jobs " + longJobIdList + " performed (db removal took " + dbTime +
+                            " ms)");
+            }
+        }
+
+        private int getHousekeepingBatchSize() {
+            return Math.max(1, PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_SIZE.getValueAsInt());
+        }
+
+        private void pauseBetweenTransactions() throws InterruptedException {
+            if (firstTransaction) {
+                firstTransaction = false;
+            } else {
+                long pause = PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_PAUSE.getValueAsInt();
+                if (pause > 0) {
+                    Thread.sleep(pause);
+                }
             }
         }
 
         @Override
         public void run() {
+            // a run removing a large backlog can outlast the period of the housekeeping
+            if (!running.compareAndSet(false, true)) {
+                logger.info("HOUSEKEEPING of jobs skipped, the previous run is not finished");
+                return;
+            }
             long timeNow = System.currentTimeMillis();
             try {
                 List<JobId> jobIdList = getInfrastructure().getDBManager().getJobsToRemove(timeNow);
-
-                // remove from the memory context
-                long inMemoryTimeStart = System.currentTimeMillis();
-                List<Long> longJobIdList = removeFromContext(jobIdList);
-                long inMemoryTimeStop = System.currentTimeMillis();
-
-                // set the removedTime and also remove if required by the JOB_REMOVE_FROM_DB setting
-                long dbTimeStart = System.currentTimeMillis();
-                removeFromDB(longJobIdList);
-                long dbTimeStop = System.currentTimeMillis();
-
-                logger.info("HOUSEKEEPING of jobs " + longJobIdList + " performed (Hibernate context removal took " +
-                            (inMemoryTimeStop - inMemoryTimeStart) + " ms" + " and db removal took " +
-                            (dbTimeStop - dbTimeStart) + " ms)");
+                housekeepingStatistics.runStarted(jobIdList.size());
+                firstTransaction = true;
+
+                int batchSize = getHousekeepingBatchSize();
+                for (int from = 0; from < jobIdList.size(); from += batchSize) {
+                    List<JobId> batch = jobIdList.subList(from, Math.min(from + batchSize, jobIdList.size()));
+
+                    // remove from the memory context
+                    long inMemoryTimeStart = System.currentTimeMillis();
+                    List<InternalJob> removedJobs = removeFromContext(batch);
+                    long inMemoryTimeStop = System.currentTimeMillis();
+                    logger.debug("HOUSEKEEPING removed " + removedJobs.size() + " jobs from the context in " +
+                                 (inMemoryTimeStop - inMemoryTimeStart) + " ms");
+
+                    // set the removedTime and also remove if required by the JOB_REMOVE_FROM_DB setting
+                    removeFromDB(removedJobs);
+                    housekeepingStatistics.batchHandled(batch.size());
+                }
+            } catch (InterruptedException e) {
+                logger.warn("HOUSEKEEPING of jobs interrupted", e);
+                Thread.currentThread().interrupt();
             } catch (Throwable e) {
                 logger.error("Error performing HOUSEKEEPING of jobs", e);
+            } finally {
+                housekeepingStatistics.runFinished(System.currentTimeMillis() - timeNow);
+                running.set(false);
             }
         }
     }
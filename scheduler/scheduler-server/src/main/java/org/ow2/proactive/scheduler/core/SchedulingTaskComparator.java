@@ -32,7 +32,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.log4j.Logger;
+import org.ow2.proactive.resourcemanager.selection.statistics.SelectionScriptCache;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.scripting.SelectionScript;
@@ -53,6 +55,11 @@ public class SchedulingTaskComparator {
 
     private static final Logger logger = Logger.getLogger(SchedulingTaskComparator.class);
 
+    private static final int CACHE_SIZE = PASchedulerProperties.SCHEDULER_SELECTION_SCRIPTS_CACHE_SIZE.getValueAsInt();
+
+    /** Digests of the selection scripts, shared by the scheduling passes */
+    private static final SelectionScriptCache selectionScriptCache = new SelectionScriptCache(CACHE_SIZE);
+
     private InternalJob job;
 
     /**
@@ -73,17 +80,15 @@ public class SchedulingTaskComparator {
         List<SelectionScript> scriptList = SchedulingMethodImpl.resolveScriptVariables(task.getSelectionScripts(),
                                                                                        task.getRuntimeVariables());
 
+        Map<String, Serializable> bindings = null;
+        try {
+            bindings = SchedulingMethodImpl.createBindingsForSelectionScripts(job, task);
+        } catch (Exception e) {
+            logger.error("Error while replacing selection script bindings for task " + task.getId(), e);
+        }
         for (SelectionScript script : scriptList) {
-            SelectionScript modifiedScript = script;
-            try {
-                Map<String, Serializable> bindings = SchedulingMethodImpl.createBindingsForSelectionScripts(job, task);
-                modifiedScript = SchedulingMethodImpl.replaceBindingsInsideScript(script, bindings);
-
-            } catch (Exception e) {
-                logger.error("Error while replacing selection script bindings for task " + task.getId(), e);
-            }
             try {
-                digests.add(new String(modifiedScript.digest()));
+                digests.add(selectionScriptCache.resolve(script, bindings).getDigest());
             } catch (Exception e) {
                 logger.error("Error while replacing selection script bindings for task " + task.getId(), e);
             }
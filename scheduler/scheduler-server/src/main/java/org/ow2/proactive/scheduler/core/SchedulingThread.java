@@ -25,21 +25,43 @@
  */
 package org.ow2.proactive.scheduler.core;
 
-import java.util.Timer;
-import java.util.TimerTask;
-
 import org.ow2.proactive.scheduler.common.SchedulerStatus;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 
 
+/**
+ * Thread running the scheduling passes.
+ * <p>
+ * When a pass does not start any task, the thread sleeps until it is woken up for a
+ * {@link SchedulingWakeReason} or until the scheduling loop timeout is reached. Wakeups
+ * received during a pass are not lost. An isolated wakeup starts a pass immediately, while
+ * a burst of wakeups is gathered into a single pass as long as the wakeups keep arriving
+ * within a short window. While sleeping, the thread also checks periodically if nodes were
+ * freed in the resource manager, unless the resource manager pushes them.
+ */
 public final class SchedulingThread extends Thread {
 
     private static final int SCHEDULER_TIME_OUT = PASchedulerProperties.SCHEDULER_TIME_OUT.getValueAsInt();
 
+    private static final int WAKEUP_COALESCING_WINDOW = PASchedulerProperties.SCHEDULER_WAKEUP_COALESCING_WINDOW.getValueAsInt();
+
+    /** Maximum number of coalescing windows a burst of wakeups can delay a pass */
+    private static final int MAX_COALESCING_WINDOWS = 10;
+
+    private static final int FREE_NODES_CHECK_PERIOD = PASchedulerProperties.SCHEDULER_WAKEUP_FREE_NODES_CHECK_PERIOD.getValueAsInt();
+
     private final SchedulingMethod schedulingMethod;
 
     private final SchedulingService service;
 
+    private final SchedulingWakeupStatistics statistics = new SchedulingWakeupStatistics();
+
+    /** A wakeup was received since the thread last went to sleep, guarded by this */
+    private boolean wakeupRequested;
+
+    /** Number of wakeups received since the last pass started, guarded by this */
+    private long pendingWakeups;
+
     public SchedulingThread(SchedulingMethod schedulingMethod, SchedulingService service) {
         super("SchedulingThread");
         this.schedulingMethod = schedulingMethod;
@@ -47,16 +69,20 @@ public final class SchedulingThread extends Thread {
     }
 
     public void run() {
-        boolean tasksStarted;
+        int startedTasks;
 
         while (!isInterrupted()) {
             try {
-                tasksStarted = false;
-                if (service.status == SchedulerStatus.STARTED || service.status == SchedulerStatus.PAUSED ||
-                    service.status == SchedulerStatus.STOPPED) {
-                    tasksStarted = schedulingMethod.schedule() > 0;
+                startedTasks = 0;
+                if (isSchedulingAllowed()) {
+                    synchronized (this) {
+                        // the wakeups received so far are handled by this pass
+                        pendingWakeups = 0;
+                    }
+                    startedTasks = schedulingMethod.schedule();
+                    statistics.passCompleted(startedTasks);
                 }
-                if (!tasksStarted) {
+                if (startedTasks == 0) {
                     service.sleepSchedulingThread();
                 }
             } catch (InterruptedException e) {
@@ -67,16 +93,71 @@ public final class SchedulingThread extends Thread {
         }
     }
 
+    private boolean isSchedulingAllowed() {
+        return service.status == SchedulerStatus.STARTED || service.status == SchedulerStatus.PAUSED ||
+               service.status == SchedulerStatus.STOPPED;
+    }
+
     protected void sleepSchedulingThread() throws InterruptedException {
-        synchronized (this) {
-            this.wait(SCHEDULER_TIME_OUT);
+        long deadline = System.currentTimeMillis() + SCHEDULER_TIME_OUT;
+        while (!waitForWakeup(deadline)) {
+            if (System.currentTimeMillis() >= deadline) {
+                statistics.timeoutReached();
+                return;
+            }
+            if (isSchedulingAllowed() && schedulingMethod.hasNewFreeResources()) {
+                wakeUpSchedulingThread(SchedulingWakeReason.NODE_FREED);
+            }
+        }
+        coalesceWakeups();
+    }
+
+    /**
+     * Lets the events which come together, like the termination of the tasks of a job, trigger a single pass:
+     * when several wakeups are pending, waits as long as new wakeups keep arriving within the coalescing window,
+     * for a bounded time. A single pending wakeup starts the pass immediately.
+     */
+    private synchronized void coalesceWakeups() throws InterruptedException {
+        if (WAKEUP_COALESCING_WINDOW > 0 && pendingWakeups > 1) {
+            long deadline = System.currentTimeMillis() + (long) WAKEUP_COALESCING_WINDOW * MAX_COALESCING_WINDOWS;
+            long received;
+            do {
+                received = pendingWakeups;
+                long remaining = Math.min(WAKEUP_COALESCING_WINDOW, deadline - System.currentTimeMillis());
+                if (remaining <= 0) {
+                    break;
+                }
+                this.wait(remaining);
+            } while (pendingWakeups > received);
         }
+        wakeupRequested = false;
+        pendingWakeups = 0;
     }
 
-    protected void wakeUpSchedulingThread() {
+    /**
+     * Waits until a wakeup is received, the deadline is reached or the free nodes have to be checked.
+     *
+     * @return true if a wakeup was received
+     */
+    private synchronized boolean waitForWakeup(long deadline) throws InterruptedException {
+        long remaining = deadline - System.currentTimeMillis();
+        if (!wakeupRequested && remaining > 0) {
+            this.wait(FREE_NODES_CHECK_PERIOD > 0 ? Math.min(remaining, FREE_NODES_CHECK_PERIOD) : remaining);
+        }
+        return wakeupRequested;
+    }
+
+    protected void wakeUpSchedulingThread(SchedulingWakeReason reason) {
         synchronized (this) {
+            statistics.wakeupReceived(reason, wakeupRequested);
+            wakeupRequested = true;
+            pendingWakeups++;
             this.notifyAll();
         }
     }
 
+    SchedulingWakeupStatistics getWakeupStatistics() {
+        return statistics;
+    }
+
 }
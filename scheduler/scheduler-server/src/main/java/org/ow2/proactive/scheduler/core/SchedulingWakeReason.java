@@ -0,0 +1,58 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+/**
+ * Events which can make a scheduling pass start tasks and therefore wake up the
+ * {@link SchedulingThread}.
+ */
+public enum SchedulingWakeReason {
+
+    /** A job was submitted */
+    JOB_SUBMITTED,
+
+    /** A job was resumed or killed */
+    JOB_STATE_CHANGED,
+
+    /** The priority of a job was changed */
+    PRIORITY_CHANGED,
+
+    /** A job was removed from the scheduler */
+    JOB_REMOVED,
+
+    /** A task terminated or was killed, its nodes were released */
+    TASK_TERMINATED,
+
+    /** A task was restarted or preempted and is pending again */
+    TASK_RESTARTED,
+
+    /** Nodes became free in the resource manager */
+    NODE_FREED,
+
+    /** The scheduler was resumed */
+    SCHEDULER_RESUMED
+
+}
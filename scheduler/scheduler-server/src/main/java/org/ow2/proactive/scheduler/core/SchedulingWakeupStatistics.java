@@ -0,0 +1,107 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Counters of the {@link SchedulingThread}: wakeups by reason and scheduling passes.
+ */
+public final class SchedulingWakeupStatistics {
+
+    private final Map<SchedulingWakeReason, AtomicLong> wakeups = new EnumMap<>(SchedulingWakeReason.class);
+
+    /** Wakeups received while a scheduling pass was already requested */
+    private final AtomicLong coalescedWakeups = new AtomicLong();
+
+    /** Passes started because the scheduling loop timeout was reached */
+    private final AtomicLong timeoutWakeups = new AtomicLong();
+
+    private final AtomicLong passes = new AtomicLong();
+
+    /** Passes which did not start any task */
+    private final AtomicLong emptyPasses = new AtomicLong();
+
+    public SchedulingWakeupStatistics() {
+        for (SchedulingWakeReason reason : SchedulingWakeReason.values()) {
+            wakeups.put(reason, new AtomicLong());
+        }
+    }
+
+    void wakeupReceived(SchedulingWakeReason reason, boolean coalesced) {
+        wakeups.get(reason).incrementAndGet();
+        if (coalesced) {
+            coalescedWakeups.incrementAndGet();
+        }
+    }
+
+    void timeoutReached() {
+        timeoutWakeups.incrementAndGet();
+    }
+
+    void passCompleted(int startedTasks) {
+        passes.incrementAndGet();
+        if (startedTasks == 0) {
+            emptyPasses.incrementAndGet();
+        }
+    }
+
+    public long getWakeups(SchedulingWakeReason reason) {
+        return wakeups.get(reason).get();
+    }
+
+    /**
+     * @return the number of wakeups indexed by reason name
+     */
+    public Map<String, Long> getWakeupsByReason() {
+        Map<String, Long> wakeupsByReason = new LinkedHashMap<>();
+        for (Map.Entry<SchedulingWakeReason, AtomicLong> entry : wakeups.entrySet()) {
+            wakeupsByReason.put(entry.getKey().name(), entry.getValue().get());
+        }
+        return wakeupsByReason;
+    }
+
+    public long getCoalescedWakeups() {
+        return coalescedWakeups.get();
+    }
+
+    public long getTimeoutWakeups() {
+        return timeoutWakeups.get();
+    }
+
+    public long getPasses() {
+        return passes.get();
+    }
+
+    public long getEmptyPasses() {
+        return emptyPasses.get();
+    }
+
+}
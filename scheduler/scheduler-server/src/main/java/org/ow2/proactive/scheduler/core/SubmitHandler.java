@@ -50,7 +50,7 @@ class SubmitHandler implements Runnable {
 
         service.getJobs().jobSubmitted(job);
 
-        service.wakeUpSchedulingThread();
+        service.wakeUpSchedulingThread(SchedulingWakeReason.JOB_SUBMITTED);
     }
 
 }
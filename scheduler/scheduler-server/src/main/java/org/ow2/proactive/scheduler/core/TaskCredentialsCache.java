@@ -0,0 +1,176 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.security.KeyException;
+import java.security.PrivateKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.ow2.proactive.authentication.crypto.CredData;
+import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil;
+import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
+import org.ow2.proactive.scheduler.job.InternalJob;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+
+/**
+ * Decrypted credentials used to start tasks.
+ * <p>
+ * The credentials of a job are decrypted, and the third party credentials of its owner are loaded
+ * from the database and decrypted, once for all the tasks started within the expiration time instead
+ * of once per task. The third party credentials of a user must be invalidated when the user modifies them.
+ */
+public class TaskCredentialsCache {
+
+    private final SchedulerDBManager dbManager;
+
+    private final Cache<JobId, CredData> jobCredentials;
+
+    private final Cache<String, Map<String, String>> thirdPartyCredentials;
+
+    /**
+     * @param dbManager the database storing the third party credentials
+     * @param maximumSize maximum number of jobs, and of users, whose credentials are cached
+     * @param expiration time in milliseconds after which the credentials are decrypted again
+     */
+    public TaskCredentialsCache(SchedulerDBManager dbManager, int maximumSize, long expiration) {
+        this.dbManager = dbManager;
+        this.jobCredentials = CacheBuilder.newBuilder()
+                                          .maximumSize(maximumSize)
+                                          .expireAfterWrite(expiration, TimeUnit.MILLISECONDS)
+                                          .recordStats()
+                                          .build();
+        this.thirdPartyCredentials = CacheBuilder.newBuilder()
+                                                 .maximumSize(maximumSize)
+                                                 .expireAfterWrite(expiration, TimeUnit.MILLISECONDS)
+                                                 .recordStats()
+                                                 .build();
+    }
+
+    /**
+     * Returns the credentials sent to a task of the given job: the decrypted credentials of the job
+     * enriched with the third party credentials of its owner.
+     *
+     * @param job the job of the task
+     * @param privateKey the private key of the scheduler
+     * @return new credentials which can be modified by the caller
+     * @throws KeyException if the credentials cannot be decrypted
+     */
+    CredData getTaskCredentials(final InternalJob job, final PrivateKey privateKey) throws KeyException {
+        CredData jobCredData = get(jobCredentials, job.getId(), new Callable<CredData>() {
+            @Override
+            public CredData call() throws KeyException {
+                return job.getCredentials().decrypt(privateKey);
+            }
+        });
+        CredData taskCredData = new CredData(jobCredData.getLogin(),
+                                             jobCredData.getDomain(),
+                                             jobCredData.getPassword(),
+                                             jobCredData.getKey());
+        for (Map.Entry<String, String> credential : jobCredData.getThirdPartyCredentials().entrySet()) {
+            taskCredData.addThirdPartyCredential(credential.getKey(), credential.getValue());
+        }
+        for (Map.Entry<String, String> credential : getThirdPartyCredentials(job.getJobInfo().getJobOwner(),
+                                                                             privateKey).entrySet()) {
+            taskCredData.addThirdPartyCredential(credential.getKey(), credential.getValue());
+        }
+        return taskCredData;
+    }
+
+    /**
+     * Returns the decrypted third party credentials of the given user.
+     *
+     * @param username the owner of the third party credentials
+     * @param privateKey the private key of the scheduler
+     * @return an unmodifiable map of the decrypted third party credentials
+     * @throws KeyException if the credentials cannot be loaded or decrypted
+     */
+    Map<String, String> getThirdPartyCredentials(final String username, final PrivateKey privateKey)
+            throws KeyException {
+        return get(thirdPartyCredentials, username, new Callable<Map<String, String>>() {
+            @Override
+            public Map<String, String> call() throws KeyException {
+                Map<String, HybridEncryptedData> encryptedCredentials = dbManager.thirdPartyCredentialsMap(username);
+                if (encryptedCredentials == null) {
+                    throw new KeyException("Failed to retrieve thirdPartyCredentials!");
+                }
+                Map<String, String> decryptedCredentials = new HashMap<>(encryptedCredentials.size());
+                for (Map.Entry<String, HybridEncryptedData> credential : encryptedCredentials.entrySet()) {
+                    decryptedCredentials.put(credential.getKey(),
+                                             HybridEncryptionUtil.decryptString(credential.getValue(), privateKey));
+                }
+                return Collections.unmodifiableMap(decryptedCredentials);
+            }
+        });
+    }
+
+    /**
+     * Discards the third party credentials of the given user, after they were modified.
+     *
+     * @param username the owner of the third party credentials
+     */
+    public void invalidateThirdPartyCredentials(String username) {
+        thirdPartyCredentials.invalidate(username);
+    }
+
+    public long getHitCount() {
+        return jobCredentials.stats().hitCount() + thirdPartyCredentials.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return jobCredentials.stats().missCount() + thirdPartyCredentials.stats().missCount();
+    }
+
+    /**
+     * @return the ratio of the requests served from the cache, 1 if there was no request
+     */
+    public double getHitRate() {
+        CacheStats stats = jobCredentials.stats().plus(thirdPartyCredentials.stats());
+        return stats.hitRate();
+    }
+
+    private static <K, V> V get(Cache<K, V> cache, K key, Callable<V> loader) throws KeyException {
+        try {
+            return cache.get(key, loader);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KeyException) {
+                throw (KeyException) e.getCause();
+            }
+            throw new KeyException(e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.security.PublicKey;
+
+import org.objectweb.proactive.core.node.Node;
+import org.ow2.proactive.scheduler.common.TaskDescriptor;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+
+
+/**
+ * A task whose nodes are reserved, going through the {@link TaskDeploymentPipeline}.
+ */
+class TaskDeployment {
+
+    private final InternalJob job;
+
+    private final InternalTask task;
+
+    private final TaskDescriptor taskDescriptor;
+
+    /** The node on which the task launcher is created */
+    private final Node node;
+
+    /** The additional nodes of a multi-nodes task */
+    private final NodeSet nodes;
+
+    private volatile TaskLauncher launcher;
+
+    /** The public key used to encrypt the credentials sent to the launcher */
+    private volatile PublicKey launcherPublicKey;
+
+    private volatile boolean taskRecoverable;
+
+    TaskDeployment(InternalJob job, InternalTask task, TaskDescriptor taskDescriptor, Node node, NodeSet nodes) {
+        this.job = job;
+        this.task = task;
+        this.taskDescriptor = taskDescriptor;
+        this.node = node;
+        this.nodes = nodes;
+    }
+
+    InternalJob getJob() {
+        return job;
+    }
+
+    InternalTask getTask() {
+        return task;
+    }
+
+    TaskDescriptor getTaskDescriptor() {
+        return taskDescriptor;
+    }
+
+    Node getNode() {
+        return node;
+    }
+
+    NodeSet getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return every node reserved for the task
+     */
+    NodeSet getAllNodes() {
+        NodeSet allNodes = new NodeSet(nodes);
+        allNodes.add(node);
+        return allNodes;
+    }
+
+    TaskLauncher getLauncher() {
+        return launcher;
+    }
+
+    void setLauncher(TaskLauncher launcher) {
+        this.launcher = launcher;
+    }
+
+    PublicKey getLauncherPublicKey() {
+        return launcherPublicKey;
+    }
+
+    void setLauncherPublicKey(PublicKey launcherPublicKey) {
+        this.launcherPublicKey = launcherPublicKey;
+    }
+
+    boolean isTaskRecoverable() {
+        return taskRecoverable;
+    }
+
+    void setTaskRecoverable(boolean taskRecoverable) {
+        this.taskRecoverable = taskRecoverable;
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.utils.NamedThreadFactory;
+import org.ow2.proactive.scheduler.core.TaskDeploymentStatistics.Stage;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+
+
+/**
+ * Deploys concurrently the tasks selected by a scheduling pass.
+ * <p>
+ * Getting the task launcher with its public key and checking if the nodes of the task are recoverable
+ * are remote calls: they are run in a thread pool instead of the scheduling thread. Task launchers
+ * kept on their node by a previous task are reused through the {@link TaskLauncherPool}. The number of
+ * deployments running at the same time in a node source is bounded, so that a node source receiving many
+ * tasks is not flooded with active object creations: the deployments over this limit are held back, without
+ * using a thread, until a deployment of their node source ends. The deployments are submitted node source after
+ * node source, and host after host in a node source, so that the threads are not all busy with the same node
+ * source. The nodes whose node source is not known yet are bounded by host. A deployment running for longer
+ * than the deployment timeout is cancelled, the time it was held back is not counted.
+ */
+class TaskDeploymentPipeline {
+
+    private final SchedulingService schedulingService;
+
+    private final ExecutorService executor;
+
+    private final ScheduledExecutorService timeouts;
+
+    /** Maximum time a deployment may run, in milliseconds, 0 for no limit */
+    private final long deploymentTimeout;
+
+    /** Maximum number of deployments running at the same time in a node source, 0 for no limit */
+    private final int maxDeploymentsPerNodeSource;
+
+    private final NodeSourcesIndex nodeSources;
+
+    /** Deployments running or held back, by node source, guarded by itself */
+    private final Map<String, NodeSourceDeployments> deploymentsByNodeSource = new HashMap<>();
+
+    private final TaskDeploymentStatistics statistics;
+
+    private final TaskLauncherPool launcherPool;
+
+    TaskDeploymentPipeline(SchedulingService schedulingService, int threadNumber, int maxDeploymentsPerNodeSource,
+            long deploymentTimeout, NodeSourcesIndex nodeSources, TaskDeploymentStatistics statistics,
+            TaskLauncherPool launcherPool) {
+        this.schedulingService = schedulingService;
+        this.launcherPool = launcherPool;
+        this.executor = Executors.newFixedThreadPool(threadNumber, new NamedThreadFactory("TaskDeployment"));
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("TaskDeploymentTimeout"));
+        this.deploymentTimeout = deploymentTimeout;
+        this.maxDeploymentsPerNodeSource = maxDeploymentsPerNodeSource;
+        this.nodeSources = nodeSources;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Starts the creation of the task launchers of the given deployments.
+     *
+     * @param deployments tasks whose nodes are reserved
+     * @return the futures of the deployments, in the same order, which fail if the task launcher
+     *         cannot be created and are cancelled if it is not created in time
+     */
+    List<Future<TaskDeployment>> deploy(List<TaskDeployment> deployments) {
+        Map<TaskDeployment, Future<TaskDeployment>> futures = new LinkedHashMap<>();
+        List<TaskDeployment> byHost = interleave(deployments, deployment -> getHostName(deployment.getNode()));
+        for (TaskDeployment deployment : interleave(byHost, deployment -> getNodeSourceKey(deployment.getNode()))) {
+            DeployTask task = new DeployTask(() -> createLauncher(deployment), getNodeSourceKey(deployment.getNode()));
+            futures.put(deployment, task);
+            submit(task);
+        }
+        List<Future<TaskDeployment>> result = new ArrayList<>(deployments.size());
+        for (TaskDeployment deployment : deployments) {
+            result.add(futures.get(deployment));
+        }
+        return result;
+    }
+
+    /**
+     * Orders the deployments so that consecutive deployments belong to different groups when possible,
+     * the order of the deployments of a group is kept.
+     */
+    private static List<TaskDeployment> interleave(List<TaskDeployment> deployments,
+            Function<TaskDeployment, String> group) {
+        Map<String, Deque<TaskDeployment>> deploymentsByGroup = new LinkedHashMap<>();
+        for (TaskDeployment deployment : deployments) {
+            deploymentsByGroup.computeIfAbsent(group.apply(deployment), key -> new ArrayDeque<>()).add(deployment);
+        }
+        List<TaskDeployment> interleaved = new ArrayList<>(deployments.size());
+        while (!deploymentsByGroup.isEmpty()) {
+            Iterator<Deque<TaskDeployment>> iterator = deploymentsByGroup.values().iterator();
+            while (iterator.hasNext()) {
+                Deque<TaskDeployment> groupDeployments = iterator.next();
+                interleaved.add(groupDeployments.poll());
+                if (groupDeployments.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+        return interleaved;
+    }
+
+    /**
+     * Runs the deployment if its node source is below the limit of running deployments, holds it back otherwise.
+     */
+    private void submit(DeployTask task) {
+        if (maxDeploymentsPerNodeSource > 0) {
+            synchronized (deploymentsByNodeSource) {
+                NodeSourceDeployments deployments = deploymentsByNodeSource.get(task.nodeSource);
+                if (deployments == null) {
+                    deployments = new NodeSourceDeployments();
+                    deploymentsByNodeSource.put(task.nodeSource, deployments);
+                }
+                if (deployments.running >= maxDeploymentsPerNodeSource) {
+                    deployments.heldBack.add(task);
+                    return;
+                }
+                deployments.running++;
+            }
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * Runs the next deployment held back in the node source of a deployment which ended.
+     */
+    private void deploymentEnded(DeployTask task) {
+        if (maxDeploymentsPerNodeSource <= 0) {
+            return;
+        }
+        DeployTask next;
+        synchronized (deploymentsByNodeSource) {
+            NodeSourceDeployments deployments = deploymentsByNodeSource.get(task.nodeSource);
+            next = deployments.heldBack.poll();
+            if (next == null && --deployments.running == 0) {
+                deploymentsByNodeSource.remove(task.nodeSource);
+            }
+        }
+        if (next != null) {
+            executor.execute(next);
+        }
+    }
+
+    private TaskDeployment createLauncher(TaskDeployment deployment) throws Exception {
+        long start = System.nanoTime();
+        TaskLauncher launcher = launcherPool.getLauncher(deployment.getJob(),
+                                                           deployment.getTask(),
+                                                           deployment.getNode());
+        deployment.setLauncher(launcher);
+        deployment.setLauncherPublicKey(launcherPool.getPublicKey(deployment.getNode(), launcher));
+        statistics.record(Stage.LAUNCHER_CREATION, start);
+
+        start = System.nanoTime();
+        deployment.setTaskRecoverable(schedulingService.getInfrastructure()
+                                                       .getRMProxiesManager()
+                                                       .getRmProxy()
+                                                       .areNodesRecoverable(deployment.getNodes()));
+        statistics.record(Stage.RECOVERABILITY_CHECK, start);
+        return deployment;
+    }
+
+    private String getNodeSourceKey(Node node) {
+        String nodeSource = null;
+        try {
+            nodeSource = nodeSources.getNodeSource(node.getNodeInformation().getURL());
+        } catch (Exception e) {
+            // grouped by host below
+        }
+        return nodeSource != null ? "nodesource:" + nodeSource : "host:" + getHostName(node);
+    }
+
+    private static String getHostName(Node node) {
+        try {
+            return node.getNodeInformation().getVMInformation().getHostName();
+        } catch (Exception e) {
+            // the deployment will fail anyway, do not group it with other nodes
+            return node.toString();
+        }
+    }
+
+    private static class NodeSourceDeployments {
+
+        private int running;
+
+        private final Deque<DeployTask> heldBack = new ArrayDeque<>();
+
+    }
+
+    /**
+     * Deployment of a task, which gives its place in its node source back when it ends or when it is cancelled
+     * while running, a deployment cancelled while held back is skipped when its turn comes.
+     */
+    private class DeployTask extends FutureTask<TaskDeployment> {
+
+        private final String nodeSource;
+
+        private volatile boolean started;
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        DeployTask(Callable<TaskDeployment> deployment, String nodeSource) {
+            super(deployment);
+            this.nodeSource = nodeSource;
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            // the deployment is timed from now on, not from the moment it was submitted
+            ScheduledFuture<?> timeout = deploymentTimeout > 0 ? timeouts.schedule(() -> cancel(true),
+                                                                                   deploymentTimeout,
+                                                                                   TimeUnit.MILLISECONDS)
+                                                               : null;
+            try {
+                super.run();
+            } finally {
+                if (timeout != null) {
+                    timeout.cancel(false);
+                }
+                end();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled && started) {
+                // a hung deployment must not hold the place of the next ones
+                end();
+            }
+            return cancelled;
+        }
+
+        private void end() {
+            if (ended.compareAndSet(false, true)) {
+                deploymentEnded(this);
+            }
+        }
+    }
+
+}
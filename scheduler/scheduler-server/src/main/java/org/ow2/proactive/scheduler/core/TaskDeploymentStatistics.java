@@ -0,0 +1,131 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Time spent by the tasks in each stage of their deployment.
+ */
+public final class TaskDeploymentStatistics {
+
+    public enum Stage {
+
+        /** Locking the job and reserving the nodes of the task, on the scheduling thread */
+        RESERVATION,
+
+        /** Creating the task launcher on the node */
+        LAUNCHER_CREATION,
+
+        /** Asking the resource manager if the nodes of the task are recoverable */
+        RECOVERABILITY_CHECK,
+
+        /** Marking the task as started and submitting its start action, on the scheduling thread */
+        START,
+
+        /** Sending the task to its launcher */
+        DO_TASK
+
+    }
+
+    private final Map<Stage, AtomicLong> counts = new EnumMap<>(Stage.class);
+
+    private final Map<Stage, AtomicLong> totalTimes = new EnumMap<>(Stage.class);
+
+    private final Map<Stage, AtomicLong> maxTimes = new EnumMap<>(Stage.class);
+
+    public TaskDeploymentStatistics() {
+        for (Stage stage : Stage.values()) {
+            counts.put(stage, new AtomicLong());
+            totalTimes.put(stage, new AtomicLong());
+            maxTimes.put(stage, new AtomicLong());
+        }
+    }
+
+    /**
+     * Records the end of a stage.
+     *
+     * @param stage the stage which ended
+     * @param startNanos the value of {@link System#nanoTime()} when the stage started
+     */
+    void record(Stage stage, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+        counts.get(stage).incrementAndGet();
+        totalTimes.get(stage).addAndGet(duration);
+        maxTimes.get(stage).accumulateAndGet(duration, Math::max);
+    }
+
+    public long getCount(Stage stage) {
+        return counts.get(stage).get();
+    }
+
+    public long getTotalTimeMillis(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(totalTimes.get(stage).get());
+    }
+
+    public long getMaxTimeMillis(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(maxTimes.get(stage).get());
+    }
+
+    /**
+     * @return the number of tasks which went through each stage, indexed by stage name
+     */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            result.put(stage.name(), getCount(stage));
+        }
+        return result;
+    }
+
+    /**
+     * @return the cumulated time spent in each stage in milliseconds, indexed by stage name
+     */
+    public Map<String, Long> getTotalTimesMillis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            result.put(stage.name(), getTotalTimeMillis(stage));
+        }
+        return result;
+    }
+
+    /**
+     * @return the longest time spent by a task in each stage in milliseconds, indexed by stage name
+     */
+    public Map<String, Long> getMaxTimesMillis() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            result.put(stage.name(), getMaxTimeMillis(stage));
+        }
+        return result;
+    }
+
+}
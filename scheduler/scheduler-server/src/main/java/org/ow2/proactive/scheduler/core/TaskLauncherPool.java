@@ -0,0 +1,175 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.ActiveObjectCreationException;
+import org.objectweb.proactive.api.PAFuture;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.node.NodeException;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+
+
+/**
+ * Task launchers kept on their node after their task, indexed by node url.
+ * <p>
+ * When a task is deployed on a node which has such a launcher, the launcher is reset for the task
+ * instead of creating a new active object, and its public key, which does not change, is not asked again.
+ * A launcher which cannot be reset, because it was terminated, because it reached its maximum number of
+ * tasks or its lifetime, or because the task belongs to another user, is replaced by a new one.
+ * <p>
+ * A new launcher is registered with the resource manager by the owner of its node, so that the cleaning
+ * of the node, when it is released, does not kill it.
+ */
+class TaskLauncherPool {
+
+    private static final Logger logger = Logger.getLogger(TaskLauncherPool.class);
+
+    private final boolean enabled;
+
+    /** Time to wait for the reset of a launcher, which is served after the end of its previous task */
+    private final long resetTimeout;
+
+    private final Map<String, PooledLauncher> launchers = new ConcurrentHashMap<>();
+
+    private final ResidentLauncherRegistration registration;
+
+    /**
+     * @param enabled if false, a new launcher is created for each task
+     * @param resetTimeout time in milliseconds to wait for a launcher to accept a new task
+     * @param registration registers the new launchers with the resource manager
+     */
+    TaskLauncherPool(boolean enabled, long resetTimeout, ResidentLauncherRegistration registration) {
+        this.enabled = enabled;
+        this.resetTimeout = resetTimeout;
+        this.registration = registration;
+    }
+
+    /**
+     * Gets a launcher for the given task on the given node, reusing the launcher kept on the node if possible.
+     *
+     * @param job the job of the task
+     * @param task the task to deploy
+     * @param node the node of the task
+     * @return a launcher ready to run the task
+     */
+    TaskLauncher getLauncher(InternalJob job, InternalTask task, Node node)
+            throws ActiveObjectCreationException, NodeException {
+        if (!enabled) {
+            return task.createLauncher(node);
+        }
+        String nodeUrl = node.getNodeInformation().getURL();
+        PooledLauncher pooled = launchers.remove(nodeUrl);
+        if (pooled != null && reset(pooled.launcher, task)) {
+            task.setExecuterInformation(new ExecuterInformation(pooled.launcher, node));
+            launchers.put(nodeUrl, pooled);
+            return pooled.launcher;
+        }
+        TaskLauncher launcher = task.createLauncher(node);
+        register(job, node, launcher);
+        launchers.put(nodeUrl, new PooledLauncher(launcher));
+        return launcher;
+    }
+
+    private void register(InternalJob job, Node node, TaskLauncher launcher) {
+        try {
+            if (!registration.register(job, node, launcher)) {
+                logger.warn("The task launcher of job " + job.getId() + " is not kept on node " +
+                            node.getNodeInformation().getURL());
+            }
+        } catch (Exception e) {
+            logger.warn("Cannot register the task launcher of job " + job.getId() + " with the resource manager", e);
+        }
+    }
+
+    private boolean reset(TaskLauncher launcher, InternalTask task) {
+        try {
+            BooleanWrapper accepted = task.resetLauncher(launcher);
+            PAFuture.waitFor(accepted, resetTimeout);
+            return accepted.getBooleanValue();
+        } catch (Exception e) {
+            logger.debug("Cannot reuse the task launcher for task " + task.getId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the public key used to encrypt the credentials sent to the given launcher.
+     *
+     * @param node the node of the launcher
+     * @param launcher the launcher returned by {@link #getLauncher(InternalJob, InternalTask, Node)}
+     * @return the public key of the launcher
+     */
+    PublicKey getPublicKey(Node node, TaskLauncher launcher) throws NoSuchAlgorithmException {
+        PooledLauncher pooled = enabled ? launchers.get(node.getNodeInformation().getURL()) : null;
+        if (pooled == null || pooled.launcher != launcher) {
+            return launcher.generatePublicKey();
+        }
+        if (pooled.publicKey == null) {
+            pooled.publicKey = launcher.generatePublicKey();
+        }
+        return pooled.publicKey;
+    }
+
+    int size() {
+        return launchers.size();
+    }
+
+    /**
+     * Registers a launcher with the resource manager as the active object kept on its node.
+     */
+    interface ResidentLauncherRegistration {
+
+        /**
+         * @param job the job whose owner holds the node
+         * @param node the node of the launcher
+         * @param launcher the new launcher
+         * @return true if the resource manager keeps the launcher on the node
+         */
+        boolean register(InternalJob job, Node node, TaskLauncher launcher) throws Exception;
+    }
+
+    private static final class PooledLauncher {
+
+        private final TaskLauncher launcher;
+
+        private volatile PublicKey publicKey;
+
+        private PooledLauncher(TaskLauncher launcher) {
+            this.launcher = launcher;
+        }
+    }
+
+}
@@ -170,6 +170,8 @@ final class TerminationData {
 
     void handleTermination(final SchedulingService service) throws IOException, ClassNotFoundException {
 
+        releaseTasks(service);
+
         terminateTasks(service);
 
         restartWaitingTasks(service);
@@ -193,6 +195,12 @@ final class TerminationData {
         }
     }
 
+    private void releaseTasks(SchedulingService service) {
+        for (TaskTerminationData taskToTerminate : tasksToTerminate.values()) {
+            service.taskReleased(taskToTerminate.taskData.getTask().getId());
+        }
+    }
+
     private void terminateTasks(final SchedulingService service) {
 
         if (tasksToTerminate.values().isEmpty()) {
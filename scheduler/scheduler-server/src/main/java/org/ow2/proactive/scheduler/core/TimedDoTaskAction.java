@@ -26,7 +26,6 @@
 package org.ow2.proactive.scheduler.core;
 
 import java.security.KeyException;
-import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.ArrayList;
@@ -40,8 +39,6 @@ import org.apache.commons.collections4.ListUtils;
 import org.apache.log4j.Logger;
 import org.ow2.proactive.authentication.crypto.CredData;
 import org.ow2.proactive.authentication.crypto.Credentials;
-import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil;
-import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
 import org.ow2.proactive.scheduler.common.TaskDescriptor;
 import org.ow2.proactive.scheduler.common.TaskTerminateNotification;
 import org.ow2.proactive.scheduler.common.job.JobType;
@@ -75,6 +72,8 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
 
     private final TaskLauncher launcher;
 
+    private final PublicKey launcherPublicKey;
+
     private final SchedulingService schedulingService;
 
     private final TaskTerminateNotification terminateNotification;
@@ -83,6 +82,8 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
 
     private final TaskRecoveryData taskRecoveryData;
 
+    private final TaskDeploymentStatistics deploymentStatistics;
+
     private boolean taskWasRestarted;
 
     private final InternalTaskParentFinder internalTaskParentFinder;
@@ -91,26 +92,32 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
      * Create a new instance of TimedDoTaskAction
      *
      * @param launcher the launcher of the task
+     * @param launcherPublicKey the public key used to encrypt the credentials sent to the launcher
      * @param taskRecoveryData data used for task recovery
+     * @param deploymentStatistics statistics recording the time spent to send the task to its launcher
      */
     public TimedDoTaskAction(InternalJob job, TaskDescriptor taskDescriptor, TaskLauncher launcher,
-            SchedulingService schedulingService, TaskTerminateNotification terminateNotification,
-            PrivateKey corePrivateKey, TaskRecoveryData taskRecoveryData) {
+            PublicKey launcherPublicKey, SchedulingService schedulingService,
+            TaskTerminateNotification terminateNotification, PrivateKey corePrivateKey,
+            TaskRecoveryData taskRecoveryData, TaskDeploymentStatistics deploymentStatistics) {
         this.job = job;
         this.taskDescriptor = taskDescriptor;
         this.task = ((EligibleTaskDescriptorImpl) taskDescriptor).getInternal();
         this.launcher = launcher;
+        this.launcherPublicKey = launcherPublicKey;
         this.schedulingService = schedulingService;
         this.terminateNotification = terminateNotification;
         this.corePrivateKey = corePrivateKey;
         this.internalTaskParentFinder = InternalTaskParentFinder.getInstance();
         this.taskRecoveryData = taskRecoveryData;
+        this.deploymentStatistics = deploymentStatistics;
     }
 
     /**
      * {@inheritDoc}
      */
     public Void call() throws Exception {
+        long start = System.nanoTime();
         try {
             // Set to empty array to emulate varargs behavior (i.e. not defined is
             // equivalent to empty array, not null.
@@ -163,11 +170,13 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
         } catch (Throwable e) {
             logger.warn("Failed to start task: " + e.getMessage(), e);
             restartTask();
+        } finally {
+            deploymentStatistics.record(TaskDeploymentStatistics.Stage.DO_TASK, start);
         }
         return null;
     }
 
-    protected void fillContainer() throws KeyException, NoSuchAlgorithmException {
+    protected void fillContainer() throws KeyException {
         boolean isRunAsMeEnabled = task.isRunAsMe();
 
         task.getExecutableContainer().setRunAsUser(isRunAsMeEnabled);
@@ -175,33 +184,21 @@ public class TimedDoTaskAction implements CallableWithTimeoutAction<Void> {
         createAndSetCredentials();
     }
 
-    private void createAndSetCredentials() throws KeyException, NoSuchAlgorithmException {
-        CredData decryptedUserCredentials = job.getCredentials().decrypt(corePrivateKey);
-
-        enrichWithThirdPartyCredentials(decryptedUserCredentials);
+    private void createAndSetCredentials() throws KeyException {
+        // decrypted credentials enriched with the third party credentials of the job owner
+        CredData decryptedUserCredentials = schedulingService.getTaskCredentialsCache()
+                                                             .getTaskCredentials(job, corePrivateKey);
 
-        PublicKey nodePublicKey = launcher.generatePublicKey();
         Credentials nodeEncryptedUserCredentials = Credentials.createCredentials(decryptedUserCredentials,
-                                                                                 nodePublicKey);
+                                                                                 launcherPublicKey);
 
         task.getExecutableContainer().setCredentials(nodeEncryptedUserCredentials);
     }
 
-    protected boolean areThirdPartyCredentialsDefined() {
-        return schedulingService.getInfrastructure()
-                                .getDBManager()
-                                .hasThirdPartyCredentials(job.getJobInfo().getJobOwner());
-    }
-
-    private void enrichWithThirdPartyCredentials(CredData decryptedUserCredentials) throws KeyException {
-        Map<String, HybridEncryptedData> thirdPartyCredentials = schedulingService.getInfrastructure()
-                                                                                  .getDBManager()
-                                                                                  .thirdPartyCredentialsMap(job.getJobInfo()
-                                                                                                               .getJobOwner());
-        for (Map.Entry<String, HybridEncryptedData> thirdPartyCredential : thirdPartyCredentials.entrySet()) {
-            String decryptedValue = HybridEncryptionUtil.decryptString(thirdPartyCredential.getValue(), corePrivateKey);
-            decryptedUserCredentials.addThirdPartyCredential(thirdPartyCredential.getKey(), decryptedValue);
-        }
+    protected boolean areThirdPartyCredentialsDefined() throws KeyException {
+        return !schedulingService.getTaskCredentialsCache()
+                                 .getThirdPartyCredentials(job.getJobInfo().getJobOwner(), corePrivateKey)
+                                 .isEmpty();
     }
 
     /**
@@ -34,30 +34,25 @@ import org.ow2.proactive.db.SessionWork;
 
 /**
  * Handles the Housekeeping in the database.
+ * <p>
+ * The rows are deleted from the tables referencing the tasks before the tasks and the jobs themselves,
+ * each statement selecting its rows through the index of its JOB_ID column. The caller bounds the number
+ * of jobs given to one transaction.
  *
  * @author ActiveEon Team
  * @since 01/03/17
  */
 public class HousekeepingSessionWork implements SessionWork<Void> {
 
-    private static List<Long> jobIdList;
+    private final List<Long> jobIdList;
 
-    private static boolean shouldRemoveFromDb;
+    private final boolean shouldRemoveFromDb;
 
     public HousekeepingSessionWork(List<Long> jobIdList, boolean shouldRemoveFromDb) {
         this.jobIdList = jobIdList;
         this.shouldRemoveFromDb = shouldRemoveFromDb;
     }
 
-    private void deleteInconsistentData(Session session) {
-        session.createSQLQuery("delete from TASK_DATA where JOB_ID = null");
-        session.createSQLQuery("delete from TASK_RESULT_DATA where TASK_ID = null");
-        session.createSQLQuery("delete from TASK_RESULT_DATA where JOB_ID = null");
-        session.createSQLQuery("delete from TASK_DATA where JOB_ID not in (select ID from JOB_DATA)");
-        session.createSQLQuery("delete from TASK_RESULT_DATA where TASK_ID not in (select TASK_ID_TASK from TASK_DATA)");
-        session.createSQLQuery("delete from TASK_RESULT_DATA where JOB_ID not in (select ID from JOB_DATA)");
-    }
-
     private void removeJobScriptsInBulk(Session session, List<Long> jobIdList) {
         session.getNamedQuery("updateTaskDataJobScriptsInBulk")
                .setParameterList("jobIdList", jobIdList)
@@ -82,9 +77,6 @@ public class HousekeepingSessionWork implements SessionWork<Void> {
                .setParameterList("jobIdList", jobIdList)
                .executeUpdate();
         removeJobScriptsInBulk(session, jobIdList);
-        session.getNamedQuery("deleteSelectionScriptDataInBulk")
-               .setParameterList("jobIdList", jobIdList)
-               .executeUpdate();
         session.createSQLQuery("delete from TASK_RESULT_DATA where JOB_ID in :jobIdList")
                .setParameterList("jobIdList", jobIdList)
                .executeUpdate();
@@ -93,7 +85,6 @@ public class HousekeepingSessionWork implements SessionWork<Void> {
                .setParameterList("jobIdList", jobIdList)
                .executeUpdate();
         session.getNamedQuery("deleteJobDataInBulk").setParameterList("jobIdList", jobIdList).executeUpdate();
-        deleteInconsistentData(session);
     }
 
     private void updateAsRemoved(Session session) {
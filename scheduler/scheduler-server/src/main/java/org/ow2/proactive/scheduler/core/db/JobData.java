@@ -83,7 +83,13 @@ import com.google.common.collect.Lists;
                 @NamedQuery(name = "deleteJobData", query = "delete from JobData where id = :jobId"),
                 @NamedQuery(name = "findUsersWithJobs", query = "select owner, count(owner), max(submittedTime) from JobData group by owner"),
                 @NamedQuery(name = "getJobsNumberWithStatus", query = "select count(*) from JobData where status in (:status) and removedTime = -1"),
+                @NamedQuery(name = "getJobsNumbersByOwnerAndStatus", query = "select owner, status, count(*) from JobData where status in (:status) and removedTime = -1 " +
+                                                                             "group by owner, status"),
+                @NamedQuery(name = "getJobsTasksNumbersWithStatus", query = "select sum(numberOfFinishedTasks), sum(totalNumberOfTasks) from JobData " +
+                                                                            "where status in (:status) and removedTime = -1"),
                 @NamedQuery(name = "getJobSubmittedTime", query = "select submittedTime from JobData where id = :id"),
+                @NamedQuery(name = "getJobExecutionTimeSum", query = "select count(*), sum(finishedTime - startTime) from JobData where startTime > 0 and finishedTime > 0"),
+                @NamedQuery(name = "getJobPendingTimeSum", query = "select count(*), sum(startTime - submittedTime) from JobData where startTime > 0 and submittedTime > 0"),
                 @NamedQuery(name = "getMeanJobExecutionTime", query = "select avg(finishedTime - startTime) from JobData where startTime > 0 and finishedTime > 0"),
                 @NamedQuery(name = "getMeanJobPendingTime", query = "select avg(startTime - submittedTime) from JobData where startTime > 0 and submittedTime > 0"),
                 @NamedQuery(name = "getMeanJobSubmittingPeriod", query = "select count(*), min(submittedTime), max(submittedTime) from JobData"),
@@ -125,6 +131,7 @@ import com.google.common.collect.Lists;
 @Table(name = "JOB_DATA", indexes = { @Index(name = "JOB_DATA_FINISH_TIME", columnList = "FINISH_TIME"),
                                       @Index(name = "JOB_DATA_OWNER", columnList = "OWNER"),
                                       @Index(name = "JOB_DATA_REMOVE_TIME", columnList = "REMOVE_TIME"),
+                                      @Index(name = "JOB_DATA_SCHEDULED_REMOVAL", columnList = "SCHEDULED_TIME_FOR_REMOVAL"),
                                       @Index(name = "JOB_DATA_START_TIME", columnList = "START_TIME"),
                                       @Index(name = "JOB_DATA_STATUS", columnList = "STATUS"), })
 public class JobData implements Serializable {
@@ -0,0 +1,47 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.db;
+
+import java.util.Set;
+
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+
+
+/**
+ * Numbers of not removed jobs known without querying the database.
+ *
+ * @see SchedulerDBManager#setJobsCountProvider(JobsCountProvider)
+ */
+public interface JobsCountProvider {
+
+    /**
+     * @param owner the owner of the jobs, all the jobs are counted when it is null or empty
+     * @param statuses the statuses of the jobs to count
+     * @return the number of jobs of the owner with one of the statuses, or null if it is not known yet
+     */
+    Integer countJobs(String owner, Set<JobStatus> statuses);
+
+}
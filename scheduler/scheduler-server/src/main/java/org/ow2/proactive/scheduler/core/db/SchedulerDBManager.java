@@ -27,6 +27,7 @@ package org.ow2.proactive.scheduler.core.db;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -34,6 +35,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -80,6 +82,7 @@ import org.ow2.proactive.scheduler.common.task.TaskState;
 import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.common.task.dataspaces.InputSelector;
 import org.ow2.proactive.scheduler.common.task.dataspaces.OutputSelector;
+import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
 import org.ow2.proactive.scheduler.common.usage.JobUsage;
 import org.ow2.proactive.scheduler.core.account.SchedulerAccount;
 import org.ow2.proactive.scheduler.core.db.TaskData.DBTaskId;
@@ -98,6 +101,8 @@ import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.scripting.InvalidScriptException;
 import org.ow2.proactive.utils.FileToBytesConverter;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 
@@ -149,6 +154,12 @@ public class SchedulerDBManager {
 
     private final TransactionHelper transactionHelper;
 
+    /** Deserialized variables propagated by the last result of finished tasks */
+    private final Cache<DBTaskId, Map<String, Serializable>> propagatedVariablesCache;
+
+    /** Numbers of jobs maintained from the scheduler events, the jobs are counted in the database until it is set */
+    private volatile JobsCountProvider jobsCountProvider;
+
     public static SchedulerDBManager createUsingProperties() {
         if (System.getProperty(JAVA_PROPERTYNAME_NODB) != null) {
             return createInMemorySchedulerDBManager();
@@ -182,6 +193,8 @@ public class SchedulerDBManager {
     }
 
     public SchedulerDBManager(Configuration configuration, boolean drop) {
+        int propagatedVariablesCacheSize = PASchedulerProperties.SCHEDULER_DB_PROPAGATED_VARIABLES_CACHE_SIZE.getValueAsInt();
+        propagatedVariablesCache = CacheBuilder.newBuilder().maximumSize(propagatedVariablesCacheSize).build();
         try {
             configuration.addAnnotatedClass(JobData.class);
             configuration.addAnnotatedClass(JobContent.class);
@@ -227,7 +240,6 @@ public class SchedulerDBManager {
                                                              running,
                                                              finished,
                                                              sortParameters);
-        int totalNbJobs = getTotalNumberOfJobs(params);
         final Set<JobStatus> jobStatuses = params.getStatuses();
         List<JobInfo> lJobs = executeReadOnlyTransaction(new SessionWork<List<JobInfo>>() {
             @Override
@@ -289,6 +301,14 @@ public class SchedulerDBManager {
 
         });
 
+        int totalNbJobs;
+        if (limit <= 0 || (lJobs.size() < limit && (offset <= 0 || !lJobs.isEmpty()))) {
+            // the page ends with the last job, so the total is known without counting the jobs
+            totalNbJobs = Math.max(offset, 0) + lJobs.size();
+        } else {
+            totalNbJobs = getTotalNumberOfJobs(params);
+        }
+
         return new Page<JobInfo>(lJobs, totalNbJobs);
     }
 
@@ -337,7 +357,25 @@ public class SchedulerDBManager {
 
     }
 
+    /**
+     * Sets the numbers of jobs used as total of the pages of jobs instead of counting the jobs in the database.
+     */
+    public void setJobsCountProvider(JobsCountProvider jobsCountProvider) {
+        this.jobsCountProvider = jobsCountProvider;
+    }
+
     private int getTotalNumberOfJobs(final DBJobDataParameters params) {
+        JobsCountProvider provider = jobsCountProvider;
+        if (provider != null) {
+            Integer count = provider.countJobs(params.getUser(), params.getStatuses());
+            if (count != null) {
+                return count;
+            }
+        }
+        return countJobs(params);
+    }
+
+    private int countJobs(final DBJobDataParameters params) {
 
         return executeReadOnlyTransaction(new SessionWork<Integer>() {
 
@@ -464,6 +502,96 @@ public class SchedulerDBManager {
         });
     }
 
+    /**
+     * @return the numbers of not removed jobs with one of the given statuses, by owner and status
+     */
+    public Map<String, Map<JobStatus, Long>> getJobsNumbersByOwnerAndStatus(final Collection<JobStatus> status) {
+        return executeReadOnlyTransaction(new SessionWork<Map<String, Map<JobStatus, Long>>>() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map<String, Map<JobStatus, Long>> doInTransaction(Session session) {
+                Query query = session.getNamedQuery("getJobsNumbersByOwnerAndStatus")
+                                     .setParameterList("status", status);
+                Map<String, Map<JobStatus, Long>> result = new HashMap<>();
+                for (Object[] ownerStatusAndCount : (List<Object[]>) query.list()) {
+                    String owner = (String) ownerStatusAndCount[0];
+                    Map<JobStatus, Long> countByStatus = result.get(owner);
+                    if (countByStatus == null) {
+                        countByStatus = new EnumMap<>(JobStatus.class);
+                        result.put(owner, countByStatus);
+                    }
+                    countByStatus.put((JobStatus) ownerStatusAndCount[1], toLong(ownerStatusAndCount[2]));
+                }
+                return result;
+            }
+
+        });
+    }
+
+    /**
+     * @return the number of finished tasks and the total number of tasks of the finished jobs
+     */
+    public long[] getTasksNumbersOfFinishedJobs() {
+        return executeReadOnlyTransaction(new SessionWork<long[]>() {
+
+            @Override
+            public long[] doInTransaction(Session session) {
+                Query query = session.getNamedQuery("getJobsTasksNumbersWithStatus")
+                                     .setParameterList("status", FINISHED_JOB_STATUSES);
+                Object[] result = (Object[]) query.uniqueResult();
+                return new long[] { toLong(result[0]), toLong(result[1]) };
+            }
+
+        });
+    }
+
+    /**
+     * @return the number of started jobs and the sum of their pending times
+     */
+    public long[] getJobPendingTimeSum() {
+        return getCountAndSum("getJobPendingTimeSum");
+    }
+
+    /**
+     * @return the number of jobs which ran and finished and the sum of their execution times
+     */
+    public long[] getJobExecutionTimeSum() {
+        return getCountAndSum("getJobExecutionTimeSum");
+    }
+
+    /**
+     * @return the number of submitted jobs, the first and the last submitted times
+     */
+    public long[] getJobSubmittedTimeRange() {
+        return executeReadOnlyTransaction(new SessionWork<long[]>() {
+
+            @Override
+            public long[] doInTransaction(Session session) {
+                Query query = session.getNamedQuery("getMeanJobSubmittingPeriod");
+                Object[] result = (Object[]) query.uniqueResult();
+                return new long[] { toLong(result[0]), toLong(result[1]), toLong(result[2]) };
+            }
+
+        });
+    }
+
+    private long[] getCountAndSum(final String queryName) {
+        return executeReadOnlyTransaction(new SessionWork<long[]>() {
+
+            @Override
+            public long[] doInTransaction(Session session) {
+                Object[] result = (Object[]) session.getNamedQuery(queryName).uniqueResult();
+                return new long[] { toLong(result[0]), toLong(result[1]) };
+            }
+
+        });
+    }
+
+    private static long toLong(Object aggregate) {
+        return aggregate == null ? 0 : ((Number) aggregate).longValue();
+    }
+
     public long getFinishedTasksCount() {
         return executeReadOnlyTransaction(new SessionWork<Long>() {
 
@@ -759,7 +887,7 @@ public class SchedulerDBManager {
                 List<JobId> jobsToRemove = new ArrayList<JobId>();
                 Query query = session.createSQLQuery("select ID from JOB_DATA where " +
                                                      "SCHEDULED_TIME_FOR_REMOVAL <> 0 and " +
-                                                     "SCHEDULED_TIME_FOR_REMOVAL < :timeLimit")
+                                                     "SCHEDULED_TIME_FOR_REMOVAL < :timeLimit order by ID")
                                      .setParameter("timeLimit", time);
                 Iterator jobIdIterator = query.list().iterator();
                 while (jobIdIterator.hasNext()) {
@@ -1107,6 +1235,9 @@ public class SchedulerDBManager {
             }
 
         });
+        if (result != null) {
+            invalidatePropagatedVariables(taskId(task));
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -1185,6 +1316,7 @@ public class SchedulerDBManager {
             }
 
         }, false);
+        invalidatePropagatedVariables(taskId(result.getTaskId()));
     }
 
     public void updateAfterJobKilled(InternalJob job, Set<TaskId> tasksToUpdate) {
@@ -1361,6 +1493,9 @@ public class SchedulerDBManager {
             }
 
         });
+        if (result != null) {
+            invalidatePropagatedVariables(taskId(finishedTask.getId()));
+        }
     }
 
     private TaskResultData saveTaskResult(TaskData.DBTaskId taskId, TaskResultImpl result, Session session) {
@@ -1372,6 +1507,14 @@ public class SchedulerDBManager {
         return resultData;
     }
 
+    /*
+     * Must be called once the transaction saving a new result of the task is committed, a read of the
+     * propagated variables happening before the commit would otherwise put the previous ones back in the cache
+     */
+    private void invalidatePropagatedVariables(DBTaskId taskId) {
+        propagatedVariablesCache.invalidate(taskId);
+    }
+
     public void jobSetToBeRemoved(final JobId jobId) {
         executeReadWriteTransaction(new SessionWork<Void>() {
             @Override
@@ -1446,6 +1589,70 @@ public class SchedulerDBManager {
 
     }
 
+    /**
+     * Loads the variables propagated by the last result of the given tasks, without loading the
+     * values, exceptions and logs of the results.
+     *
+     * @param jobId the job of the tasks
+     * @param taskIds the finished tasks
+     * @return the deserialized propagated variables of each task, empty if the task did not propagate variables
+     */
+    public Map<TaskId, Map<String, Serializable>> loadTasksPropagatedVariables(final JobId jobId,
+            final List<TaskId> taskIds) {
+        Map<TaskId, Map<String, Serializable>> variablesMap = new HashMap<>(taskIds.size());
+        final Map<DBTaskId, TaskId> missingTaskIds = new HashMap<>();
+        for (TaskId taskId : taskIds) {
+            DBTaskId dbTaskId = taskId(taskId);
+            Map<String, Serializable> variables = propagatedVariablesCache.getIfPresent(dbTaskId);
+            if (variables == null) {
+                missingTaskIds.put(dbTaskId, taskId);
+            } else {
+                variablesMap.put(taskId, variables);
+            }
+        }
+        if (missingTaskIds.isEmpty()) {
+            return variablesMap;
+        }
+
+        Map<DBTaskId, Map<String, byte[]>> serializedVariablesMap = executeReadOnlyTransaction(new SessionWork<Map<DBTaskId, Map<String, byte[]>>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Map<DBTaskId, Map<String, byte[]>> doInTransaction(Session session) {
+                List<Object[]> resultList = session.getNamedQuery("loadTasksPropagatedVariables")
+                                                   .setParameterList("tasksIds", missingTaskIds.keySet())
+                                                   .list();
+                Map<DBTaskId, Map<String, byte[]>> result = new HashMap<>(missingTaskIds.size());
+                for (Object[] row : resultList) {
+                    DBTaskId dbTaskId = (DBTaskId) row[1];
+                    // results are ordered from the most recent for each task
+                    if (!result.containsKey(dbTaskId)) {
+                        result.put(dbTaskId, (Map<String, byte[]>) row[0]);
+                    }
+                }
+                return result;
+            }
+        });
+
+        for (Map.Entry<DBTaskId, TaskId> missingTaskId : missingTaskIds.entrySet()) {
+            if (!serializedVariablesMap.containsKey(missingTaskId.getKey())) {
+                throw new DatabaseManagerException("Failed to load result for task " + missingTaskId.getValue() +
+                                                   " (job: " + jobId + ")");
+            }
+            Map<String, Serializable> variables;
+            try {
+                Map<String, byte[]> serializedVariables = serializedVariablesMap.get(missingTaskId.getKey());
+                variables = SerializationUtil.deserializeVariableMap(serializedVariables);
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not deserialize variable map", e);
+            }
+            variables = variables == null ? Collections.<String, Serializable> emptyMap()
+                                          : Collections.unmodifiableMap(variables);
+            propagatedVariablesCache.put(missingTaskId.getKey(), variables);
+            variablesMap.put(missingTaskId.getValue(), variables);
+        }
+        return variablesMap;
+    }
+
     public JobResult loadJobResult(final JobId jobId) {
         return executeReadOnlyTransaction(new SessionWork<JobResult>() {
 
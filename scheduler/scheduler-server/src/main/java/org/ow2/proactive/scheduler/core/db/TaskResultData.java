@@ -48,6 +48,8 @@ import org.ow2.proactive.scheduler.task.TaskResultImpl;
                 @NamedQuery(name = "loadTasksResultByTask", query = "from TaskResultData result where result.taskRuntimeData = :task order by result.resultTime desc"),
                 @NamedQuery(name = "loadTasksResults", query = "select taskResult, " + "task.id, " + "task.taskName, " +
                                                                "task.preciousResult from TaskResultData as taskResult join taskResult.taskRuntimeData as task " + "where task.id in (:tasksIds) order by task.id, taskResult.resultTime desc"),
+                @NamedQuery(name = "loadTasksPropagatedVariables", query = "select taskResult.propagatedVariables, " +
+                                                                           "task.id from TaskResultData as taskResult join taskResult.taskRuntimeData as task " + "where task.id in (:tasksIds) order by task.id, taskResult.resultTime desc"),
                 @NamedQuery(name = "countTaskResultData", query = "select count (*) from TaskResultData") })
 @Table(name = "TASK_RESULT_DATA", indexes = { @Index(name = "TASK_RESULT_DATA_RUNTIME_DATA", columnList = "JOB_ID,TASK_ID") })
 public class TaskResultData {
@@ -35,12 +35,17 @@ import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
 import org.ow2.proactive.jmx.AbstractJMXHelper;
 import org.ow2.proactive.jmx.RRDDataStore;
+import org.ow2.proactive.scheduler.core.HousekeepingStatistics;
+import org.ow2.proactive.scheduler.core.SchedulingWakeupStatistics;
+import org.ow2.proactive.scheduler.core.TaskCredentialsCache;
+import org.ow2.proactive.scheduler.core.TaskDeploymentStatistics;
 import org.ow2.proactive.scheduler.core.account.SchedulerAccountsManager;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.jmx.mbean.AllAccountsMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.ManagementMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.MyAccountMBeanImpl;
 import org.ow2.proactive.scheduler.core.jmx.mbean.RuntimeDataMBeanImpl;
+import org.ow2.proactive.scheduler.core.jmx.mbean.SchedulingLoopMBeanImpl;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 
 
@@ -62,6 +67,8 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
 
     public static final String MANAGEMENT_MBEAN_NAME = "ProActiveScheduler:name=Management";
 
+    public static final String SCHEDULINGLOOP_MBEAN_NAME = "ProActiveScheduler:name=SchedulingLoop";
+
     /** The single instance of this class */
     private static SchedulerJMXHelper instance;
 
@@ -71,6 +78,9 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
     /** The Scheduler Runtime MBean */
     private RuntimeDataMBeanImpl schedulerRuntimeMBean;
 
+    /** The Scheduling loop MBean */
+    private SchedulingLoopMBeanImpl schedulingLoopMBean;
+
     private final SchedulerDBManager dbManager;
 
     /**
@@ -155,6 +165,34 @@ public class SchedulerJMXHelper extends AbstractJMXHelper {
         } catch (Exception e) {
             LOGGER.error("Unable to register the ManagementMBean", e);
         }
+
+        // Register the SchedulingLoop MBean into the MBean server
+        try {
+            this.schedulingLoopMBean = new SchedulingLoopMBeanImpl();
+            final ObjectName name = new ObjectName(SCHEDULINGLOOP_MBEAN_NAME);
+            mbs.registerMBean(this.schedulingLoopMBean, name);
+        } catch (Exception e) {
+            LOGGER.error("Unable to register the SchedulingLoopMBean", e);
+        }
+    }
+
+    /**
+     * Attaches the statistics of the scheduling loop to the SchedulingLoop MBean.
+     *
+     * @param statistics the statistics of the scheduling loop
+     * @param deploymentStatistics the statistics of the task deployment
+     * @param credentialsCache the cache of the credentials sent to the tasks
+     * @param housekeepingStatistics the progress of the housekeeping
+     */
+    public void setSchedulingLoopStatistics(SchedulingWakeupStatistics statistics,
+            TaskDeploymentStatistics deploymentStatistics, TaskCredentialsCache credentialsCache,
+            HousekeepingStatistics housekeepingStatistics) {
+        if (this.schedulingLoopMBean != null) {
+            this.schedulingLoopMBean.setStatistics(statistics,
+                                                   deploymentStatistics,
+                                                   credentialsCache,
+                                                   housekeepingStatistics);
+        }
     }
 
     /**
@@ -0,0 +1,359 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
+import org.ow2.proactive.scheduler.common.job.JobId;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+import org.ow2.proactive.scheduler.core.db.JobsCountProvider;
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
+
+
+/**
+ * Jobs and tasks statistics of the scheduler, maintained from the jobs and tasks events.
+ * <p>
+ * The statistics are read from the database once, when the scheduler state is recovered,
+ * and then updated from the {@link JobInfo} carried by the events. Only the alive jobs are
+ * tracked individually: a finished job only counts in the totals until it is removed.
+ * Jobs are classified as in {@link SchedulerDBManager}: paused jobs are pending, stalled jobs are
+ * running, and jobs in error are neither pending nor running.
+ * <p>
+ * The numbers of jobs of each owner and status are also kept, they are the totals of the pages
+ * of jobs returned by the database.
+ */
+final class JobsStatistics implements JobsCountProvider {
+
+    /** Numbers of tasks of each alive job, as reported by the last event of the job */
+    private final Map<JobId, JobCounts> aliveJobs = new HashMap<>();
+
+    /** Numbers of not removed jobs of each owner, indexed by the ordinal of their status */
+    private final Map<String, long[]> jobsByOwner = new HashMap<>();
+
+    private boolean recovered;
+
+    private long pendingJobs;
+
+    private long runningJobs;
+
+    private long inErrorJobs;
+
+    private long finishedJobs;
+
+    private long pendingTasks;
+
+    private long runningTasks;
+
+    private long finishedTasks;
+
+    private long totalTasks;
+
+    private long pendingTimeSamples;
+
+    private long pendingTimeSum;
+
+    private long executionTimeSamples;
+
+    private long executionTimeSum;
+
+    private long submittedJobs;
+
+    private long minSubmittedTime;
+
+    private long maxSubmittedTime;
+
+    /**
+     * Initializes the statistics from the database and the alive jobs of the recovered scheduler state.
+     *
+     * @param dbManager the database of the scheduler
+     * @param recoveredAliveJobs the pending and running jobs of the recovered state
+     */
+    synchronized void recover(SchedulerDBManager dbManager, Collection<JobInfo> recoveredAliveJobs) {
+        aliveJobs.clear();
+        jobsByOwner.clear();
+        pendingJobs = 0;
+        runningJobs = 0;
+        inErrorJobs = 0;
+        pendingTasks = 0;
+        runningTasks = 0;
+
+        finishedJobs = dbManager.getFinishedJobsCount();
+        long[] finishedJobsTasks = dbManager.getTasksNumbersOfFinishedJobs();
+        finishedTasks = finishedJobsTasks[0];
+        totalTasks = finishedJobsTasks[1];
+
+        long[] pendingTime = dbManager.getJobPendingTimeSum();
+        pendingTimeSamples = pendingTime[0];
+        pendingTimeSum = pendingTime[1];
+
+        long[] executionTime = dbManager.getJobExecutionTimeSum();
+        executionTimeSamples = executionTime[0];
+        executionTimeSum = executionTime[1];
+
+        long[] submittedTimes = dbManager.getJobSubmittedTimeRange();
+        submittedJobs = submittedTimes[0];
+        minSubmittedTime = submittedTimes[1];
+        maxSubmittedTime = submittedTimes[2];
+
+        Set<JobStatus> finishedStatuses = SchedulerDBManager.FINISHED_JOB_STATUSES;
+        Map<String, Map<JobStatus, Long>> finishedByOwner = dbManager.getJobsNumbersByOwnerAndStatus(finishedStatuses);
+        for (Map.Entry<String, Map<JobStatus, Long>> ownerJobs : finishedByOwner.entrySet()) {
+            for (Map.Entry<JobStatus, Long> statusCount : ownerJobs.getValue().entrySet()) {
+                addOwnerJobs(ownerJobs.getKey(), statusCount.getKey(), statusCount.getValue());
+            }
+        }
+
+        for (JobInfo jobInfo : recoveredAliveJobs) {
+            JobCounts counts = new JobCounts(jobInfo);
+            // the pending time of the recovered jobs already started is part of the database sum
+            counts.started = jobInfo.getStartTime() > 0;
+            aliveJobs.put(jobInfo.getJobId(), counts);
+            add(counts, 1);
+        }
+        recovered = true;
+    }
+
+    synchronized boolean isRecovered() {
+        return recovered;
+    }
+
+    synchronized void jobSubmitted(JobInfo jobInfo) {
+        if (!recovered) {
+            return;
+        }
+        long submittedTime = jobInfo.getSubmittedTime();
+        if (submittedJobs == 0) {
+            minSubmittedTime = submittedTime;
+            maxSubmittedTime = submittedTime;
+        } else {
+            minSubmittedTime = Math.min(minSubmittedTime, submittedTime);
+            maxSubmittedTime = Math.max(maxSubmittedTime, submittedTime);
+        }
+        submittedJobs++;
+        jobUpdated(jobInfo, true);
+    }
+
+    synchronized void jobStateUpdated(SchedulerEvent eventType, JobInfo jobInfo) {
+        if (!recovered) {
+            return;
+        }
+        if (eventType == SchedulerEvent.JOB_REMOVE_FINISHED) {
+            jobRemoved(jobInfo);
+        } else {
+            jobUpdated(jobInfo, false);
+        }
+    }
+
+    /**
+     * Task events carry the state of their job, it only updates the jobs which are still alive
+     * since the events of a job are not always received in order.
+     */
+    synchronized void taskStateUpdated(JobInfo jobInfo) {
+        if (!recovered || jobInfo == null || !aliveJobs.containsKey(jobInfo.getJobId())) {
+            return;
+        }
+        jobUpdated(jobInfo, false);
+    }
+
+    private void jobUpdated(JobInfo jobInfo, boolean submitted) {
+        JobCounts previous = aliveJobs.get(jobInfo.getJobId());
+        if (previous == null && !submitted) {
+            // finished or unknown job
+            return;
+        }
+        JobCounts current = new JobCounts(jobInfo);
+        if (previous != null) {
+            add(previous, -1);
+            current.started = previous.started;
+        }
+        if (!current.started && jobInfo.getStartTime() > 0 && jobInfo.getSubmittedTime() > 0) {
+            current.started = true;
+            pendingTimeSamples++;
+            pendingTimeSum += jobInfo.getStartTime() - jobInfo.getSubmittedTime();
+        }
+        if (current.status.isJobAlive()) {
+            aliveJobs.put(jobInfo.getJobId(), current);
+        } else {
+            aliveJobs.remove(jobInfo.getJobId());
+            if (jobInfo.getStartTime() > 0 && jobInfo.getFinishedTime() > 0) {
+                executionTimeSamples++;
+                executionTimeSum += jobInfo.getFinishedTime() - jobInfo.getStartTime();
+            }
+        }
+        add(current, 1);
+    }
+
+    private void jobRemoved(JobInfo jobInfo) {
+        JobCounts counts = aliveJobs.remove(jobInfo.getJobId());
+        if (counts == null) {
+            counts = new JobCounts(jobInfo);
+            if (counts.status.isJobAlive()) {
+                // a removed job which is not alive anymore counts as finished
+                counts.status = JobStatus.FINISHED;
+            }
+        }
+        add(counts, -1);
+    }
+
+    private void add(JobCounts counts, int sign) {
+        if (!counts.status.isJobAlive()) {
+            finishedJobs += sign;
+            finishedTasks += sign * counts.finishedTasks;
+        } else {
+            switch (counts.status) {
+                case PENDING:
+                case PAUSED:
+                    pendingJobs += sign;
+                    break;
+                case RUNNING:
+                case STALLED:
+                    runningJobs += sign;
+                    break;
+                default:
+                    inErrorJobs += sign;
+            }
+            pendingTasks += sign * counts.pendingTasks;
+            runningTasks += sign * counts.runningTasks;
+            finishedTasks += sign * counts.finishedTasks;
+        }
+        totalTasks += sign * counts.totalTasks;
+        addOwnerJobs(counts.owner, counts.status, sign);
+    }
+
+    private void addOwnerJobs(String owner, JobStatus status, long number) {
+        long[] ownerJobs = jobsByOwner.get(owner);
+        if (ownerJobs == null) {
+            ownerJobs = new long[JobStatus.values().length];
+            jobsByOwner.put(owner, ownerJobs);
+        }
+        ownerJobs[status.ordinal()] += number;
+    }
+
+    /**
+     * @return the number of not removed jobs of the owner with one of the statuses, or null until the
+     *         statistics are recovered
+     */
+    @Override
+    public synchronized Integer countJobs(String owner, Set<JobStatus> statuses) {
+        if (!recovered) {
+            return null;
+        }
+        long count = 0;
+        if (owner == null || owner.isEmpty()) {
+            for (long[] ownerJobs : jobsByOwner.values()) {
+                count += countJobs(ownerJobs, statuses);
+            }
+        } else if (jobsByOwner.containsKey(owner)) {
+            count = countJobs(jobsByOwner.get(owner), statuses);
+        }
+        return (int) count;
+    }
+
+    private static long countJobs(long[] ownerJobs, Set<JobStatus> statuses) {
+        long count = 0;
+        for (JobStatus status : statuses) {
+            count += ownerJobs[status.ordinal()];
+        }
+        return count;
+    }
+
+    synchronized long getPendingJobsCount() {
+        return pendingJobs;
+    }
+
+    synchronized long getRunningJobsCount() {
+        return runningJobs;
+    }
+
+    synchronized long getFinishedJobsCount() {
+        return finishedJobs;
+    }
+
+    synchronized long getTotalJobsCount() {
+        return pendingJobs + runningJobs + inErrorJobs + finishedJobs;
+    }
+
+    synchronized long getPendingTasksCount() {
+        return pendingTasks;
+    }
+
+    synchronized long getRunningTasksCount() {
+        return runningTasks;
+    }
+
+    synchronized long getFinishedTasksCount() {
+        return finishedTasks;
+    }
+
+    synchronized long getTotalTasksCount() {
+        return totalTasks;
+    }
+
+    synchronized double getMeanJobPendingTime() {
+        return pendingTimeSamples == 0 ? 0 : pendingTimeSum / (double) pendingTimeSamples;
+    }
+
+    synchronized double getMeanJobExecutionTime() {
+        return executionTimeSamples == 0 ? 0 : executionTimeSum / (double) executionTimeSamples;
+    }
+
+    synchronized double getMeanJobSubmittingPeriod() {
+        return submittedJobs < 2 ? 0 : (maxSubmittedTime - minSubmittedTime) / (double) (submittedJobs - 1);
+    }
+
+    private static final class JobCounts {
+
+        private final String owner;
+
+        private JobStatus status;
+
+        private final int pendingTasks;
+
+        private final int runningTasks;
+
+        private final int finishedTasks;
+
+        private final int totalTasks;
+
+        /** whether the pending time of the job is already part of the mean */
+        private boolean started;
+
+        private JobCounts(JobInfo jobInfo) {
+            this.owner = jobInfo.getJobOwner();
+            this.status = jobInfo.getStatus();
+            this.pendingTasks = jobInfo.getNumberOfPendingTasks();
+            this.runningTasks = jobInfo.getNumberOfRunningTasks();
+            this.finishedTasks = jobInfo.getNumberOfFinishedTasks();
+            this.totalTasks = jobInfo.getTotalNumberOfTasks();
+        }
+    }
+
+}
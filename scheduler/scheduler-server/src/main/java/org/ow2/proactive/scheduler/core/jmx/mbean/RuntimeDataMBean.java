@@ -26,6 +26,7 @@
 package org.ow2.proactive.scheduler.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.Map;
 
 
 /**
@@ -146,6 +147,34 @@ public interface RuntimeDataMBean {
      */
     String getFormattedJobSubmittingPeriod();
 
+    /**
+     * Returns the number of events waiting to be sent to each client.
+     *
+     * @return the number of pending events indexed by client id
+     */
+    Map<String, Integer> getClientEventQueueSizes();
+
+    /**
+     * Returns the time the oldest pending event of each client has been waiting.
+     *
+     * @return the lag in milliseconds indexed by client id
+     */
+    Map<String, Long> getClientEventQueueLags();
+
+    /**
+     * Returns the number of licenses of each software managed by the license scheduling policy.
+     *
+     * @return the number of licenses indexed by software, empty if the policy is not used
+     */
+    Map<String, Integer> getTotalLicenses();
+
+    /**
+     * Returns the number of licenses of each software used by the running tasks.
+     *
+     * @return the number of used licenses indexed by software, empty if the license scheduling policy is not used
+     */
+    Map<String, Integer> getUsedLicenses();
+
     /**
      * This method represents a possible Operation to Invoke on the MBean. It
      * gives the pending time for a given Job
@@ -244,4 +273,16 @@ public interface RuntimeDataMBean {
      * @throws IOException when data base cannot be read
      */
     byte[] getStatisticHistory() throws IOException;
+
+    /**
+     * Fetches the values of some data sources of the RRD data base, without copying the data base.
+     *
+     * @param dataSources the names of the data sources, all of them when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned
+     * @param resolution the wanted step in seconds, the finest available when not positive
+     * @return a JSON object with the start, end and step of the values and an array of values per data source
+     * @throws IOException when data base cannot be read
+     */
+    String fetchStatisticHistory(String[] dataSources, long range, long since, long resolution) throws IOException;
 }
@@ -26,6 +26,11 @@
 package org.ow2.proactive.scheduler.core.jmx.mbean;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import javax.management.NotCompliantMBeanException;
 import javax.management.StandardMBean;
@@ -34,9 +39,15 @@ import org.ow2.proactive.jmx.Chronological;
 import org.ow2.proactive.scheduler.common.NotificationData;
 import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.SchedulerUsers;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobState;
 import org.ow2.proactive.scheduler.common.job.UserIdentification;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
+import org.ow2.proactive.scheduler.core.ClientRequestHandler;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.jmx.SchedulerJMXHelper;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.policy.license.LicenseManager;
 import org.ow2.proactive.utils.Tools;
 
 
@@ -52,6 +63,12 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
 
     private final SchedulerUsers schedulerClients;
 
+    /** Jobs and tasks statistics maintained from the events, instead of querying the database */
+    private final JobsStatistics statistics = new JobsStatistics();
+
+    /** Licenses used by the running tasks, set once the scheduling service is started */
+    private volatile LicenseManager licenseManager;
+
     /** Current Scheduler status typed as scheduler event */
     private volatile SchedulerEvent schedulerStatus;
 
@@ -59,6 +76,10 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
         super(RuntimeDataMBean.class);
         this.schedulerClients = new SchedulerUsers();
         this.dbManager = dbManager;
+        if (dbManager != null) {
+            // the totals of the pages of jobs come from the statistics once they are recovered
+            dbManager.setJobsCountProvider(statistics);
+        }
     }
 
     public void usersUpdatedEvent(final NotificationData<UserIdentification> notificationData) {
@@ -79,6 +100,36 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
         this.schedulerStatus = eventType;
     }
 
+    public void jobSubmittedEvent(final JobState job) {
+        statistics.jobSubmitted(job.getJobInfo());
+    }
+
+    public void jobStateUpdatedEvent(final NotificationData<JobInfo> notification) {
+        statistics.jobStateUpdated(notification.getEventType(), notification.getData());
+    }
+
+    public void taskStateUpdatedEvent(final NotificationData<TaskInfo> notification) {
+        statistics.taskStateUpdated(notification.getData().getJobInfo());
+    }
+
+    /**
+     * Initializes the jobs and tasks statistics once the scheduler state is recovered.
+     * Until then, the statistics are read from the database.
+     *
+     * @param pendingJobs the recovered pending jobs
+     * @param runningJobs the recovered running jobs
+     */
+    public void recover(final Collection<InternalJob> pendingJobs, final Collection<InternalJob> runningJobs) {
+        List<JobInfo> aliveJobs = new ArrayList<>(pendingJobs.size() + runningJobs.size());
+        for (InternalJob job : pendingJobs) {
+            aliveJobs.add(job.getJobInfo());
+        }
+        for (InternalJob job : runningJobs) {
+            aliveJobs.add(job.getJobInfo());
+        }
+        statistics.recover(dbManager, aliveJobs);
+    }
+
     // ATTRIBUTES TO CONTROL
 
     /**
@@ -97,6 +148,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      */
     @Chronological
     public int getFinishedJobsCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getFinishedJobsCount();
+        }
         return (int) dbManager.getFinishedJobsCount();
     }
 
@@ -104,6 +158,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of pending jobs
      */
     public int getPendingJobsCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getPendingJobsCount();
+        }
         return (int) dbManager.getPendingJobsCount();
     }
 
@@ -111,6 +168,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of running jobs
      */
     public int getRunningJobsCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getRunningJobsCount();
+        }
         return (int) dbManager.getRunningJobsCount();
     }
 
@@ -118,6 +178,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of jobs submitted to the Scheduler
      */
     public int getTotalJobsCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getTotalJobsCount();
+        }
         return (int) dbManager.getTotalJobsCount();
     }
 
@@ -125,6 +188,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of pending tasks
      */
     public int getPendingTasksCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getPendingTasksCount();
+        }
         return (int) dbManager.getPendingTasksCount();
     }
 
@@ -132,6 +198,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of finished tasks
      */
     public int getFinishedTasksCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getFinishedTasksCount();
+        }
         return (int) dbManager.getFinishedTasksCount();
     }
 
@@ -139,6 +208,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of running tasks
      */
     public int getRunningTasksCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getRunningTasksCount();
+        }
         return (int) dbManager.getRunningTasksCount();
     }
 
@@ -146,6 +218,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      * @return current number of tasks submitted to the Scheduler
      */
     public int getTotalTasksCount() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getTotalTasksCount();
+        }
         return (int) dbManager.getTotalTasksCount();
     }
 
@@ -163,6 +238,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      */
     @Chronological
     public int getMeanJobPendingTime() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getMeanJobPendingTime();
+        }
         return (int) dbManager.getMeanJobPendingTime();
     }
 
@@ -171,6 +249,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      */
     @Chronological
     public int getMeanJobExecutionTime() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getMeanJobExecutionTime();
+        }
         return (int) dbManager.getMeanJobExecutionTime();
     }
 
@@ -179,6 +260,9 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
      */
     @Chronological
     public int getJobSubmittingPeriod() {
+        if (statistics.isRecovered()) {
+            return (int) statistics.getMeanJobSubmittingPeriod();
+        }
         return (int) dbManager.getMeanJobSubmittingPeriod();
     }
 
@@ -207,6 +291,43 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
         return Tools.getFormattedDuration(0, getJobSubmittingPeriod());
     }
 
+    /**
+     * @return the number of events waiting to be sent to each client
+     */
+    public Map<String, Integer> getClientEventQueueSizes() {
+        return ClientRequestHandler.getEventQueueSizes();
+    }
+
+    /**
+     * @return the time in milliseconds the oldest pending event of each client has been waiting
+     */
+    public Map<String, Long> getClientEventQueueLags() {
+        return ClientRequestHandler.getEventQueueLags();
+    }
+
+    /**
+     * @return the number of licenses of each software managed by the license scheduling policy
+     */
+    public Map<String, Integer> getTotalLicenses() {
+        LicenseManager manager = licenseManager;
+        return manager == null ? Collections.<String, Integer> emptyMap() : manager.getTotalLicenses();
+    }
+
+    /**
+     * @return the number of licenses of each software used by the running tasks
+     */
+    public Map<String, Integer> getUsedLicenses() {
+        LicenseManager manager = licenseManager;
+        return manager == null ? Collections.<String, Integer> emptyMap() : manager.getUsedLicenses();
+    }
+
+    /**
+     * Sets the licenses of the software used by the running tasks, owned by the scheduling service
+     */
+    public void setLicenseManager(LicenseManager licenseManager) {
+        this.licenseManager = licenseManager;
+    }
+
     // MBEAN OPERATIONS
 
     /**
@@ -312,4 +433,19 @@ public final class RuntimeDataMBeanImpl extends StandardMBean implements Runtime
     public byte[] getStatisticHistory() throws IOException {
         return SchedulerJMXHelper.getInstance().getDataStore().getBytes();
     }
+
+    /**
+     * Fetches the values of some statistics accumulated in the RRD data base
+     *
+     * @param dataSources the names of the data sources, all of them when empty
+     * @param range the length in seconds of the period to fetch, ending at the last update
+     * @param since when positive, only the values after this time in seconds are returned
+     * @param resolution the wanted step in seconds, the finest available when not positive
+     * @return the values as a JSON object
+     * @throws IOException when data base cannot be read
+     */
+    public String fetchStatisticHistory(String[] dataSources, long range, long since, long resolution)
+            throws IOException {
+        return SchedulerJMXHelper.getInstance().getDataStore().fetch(dataSources, range, since, resolution);
+    }
 }
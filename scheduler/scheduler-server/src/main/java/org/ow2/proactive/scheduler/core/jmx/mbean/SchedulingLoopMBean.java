@@ -0,0 +1,143 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import java.util.Map;
+
+
+/**
+ * MBean interface exposing the activity of the scheduling loop, of the task deployment and of the housekeeping.
+ */
+public interface SchedulingLoopMBean {
+
+    /**
+     * Returns the number of wakeups of the scheduling loop by reason.
+     * @return the number of wakeups indexed by reason
+     */
+    Map<String, Long> getWakeupsByReason();
+
+    /**
+     * Returns the number of wakeups received while a scheduling pass was already requested.
+     * @return the number of coalesced wakeups
+     */
+    long getCoalescedWakeups();
+
+    /**
+     * Returns the number of scheduling passes started because the loop timeout was reached.
+     * @return the number of timeouts
+     */
+    long getTimeoutWakeups();
+
+    /**
+     * Returns the number of scheduling passes.
+     * @return the number of passes
+     */
+    long getSchedulingPasses();
+
+    /**
+     * Returns the number of scheduling passes which did not start any task.
+     * @return the number of empty passes
+     */
+    long getEmptySchedulingPasses();
+
+    /**
+     * Returns the number of tasks which went through each stage of the task deployment.
+     * @return the number of tasks indexed by stage
+     */
+    Map<String, Long> getTaskDeploymentCounts();
+
+    /**
+     * Returns the cumulated time spent by the tasks in each stage of the task deployment.
+     * @return the time in milliseconds indexed by stage
+     */
+    Map<String, Long> getTaskDeploymentTotalTimes();
+
+    /**
+     * Returns the longest time spent by a task in each stage of the task deployment.
+     * @return the time in milliseconds indexed by stage
+     */
+    Map<String, Long> getTaskDeploymentMaxTimes();
+
+    /**
+     * Returns the number of task starts whose credentials were found in the credentials cache.
+     * @return the number of cache hits
+     */
+    long getCredentialsCacheHits();
+
+    /**
+     * Returns the number of task starts whose credentials were decrypted or loaded from the database.
+     * @return the number of cache misses
+     */
+    long getCredentialsCacheMisses();
+
+    /**
+     * Returns the ratio of the credentials requests served by the credentials cache.
+     * @return the hit rate of the credentials cache, between 0 and 1
+     */
+    double getCredentialsCacheHitRate();
+
+    /**
+     * Returns the number of housekeeping runs.
+     * @return the number of runs
+     */
+    long getHousekeepingRuns();
+
+    /**
+     * Returns the number of jobs which the current housekeeping run still has to remove.
+     * @return the number of pending jobs, 0 when no housekeeping is running
+     */
+    long getHousekeepingPendingJobs();
+
+    /**
+     * Returns the number of jobs removed by the housekeeping.
+     * @return the number of removed jobs
+     */
+    long getHousekeepingRemovedJobs();
+
+    /**
+     * Returns the number of database transactions committed by the housekeeping.
+     * @return the number of transactions
+     */
+    long getHousekeepingTransactions();
+
+    /**
+     * Returns the cumulated time spent in the database transactions of the housekeeping.
+     * @return the time in milliseconds
+     */
+    long getHousekeepingTotalTransactionTime();
+
+    /**
+     * Returns the longest database transaction of the housekeeping.
+     * @return the time in milliseconds
+     */
+    long getHousekeepingMaxTransactionTime();
+
+    /**
+     * Returns the duration of the last housekeeping run.
+     * @return the time in milliseconds
+     */
+    long getHousekeepingLastRunTime();
+}
@@ -0,0 +1,157 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import java.util.Collections;
+import java.util.Map;
+
+import javax.management.NotCompliantMBeanException;
+import javax.management.StandardMBean;
+
+import org.ow2.proactive.scheduler.core.HousekeepingStatistics;
+import org.ow2.proactive.scheduler.core.SchedulingWakeupStatistics;
+import org.ow2.proactive.scheduler.core.TaskCredentialsCache;
+import org.ow2.proactive.scheduler.core.TaskDeploymentStatistics;
+
+
+/**
+ * Implementation of the SchedulingLoopMBean interface.
+ * <p>
+ * The MBean is registered when the JMX connector boots, before the scheduling loop is
+ * created: it reports nothing until the statistics of the loop are attached.
+ */
+public final class SchedulingLoopMBeanImpl extends StandardMBean implements SchedulingLoopMBean {
+
+    private volatile SchedulingWakeupStatistics statistics;
+
+    private volatile TaskDeploymentStatistics deploymentStatistics;
+
+    private volatile TaskCredentialsCache credentialsCache;
+
+    private volatile HousekeepingStatistics housekeepingStatistics;
+
+    public SchedulingLoopMBeanImpl() throws NotCompliantMBeanException {
+        super(SchedulingLoopMBean.class);
+    }
+
+    public void setStatistics(SchedulingWakeupStatistics statistics, TaskDeploymentStatistics deploymentStatistics,
+            TaskCredentialsCache credentialsCache, HousekeepingStatistics housekeepingStatistics) {
+        this.statistics = statistics;
+        this.deploymentStatistics = deploymentStatistics;
+        this.credentialsCache = credentialsCache;
+        this.housekeepingStatistics = housekeepingStatistics;
+    }
+
+    public Map<String, Long> getWakeupsByReason() {
+        SchedulingWakeupStatistics current = this.statistics;
+        return current == null ? Collections.<String, Long> emptyMap() : current.getWakeupsByReason();
+    }
+
+    public long getCoalescedWakeups() {
+        SchedulingWakeupStatistics current = this.statistics;
+        return current == null ? 0 : current.getCoalescedWakeups();
+    }
+
+    public long getTimeoutWakeups() {
+        SchedulingWakeupStatistics current = this.statistics;
+        return current == null ? 0 : current.getTimeoutWakeups();
+    }
+
+    public long getSchedulingPasses() {
+        SchedulingWakeupStatistics current = this.statistics;
+        return current == null ? 0 : current.getPasses();
+    }
+
+    public long getEmptySchedulingPasses() {
+        SchedulingWakeupStatistics current = this.statistics;
+        return current == null ? 0 : current.getEmptyPasses();
+    }
+
+    public Map<String, Long> getTaskDeploymentCounts() {
+        TaskDeploymentStatistics current = this.deploymentStatistics;
+        return current == null ? Collections.<String, Long> emptyMap() : current.getCounts();
+    }
+
+    public Map<String, Long> getTaskDeploymentTotalTimes() {
+        TaskDeploymentStatistics current = this.deploymentStatistics;
+        return current == null ? Collections.<String, Long> emptyMap() : current.getTotalTimesMillis();
+    }
+
+    public Map<String, Long> getTaskDeploymentMaxTimes() {
+        TaskDeploymentStatistics current = this.deploymentStatistics;
+        return current == null ? Collections.<String, Long> emptyMap() : current.getMaxTimesMillis();
+    }
+
+    public long getCredentialsCacheHits() {
+        TaskCredentialsCache current = this.credentialsCache;
+        return current == null ? 0 : current.getHitCount();
+    }
+
+    public long getCredentialsCacheMisses() {
+        TaskCredentialsCache current = this.credentialsCache;
+        return current == null ? 0 : current.getMissCount();
+    }
+
+    public double getCredentialsCacheHitRate() {
+        TaskCredentialsCache current = this.credentialsCache;
+        return current == null ? 1 : current.getHitRate();
+    }
+
+    public long getHousekeepingRuns() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getRuns();
+    }
+
+    public long getHousekeepingPendingJobs() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getPendingJobs();
+    }
+
+    public long getHousekeepingRemovedJobs() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getRemovedJobs();
+    }
+
+    public long getHousekeepingTransactions() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getTransactions();
+    }
+
+    public long getHousekeepingTotalTransactionTime() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getTotalTransactionTimeMillis();
+    }
+
+    public long getHousekeepingMaxTransactionTime() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getMaxTransactionTimeMillis();
+    }
+
+    public long getHousekeepingLastRunTime() {
+        HousekeepingStatistics current = this.housekeepingStatistics;
+        return current == null ? 0 : current.getLastRunTimeMillis();
+    }
+}
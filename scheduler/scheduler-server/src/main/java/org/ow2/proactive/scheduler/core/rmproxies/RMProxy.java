@@ -28,14 +28,19 @@ package org.ow2.proactive.scheduler.core.rmproxies;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.apache.log4j.Logger;
+import org.objectweb.proactive.api.PAFuture;
 import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthentication;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.event.RMInitialState;
 import org.ow2.proactive.resourcemanager.exception.RMException;
 import org.ow2.proactive.resourcemanager.frontend.RMConnection;
+import org.ow2.proactive.resourcemanager.frontend.RMEventListener;
 import org.ow2.proactive.scheduler.common.task.TaskId;
 import org.ow2.proactive.scheduler.task.utils.VariablesMap;
 import org.ow2.proactive.scripting.Script;
@@ -61,6 +66,14 @@ public class RMProxy {
 
     private Credentials creds;
 
+    /** Listener of the node events, registered again when the proxy reconnects */
+    private RMEventListener nodeEventListener;
+
+    /** Receives the state of the RM each time the listener of the node events is registered */
+    private Consumer<RMInitialState> nodeEventListenerState;
+
+    private volatile boolean nodeEventListenerRegistered;
+
     RMProxy(URI rmURL, Credentials creds) throws RMException, RMProxyCreationException {
         this.rmURL = rmURL;
         this.creds = creds;
@@ -71,9 +84,60 @@ public class RMProxy {
         RMAuthentication auth = RMConnection.join(rmURL.toString());
         proxyActiveObject = RMProxyActiveObject.createAOProxy(auth, creds);
         currentRMConnection = new RMProxiesManager.Connection(rmURL, auth);
+        if (nodeEventListener != null) {
+            registerNodeEventListener();
+        }
+    }
+
+    private void registerNodeEventListener() {
+        try {
+            RMInitialState state = proxyActiveObject.addNodeEventListener(nodeEventListener);
+            PAFuture.waitFor(state);
+            nodeEventListenerState.accept(state);
+            nodeEventListenerRegistered = true;
+        } catch (RuntimeException e) {
+            nodeEventListenerRegistered = false;
+            logger.warn("Cannot listen to the node events of the RM, the free nodes will be polled", e);
+        }
+    }
+
+    /**
+     * Registers a listener of the node additions, state changes and removals of the resource manager.
+     * The listener is registered again when the proxy reconnects.
+     *
+     * @param listener the stub of the listener
+     * @param stateConsumer receives the state of the resource manager each time the listener is registered
+     */
+    public synchronized void addNodeEventListener(RMEventListener listener,
+            Consumer<RMInitialState> stateConsumer) {
+        if (proxyActiveObject == null) {
+            throw new RuntimeException("Proxy is not initialized");
+        }
+        this.nodeEventListener = listener;
+        this.nodeEventListenerState = stateConsumer;
+        registerNodeEventListener();
+    }
+
+    /**
+     * Registers again the listener given to {@link #addNodeEventListener(RMEventListener, Consumer)}, so that
+     * it gets the full state of the resource manager after missing some of its events.
+     */
+    public synchronized void reregisterNodeEventListener() {
+        if (nodeEventListener != null && proxyActiveObject != null) {
+            registerNodeEventListener();
+        }
+    }
+
+    /**
+     * @return true if the listener given to {@link #addNodeEventListener(RMEventListener, Consumer)} receives
+     *         the node events of the currently connected RM
+     */
+    public boolean isNodeEventListenerRegistered() {
+        return nodeEventListenerRegistered;
     }
 
     public synchronized void terminate() {
+        nodeEventListenerRegistered = false;
         if (proxyActiveObject != null) {
             try {
                 proxyActiveObject.disconnect();
@@ -99,6 +163,18 @@ public class RMProxy {
         return proxyActiveObject.getState();
     }
 
+    /**
+     * Returns the changes of the resource manager nodes since the given revision.
+     *
+     * @see org.ow2.proactive.resourcemanager.frontend.ResourceManager#getStateDelta(long, long)
+     */
+    public RMStateDelta getStateDelta(long epoch, long sinceRevision) {
+        if (proxyActiveObject == null) {
+            throw new RuntimeException("Proxy is not initialized");
+        }
+        return proxyActiveObject.getStateDelta(epoch, sinceRevision);
+    }
+
     public void rebind(URI rmURI) throws RMException, RMProxyCreationException {
 
         if (rmURI.equals(this.rmURL) && proxyActiveObject != null && proxyActiveObject.isActive().getBooleanValue()) {
@@ -170,4 +246,21 @@ public class RMProxy {
             return false;
         }
     }
+
+    /**
+     * Registers an active object, owned by the user of this proxy, which is kept on a node when the node
+     * is released.
+     *
+     * @param nodeUrl the url of a node acquired through this proxy
+     * @param activeObjectUrl the url of the active object
+     * @return true if the resource manager registered the active object
+     */
+    public boolean setResidentActiveObject(String nodeUrl, String activeObjectUrl) {
+        if (proxyActiveObject != null) {
+            return proxyActiveObject.setResidentActiveObject(nodeUrl, activeObjectUrl);
+        } else {
+            logger.warn("Didn't find RM to register the resident active object of node " + nodeUrl);
+            return false;
+        }
+    }
 }
@@ -46,6 +46,10 @@ import org.objectweb.proactive.extensions.annotation.ActiveObject;
 import org.ow2.proactive.authentication.crypto.Credentials;
 import org.ow2.proactive.resourcemanager.authentication.RMAuthentication;
 import org.ow2.proactive.resourcemanager.common.RMState;
+import org.ow2.proactive.resourcemanager.common.RMStateDelta;
+import org.ow2.proactive.resourcemanager.common.event.RMEventType;
+import org.ow2.proactive.resourcemanager.common.event.RMInitialState;
+import org.ow2.proactive.resourcemanager.frontend.RMEventListener;
 import org.ow2.proactive.resourcemanager.frontend.ResourceManager;
 import org.ow2.proactive.scheduler.common.SchedulerConstants;
 import org.ow2.proactive.scheduler.common.task.TaskId;
@@ -121,6 +125,24 @@ public class RMProxyActiveObject {
         return rm.getState();
     }
 
+    @ImmediateService
+    public RMStateDelta getStateDelta(long epoch, long sinceRevision) {
+        return rm.getStateDelta(epoch, sinceRevision);
+    }
+
+    /**
+     * Registers a listener of the node additions and state changes of the resource manager.
+     *
+     * @param listener the stub of the listener
+     * @return the state of the resource manager when the listener is registered
+     */
+    public RMInitialState addNodeEventListener(RMEventListener listener) {
+        return rm.getMonitoring().addRMEventListener(listener,
+                                                     RMEventType.NODE_ADDED,
+                                                     RMEventType.NODE_STATE_CHANGED,
+                                                     RMEventType.NODE_REMOVED);
+    }
+
     @ImmediateService
     public NodeSet getNodes(Criteria criteria) {
         return rm.getNodes(criteria);
@@ -314,4 +336,9 @@ public class RMProxyActiveObject {
         return rm.areNodesRecoverable(nodes);
     }
 
+    @ImmediateService
+    public boolean setResidentActiveObject(String nodeUrl, String activeObjectUrl) {
+        return rm.setResidentActiveObject(nodeUrl, activeObjectUrl).getBooleanValue();
+    }
+
 }
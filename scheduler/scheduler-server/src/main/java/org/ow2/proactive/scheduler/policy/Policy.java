@@ -40,6 +40,7 @@ import org.ow2.proactive.scheduler.common.JobDescriptor;
 import org.ow2.proactive.scheduler.common.Scheduler;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
+import org.ow2.proactive.scheduler.policy.license.LicenseManager;
 import org.ow2.proactive.utils.NodeSet;
 
 
@@ -65,6 +66,12 @@ public abstract class Policy implements Serializable {
     /** Config properties */
     protected Properties configProperties = null;
 
+    /**
+     * Licenses of the software used by the running tasks, owned by the scheduler, which releases them
+     * when the tasks do not run anymore. Can be used in an inherit policy to acquire the licenses of a task.
+     */
+    protected transient LicenseManager licenseManager = null;
+
     /**
      * Create a new instance of Policy (must be public).
      * Called by class.forname when instantiating the policy.
@@ -102,6 +109,15 @@ public abstract class Policy implements Serializable {
         return true;
     }
 
+    /**
+     * Set the licenses of the software used by the running tasks
+     *
+     * @param licenseManager licenses owned by the scheduler
+     */
+    public final void setLicenseManager(LicenseManager licenseManager) {
+        this.licenseManager = licenseManager;
+    }
+
     /**
      * Set the RM state
      *
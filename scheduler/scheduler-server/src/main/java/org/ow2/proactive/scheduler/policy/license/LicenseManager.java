@@ -0,0 +1,197 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.license;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ow2.proactive.scheduler.common.task.TaskId;
+
+
+/**
+ * Number of licenses of each software used by the running tasks.
+ * <p>
+ * A task acquires all the licenses it requires, or none of them, before it is started, and releases
+ * them when it does not run anymore, whatever the reason. Acquiring and releasing the licenses of a
+ * task only updates one counter per required license.
+ * <p>
+ * The license manager belongs to the scheduling service, which releases the licenses of the tasks and
+ * restores the ones of the recovered running tasks, so that the licenses are kept when the policy changes.
+ * The {@link LicenseSchedulingPolicy} acquires the licenses of the tasks it accepts.
+ */
+public class LicenseManager {
+
+    /** Generic information of a task listing the software it requires, separated by commas */
+    public static final String REQUIRED_LICENSES = "REQUIRED_LICENSES";
+
+    private static final int MAX_PARSED_REQUIRED_LICENSES = 1000;
+
+    /** The software of each value of REQUIRED_LICENSES, not to split the same values at each scheduling loop */
+    private static final Map<String, List<String>> parsedRequiredLicenses = new ConcurrentHashMap<>();
+
+    /** number of licenses of each software */
+    private final Map<String, Integer> totalLicenses;
+
+    /** number of licenses of each software used by the running tasks */
+    private final Map<String, Integer> usedLicenses = new HashMap<>();
+
+    /** licenses used by each running task */
+    private final Map<TaskId, List<String>> reservations = new HashMap<>();
+
+    LicenseManager(Map<String, Integer> totalLicenses) {
+        this.totalLicenses = new HashMap<>(totalLicenses);
+        for (String software : totalLicenses.keySet()) {
+            usedLicenses.put(software, 0);
+        }
+    }
+
+    /**
+     * @param properties the number of licenses of each software
+     * @return a license manager without any license used
+     */
+    static LicenseManager fromProperties(Properties properties) {
+        Map<String, Integer> totalLicenses = new HashMap<>();
+        for (String software : properties.stringPropertyNames()) {
+            totalLicenses.put(software, Integer.parseInt(properties.getProperty(software)));
+        }
+        return new LicenseManager(totalLicenses);
+    }
+
+    /**
+     * @return a license manager without any license used, with the licenses of the license configuration file
+     */
+    public static LicenseManager fromConfiguration() {
+        return fromProperties(LicenseConfiguration.getConfiguration().getProperties());
+    }
+
+    /**
+     * @param genericInformation the generic information of a task
+     * @return the software required by the task, null if it does not require any license
+     */
+    public static List<String> getRequiredLicenses(Map<String, String> genericInformation) {
+        String requiredLicenses = genericInformation.get(REQUIRED_LICENSES);
+        if (requiredLicenses == null) {
+            return null;
+        }
+        List<String> software = parsedRequiredLicenses.get(requiredLicenses);
+        if (software == null) {
+            if (parsedRequiredLicenses.size() >= MAX_PARSED_REQUIRED_LICENSES) {
+                parsedRequiredLicenses.clear();
+            }
+            software = Collections.unmodifiableList(Arrays.asList(requiredLicenses.split(",")));
+            parsedRequiredLicenses.put(requiredLicenses, software);
+        }
+        return software;
+    }
+
+    /**
+     * Gives a license of each required software to a task, if they are all available.
+     * A software required several times needs several licenses.
+     *
+     * @param taskId the task which requires licenses
+     * @param software the software required by the task
+     * @return true if the task holds the licenses, false if none of them was given
+     */
+    public synchronized boolean acquire(TaskId taskId, List<String> software) {
+        if (reservations.containsKey(taskId)) {
+            return true;
+        }
+        Map<String, Integer> requiredLicenses = new HashMap<>();
+        for (String name : software) {
+            Integer required = requiredLicenses.get(name);
+            requiredLicenses.put(name, required == null ? 1 : required + 1);
+        }
+        for (Map.Entry<String, Integer> required : requiredLicenses.entrySet()) {
+            Integer total = totalLicenses.get(required.getKey());
+            if (total == null || usedLicenses.get(required.getKey()) + required.getValue() > total) {
+                return false;
+            }
+        }
+        reserve(taskId, software);
+        return true;
+    }
+
+    /**
+     * Gives back the licenses held by the given task.
+     *
+     * @param taskId a task which does not run anymore
+     * @return true if the task held licenses
+     */
+    public synchronized boolean release(TaskId taskId) {
+        List<String> software = reservations.remove(taskId);
+        if (software == null) {
+            return false;
+        }
+        for (String name : software) {
+            Integer used = usedLicenses.get(name);
+            if (used != null) {
+                usedLicenses.put(name, used - 1);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the licenses it used to a task which was already running, even if it exceeds the
+     * number of licenses of a software, which may have been reduced meanwhile.
+     *
+     * @param taskId the running task
+     * @param software the software required by the task
+     */
+    public synchronized void restore(TaskId taskId, List<String> software) {
+        if (!reservations.containsKey(taskId)) {
+            reserve(taskId, software);
+        }
+    }
+
+    private void reserve(TaskId taskId, List<String> software) {
+        reservations.put(taskId, software);
+        for (String name : software) {
+            Integer used = usedLicenses.get(name);
+            usedLicenses.put(name, used == null ? 1 : used + 1);
+        }
+    }
+
+    /**
+     * @return the number of licenses of each software
+     */
+    public Map<String, Integer> getTotalLicenses() {
+        return Collections.unmodifiableMap(totalLicenses);
+    }
+
+    /**
+     * @return a copy of the number of licenses of each software used by the running tasks
+     */
+    public synchronized Map<String, Integer> getUsedLicenses() {
+        return new HashMap<>(usedLicenses);
+    }
+
+}
@@ -25,87 +25,53 @@
  */
 package org.ow2.proactive.scheduler.policy.license;
 
-import java.util.*;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
-import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
 import org.ow2.proactive.scheduler.policy.ExtendedSchedulerPolicy;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
 import org.ow2.proactive.utils.NodeSet;
 
 
 /**
  * 
  * This Policy is designed to manage software licenses.
- * When a task contains the generic information REQUIRE_LICENSES,
+ * When a task contains the generic information REQUIRED_LICENSES,
  * this policy will check if there is an available license per
  * software to return true
  *
+ * The licenses are counted by the {@link LicenseManager} of the scheduler, which gives them back
+ * when the task does not run anymore, whether it finished, failed, was killed, preempted or restarted,
+ * even if the scheduling policy was changed meanwhile.
+ *
  */
 public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
     private static final Logger logger = Logger.getLogger(LicenseSchedulingPolicy.class);
 
-    private static final String REQUIRED_LICENSES = "REQUIRED_LICENSES";
-
-    // A map of fixed size lists. A map entry per software license and a list per map entry to handle tasks using this software license.
-    private static Map<String, LinkedBlockingQueue<EligibleTaskDescriptor>> eligibleTasksDescriptorsLicenses = null;
-
-    // Will be initialize with the license properties file which includes the maximum licenses numbers per software
-    private static Properties properties = null;
-
-    private static void initialize() {
-        if (eligibleTasksDescriptorsLicenses == null) {
-            // Map initialization
-            eligibleTasksDescriptorsLicenses = new HashMap<String, LinkedBlockingQueue<EligibleTaskDescriptor>>();
-            // Retrieve properties from the license properties file ...
-            properties = LicenseConfiguration.getConfiguration().getProperties();
-            // ... and per software license, create a list handling all tasks using a this software license
-            Enumeration e = properties.propertyNames();
-            while (e.hasMoreElements()) {
-                String software = (String) e.nextElement();
-                int numberOfLicenses = Integer.parseInt(properties.getProperty(software));
-                eligibleTasksDescriptorsLicenses.put(software,
-                                                     new LinkedBlockingQueue<EligibleTaskDescriptor>(numberOfLicenses));
-            }
-        }
-    }
-
     @Override
     public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
 
         logger.debug("Selected Nodes: " + selectedNodes);
 
-        logger.debug("Analysing task: " + ((EligibleTaskDescriptorImpl) task).getInternal().getName());
+        InternalTask internalTask = ((EligibleTaskDescriptorImpl) task).getInternal();
+
+        logger.debug("Analysing task: " + internalTask.getName());
 
         // Retrieve required licenses names from the task generic informations
-        final String requiredLicenses = ((EligibleTaskDescriptorImpl) task).getInternal()
-                                                                           .getRuntimeGenericInformation()
-                                                                           .get(REQUIRED_LICENSES);
+        Map<String, String> genericInformation = internalTask.getRuntimeGenericInformation();
+        final List<String> requiredLicenses = LicenseManager.getRequiredLicenses(genericInformation);
 
         // If it requires software licenses
         if (requiredLicenses != null) {
 
-            initialize();
-            logger.debug("Need to check licenses with " + properties.toString());
-
-            // Iterate over required software licenses
-            final String[] requiredLicensesArray = requiredLicenses.split(",");
-            for (int i = 0; i < requiredLicensesArray.length; i++) {
-                // Retrieve the current software license name and its available number
-                final String currentRequiredLicense = requiredLicensesArray[i];
-
-                // To be executed (ie return true), a task must get a license per requiring software license
-                if (!canGetLicense(currentRequiredLicense)) {
-                    logger.debug("License for " + currentRequiredLicense + " not available, keep task pending");
-                    return false;
-                }
-            }
-            // Here we manage to give a license for all required software licenses
-            for (int i = 0; i < requiredLicensesArray.length; i++) {
-                eligibleTasksDescriptorsLicenses.get(requiredLicensesArray[i]).add(task);
+            // To be executed (ie return true), a task must get a license per requiring software license
+            if (!licenseManager.acquire(task.getTaskId(), requiredLicenses)) {
+                logger.debug("Licenses for " + requiredLicenses + " not available, keep task pending");
+                return false;
             }
             logger.debug("All licenses are available, executing task");
             return true;
@@ -116,38 +82,4 @@ public class LicenseSchedulingPolicy extends ExtendedSchedulerPolicy {
 
     }
 
-    private void removeFinishedTasks(LinkedBlockingQueue<EligibleTaskDescriptor> eligibleTasksDescriptorsLicense) {
-        Iterator<EligibleTaskDescriptor> iter = eligibleTasksDescriptorsLicense.iterator();
-        EligibleTaskDescriptorImpl current_task;
-        while (iter.hasNext()) {
-            current_task = (EligibleTaskDescriptorImpl) iter.next();
-
-            if (current_task.getInternal().getStatus().equals(TaskStatus.FINISHED)) {
-                iter.remove();
-            }
-        }
-    }
-
-    private boolean canGetLicense(String currentRequiredLicense) {
-
-        // If the required software is not specified in the license properties file
-        if (!eligibleTasksDescriptorsLicenses.containsKey(currentRequiredLicense))
-            return false;
-
-        LinkedBlockingQueue<EligibleTaskDescriptor> eligibleTasksDescriptorsLicense = eligibleTasksDescriptorsLicenses.get(currentRequiredLicense);
-        // if there are still remaining licenses return true
-        if (eligibleTasksDescriptorsLicense.remainingCapacity() > 0) {
-            return true;
-        }
-        // otherwise remove all terminated tasks and check again if there are remaining licenses
-        else {
-            removeFinishedTasks(eligibleTasksDescriptorsLicense);
-
-            if (eligibleTasksDescriptorsLicense.remainingCapacity() > 0) {
-                return true;
-            }
-            return false;
-        }
-    }
-
 }
@@ -0,0 +1,182 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.ram;
+
+import java.rmi.dgc.VMID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.objectweb.proactive.api.PAActiveObject;
+import org.objectweb.proactive.core.node.Node;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+
+/**
+ * Free RAM of the node runtimes, as seen by the {@link RamSchedulingPolicy}.
+ * <p>
+ * The free RAM of a runtime is probed with a {@link RamCompute} active object, and the sample is shared
+ * by all the nodes of the runtime until it is older than the maximum age. Within that time, the RAM
+ * allocated to the tasks started on the runtime is subtracted from the sample, so that several tasks
+ * started in the same scheduling loop do not overcommit the machine.
+ */
+class NodeRamTelemetry {
+
+    private static final Logger logger = Logger.getLogger(NodeRamTelemetry.class);
+
+    private static NodeRamTelemetry instance;
+
+    /**
+     * Reads the free RAM of the runtime of a node.
+     */
+    interface Probe {
+        double getAvailableRAMInGB(Node node) throws Exception;
+    }
+
+    /**
+     * Free RAM of a runtime, minus the RAM allocated since it was probed.
+     */
+    static class Sample {
+
+        private final long timestamp;
+
+        private double availableRAM;
+
+        Sample(double availableRAM, long timestamp) {
+            this.availableRAM = availableRAM;
+            this.timestamp = timestamp;
+        }
+
+        synchronized double getAvailableRAM() {
+            return availableRAM;
+        }
+
+        synchronized void allocate(double ram) {
+            availableRAM -= ram;
+        }
+
+        long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    private final Probe probe;
+
+    private final Ticker ticker;
+
+    private final Cache<VMID, Sample> samples;
+
+    /**
+     * @param probe reads the free RAM of a runtime
+     * @param maximumAge time in milliseconds after which the free RAM of a runtime is probed again
+     * @param ticker time source of the samples
+     */
+    NodeRamTelemetry(Probe probe, long maximumAge, Ticker ticker) {
+        this.probe = probe;
+        this.ticker = ticker;
+        this.samples = CacheBuilder.newBuilder()
+                                   .expireAfterWrite(maximumAge, TimeUnit.MILLISECONDS)
+                                   .ticker(ticker)
+                                   .build();
+    }
+
+    /**
+     * @return the telemetry shared by the RAM scheduling policies, probing the nodes with {@link RamCompute}
+     */
+    static synchronized NodeRamTelemetry getInstance() {
+        if (instance == null) {
+            int maximumAge = PASchedulerProperties.SCHEDULER_RAM_POLICY_TELEMETRY_MAX_AGE.getValueAsInt();
+            instance = new NodeRamTelemetry(new RamComputeProbe(), maximumAge, Ticker.systemTicker());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the free RAM of the runtime of the given node, probing it only if there is no recent sample.
+     *
+     * @param node a node of the runtime
+     * @return the sample of the runtime
+     * @throws Exception if the runtime cannot be probed
+     */
+    Sample getSample(final Node node) throws Exception {
+        try {
+            return samples.get(getRuntimeId(node), new Callable<Sample>() {
+                @Override
+                public Sample call() throws Exception {
+                    return new Sample(probe.getAvailableRAMInGB(node), ticker.read());
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * Subtracts RAM allocated to a task from the sample of the runtime of the given node.
+     *
+     * @param node the node of the task
+     * @param ram RAM in gigabytes
+     */
+    void allocate(Node node, double ram) {
+        Sample sample = samples.getIfPresent(getRuntimeId(node));
+        if (sample != null) {
+            sample.allocate(ram);
+        }
+    }
+
+    /**
+     * @param sample a sample of this telemetry
+     * @return the age of the sample in milliseconds
+     */
+    long getAge(Sample sample) {
+        return TimeUnit.NANOSECONDS.toMillis(ticker.read() - sample.getTimestamp());
+    }
+
+    private static VMID getRuntimeId(Node node) {
+        return node.getVMInformation().getVMID();
+    }
+
+    private static class RamComputeProbe implements Probe {
+
+        @Override
+        public double getAvailableRAMInGB(Node node) throws Exception {
+            RamCompute ramCompute = PAActiveObject.newActive(RamCompute.class, new Object[] {}, node);
+            double freeRam = ramCompute.getAvailableRAMInGB();
+            try {
+                PAActiveObject.terminateActiveObject(ramCompute, true);
+            } catch (Exception e) {
+                logger.warn("Error while terminating Active Object", e);
+            }
+            return freeRam;
+        }
+    }
+}
@@ -26,10 +26,7 @@
 package org.ow2.proactive.scheduler.policy.ram;
 
 import org.apache.log4j.Logger;
-import org.objectweb.proactive.ActiveObjectCreationException;
-import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.Node;
-import org.objectweb.proactive.core.node.NodeException;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptor;
 import org.ow2.proactive.scheduler.descriptor.EligibleTaskDescriptorImpl;
 import org.ow2.proactive.scheduler.policy.ExtendedSchedulerPolicy;
@@ -46,6 +43,10 @@ import org.ow2.proactive.utils.NodeSet;
  * It's important to set the ALLOC_RAM_GIGABYTES task property to 0 in the clean script to release the preallocation. For example for a groovy clean script :
  * org.objectweb.proactive.api.PAActiveObject.getNode().setProperty("ALLOC_RAM_GIGABYTES","0");
  *
+ * The free RAM of a node is probed once for all the nodes of its runtime and reused during
+ * pa.scheduler.ram.policy.telemetry.maxage milliseconds, minus the RAM allocated to the tasks started meanwhile.
+ * RAM released by the clean scripts is thus seen when the runtime is probed again.
+ *
  */
 public class RamSchedulingPolicy extends ExtendedSchedulerPolicy {
 
@@ -53,6 +54,16 @@ public class RamSchedulingPolicy extends ExtendedSchedulerPolicy {
 
     public static final String RAM_VARIABLE_NAME = "ALLOC_RAM_GIGABYTES";
 
+    private final transient NodeRamTelemetry ramTelemetry;
+
+    public RamSchedulingPolicy() {
+        this(NodeRamTelemetry.getInstance());
+    }
+
+    RamSchedulingPolicy(NodeRamTelemetry ramTelemetry) {
+        this.ramTelemetry = ramTelemetry;
+    }
+
     @Override
     public boolean isTaskExecutable(NodeSet selectedNodes, EligibleTaskDescriptor task) {
 
@@ -79,13 +90,15 @@ public class RamSchedulingPolicy extends ExtendedSchedulerPolicy {
     private boolean canRunTaskOnNode(NodeSet selectedNodes, EligibleTaskDescriptor task, double neededRam) {
         Node n = selectedNodes.get(0);
         try {
-            double freeRam = getFreeRamFromNode(n);
+            NodeRamTelemetry.Sample sample = ramTelemetry.getSample(n);
+            double freeRam = sample.getAvailableRAM();
             logger.debug("Free Ram for node (" + n.getNodeInformation().getName() + ") : " + freeRam +
-                         " , neededRam : " + neededRam);
+                         " , neededRam : " + neededRam + " , probed " + ramTelemetry.getAge(sample) + " ms ago");
             if (freeRam >= neededRam) {
                 logger.debug("Task " + ((EligibleTaskDescriptorImpl) task).getInternal().getName() +
                              " can execute on " + n);
                 n.setProperty(RAM_VARIABLE_NAME, "" + neededRam);
+                ramTelemetry.allocate(n, neededRam);
                 return true;
             }
         } catch (Exception e) {
@@ -95,15 +108,4 @@ public class RamSchedulingPolicy extends ExtendedSchedulerPolicy {
         return false;
     }
 
-    private double getFreeRamFromNode(Node n) throws ActiveObjectCreationException, NodeException {
-        RamCompute ramCompute = PAActiveObject.newActive(RamCompute.class, new Object[] {}, n);
-        double freeRam = ramCompute.getAvailableRAMInGB();
-        try {
-            PAActiveObject.terminateActiveObject(ramCompute, true);
-        } catch (Exception e) {
-            logger.warn("Error while terminating Active Object", e);
-        }
-        return freeRam;
-    }
-
 }
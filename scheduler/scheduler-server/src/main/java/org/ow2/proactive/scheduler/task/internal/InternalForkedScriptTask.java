@@ -32,6 +32,7 @@ import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.task.ProActiveForkedTaskLauncherFactory;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
@@ -75,4 +76,13 @@ public class InternalForkedScriptTask extends InternalScriptTask {
         return launcher;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BooleanWrapper resetLauncher(TaskLauncher launcher) {
+        logger.info(getTaskInfo().getTaskId(), "reusing forked task launcher");
+        return launcher.reset(getDefaultTaskLauncherInitializer(), new ProActiveForkedTaskLauncherFactory());
+    }
+
 }
@@ -32,6 +32,7 @@ import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.api.PAActiveObject;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.task.ProActiveNonForkedTaskLauncherFactory;
 import org.ow2.proactive.scheduler.task.TaskLauncher;
@@ -78,6 +79,15 @@ public class InternalScriptTask extends InternalTask {
         return launcher;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BooleanWrapper resetLauncher(TaskLauncher launcher) {
+        logger.info(getTaskInfo().getTaskId(), "reusing non forked task launcher");
+        return launcher.reset(getDefaultTaskLauncherInitializer(), new ProActiveNonForkedTaskLauncherFactory());
+    }
+
     /**
      * {@inheritDoc}
      */
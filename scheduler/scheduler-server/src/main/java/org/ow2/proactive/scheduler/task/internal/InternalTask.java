@@ -47,6 +47,7 @@ import org.objectweb.proactive.ActiveObjectCreationException;
 import org.objectweb.proactive.core.node.Node;
 import org.objectweb.proactive.core.node.NodeException;
 import org.objectweb.proactive.core.util.converter.ProActiveMakeDeepCopy;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
 import org.ow2.proactive.scheduler.common.exception.ExecutableCreationException;
 import org.ow2.proactive.scheduler.common.job.JobInfo;
 import org.ow2.proactive.scheduler.common.task.ForkEnvironment;
@@ -59,9 +60,9 @@ import org.ow2.proactive.scheduler.common.task.TaskStatus;
 import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
 import org.ow2.proactive.scheduler.common.task.flow.FlowActionType;
 import org.ow2.proactive.scheduler.common.task.flow.FlowBlock;
-import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
 import org.ow2.proactive.scheduler.common.util.VariableSubstitutor;
 import org.ow2.proactive.scheduler.core.SchedulingService;
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.task.TaskIdImpl;
@@ -497,6 +498,16 @@ public abstract class InternalTask extends TaskState {
      */
     public abstract TaskLauncher createLauncher(Node node) throws ActiveObjectCreationException, NodeException;
 
+    /**
+     * Reset a launcher, kept on its node after a previous task, to run this taskDescriptor.
+     *
+     * @param launcher the launcher to reuse.
+     * @return the future answer of the launcher, false if it cannot run this taskDescriptor.
+     */
+    public BooleanWrapper resetLauncher(TaskLauncher launcher) {
+        return new BooleanWrapper(false);
+    }
+
     /**
      * Return true if this task can handle parent results arguments in its executable
      *
@@ -1158,6 +1169,8 @@ public abstract class InternalTask extends TaskState {
 
         tli.setPingPeriod(PASchedulerProperties.SCHEDULER_NODE_PING_FREQUENCY.getValueAsInt());
         tli.setPingAttempts(PASchedulerProperties.SCHEDULER_NODE_PING_ATTEMPTS.getValueAsInt());
+        tli.setLauncherMaxTasks(PASchedulerProperties.SCHEDULER_TASK_LAUNCHER_REUSE_MAX_TASKS.getValueAsInt());
+        tli.setLauncherLifetime(PASchedulerProperties.SCHEDULER_TASK_LAUNCHER_REUSE_LIFETIME.getValueAsInt());
 
         return tli;
     }
@@ -1206,19 +1219,17 @@ public abstract class InternalTask extends TaskState {
                                                              .getFirstNotSkippedParentTaskIds(parentTask));
                 }
 
-                parentTasksResults = new HashMap<>();
-
-                // Batch fetching of parent tasks results
+                // Batch fetching of parent tasks propagated variables, the full results are only loaded
+                // when the task uses them as arguments
                 for (List<TaskId> parentsSubList : ListUtils.partition(new ArrayList<>(parentIds),
                                                                        PASchedulerProperties.SCHEDULER_DB_FETCH_TASK_RESULTS_BATCH_SIZE.getValueAsInt())) {
 
-                    parentTasksResults.putAll(schedulingService.getInfrastructure()
-                                                               .getDBManager()
-                                                               .loadTasksResults(internalJob.getId(), parentsSubList));
-
-                }
-                if (!parentIds.isEmpty()) {
-                    updateVariablesWithTaskResults(parentTasksResults);
+                    SchedulerDBManager dbManager = schedulingService.getInfrastructure().getDBManager();
+                    Map<TaskId, Map<String, Serializable>> parentsVariables = dbManager.loadTasksPropagatedVariables(internalJob.getId(),
+                                                                                                                     parentsSubList);
+                    for (Map<String, Serializable> propagatedVariables : parentsVariables.values()) {
+                        updateInheritedPropagatedVariables(propagatedVariables);
+                    }
                 }
             }
 
@@ -1228,22 +1239,6 @@ public abstract class InternalTask extends TaskState {
         }
     }
 
-    private void updateVariablesWithTaskResults(Map<TaskId, TaskResult> taskResults) {
-        for (TaskResult taskResult : taskResults.values()) {
-            Map<String, Serializable> propagatedVariables;
-            if (taskResult.getPropagatedVariables() != null) {
-                try {
-                    propagatedVariables = SerializationUtil.deserializeVariableMap(taskResult.getPropagatedVariables());
-                    if (propagatedVariables != null) {
-                        updateInheritedPropagatedVariables(propagatedVariables);
-                    }
-                } catch (Exception e) {
-                    throw new IllegalStateException("Could not deserialize variable map", e);
-                }
-            }
-        }
-    }
-
     private void updateInheritedPropagatedVariables(Map<String, Serializable> propagatedVariables) {
         for (Map.Entry<String, Serializable> propagatedVariable : propagatedVariables.entrySet()) {
             if (variables.get(propagatedVariable.getKey()) == null ||
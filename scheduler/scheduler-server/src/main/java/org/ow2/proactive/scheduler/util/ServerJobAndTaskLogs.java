@@ -27,7 +27,9 @@ package org.ow2.proactive.scheduler.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.log4j.Logger;
 import org.ow2.proactive.scheduler.common.job.JobId;
@@ -41,7 +43,15 @@ public class ServerJobAndTaskLogs {
 
     private static final Logger logger = Logger.getLogger(ServerJobAndTaskLogs.class);
 
+    private static final List<FileAppender> appenders = new CopyOnWriteArrayList<>();
+
     public static void configure() {
+        for (FileAppender appender : appenders) {
+            Logger.getLogger(JobLogger.class).removeAppender(appender);
+            Logger.getLogger(TaskLogger.class).removeAppender(appender);
+            appender.close();
+        }
+        appenders.clear();
         if (logsLocationIsSet()) {
             if (isCleanStart()) {
                 removeLogsDirectory();
@@ -81,6 +91,9 @@ public class ServerJobAndTaskLogs {
 
     private static void removeFolderLog(String path) {
         if (logsLocationIsSet()) {
+            for (FileAppender appender : appenders) {
+                appender.closeFiles(path);
+            }
             String logsLocation = getLogsLocation();
             File logFolder = new File(logsLocation, path);
             org.apache.commons.io.FileUtils.deleteQuietly(logFolder);
@@ -121,7 +134,17 @@ public class ServerJobAndTaskLogs {
         return PASchedulerProperties.SCHEDULER_DB_HIBERNATE_DROPDB.getValueAsBoolean();
     }
 
+    /**
+     * Writes the pending job and task logs to their files
+     */
+    public static void flush() {
+        for (FileAppender appender : appenders) {
+            appender.flush();
+        }
+    }
+
     private static String readLog(String filename) {
+        flush();
         String result = null;
         for (String suffix : new String[] { ".1", "" }) {
             String contents = readFile(new File(getLogsLocation(), filename + suffix));
@@ -148,6 +171,9 @@ public class ServerJobAndTaskLogs {
     }
 
     static void removeLogsDirectory() {
+        for (FileAppender appender : appenders) {
+            appender.closeFiles();
+        }
         String logsLocation = getLogsLocation();
         logger.info("Removing logs " + logsLocation);
         FileUtils.removeDir(new File(logsLocation));
@@ -157,6 +183,7 @@ public class ServerJobAndTaskLogs {
         Logger jobLogger = Logger.getLogger(cls);
         FileAppender appender = createFileAppender();
         jobLogger.addAppender(appender);
+        appenders.add(appender);
     }
 
     private static FileAppender createFileAppender() {
@@ -165,6 +192,9 @@ public class ServerJobAndTaskLogs {
             appender.setMaxFileSize(PASchedulerProperties.SCHEDULER_JOB_LOGS_MAX_SIZE.getValueAsString());
         }
         appender.setFilesLocation(getLogsLocation());
+        appender.setMaxOpenFiles(PASchedulerProperties.SCHEDULER_JOB_LOGS_MAX_OPEN_FILES.getValueAsInt());
+        appender.setFlushInterval(PASchedulerProperties.SCHEDULER_JOB_LOGS_FLUSH_INTERVAL.getValueAsInt());
+        appender.setAsynchronous(true);
         return appender;
     }
 
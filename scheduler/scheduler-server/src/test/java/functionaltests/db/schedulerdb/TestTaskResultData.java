@@ -25,6 +25,7 @@
  */
 package functionaltests.db.schedulerdb;
 
+import java.io.Serializable;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.ow2.proactive.scheduler.common.task.TaskLogs;
 import org.ow2.proactive.scheduler.common.task.TaskResult;
 import org.ow2.proactive.scheduler.common.task.flow.FlowAction;
 import org.ow2.proactive.scheduler.common.task.flow.FlowActionType;
+import org.ow2.proactive.scheduler.common.task.util.SerializationUtil;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.JobIdImpl;
 import org.ow2.proactive.scheduler.task.TaskResultImpl;
@@ -179,6 +181,42 @@ public class TestTaskResultData extends BaseSchedulerDBTest {
         Assert.assertEquals("3_3", result.getB());
     }
 
+    @Test
+    public void testLoadPropagatedVariables() throws Throwable {
+        TaskFlowJob job = new TaskFlowJob();
+        job.addTask(createDefaultTask("task1"));
+        job.addTask(createDefaultTask("task2"));
+
+        InternalJob internalJob = defaultSubmitJobAndLoadInternal(true, job);
+        InternalTask task1 = internalJob.getTask("task1");
+        InternalTask task2 = internalJob.getTask("task2");
+
+        TaskResultImpl result1 = new TaskResultImpl(null, new TestResult(0, "1_1"), null, 0);
+        Map<String, Serializable> variables1 = ImmutableMap.<String, Serializable> of("var", "1_1");
+        result1.setPropagatedVariables(SerializationUtil.serializeVariableMap(variables1));
+        dbManager.updateAfterTaskFinished(internalJob, task1, result1);
+        dbManager.updateAfterTaskFinished(internalJob,
+                                          task2,
+                                          new TaskResultImpl(null, new TestResult(0, "2_1"), null, 0));
+
+        List<TaskId> taskIds = Arrays.asList(task1.getId(), task2.getId());
+        Map<TaskId, Map<String, Serializable>> variables = dbManager.loadTasksPropagatedVariables(internalJob.getId(),
+                                                                                                  taskIds);
+        Assert.assertEquals(2, variables.size());
+        Assert.assertEquals("1_1", variables.get(task1.getId()).get("var"));
+        Assert.assertTrue(variables.get(task2.getId()).isEmpty());
+
+        // a new result of the task replaces the cached variables
+        TaskResultImpl result2 = new TaskResultImpl(null, new TestResult(0, "1_2"), null, 0);
+        Map<String, Serializable> variables2 = ImmutableMap.<String, Serializable> of("var", "1_2");
+        result2.setPropagatedVariables(SerializationUtil.serializeVariableMap(variables2));
+        dbManager.updateAfterTaskFinished(internalJob, task1, result2);
+
+        variables = dbManager.loadTasksPropagatedVariables(internalJob.getId(), taskIds);
+        Assert.assertEquals("1_2", variables.get(task1.getId()).get("var"));
+        Assert.assertTrue(variables.get(task2.getId()).isEmpty());
+    }
+
     @Test
     public void testMultipleJobs() throws Throwable {
         // two jobs have tasks with the same name
@@ -262,6 +262,34 @@ public class SchedulerDBManagerTest extends BaseServiceTest {
         assertEquals("Incorrect jobs total number", nbJobs, actualJobPage.getSize());
     }
 
+    @Test
+    public void testGetTotalJobsCountIsUpdatedAfterChanges() throws Throwable {
+        initExpectedResults("testGetTotalJobsCountIsUpdatedAfterChanges-Job", "TEST-TAG");
+
+        // the page is full so the jobs are counted, twice to read the count again
+        for (int i = 0; i < 2; i++) {
+            actualJobPage = dbManager.getJobs(0, 5, null, true, false, false, null);
+            assertEquals("Incorrect jobs total number", nbJobs, actualJobPage.getSize());
+        }
+
+        startJob(0);
+        actualJobPage = dbManager.getJobs(0, 5, null, true, false, false, null);
+        assertEquals("Incorrect jobs total number", nbJobs - 1, actualJobPage.getSize());
+
+        actualJobPage = dbManager.getJobs(0, 5, null, false, true, false, null);
+        assertEquals("Incorrect jobs total number", 1, actualJobPage.getSize());
+
+        // the last page holds the last jobs
+        actualJobPage = dbManager.getJobs(5, 5, null, true, false, false, null);
+        assertEquals("Incorrect jobs total number", nbJobs - 1, actualJobPage.getSize());
+        assertEquals("Incorrect number of jobs in the page", nbJobs - 6, actualJobPage.getList().size());
+
+        // past the last page
+        actualJobPage = dbManager.getJobs(20, 5, null, true, false, false, null);
+        assertEquals("Incorrect jobs total number", nbJobs - 1, actualJobPage.getSize());
+        assertEquals("Incorrect number of jobs in the page", 0, actualJobPage.getList().size());
+    }
+
     @Test
     public void testGetTotalTasksCount() throws Throwable {
         initExpectedResults("testGetTotalTasksCount-Job", "TEST-TAG");
@@ -0,0 +1,108 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.ow2.proactive.resourcemanager.common.event.RMEventType;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeDescriptor;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
+import org.ow2.proactive.scheduler.core.rmproxies.RMProxiesManager;
+import org.ow2.proactive.scheduler.core.rmproxies.RMProxy;
+
+
+public class NodeFreedNotificationTest {
+
+    private NodeFreedNotification nodeFreedNotification;
+
+    @Mock
+    private SchedulingService schedulingService;
+
+    @Mock
+    private SchedulingInfrastructure infrastructure;
+
+    @Mock
+    private ExecutorService internalOperationsThreadPool;
+
+    @Mock
+    private RMProxiesManager rmProxiesManager;
+
+    @Mock
+    private RMProxy rmProxy;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+        when(schedulingService.getInfrastructure()).thenReturn(infrastructure);
+        when(infrastructure.getInternalOperationsThreadPool()).thenReturn(internalOperationsThreadPool);
+        when(infrastructure.getRMProxiesManager()).thenReturn(rmProxiesManager);
+        when(rmProxiesManager.getRmProxy()).thenReturn(rmProxy);
+        nodeFreedNotification = new NodeFreedNotification(schedulingService, new NodeSourcesIndex());
+    }
+
+    @Test
+    public void testMissingEventsRegisterAgainInAnotherThread() {
+        nodeFreedNotification.nodeEvent(createNodeEvent(1));
+        nodeFreedNotification.nodeEvent(createNodeEvent(3));
+
+        ArgumentCaptor<Runnable> reregistration = ArgumentCaptor.forClass(Runnable.class);
+        verify(internalOperationsThreadPool).submit(reregistration.capture());
+        verify(rmProxy, never()).reregisterNodeEventListener();
+
+        reregistration.getValue().run();
+
+        verify(rmProxy).reregisterNodeEventListener();
+        verify(schedulingService).wakeUpSchedulingThread(SchedulingWakeReason.NODE_FREED);
+    }
+
+    @Test
+    public void testEventsInOrderDoNotRegisterAgain() {
+        nodeFreedNotification.nodeEvent(createNodeEvent(1));
+        nodeFreedNotification.nodeEvent(createNodeEvent(2));
+
+        verify(internalOperationsThreadPool, never()).submit(any(Runnable.class));
+    }
+
+    private static RMNodeEvent createNodeEvent(long counter) {
+        RMNodeDescriptor descriptor = new RMNodeDescriptor();
+        descriptor.setNodeURL("rmi://host/node");
+        descriptor.setNodeSourceName("ns");
+        RMNodeEvent event = new RMNodeEvent(descriptor, RMEventType.NODE_ADDED, null, null);
+        event.setCounter(counter);
+        return event;
+    }
+
+}
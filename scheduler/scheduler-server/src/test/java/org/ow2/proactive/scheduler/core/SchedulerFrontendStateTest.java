@@ -26,12 +26,16 @@
 package org.ow2.proactive.scheduler.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.util.Vector;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -40,8 +44,13 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.objectweb.proactive.core.UniqueID;
+import org.ow2.proactive.scheduler.common.NotificationData;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
 import org.ow2.proactive.scheduler.common.job.JobState;
+import org.ow2.proactive.scheduler.common.task.TaskInfo;
 import org.ow2.proactive.scheduler.core.jmx.SchedulerJMXHelper;
 import org.ow2.proactive.scheduler.core.jmx.mbean.RuntimeDataMBeanImpl;
 import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
@@ -114,4 +123,59 @@ public class SchedulerFrontendStateTest extends ProActiveTestClean {
         assertEquals(schedulerFrontendState.getIdentifiedJob(jobId).getJobId(), (jobId));
 
     }
+
+    @Test
+    public void reads_should_not_wait_for_the_events_of_another_job() throws Exception {
+        SchedulerJMXHelper mockJMX = mock(SchedulerJMXHelper.class);
+        when(mockJMX.getSchedulerRuntimeMBean()).thenReturn(new RuntimeDataMBeanImpl(null));
+
+        JobIdImpl busyJobId = new JobIdImpl(1L, "busy job");
+        ClientJobState busyJobState = mock(ClientJobState.class);
+        when(busyJobState.getId()).thenReturn(busyJobId);
+        final CountDownLatch updateStarted = new CountDownLatch(1);
+        final CountDownLatch updateReleased = new CountDownLatch(1);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                updateStarted.countDown();
+                updateReleased.await();
+                return null;
+            }
+        }).when(busyJobState).update(any(TaskInfo.class));
+
+        JobIdImpl jobId = new JobIdImpl(2L, "job");
+        ClientJobState jobState = mock(ClientJobState.class);
+        when(jobState.getId()).thenReturn(jobId);
+
+        SchedulerStateImpl<ClientJobState> schedulerStateImpl = new SchedulerStateImpl<>();
+        schedulerStateImpl.setRunningJobs(new Vector(Lists.newArrayList(busyJobState, jobState)));
+        final SchedulerFrontendState schedulerFrontendState = new SchedulerFrontendState(schedulerStateImpl, mockJMX);
+
+        TaskInfo taskInfo = mock(TaskInfo.class);
+        when(taskInfo.getJobId()).thenReturn(busyJobId);
+        final NotificationData<TaskInfo> notification = new NotificationData<>(SchedulerEvent.TASK_PROGRESS, taskInfo);
+
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            Future<?> event = executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    schedulerFrontendState.taskStateUpdated("owner", notification);
+                }
+            });
+            assertTrue(updateStarted.await(10, TimeUnit.SECONDS));
+
+            // the event of the busy job is being handled, the other jobs and the users can still be read
+            assertEquals(jobId, schedulerFrontendState.getIdentifiedJob(jobId).getJobId());
+            assertEquals(busyJobId, schedulerFrontendState.getIdentifiedJob(busyJobId).getJobId());
+            assertTrue(schedulerFrontendState.getJobTasks(jobId).isEmpty());
+            assertTrue(schedulerFrontendState.getUsers().isEmpty());
+
+            updateReleased.countDown();
+            event.get(10, TimeUnit.SECONDS);
+        } finally {
+            updateReleased.countDown();
+            executor.shutdownNow();
+        }
+    }
 }
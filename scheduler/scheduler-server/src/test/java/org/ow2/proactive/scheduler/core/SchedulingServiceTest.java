@@ -33,7 +33,9 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Vector;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -50,6 +52,7 @@ import org.ow2.proactive.scheduler.common.job.JobPriority;
 import org.ow2.proactive.scheduler.common.task.OnTaskError;
 import org.ow2.proactive.scheduler.core.db.RecoveredSchedulerState;
 import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
+import org.ow2.proactive.scheduler.core.properties.PASchedulerProperties;
 import org.ow2.proactive.scheduler.core.rmproxies.RMProxiesManager;
 import org.ow2.proactive.scheduler.job.InternalJob;
 import org.ow2.proactive.scheduler.job.InternalTaskFlowJob;
@@ -356,6 +359,59 @@ public class SchedulingServiceTest extends ProActiveTestClean {
         Mockito.verify(infrastructure).getClientOperationsThreadPool();
     }
 
+    @Test
+    public void testSplitHousekeepingBatchBoundsJobsAndTasks() {
+        List<InternalJob> jobs = Arrays.asList(createMockedInternalJob(JobIdImpl.makeJobId("3"), 10),
+                                               createMockedInternalJob(JobIdImpl.makeJobId("1"), 10),
+                                               createMockedInternalJob(JobIdImpl.makeJobId("2"), 10),
+                                               createMockedInternalJob(JobIdImpl.makeJobId("4"), 50),
+                                               createMockedInternalJob(JobIdImpl.makeJobId("5"), 1));
+
+        List<List<Long>> groups = SchedulingService.splitHousekeepingBatch(jobs, 2, 25);
+
+        assertThat(groups,
+                   is(Arrays.asList(Arrays.asList(1L, 3L), Arrays.asList(2L), Arrays.asList(4L), Arrays.asList(5L))));
+    }
+
+    @Test
+    public void testHousekeepingRemovesJobsInSeveralTransactions() {
+        String batchSize = PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_SIZE.getValueAsString();
+        String batchPause = PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_PAUSE.getValueAsString();
+        PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_SIZE.updateProperty("2");
+        PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_PAUSE.updateProperty("0");
+        try {
+            List<JobId> jobIds = Arrays.<JobId> asList(JobIdImpl.makeJobId("1"),
+                                                       JobIdImpl.makeJobId("2"),
+                                                       JobIdImpl.makeJobId("3"));
+            Mockito.when(schedulerDBManager.getJobsToRemove(anyLong())).thenReturn(jobIds);
+            Mockito.when(schedulerDBManager.loadJobWithTasksIfNotRemoved(jobIds.get(0), jobIds.get(1)))
+                   .thenReturn(Arrays.asList(createMockedInternalJob(jobIds.get(0), 1),
+                                             createMockedInternalJob(jobIds.get(1), 1)));
+            Mockito.when(schedulerDBManager.loadJobWithTasksIfNotRemoved(jobIds.get(2)))
+                   .thenReturn(Collections.singletonList(createMockedInternalJob(jobIds.get(2), 1)));
+
+            schedulingService.new HousekeepingRunner().run();
+
+            Mockito.verify(schedulerDBManager).executeHousekeepingInDB(eq(Arrays.asList(1L, 2L)), anyBoolean());
+            Mockito.verify(schedulerDBManager).executeHousekeepingInDB(eq(Arrays.asList(3L)), anyBoolean());
+            HousekeepingStatistics statistics = schedulingService.getHousekeepingStatistics();
+            assertThat(statistics.getRuns(), is(1L));
+            assertThat(statistics.getRemovedJobs(), is(3L));
+            assertThat(statistics.getTransactions(), is(2L));
+            assertThat(statistics.getPendingJobs(), is(0L));
+        } finally {
+            PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_SIZE.updateProperty(batchSize);
+            PASchedulerProperties.SCHEDULER_HOUSEKEEPING_BATCH_PAUSE.updateProperty(batchPause);
+        }
+    }
+
+    private InternalJob createMockedInternalJob(JobId jobId, int numberOfTasks) {
+        InternalJob internalJob = createMockedInternalJob(jobId);
+        Mockito.when(internalJob.getId()).thenReturn(jobId);
+        Mockito.when(internalJob.getTotalNumberOfTasks()).thenReturn(numberOfTasks);
+        return internalJob;
+    }
+
     private InternalJob createMockedInternalJob(JobId jobId) {
         JobInfo jobInfo = Mockito.mock(JobInfoImpl.class);
         InternalJob internalJob = Mockito.mock(InternalJob.class);
@@ -0,0 +1,117 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SchedulingThreadTest {
+
+    private SchedulingThread schedulingThread;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        schedulingThread = new SchedulingThread(mock(SchedulingMethod.class), mock(SchedulingService.class));
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWakeupReceivedBeforeSleepIsNotLost() throws Exception {
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.TASK_TERMINATED);
+
+        sleepInBackground().get(5, TimeUnit.SECONDS);
+
+        SchedulingWakeupStatistics statistics = schedulingThread.getWakeupStatistics();
+        assertThat(statistics.getWakeups(SchedulingWakeReason.TASK_TERMINATED)).isEqualTo(1);
+        assertThat(statistics.getTimeoutWakeups()).isEqualTo(0);
+    }
+
+    @Test
+    public void testWakeupsAreCoalesced() throws Exception {
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.JOB_SUBMITTED);
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.JOB_SUBMITTED);
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.PRIORITY_CHANGED);
+
+        sleepInBackground().get(5, TimeUnit.SECONDS);
+
+        SchedulingWakeupStatistics statistics = schedulingThread.getWakeupStatistics();
+        assertThat(statistics.getWakeups(SchedulingWakeReason.JOB_SUBMITTED)).isEqualTo(2);
+        assertThat(statistics.getWakeups(SchedulingWakeReason.PRIORITY_CHANGED)).isEqualTo(1);
+        assertThat(statistics.getCoalescedWakeups()).isEqualTo(2);
+        assertThat(statistics.getWakeupsByReason().get(SchedulingWakeReason.JOB_SUBMITTED.name())).isEqualTo(2L);
+    }
+
+    @Test
+    public void testWakeupIsConsumedBySleep() throws Exception {
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.JOB_SUBMITTED);
+        sleepInBackground().get(5, TimeUnit.SECONDS);
+
+        schedulingThread.wakeUpSchedulingThread(SchedulingWakeReason.NODE_FREED);
+
+        assertThat(schedulingThread.getWakeupStatistics().getCoalescedWakeups()).isEqualTo(0);
+    }
+
+    @Test
+    public void testPassesAreCounted() {
+        SchedulingWakeupStatistics statistics = new SchedulingWakeupStatistics();
+
+        statistics.passCompleted(0);
+        statistics.passCompleted(3);
+        statistics.passCompleted(0);
+
+        assertThat(statistics.getPasses()).isEqualTo(3);
+        assertThat(statistics.getEmptyPasses()).isEqualTo(2);
+    }
+
+    private Future<Void> sleepInBackground() {
+        return executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                schedulingThread.sleepSchedulingThread();
+                return null;
+            }
+        });
+    }
+
+}
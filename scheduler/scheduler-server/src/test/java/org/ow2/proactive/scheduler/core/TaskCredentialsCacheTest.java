@@ -0,0 +1,118 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.authentication.crypto.CredData;
+import org.ow2.proactive.authentication.crypto.Credentials;
+import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil;
+import org.ow2.proactive.authentication.crypto.HybridEncryptionUtil.HybridEncryptedData;
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+
+
+public class TaskCredentialsCacheTest {
+
+    private KeyPair keyPair;
+
+    private SchedulerDBManager dbManager;
+
+    private TaskCredentialsCache cache;
+
+    private InternalJob job;
+
+    @Before
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(1024);
+        keyPair = generator.generateKeyPair();
+
+        dbManager = mock(SchedulerDBManager.class);
+        HybridEncryptedData encryptedValue = HybridEncryptionUtil.encryptString("value", keyPair.getPublic());
+        Map<String, HybridEncryptedData> thirdPartyCredentials = Collections.singletonMap("key", encryptedValue);
+        when(dbManager.thirdPartyCredentialsMap("user")).thenReturn(thirdPartyCredentials);
+
+        job = mock(InternalJob.class, RETURNS_DEEP_STUBS);
+        when(job.getId()).thenReturn(JobIdImpl.makeJobId("42"));
+        when(job.getJobInfo().getJobOwner()).thenReturn("user");
+        Credentials credentials = Credentials.createCredentials(new CredData("user", "password"), keyPair.getPublic());
+        when(job.getCredentials()).thenReturn(credentials);
+
+        cache = new TaskCredentialsCache(dbManager, 10, 60000);
+    }
+
+    @Test
+    public void testTaskCredentialsAreEnrichedWithThirdPartyCredentials() throws Exception {
+        CredData credData = cache.getTaskCredentials(job, keyPair.getPrivate());
+
+        assertThat(credData.getLogin()).isEqualTo("user");
+        assertThat(credData.getPassword()).isEqualTo("password");
+        assertThat(credData.getThirdPartyCredentials()).containsEntry("key", "value");
+    }
+
+    @Test
+    public void testCredentialsAreDecryptedOnce() throws Exception {
+        CredData first = cache.getTaskCredentials(job, keyPair.getPrivate());
+        first.addThirdPartyCredential("modified", "by the first task");
+        CredData second = cache.getTaskCredentials(job, keyPair.getPrivate());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getThirdPartyCredentials()).doesNotContainKey("modified");
+        verify(job, times(1)).getCredentials();
+        verify(dbManager, times(1)).thirdPartyCredentialsMap("user");
+        assertThat(cache.getMissCount()).isEqualTo(2L);
+        assertThat(cache.getHitCount()).isEqualTo(2L);
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+
+    @Test
+    public void testThirdPartyCredentialsAreReloadedAfterInvalidation() throws Exception {
+        cache.getThirdPartyCredentials("user", keyPair.getPrivate());
+        Map<String, HybridEncryptedData> noCredentials = Collections.emptyMap();
+        when(dbManager.thirdPartyCredentialsMap("user")).thenReturn(noCredentials);
+
+        cache.invalidateThirdPartyCredentials("user");
+
+        assertThat(cache.getThirdPartyCredentials("user", keyPair.getPrivate())).isEmpty();
+        verify(dbManager, times(2)).thirdPartyCredentialsMap("user");
+    }
+
+}
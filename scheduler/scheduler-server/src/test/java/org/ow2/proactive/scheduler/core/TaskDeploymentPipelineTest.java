@@ -0,0 +1,276 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.objectweb.proactive.ActiveObjectCreationException;
+import org.objectweb.proactive.core.node.Node;
+import org.ow2.proactive.resourcemanager.common.event.RMEventType;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeDescriptor;
+import org.ow2.proactive.resourcemanager.common.event.RMNodeEvent;
+import org.ow2.proactive.scheduler.core.TaskDeploymentStatistics.Stage;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+import org.ow2.proactive.utils.NodeSet;
+
+
+public class TaskDeploymentPipelineTest {
+
+    @Test
+    public void testDeploymentsOnSameHostAreBounded() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        TaskDeploymentStatistics statistics = new TaskDeploymentStatistics();
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     8,
+                                                                     2,
+                                                                     0,
+                                                                     new NodeSourcesIndex(),
+                                                                     statistics,
+                                                                     new TaskLauncherPool(false, 0, null));
+
+        List<TaskDeployment> deployments = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            InternalTask task = mock(InternalTask.class);
+            when(task.createLauncher(any(Node.class))).thenAnswer(new Answer<TaskLauncher>() {
+                @Override
+                public TaskLauncher answer(InvocationOnMock invocation) throws Throwable {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    running.decrementAndGet();
+                    return mock(TaskLauncher.class);
+                }
+            });
+            deployments.add(new TaskDeployment(null, task, null, createNode("host"), new NodeSet()));
+        }
+
+        List<Future<TaskDeployment>> futures = pipeline.deploy(deployments);
+
+        assertThat(futures).hasSize(deployments.size());
+        for (int i = 0; i < futures.size(); i++) {
+            TaskDeployment deployment = futures.get(i).get(10, TimeUnit.SECONDS);
+            assertThat(deployment).isSameAs(deployments.get(i));
+            assertThat(deployment.getLauncher()).isNotNull();
+        }
+        assertThat(maxRunning.get()).isAtMost(2);
+        assertThat(statistics.getCount(Stage.LAUNCHER_CREATION)).isEqualTo(6L);
+        assertThat(statistics.getCount(Stage.RECOVERABILITY_CHECK)).isEqualTo(6L);
+    }
+
+    @Test
+    public void testDeploymentsInSameNodeSourceAreBounded() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        NodeSourcesIndex nodeSources = new NodeSourcesIndex();
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     8,
+                                                                     2,
+                                                                     0,
+                                                                     nodeSources,
+                                                                     new TaskDeploymentStatistics(),
+                                                                     new TaskLauncherPool(false, 0, null));
+
+        List<TaskDeployment> deployments = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            InternalTask task = mock(InternalTask.class);
+            when(task.createLauncher(any(Node.class))).thenAnswer(new Answer<TaskLauncher>() {
+                @Override
+                public TaskLauncher answer(InvocationOnMock invocation) throws Throwable {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(50);
+                    running.decrementAndGet();
+                    return mock(TaskLauncher.class);
+                }
+            });
+            Node node = createNode("host" + i);
+            when(node.getNodeInformation().getURL()).thenReturn("pnp://host" + i + "/node");
+            nodeSources.update(createNodeEvent("pnp://host" + i + "/node", "Cloud"));
+            deployments.add(new TaskDeployment(null, task, null, node, new NodeSet()));
+        }
+
+        for (Future<TaskDeployment> future : pipeline.deploy(deployments)) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(maxRunning.get()).isAtMost(2);
+    }
+
+    @Test
+    public void testHeldBackDeploymentsDoNotUseThreads() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        NodeSourcesIndex nodeSources = new NodeSourcesIndex();
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     2,
+                                                                     1,
+                                                                     0,
+                                                                     nodeSources,
+                                                                     new TaskDeploymentStatistics(),
+                                                                     new TaskLauncherPool(false, 0, null));
+
+        List<TaskDeployment> deployments = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            InternalTask task = mock(InternalTask.class);
+            when(task.createLauncher(any(Node.class))).thenAnswer(new Answer<TaskLauncher>() {
+                @Override
+                public TaskLauncher answer(InvocationOnMock invocation) throws Throwable {
+                    release.await();
+                    return mock(TaskLauncher.class);
+                }
+            });
+            Node node = createNode("host" + i);
+            when(node.getNodeInformation().getURL()).thenReturn("pnp://host" + i + "/node");
+            nodeSources.update(createNodeEvent("pnp://host" + i + "/node", "Cloud"));
+            deployments.add(new TaskDeployment(null, task, null, node, new NodeSet()));
+        }
+        InternalTask otherTask = mock(InternalTask.class);
+        when(otherTask.createLauncher(any(Node.class))).thenReturn(mock(TaskLauncher.class));
+        Node otherNode = createNode("otherHost");
+        when(otherNode.getNodeInformation().getURL()).thenReturn("pnp://otherHost/node");
+        nodeSources.update(createNodeEvent("pnp://otherHost/node", "Local"));
+        deployments.add(new TaskDeployment(null, otherTask, null, otherNode, new NodeSet()));
+
+        List<Future<TaskDeployment>> futures = pipeline.deploy(deployments);
+
+        // the deployments held back in the first node source leave a thread to the other node source
+        assertThat(futures.get(4).get(10, TimeUnit.SECONDS).getLauncher()).isNotNull();
+        release.countDown();
+        for (Future<TaskDeployment> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testTimeHeldBackIsNotCountedInTheTimeout() throws Exception {
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     2,
+                                                                     1,
+                                                                     300,
+                                                                     new NodeSourcesIndex(),
+                                                                     new TaskDeploymentStatistics(),
+                                                                     new TaskLauncherPool(false, 0, null));
+
+        List<TaskDeployment> deployments = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            InternalTask task = mock(InternalTask.class);
+            when(task.createLauncher(any(Node.class))).thenAnswer(new Answer<TaskLauncher>() {
+                @Override
+                public TaskLauncher answer(InvocationOnMock invocation) throws Throwable {
+                    Thread.sleep(150);
+                    return mock(TaskLauncher.class);
+                }
+            });
+            deployments.add(new TaskDeployment(null, task, null, createNode("host"), new NodeSet()));
+        }
+
+        for (Future<TaskDeployment> future : pipeline.deploy(deployments)) {
+            assertThat(future.get(10, TimeUnit.SECONDS).getLauncher()).isNotNull();
+        }
+    }
+
+    @Test
+    public void testHungDeploymentIsCancelledAndGivesItsPlaceBack() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     2,
+                                                                     1,
+                                                                     100,
+                                                                     new NodeSourcesIndex(),
+                                                                     new TaskDeploymentStatistics(),
+                                                                     new TaskLauncherPool(false, 0, null));
+        InternalTask hungTask = mock(InternalTask.class);
+        when(hungTask.createLauncher(any(Node.class))).thenAnswer(new Answer<TaskLauncher>() {
+            @Override
+            public TaskLauncher answer(InvocationOnMock invocation) throws Throwable {
+                release.await();
+                return mock(TaskLauncher.class);
+            }
+        });
+        InternalTask task = mock(InternalTask.class);
+        when(task.createLauncher(any(Node.class))).thenReturn(mock(TaskLauncher.class));
+        List<TaskDeployment> deployments = new ArrayList<>();
+        deployments.add(new TaskDeployment(null, hungTask, null, createNode("host"), new NodeSet()));
+        deployments.add(new TaskDeployment(null, task, null, createNode("host"), new NodeSet()));
+
+        List<Future<TaskDeployment>> futures = pipeline.deploy(deployments);
+
+        try {
+            futures.get(0).get(10, TimeUnit.SECONDS);
+            fail("The hung deployment should be cancelled");
+        } catch (CancellationException e) {
+            // expected
+        }
+        assertThat(futures.get(1).get(10, TimeUnit.SECONDS).getLauncher()).isNotNull();
+        release.countDown();
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void testLauncherCreationFailureIsReportedByTheFuture() throws Exception {
+        TaskDeploymentPipeline pipeline = new TaskDeploymentPipeline(mock(SchedulingService.class, RETURNS_DEEP_STUBS),
+                                                                     2,
+                                                                     0,
+                                                                     0,
+                                                                     new NodeSourcesIndex(),
+                                                                     new TaskDeploymentStatistics(),
+                                                                     new TaskLauncherPool(false, 0, null));
+        InternalTask task = mock(InternalTask.class);
+        when(task.createLauncher(any(Node.class))).thenThrow(new ActiveObjectCreationException("failure"));
+        List<TaskDeployment> deployments = new ArrayList<>();
+        deployments.add(new TaskDeployment(null, task, null, createNode("host"), new NodeSet()));
+
+        pipeline.deploy(deployments).get(0).get(10, TimeUnit.SECONDS);
+    }
+
+    private static RMNodeEvent createNodeEvent(String nodeUrl, String nodeSource) {
+        RMNodeDescriptor descriptor = new RMNodeDescriptor();
+        descriptor.setNodeURL(nodeUrl);
+        descriptor.setNodeSourceName(nodeSource);
+        return new RMNodeEvent(descriptor, RMEventType.NODE_ADDED, null, null);
+    }
+
+    private static Node createNode(String hostName) {
+        Node node = mock(Node.class, RETURNS_DEEP_STUBS);
+        when(node.getNodeInformation().getVMInformation().getHostName()).thenReturn(hostName);
+        return node;
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.PublicKey;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.proactive.core.node.Node;
+import org.objectweb.proactive.core.util.wrapper.BooleanWrapper;
+import org.ow2.proactive.scheduler.job.InternalJob;
+import org.ow2.proactive.scheduler.task.TaskLauncher;
+import org.ow2.proactive.scheduler.task.internal.ExecuterInformation;
+import org.ow2.proactive.scheduler.task.internal.InternalTask;
+
+
+public class TaskLauncherPoolTest {
+
+    private TaskLauncherPool pool;
+
+    private Node node;
+
+    private TaskLauncher launcher;
+
+    private InternalJob job;
+
+    private TaskLauncherPool.ResidentLauncherRegistration registration;
+
+    @Before
+    public void setUp() throws Exception {
+        job = mock(InternalJob.class);
+        registration = mock(TaskLauncherPool.ResidentLauncherRegistration.class);
+        when(registration.register(any(InternalJob.class), any(Node.class), any(TaskLauncher.class))).thenReturn(true);
+        pool = new TaskLauncherPool(true, 1000, registration);
+        node = mock(Node.class, RETURNS_DEEP_STUBS);
+        when(node.getNodeInformation().getURL()).thenReturn("rmi://host/node");
+        launcher = mock(TaskLauncher.class);
+        when(launcher.generatePublicKey()).thenReturn(mock(PublicKey.class));
+    }
+
+    @Test
+    public void testLauncherIsReusedOnSameNode() throws Exception {
+        InternalTask firstTask = createTask(true);
+        InternalTask secondTask = createTask(true);
+
+        assertThat(pool.getLauncher(job, firstTask, node)).isSameAs(launcher);
+        assertThat(pool.getLauncher(job, secondTask, node)).isSameAs(launcher);
+
+        verify(secondTask, never()).createLauncher(node);
+        verify(secondTask).resetLauncher(launcher);
+        verify(secondTask).setExecuterInformation(any(ExecuterInformation.class));
+        verify(registration, times(1)).register(job, node, launcher);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLauncherIsReplacedWhenResetIsRefused() throws Exception {
+        InternalTask firstTask = createTask(false);
+        InternalTask secondTask = createTask(false);
+        TaskLauncher newLauncher = mock(TaskLauncher.class);
+        when(secondTask.createLauncher(node)).thenReturn(newLauncher);
+
+        pool.getLauncher(job, firstTask, node);
+
+        assertThat(pool.getLauncher(job, secondTask, node)).isSameAs(newLauncher);
+        verify(registration).register(job, node, newLauncher);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLauncherIsKeptWhenRegistrationFails() throws Exception {
+        when(registration.register(job, node, launcher)).thenThrow(new IllegalStateException());
+
+        assertThat(pool.getLauncher(job, createTask(true), node)).isSameAs(launcher);
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPublicKeyOfReusedLauncherIsCached() throws Exception {
+        pool.getLauncher(job, createTask(true), node);
+        PublicKey publicKey = pool.getPublicKey(node, launcher);
+        pool.getLauncher(job, createTask(true), node);
+
+        assertThat(pool.getPublicKey(node, launcher)).isSameAs(publicKey);
+        verify(launcher, times(1)).generatePublicKey();
+    }
+
+    @Test
+    public void testDisabledPoolCreatesLauncherForEachTask() throws Exception {
+        pool = new TaskLauncherPool(false, 1000, registration);
+        InternalTask task = createTask(true);
+
+        pool.getLauncher(job, task, node);
+        pool.getLauncher(job, task, node);
+        pool.getPublicKey(node, launcher);
+        pool.getPublicKey(node, launcher);
+
+        verify(task, times(2)).createLauncher(node);
+        verify(task, never()).resetLauncher(launcher);
+        verify(launcher, times(2)).generatePublicKey();
+        verify(registration, never()).register(any(InternalJob.class), any(Node.class), any(TaskLauncher.class));
+        assertThat(pool.size()).isEqualTo(0);
+    }
+
+    private InternalTask createTask(boolean launcherAcceptsReset) throws Exception {
+        InternalTask task = mock(InternalTask.class);
+        when(task.createLauncher(node)).thenReturn(launcher);
+        when(task.resetLauncher(launcher)).thenReturn(new BooleanWrapper(launcherAcceptsReset));
+        return task;
+    }
+
+}
@@ -200,6 +200,7 @@ public class TerminationDataTest extends ProActiveTestClean {
         RunningTaskData taskData = new RunningTaskData(internalTask, "user", null, launcher);
         terminationData.addTaskData(null, taskData, TerminationData.TerminationStatus.NORMAL, null);
         terminationData.handleTermination(service);
+        Mockito.verify(service, Mockito.times(1)).taskReleased(taskId);
         Mockito.verify(proxiesManager, Mockito.times(1)).getUserRMProxy("user", null);
         Mockito.verify(rmProxy, Mockito.times(1))
                .releaseNodes(org.mockito.Matchers.any(NodeSet.class),
@@ -0,0 +1,242 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.core.jmx.mbean;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.SchedulerEvent;
+import org.ow2.proactive.scheduler.common.job.JobInfo;
+import org.ow2.proactive.scheduler.common.job.JobStatus;
+import org.ow2.proactive.scheduler.core.db.SchedulerDBManager;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.job.JobInfoImpl;
+
+
+public class JobsStatisticsTest {
+
+    private SchedulerDBManager dbManager;
+
+    private JobsStatistics statistics;
+
+    @Before
+    public void setUp() {
+        dbManager = mock(SchedulerDBManager.class);
+        when(dbManager.getFinishedJobsCount()).thenReturn(2L);
+        when(dbManager.getTasksNumbersOfFinishedJobs()).thenReturn(new long[] { 5, 6 });
+        when(dbManager.getJobPendingTimeSum()).thenReturn(new long[] { 3, 300 });
+        when(dbManager.getJobExecutionTimeSum()).thenReturn(new long[] { 2, 2000 });
+        when(dbManager.getJobSubmittedTimeRange()).thenReturn(new long[] { 3, 1000, 3000 });
+        Map<JobStatus, Long> finishedJobsOfAdmin = new EnumMap<>(JobStatus.class);
+        finishedJobsOfAdmin.put(JobStatus.FINISHED, 1L);
+        finishedJobsOfAdmin.put(JobStatus.KILLED, 1L);
+        Map<String, Map<JobStatus, Long>> finishedJobs = new HashMap<>();
+        finishedJobs.put("admin", finishedJobsOfAdmin);
+        when(dbManager.getJobsNumbersByOwnerAndStatus(anyCollectionOf(JobStatus.class))).thenReturn(finishedJobs);
+        statistics = new JobsStatistics();
+    }
+
+    @Test
+    public void events_should_be_ignored_until_recovered() {
+        statistics.jobSubmitted(jobInfo(1, JobStatus.PENDING, 2, 0, 0, 2000, -1, -1));
+
+        assertThat(statistics.isRecovered()).isFalse();
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void recover_should_seed_the_statistics_from_the_database_and_the_alive_jobs() {
+        statistics.recover(dbManager,
+                           Arrays.<JobInfo> asList(jobInfo(1, JobStatus.PENDING, 2, 0, 0, 2000, -1, -1),
+                                                   jobInfo(2, JobStatus.RUNNING, 1, 1, 1, 3000, 3100, -1)));
+
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getFinishedJobsCount()).isEqualTo(2L);
+        assertThat(statistics.getTotalJobsCount()).isEqualTo(4L);
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(3L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(6L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(11L);
+        assertThat(statistics.getMeanJobPendingTime()).isEqualTo(100d);
+        assertThat(statistics.getMeanJobExecutionTime()).isEqualTo(1000d);
+        assertThat(statistics.getMeanJobSubmittingPeriod()).isEqualTo(1000d);
+    }
+
+    @Test
+    public void job_lifecycle_should_update_the_statistics() {
+        statistics.recover(dbManager, Collections.<JobInfo> emptyList());
+
+        statistics.jobSubmitted(jobInfo(1, JobStatus.PENDING, 2, 0, 0, 5000, -1, -1));
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(2L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(8L);
+        assertThat(statistics.getMeanJobSubmittingPeriod()).isEqualTo(4000 / 3d);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_PENDING_TO_RUNNING,
+                                   jobInfo(1, JobStatus.RUNNING, 2, 0, 0, 5000, 5400, -1));
+        statistics.taskStateUpdated(jobInfo(1, JobStatus.RUNNING, 1, 1, 0, 5000, 5400, -1));
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(1L);
+        assertThat(statistics.getMeanJobPendingTime()).isEqualTo(175d);
+
+        statistics.taskStateUpdated(jobInfo(1, JobStatus.RUNNING, 0, 1, 1, 5000, 5400, -1));
+        assertThat(statistics.getMeanJobPendingTime()).isEqualTo(175d);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_RUNNING_TO_FINISHED,
+                                   jobInfo(1, JobStatus.FINISHED, 0, 0, 2, 5000, 5400, 6400));
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getFinishedJobsCount()).isEqualTo(3L);
+        assertThat(statistics.getRunningTasksCount()).isEqualTo(0L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(7L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(8L);
+        assertThat(statistics.getMeanJobExecutionTime()).isEqualTo(1000d);
+
+        // a late task event of a finished job is ignored
+        statistics.taskStateUpdated(jobInfo(1, JobStatus.RUNNING, 0, 1, 1, 5000, 5400, -1));
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(0L);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_REMOVE_FINISHED,
+                                   jobInfo(1, JobStatus.FINISHED, 0, 0, 2, 5000, 5400, 6400));
+        assertThat(statistics.getFinishedJobsCount()).isEqualTo(2L);
+        assertThat(statistics.getFinishedTasksCount()).isEqualTo(5L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(6L);
+    }
+
+    @Test
+    public void removing_an_alive_job_should_remove_its_tasks() {
+        statistics.recover(dbManager, Collections.<JobInfo> emptyList());
+        statistics.jobSubmitted(jobInfo(1, JobStatus.PENDING, 2, 0, 0, 5000, -1, -1));
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_REMOVE_FINISHED,
+                                   jobInfo(1, JobStatus.PENDING, 2, 0, 0, 5000, -1, -1));
+
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(0L);
+        assertThat(statistics.getTotalJobsCount()).isEqualTo(2L);
+        assertThat(statistics.getTotalTasksCount()).isEqualTo(6L);
+    }
+
+    @Test
+    public void paused_jobs_should_be_pending() {
+        statistics.recover(dbManager, Collections.<JobInfo> emptyList());
+        statistics.jobSubmitted(jobInfo(1, JobStatus.PENDING, 2, 0, 0, 5000, -1, -1));
+        statistics.jobStateUpdated(SchedulerEvent.JOB_PENDING_TO_RUNNING,
+                                   jobInfo(1, JobStatus.RUNNING, 1, 1, 0, 5000, 5400, -1));
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_PAUSED, jobInfo(1, JobStatus.PAUSED, 1, 1, 0, 5000, 5400, -1));
+
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getTotalJobsCount()).isEqualTo(3L);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_RESUMED, jobInfo(1, JobStatus.STALLED, 1, 0, 1, 5000, 5400, -1));
+
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void jobs_in_error_should_be_neither_pending_nor_running() {
+        JobInfo inErrorJob = jobInfo(1, JobStatus.IN_ERROR, 1, 0, 1, 5000, 5400, -1);
+        statistics.recover(dbManager, Collections.singletonList(inErrorJob));
+
+        assertThat(statistics.getPendingJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(0L);
+        assertThat(statistics.getTotalJobsCount()).isEqualTo(3L);
+        assertThat(statistics.getPendingTasksCount()).isEqualTo(1L);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_RESTARTED_FROM_ERROR,
+                                   jobInfo(1, JobStatus.RUNNING, 0, 1, 1, 5000, 5400, -1));
+
+        assertThat(statistics.getRunningJobsCount()).isEqualTo(1L);
+        assertThat(statistics.getTotalJobsCount()).isEqualTo(3L);
+    }
+
+    @Test
+    public void jobs_should_not_be_counted_until_recovered() {
+        assertThat(statistics.countJobs(null, EnumSet.allOf(JobStatus.class))).isNull();
+    }
+
+    @Test
+    public void jobs_should_be_counted_by_owner_and_status() {
+        statistics.recover(dbManager, Collections.singletonList(jobInfo(1, "user", JobStatus.PENDING)));
+        statistics.jobSubmitted(jobInfo(2, "admin", JobStatus.PENDING));
+
+        assertThat(statistics.countJobs(null, EnumSet.allOf(JobStatus.class))).isEqualTo(4);
+        assertThat(statistics.countJobs("", EnumSet.of(JobStatus.PENDING))).isEqualTo(2);
+        assertThat(statistics.countJobs("admin", EnumSet.of(JobStatus.PENDING, JobStatus.KILLED))).isEqualTo(2);
+        assertThat(statistics.countJobs("user", EnumSet.of(JobStatus.PENDING))).isEqualTo(1);
+        assertThat(statistics.countJobs("unknown", EnumSet.allOf(JobStatus.class))).isEqualTo(0);
+
+        statistics.jobStateUpdated(SchedulerEvent.JOB_PENDING_TO_FINISHED, jobInfo(1, "user", JobStatus.CANCELED));
+
+        assertThat(statistics.countJobs("user", EnumSet.of(JobStatus.PENDING))).isEqualTo(0);
+        assertThat(statistics.countJobs("user", EnumSet.of(JobStatus.CANCELED))).isEqualTo(1);
+
+        // the removed job keeps its status
+        statistics.jobStateUpdated(SchedulerEvent.JOB_REMOVE_FINISHED, jobInfo(1, "user", JobStatus.CANCELED));
+        statistics.jobStateUpdated(SchedulerEvent.JOB_REMOVE_FINISHED, jobInfo(2, "admin", JobStatus.PENDING));
+
+        assertThat(statistics.countJobs(null, EnumSet.allOf(JobStatus.class))).isEqualTo(2);
+        assertThat(statistics.countJobs("admin", EnumSet.of(JobStatus.FINISHED))).isEqualTo(1);
+    }
+
+    private static JobInfo jobInfo(long id, String owner, JobStatus status) {
+        JobInfoImpl jobInfo = (JobInfoImpl) jobInfo(id, status, 1, 0, 0, 5000, -1, -1);
+        jobInfo.setJobOwner(owner);
+        return jobInfo;
+    }
+
+    private static JobInfo jobInfo(long id, JobStatus status, int pendingTasks, int runningTasks, int finishedTasks,
+            long submittedTime, long startTime, long finishedTime) {
+        JobInfoImpl jobInfo = new JobInfoImpl();
+        jobInfo.setJobId(new JobIdImpl(id, "job" + id));
+        jobInfo.setStatus(status);
+        jobInfo.setNumberOfPendingTasks(pendingTasks);
+        jobInfo.setNumberOfRunningTasks(runningTasks);
+        jobInfo.setNumberOfFinishedTasks(finishedTasks);
+        jobInfo.setTotalNumberOfTasks(pendingTasks + runningTasks + finishedTasks);
+        jobInfo.setSubmittedTime(submittedTime);
+        jobInfo.setStartTime(startTime);
+        jobInfo.setFinishedTime(finishedTime);
+        return jobInfo;
+    }
+
+}
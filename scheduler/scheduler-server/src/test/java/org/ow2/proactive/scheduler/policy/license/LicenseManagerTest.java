@@ -0,0 +1,129 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.license;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ow2.proactive.scheduler.common.task.TaskId;
+import org.ow2.proactive.scheduler.job.JobIdImpl;
+import org.ow2.proactive.scheduler.task.TaskIdImpl;
+
+
+public class LicenseManagerTest {
+
+    private LicenseManager licenseManager;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("matlab", "2");
+        properties.setProperty("cplex", "1");
+        licenseManager = LicenseManager.fromProperties(properties);
+    }
+
+    @Test
+    public void testAcquireAndRelease() {
+        assertThat(licenseManager.acquire(taskId(1), Collections.singletonList("matlab"))).isTrue();
+        assertThat(licenseManager.acquire(taskId(2), Collections.singletonList("matlab"))).isTrue();
+        assertThat(licenseManager.acquire(taskId(3), Collections.singletonList("matlab"))).isFalse();
+        assertThat(licenseManager.getUsedLicenses().get("matlab")).isEqualTo(2);
+
+        assertThat(licenseManager.release(taskId(1))).isTrue();
+        assertThat(licenseManager.release(taskId(1))).isFalse();
+
+        assertThat(licenseManager.acquire(taskId(3), Collections.singletonList("matlab"))).isTrue();
+        assertThat(licenseManager.getUsedLicenses().get("matlab")).isEqualTo(2);
+    }
+
+    @Test
+    public void testAcquireIsAllOrNothing() {
+        assertThat(licenseManager.acquire(taskId(1), Collections.singletonList("cplex"))).isTrue();
+
+        assertThat(licenseManager.acquire(taskId(2), Arrays.asList("matlab", "cplex"))).isFalse();
+        assertThat(licenseManager.getUsedLicenses().get("matlab")).isEqualTo(0);
+
+        licenseManager.release(taskId(1));
+
+        assertThat(licenseManager.acquire(taskId(2), Arrays.asList("matlab", "cplex"))).isTrue();
+        assertThat(licenseManager.getUsedLicenses().get("matlab")).isEqualTo(1);
+        assertThat(licenseManager.getUsedLicenses().get("cplex")).isEqualTo(1);
+    }
+
+    @Test
+    public void testSoftwareRequiredSeveralTimes() {
+        assertThat(licenseManager.acquire(taskId(1), Arrays.asList("cplex", "cplex"))).isFalse();
+        assertThat(licenseManager.acquire(taskId(1), Arrays.asList("matlab", "matlab"))).isTrue();
+        assertThat(licenseManager.getUsedLicenses().get("matlab")).isEqualTo(2);
+    }
+
+    @Test
+    public void testUnknownSoftware() {
+        assertThat(licenseManager.acquire(taskId(1), Collections.singletonList("unknown"))).isFalse();
+    }
+
+    @Test
+    public void testAcquireIsIdempotent() {
+        assertThat(licenseManager.acquire(taskId(1), Collections.singletonList("cplex"))).isTrue();
+        assertThat(licenseManager.acquire(taskId(1), Collections.singletonList("cplex"))).isTrue();
+        assertThat(licenseManager.getUsedLicenses().get("cplex")).isEqualTo(1);
+    }
+
+    @Test
+    public void testRestore() {
+        licenseManager.restore(taskId(1), Collections.singletonList("cplex"));
+        licenseManager.restore(taskId(2), Collections.singletonList("cplex"));
+        licenseManager.restore(taskId(2), Collections.singletonList("cplex"));
+
+        assertThat(licenseManager.getUsedLicenses().get("cplex")).isEqualTo(2);
+        assertThat(licenseManager.acquire(taskId(3), Collections.singletonList("cplex"))).isFalse();
+
+        licenseManager.release(taskId(1));
+        licenseManager.release(taskId(2));
+
+        assertThat(licenseManager.acquire(taskId(3), Collections.singletonList("cplex"))).isTrue();
+        assertThat(licenseManager.getTotalLicenses().get("cplex")).isEqualTo(1);
+    }
+
+    @Test
+    public void testRequiredLicenses() {
+        assertThat(LicenseManager.getRequiredLicenses(Collections.<String, String> emptyMap())).isNull();
+        Map<String, String> genericInformation = Collections.singletonMap(LicenseManager.REQUIRED_LICENSES,
+                                                                          "matlab,cplex");
+        assertThat(LicenseManager.getRequiredLicenses(genericInformation)).containsExactly("matlab", "cplex")
+                                                                          .inOrder();
+    }
+
+    private static TaskId taskId(long id) {
+        return TaskIdImpl.createTaskId(new JobIdImpl(42, "job"), "task" + id, id);
+    }
+}
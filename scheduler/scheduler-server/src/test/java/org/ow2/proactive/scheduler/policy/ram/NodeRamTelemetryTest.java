@@ -0,0 +1,135 @@
+/*
+ * ProActive Parallel Suite(TM):
+ * The Open Source library for parallel and distributed
+ * Workflows & Scheduling, Orchestration, Cloud Automation
+ * and Big Data Analysis on Enterprise Grids & Clouds.
+ *
+ * Copyright (c) 2007 - 2017 ActiveEon
+ * Contact: contact@activeeon.com
+ *
+ * This library is free software: you can redistribute it and/or
+ * modify it under the terms of the GNU Affero General Public License
+ * as published by the Free Software Foundation: version 3 of
+ * the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * If needed, contact us to obtain a release under GPL Version 2 or 3
+ * or a different license than the AGPL.
+ */
+package org.ow2.proactive.scheduler.policy.ram;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.rmi.dgc.VMID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.objectweb.proactive.core.node.Node;
+
+import com.google.common.base.Ticker;
+
+
+public class NodeRamTelemetryTest {
+
+    private static final long MAXIMUM_AGE = 10000;
+
+    private NodeRamTelemetry.Probe probe;
+
+    private ManualTicker ticker;
+
+    private NodeRamTelemetry telemetry;
+
+    private Node node;
+
+    private Node sameRuntimeNode;
+
+    private Node otherRuntimeNode;
+
+    @Before
+    public void setUp() throws Exception {
+        probe = mock(NodeRamTelemetry.Probe.class);
+        ticker = new ManualTicker();
+        telemetry = new NodeRamTelemetry(probe, MAXIMUM_AGE, ticker);
+
+        VMID runtime = new VMID();
+        node = createNode(runtime);
+        sameRuntimeNode = createNode(runtime);
+        otherRuntimeNode = createNode(new VMID());
+        when(probe.getAvailableRAMInGB(node)).thenReturn(8.0, 6.0);
+        when(probe.getAvailableRAMInGB(otherRuntimeNode)).thenReturn(4.0);
+    }
+
+    @Test
+    public void testSampleIsSharedByTheNodesOfARuntime() throws Exception {
+        assertThat(telemetry.getSample(node).getAvailableRAM()).isEqualTo(8.0);
+        assertThat(telemetry.getSample(sameRuntimeNode).getAvailableRAM()).isEqualTo(8.0);
+        assertThat(telemetry.getSample(otherRuntimeNode).getAvailableRAM()).isEqualTo(4.0);
+
+        verify(probe, times(1)).getAvailableRAMInGB(node);
+        verify(probe, times(1)).getAvailableRAMInGB(otherRuntimeNode);
+    }
+
+    @Test
+    public void testAllocatedRamIsSubtractedUntilTheRuntimeIsProbedAgain() throws Exception {
+        telemetry.getSample(node);
+        telemetry.allocate(sameRuntimeNode, 3.0);
+        telemetry.allocate(otherRuntimeNode, 1.0);
+
+        assertThat(telemetry.getSample(node).getAvailableRAM()).isEqualTo(5.0);
+
+        ticker.advance(MAXIMUM_AGE + 1);
+
+        assertThat(telemetry.getSample(node).getAvailableRAM()).isEqualTo(6.0);
+        assertThat(telemetry.getSample(otherRuntimeNode).getAvailableRAM()).isEqualTo(4.0);
+        verify(probe, times(2)).getAvailableRAMInGB(node);
+    }
+
+    @Test
+    public void testAge() throws Exception {
+        NodeRamTelemetry.Sample sample = telemetry.getSample(node);
+
+        ticker.advance(42);
+
+        assertThat(telemetry.getAge(sample)).isEqualTo(42L);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testProbeFailure() throws Exception {
+        when(probe.getAvailableRAMInGB(otherRuntimeNode)).thenThrow(new IllegalStateException());
+
+        telemetry.getSample(otherRuntimeNode);
+    }
+
+    private static Node createNode(VMID runtime) {
+        Node node = mock(Node.class, RETURNS_DEEP_STUBS);
+        when(node.getVMInformation().getVMID()).thenReturn(runtime);
+        return node;
+    }
+
+    private static class ManualTicker extends Ticker {
+
+        private long nanos = 0;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advance(long millis) {
+            nanos += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+}
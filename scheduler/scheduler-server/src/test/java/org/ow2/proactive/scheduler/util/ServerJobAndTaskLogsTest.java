@@ -99,6 +99,7 @@ public class ServerJobAndTaskLogsTest extends ProActiveTestClean {
         taskLogger.info(taskId, "first task log");
         jobLogger.info(jobId, "second job log");
         taskLogger.info(taskId, "second task log");
+        ServerJobAndTaskLogs.flush();
 
         assertTrue(new File(ServerJobAndTaskLogs.getLogsLocation(), JobLogger.getJobLogRelativePath(jobId)).exists());
         assertTrue(new File(ServerJobAndTaskLogs.getLogsLocation(),
@@ -121,6 +122,7 @@ public class ServerJobAndTaskLogsTest extends ProActiveTestClean {
         taskLogger.info(taskId, "first task log");
         jobLogger.info(jobId, "second job log");
         taskLogger.info(taskId, "second task log");
+        ServerJobAndTaskLogs.flush();
 
         assertEquals(1, fakeSchedulerHome.getRoot().list().length);
 
@@ -26,12 +26,15 @@
 package org.ow2.proactive.scheduler.util;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Level;
@@ -79,4 +82,160 @@ public class TaskLoggerTest extends ProActiveTestClean {
         assertTrue(FileUtils.readFileToString(logFile, Charset.defaultCharset()).contains("HelloWorld"));
 
     }
+
+    @Test
+    public void testAsynchronousFileAppender() throws IOException {
+        JobId jobId = new JobIdImpl(1123, "readableName");
+        TaskId taskId1 = TaskIdImpl.createTaskId(jobId, "task1", 1);
+        TaskId taskId2 = TaskIdImpl.createTaskId(jobId, "task2", 2);
+
+        FileAppender appender = new FileAppender();
+        appender.setAsynchronous(true);
+        appender.setMaxOpenFiles(1);
+        File logFolder = folder.newFolder("logs");
+        appender.setFilesLocation(logFolder.getAbsolutePath());
+        for (int i = 0; i < 10; i++) {
+            for (TaskId taskId : new TaskId[] { taskId1, taskId2 }) {
+                appender.append(TaskLogger.getTaskLogRelativePath(taskId),
+                                new LoggingEvent("mylogger", Logger.getRootLogger(), Level.INFO, "Hello" + i, null));
+            }
+        }
+        appender.flush();
+
+        for (TaskId taskId : new TaskId[] { taskId1, taskId2 }) {
+            File logFile = new File(logFolder, TaskLogger.getTaskLogRelativePath(taskId));
+            String logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(logs.contains("Hello" + i));
+            }
+        }
+
+        appender.closeFiles(jobId.value());
+        FileUtils.deleteDirectory(new File(logFolder, jobId.value()));
+        appender.append(TaskLogger.getTaskLogRelativePath(taskId1),
+                        new LoggingEvent("mylogger", Logger.getRootLogger(), Level.INFO, "HelloAgain", null));
+        appender.close();
+
+        File logFile = new File(logFolder, TaskLogger.getTaskLogRelativePath(taskId1));
+        String logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+        assertTrue(logs.contains("HelloAgain"));
+        assertFalse(logs.contains("Hello0"));
+    }
+
+    @Test
+    public void testFileWrittenByTwoAppendersHasOneWriter() throws IOException {
+        JobId jobId = new JobIdImpl(1124, "readableName");
+        TaskId taskId = TaskIdImpl.createTaskId(jobId, "task", 1);
+        String taskLogPath = TaskLogger.getTaskLogRelativePath(taskId);
+        File logFolder = folder.newFolder("logs");
+
+        FileAppender schedulerAppender = new FileAppender();
+        schedulerAppender.setAsynchronous(true);
+        schedulerAppender.setFilesLocation(logFolder.getAbsolutePath());
+        FileAppender selectionAppender = new FileAppender();
+        selectionAppender.setFilesLocation(logFolder.getAbsolutePath() + File.separator + ".");
+
+        for (int i = 0; i < 10; i++) {
+            schedulerAppender.append(taskLogPath, createLoggingEvent("Task" + i));
+            selectionAppender.append(taskLogPath, createLoggingEvent("Selection" + i));
+        }
+        schedulerAppender.flush();
+
+        File logFile = new File(logFolder, taskLogPath);
+        String logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(logs.contains("Task" + i));
+            assertTrue(logs.contains("Selection" + i));
+        }
+
+        // the file opened by the selection appender is closed with the job folder
+        schedulerAppender.closeFiles(jobId.value());
+        FileUtils.deleteDirectory(new File(logFolder, jobId.value()));
+        selectionAppender.append(taskLogPath, createLoggingEvent("SelectionAgain"));
+        schedulerAppender.close();
+        selectionAppender.close();
+
+        logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+        assertTrue(logs.contains("SelectionAgain"));
+        assertFalse(logs.contains("Selection0"));
+        assertThat(schedulerAppender.getDroppedEvents(), is(0L));
+    }
+
+    @Test
+    public void testEventsAreNotDroppedWhenQueueIsFull() throws IOException {
+        JobId jobId = new JobIdImpl(1126, "readableName");
+        TaskId taskId = TaskIdImpl.createTaskId(jobId, "task", 1);
+        File logFolder = folder.newFolder("logs");
+
+        FileAppender appender = new FileAppender();
+        appender.setAsynchronous(true);
+        appender.setQueueSize(1);
+        appender.setFilesLocation(logFolder.getAbsolutePath());
+        for (int i = 0; i < 100; i++) {
+            appender.append(TaskLogger.getTaskLogRelativePath(taskId), createLoggingEvent("Event" + i + "."));
+        }
+        appender.flush();
+
+        File logFile = new File(logFolder, TaskLogger.getTaskLogRelativePath(taskId));
+        String logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+        int previous = -1;
+        for (int i = 0; i < 100; i++) {
+            int index = logs.indexOf("Event" + i + ".");
+            assertTrue(index > previous);
+            previous = index;
+        }
+        assertThat(appender.getDroppedEvents(), is(0L));
+        appender.close();
+    }
+
+    @Test
+    public void testFilesWrittenConcurrentlyByAppenders() throws Exception {
+        final JobId jobId = new JobIdImpl(1125, "readableName");
+        final File logFolder = folder.newFolder("logs");
+        List<Thread> threads = new ArrayList<>();
+        List<FileAppender> appenders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final FileAppender appender = new FileAppender();
+            appender.setAsynchronous(t % 2 == 0);
+            appender.setMaxOpenFiles(2);
+            appender.setFilesLocation(logFolder.getAbsolutePath());
+            appenders.add(appender);
+            final int thread = t;
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 100; i++) {
+                        TaskId taskId = TaskIdImpl.createTaskId(jobId, "task", i % 5);
+                        appender.append(TaskLogger.getTaskLogRelativePath(taskId),
+                                        createLoggingEvent("Thread" + thread + "Event" + i + "."));
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (FileAppender appender : appenders) {
+            appender.flush();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            TaskId taskId = TaskIdImpl.createTaskId(jobId, "task", i % 5);
+            File logFile = new File(logFolder, TaskLogger.getTaskLogRelativePath(taskId));
+            String logs = FileUtils.readFileToString(logFile, Charset.defaultCharset());
+            for (int t = 0; t < 4; t++) {
+                assertTrue(logs.contains("Thread" + t + "Event" + i + "."));
+            }
+        }
+        for (FileAppender appender : appenders) {
+            appender.close();
+        }
+    }
+
+    private static LoggingEvent createLoggingEvent(String message) {
+        return new LoggingEvent("mylogger", Logger.getRootLogger(), Level.INFO, message, null);
+    }
 }